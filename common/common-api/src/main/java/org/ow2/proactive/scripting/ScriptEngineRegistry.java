@@ -0,0 +1,265 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * Process-wide registry of script engine factories and compiled scripts.
+ *
+ * The engine factory matching a script engine lookup name (engine name or file extension) is
+ * resolved once per name, instead of instantiating a {@link ScriptEngineManager} and all matching
+ * engines for each script execution.
+ *
+ * For engines which support it, scripts are compiled once and kept in a size-bounded cache keyed
+ * by the engine name and the script digest, so that repeated executions of the same script only
+ * bind variables and run. Only engines whose compiled scripts can safely be evaluated concurrently
+ * with different contexts are cached (groovy by default).
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class ScriptEngineRegistry {
+
+    private static final Logger logger = Logger.getLogger(ScriptEngineRegistry.class);
+
+    /** Maximum number of compiled scripts kept in the cache, 0 disables the cache */
+    public static final String COMPILED_SCRIPTS_CACHE_SIZE_PROPERTY = "pa.scripting.compiled.cache.size";
+
+    /** Comma separated list of engine names whose compiled scripts are cached */
+    public static final String COMPILED_SCRIPTS_ENGINES_PROPERTY = "pa.scripting.compiled.engines";
+
+    private static final ScriptEngineRegistry INSTANCE = new ScriptEngineRegistry(Integer.parseInt(System.getProperty(COMPILED_SCRIPTS_CACHE_SIZE_PROPERTY,
+                                                                                                                          "1000")),
+                                                                                  System.getProperty(COMPILED_SCRIPTS_ENGINES_PROPERTY,
+                                                                                                     "groovy"));
+
+    private final ConcurrentHashMap<String, ScriptEngineFactory> factoriesByLookupName = new ConcurrentHashMap<>();
+
+    private final Cache<String, CompiledScriptEntry> compiledScripts;
+
+    private final Set<String> compiledEngines = ConcurrentHashMap.newKeySet();
+
+    private final boolean compilationEnabled;
+
+    private final AtomicLong factoryHits = new AtomicLong();
+
+    private final AtomicLong factoryMisses = new AtomicLong();
+
+    private final AtomicLong compiledScriptHits = new AtomicLong();
+
+    private final AtomicLong compiledScriptMisses = new AtomicLong();
+
+    ScriptEngineRegistry(int compiledScriptsCacheSize, String compiledEngineNames) {
+        this.compilationEnabled = compiledScriptsCacheSize > 0;
+        this.compiledScripts = CacheBuilder.newBuilder().maximumSize(Math.max(compiledScriptsCacheSize, 0)).build();
+        for (String engineName : compiledEngineNames.split(",")) {
+            if (!engineName.trim().isEmpty()) {
+                compiledEngines.add(engineName.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+    }
+
+    public static ScriptEngineRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a new script engine for the given engine name or file extension.
+     *
+     * @param lookupName engine name or file extension
+     * @return a new script engine or null if no engine matches the lookup name
+     */
+    public ScriptEngine createScriptEngine(String lookupName) {
+        ScriptEngineFactory factory = getEngineFactory(lookupName);
+        return factory != null ? factory.getScriptEngine() : null;
+    }
+
+    /**
+     * @param lookupName engine name or file extension
+     * @return the best engine factory for the given lookup name or null if none matches
+     */
+    public ScriptEngineFactory getEngineFactory(String lookupName) {
+        if (lookupName == null) {
+            return null;
+        }
+        String key = lookupName.toLowerCase(Locale.ENGLISH);
+        ScriptEngineFactory factory = factoriesByLookupName.get(key);
+        if (factory != null) {
+            factoryHits.incrementAndGet();
+            return factory;
+        }
+        factoryMisses.incrementAndGet();
+        // unresolved names are not remembered, engines may be added to the classpath later
+        factory = findEngineFactory(lookupName);
+        if (factory != null) {
+            factoriesByLookupName.putIfAbsent(key, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * Evaluates the given source with the given engine and its current context.
+     * The source is compiled once and then retrieved from the cache when the engine allows it.
+     *
+     * @param engine engine used to evaluate the script, its context holds the bindings and the output writers
+     * @param source source of the script
+     * @return the result of the evaluation
+     * @throws javax.script.ScriptException if the script cannot be compiled or evaluated
+     */
+    public Object eval(ScriptEngine engine, String source) throws javax.script.ScriptException {
+        if (!isCompilationEnabled(engine)) {
+            return engine.eval(source);
+        }
+        return getCompiledScript(engine, source).eval(engine.getContext());
+    }
+
+    private boolean isCompilationEnabled(ScriptEngine engine) {
+        if (!compilationEnabled || !(engine instanceof Compilable)) {
+            return false;
+        }
+        for (String name : engine.getFactory().getNames()) {
+            if (compiledEngines.contains(name.toLowerCase(Locale.ENGLISH))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CompiledScript getCompiledScript(ScriptEngine engine, String source) throws javax.script.ScriptException {
+        String key = engine.getFactory().getEngineName() + ":" + Script.digest(source);
+        CompiledScriptEntry entry = compiledScripts.getIfPresent(key);
+        // the digest is only a hint, the source is compared to avoid using a colliding entry
+        if (entry != null && entry.source.equals(source)) {
+            compiledScriptHits.incrementAndGet();
+            return entry.compiledScript;
+        }
+        compiledScriptMisses.incrementAndGet();
+        // compile with a fresh engine so that the cached script does not retain the bindings of this execution
+        ScriptEngine compilingEngine = engine.getFactory().getScriptEngine();
+        Object fileName = engine.getContext().getAttribute(ScriptEngine.FILENAME, ScriptContext.ENGINE_SCOPE);
+        if (fileName != null) {
+            compilingEngine.getContext().setAttribute(ScriptEngine.FILENAME, fileName, ScriptContext.ENGINE_SCOPE);
+        }
+        CompiledScript compiledScript = ((Compilable) compilingEngine).compile(source);
+        compiledScripts.put(key, new CompiledScriptEntry(source, compiledScript));
+        return compiledScript;
+    }
+
+    private ScriptEngineFactory findEngineFactory(String lookupName) {
+        List<ScriptEngineFactory> factories = new ScriptEngineManager().getEngineFactories();
+        final boolean findByName = true;
+        ScriptEngineFactory factory = findBestEngineFactory(factories, lookupName, findByName);
+        if (factory == null) {
+            factory = findBestEngineFactory(factories, lookupName, !findByName);
+        }
+        if (factory == null && logger.isDebugEnabled()) {
+            List<String> available = new ArrayList<>();
+            for (ScriptEngineFactory candidate : factories) {
+                available.add(candidate.getEngineName() + Arrays.toString(candidate.getNames().toArray()));
+            }
+            logger.debug("No script engine found for " + lookupName + ", available engines are " + available);
+        }
+        return factory;
+    }
+
+    private ScriptEngineFactory findBestEngineFactory(List<ScriptEngineFactory> factories, String lookupName,
+            boolean findByName) {
+        int minimumMatchingIndex = Integer.MAX_VALUE;
+        ScriptEngineFactory bestFactory = null;
+
+        for (ScriptEngineFactory factory : factories) {
+            List<String> lookupCriteria = findByName ? factory.getNames() : factory.getExtensions();
+            int matchPosition = 0;
+            for (String criteria : lookupCriteria) {
+                if (criteria.equalsIgnoreCase(lookupName) && matchPosition < minimumMatchingIndex) {
+                    minimumMatchingIndex = matchPosition;
+                    bestFactory = factory;
+                }
+                matchPosition++;
+            }
+        }
+        return bestFactory;
+    }
+
+    /**
+     * Removes all resolved engine factories and compiled scripts.
+     */
+    public void clear() {
+        factoriesByLookupName.clear();
+        compiledScripts.invalidateAll();
+    }
+
+    public long getEngineFactoryHits() {
+        return factoryHits.get();
+    }
+
+    public long getEngineFactoryMisses() {
+        return factoryMisses.get();
+    }
+
+    public long getCompiledScriptHits() {
+        return compiledScriptHits.get();
+    }
+
+    public long getCompiledScriptMisses() {
+        return compiledScriptMisses.get();
+    }
+
+    public long getCompiledScriptsCacheSize() {
+        return compiledScripts.size();
+    }
+
+    private static class CompiledScriptEntry {
+
+        private final String source;
+
+        private final CompiledScript compiledScript;
+
+        private CompiledScriptEntry(String source, CompiledScript compiledScript) {
+            this.source = source;
+            this.compiledScript = compiledScript;
+        }
+    }
+}
@@ -69,6 +69,12 @@ public class SelectionScript extends Script<Boolean> {
      */
     public static final String RESULT_VARIABLE = "selected";
 
+    /**
+     * The optional variable in which a selection script declares, in seconds,
+     * how long its result remains valid on the node where it was executed.
+     */
+    public static final String CACHE_TTL_VARIABLE = "selectedCacheTtl";
+
     /** If true, script result is not cached */
     private boolean dynamic = true;
 
@@ -289,13 +295,14 @@ public class SelectionScript extends Script<Boolean> {
     protected ScriptResult<Boolean> getResult(Object evalResult, Bindings bindings) {
         if (bindings.containsKey(RESULT_VARIABLE)) {
             Object result = bindings.get(RESULT_VARIABLE);
+            long cacheTtl = getCacheTtl(bindings);
 
             if (result instanceof Boolean) {
-                return new ScriptResult<>((Boolean) result);
+                return new SelectionScriptResult((Boolean) result, cacheTtl);
             } else if (result instanceof Integer) {
-                return new ScriptResult<>((Integer) result != 0);
+                return new SelectionScriptResult((Integer) result != 0, cacheTtl);
             } else if (result instanceof CharSequence) {
-                return new ScriptResult<>(!(result.equals("false") || result.equals("False")));
+                return new SelectionScriptResult(!(result.equals("false") || result.equals("False")), cacheTtl);
             } else {
                 return new ScriptResult<>(new Exception("Bad result format : awaited Boolean (or Integer when not existing), found " +
                                                         result.getClass().getName()));
@@ -309,6 +316,20 @@ public class SelectionScript extends Script<Boolean> {
         }
     }
 
+    private long getCacheTtl(Bindings bindings) {
+        Object cacheTtl = bindings.get(CACHE_TTL_VARIABLE);
+        if (cacheTtl instanceof Number) {
+            return ((Number) cacheTtl).longValue();
+        } else if (cacheTtl instanceof CharSequence) {
+            try {
+                return Long.parseLong(cacheTtl.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid value of " + CACHE_TTL_VARIABLE + " : " + cacheTtl);
+            }
+        }
+        return -1;
+    }
+
     /** Say if the script is static or dynamic
      * @return true if the script is dynamic, false otherwise
      */
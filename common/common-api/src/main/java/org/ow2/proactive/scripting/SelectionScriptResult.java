@@ -0,0 +1,69 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import org.objectweb.proactive.annotation.PublicAPI;
+
+
+/**
+ * Result of a {@link SelectionScript}, carrying the time during which the
+ * script declared its result as reusable on the node where it was executed.
+ *
+ * @see SelectionScript#CACHE_TTL_VARIABLE
+ * @since ProActive Scheduling 8.4
+ */
+@PublicAPI
+public class SelectionScriptResult extends ScriptResult<Boolean> {
+
+    /** Time to live of the result in seconds, negative if the script did not declare it */
+    private final long cacheTtl;
+
+    /**
+     * ProActive empty constructor
+     */
+    public SelectionScriptResult() {
+        this.cacheTtl = -1;
+    }
+
+    /**
+     * Create a new instance of SelectionScriptResult.
+     * @param result result of the selection script
+     * @param cacheTtl time in seconds during which the result can be reused, negative if unknown
+     */
+    public SelectionScriptResult(Boolean result, long cacheTtl) {
+        super(result);
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Return the time during which the result can be reused
+     * @return time to live in seconds, or a negative value if the script did not declare it
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.junit.Test;
+
+
+public class ScriptEngineRegistryTest {
+
+    @Test
+    public void testEngineFactoryIsResolvedOnce() {
+        ScriptEngineRegistry registry = new ScriptEngineRegistry(10, "groovy");
+
+        assertNotNull(registry.getEngineFactory("groovy"));
+        assertSame(registry.getEngineFactory("groovy"), registry.getEngineFactory("GROOVY"));
+
+        assertEquals(1, registry.getEngineFactoryMisses());
+        assertEquals(2, registry.getEngineFactoryHits());
+    }
+
+    @Test
+    public void testEngineFactoryIsResolvedByExtension() {
+        ScriptEngineRegistry registry = new ScriptEngineRegistry(10, "groovy");
+
+        assertNotNull(registry.createScriptEngine("js"));
+        assertNull(registry.createScriptEngine("mySuperNonExistingScriptEngine"));
+    }
+
+    @Test
+    public void testCompiledScriptIsReusedWithDifferentBindings() throws Exception {
+        ScriptEngineRegistry registry = new ScriptEngineRegistry(10, "groovy");
+        String source = "result = value * 2";
+
+        assertEquals(2, eval(registry, source, 1));
+        assertEquals(4, eval(registry, source, 2));
+        assertEquals(6, eval(registry, source, 3));
+
+        assertEquals(1, registry.getCompiledScriptMisses());
+        assertEquals(2, registry.getCompiledScriptHits());
+        assertEquals(1, registry.getCompiledScriptsCacheSize());
+    }
+
+    @Test
+    public void testCompiledScriptsCacheIsBounded() throws Exception {
+        ScriptEngineRegistry registry = new ScriptEngineRegistry(2, "groovy");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, eval(registry, "result = value + " + i, 0));
+        }
+
+        assertEquals(5, registry.getCompiledScriptMisses());
+        assertEquals(2, registry.getCompiledScriptsCacheSize());
+    }
+
+    @Test
+    public void testCompilationDisabled() throws Exception {
+        ScriptEngineRegistry registry = new ScriptEngineRegistry(0, "groovy");
+
+        assertEquals(2, eval(registry, "result = value * 2", 1));
+        assertEquals(2, eval(registry, "result = value * 2", 1));
+
+        assertEquals(0, registry.getCompiledScriptMisses());
+        assertEquals(0, registry.getCompiledScriptHits());
+    }
+
+    @Test
+    public void testSelectionScriptExecutedTwice() throws Exception {
+        SelectionScript script = new SelectionScript("selected = (value == 1)", "groovy", false);
+        long hits = ScriptEngineRegistry.getInstance().getCompiledScriptHits();
+
+        assertEquals(true, script.execute(Collections.<String, Object> singletonMap("value", 1), System.out, System.err)
+                                 .getResult());
+        assertEquals(false, script.execute(Collections.<String, Object> singletonMap("value", 2), System.out, System.err)
+                                  .getResult());
+
+        assertEquals(hits + 1, ScriptEngineRegistry.getInstance().getCompiledScriptHits());
+    }
+
+    private Object eval(ScriptEngineRegistry registry, String source, int value) throws Exception {
+        ScriptEngine engine = registry.createScriptEngine("groovy");
+        engine.getBindings(ScriptContext.ENGINE_SCOPE).put("value", value);
+        registry.eval(engine, source);
+        return engine.getBindings(ScriptContext.ENGINE_SCOPE).get("result");
+    }
+}
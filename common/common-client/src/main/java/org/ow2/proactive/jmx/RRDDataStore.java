@@ -28,6 +28,8 @@ package org.ow2.proactive.jmx;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.management.MBeanAttributeInfo;
 import javax.management.StandardMBean;
@@ -36,6 +38,8 @@ import org.apache.log4j.Logger;
 import org.ow2.proactive.utils.FileToBytesConverter;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.FetchRequest;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
 import org.rrd4j.core.Sample;
@@ -58,6 +62,9 @@ public class RRDDataStore extends Thread {
 
     protected volatile boolean terminate = false;
 
+    /** the data base, kept open to be updated and queried */
+    protected RrdDb dataBase;
+
     protected Logger logger;
 
     protected RRDDataStore(String dataBaseFilePath, int step, Logger logger) {
@@ -142,11 +149,11 @@ public class RRDDataStore extends Thread {
             // An archive of 1 year = 364 days = 31449600 seconds (4 * 10920 * 720) i.e. 720 averages of 10920 steps
             rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 10920, 720);
 
-            RrdDb dataBase = new RrdDb(rrdDef);
-            dataBase.close();
+            new RrdDb(rrdDef).close();
         } else {
             logger.info("Using existing RRD database: " + new File(dataBaseFile).getAbsolutePath());
         }
+        dataBase = new RrdDb(dataBaseFile);
     }
 
     /**
@@ -154,7 +161,6 @@ public class RRDDataStore extends Thread {
      */
     public void run() {
         try {
-            RrdDb dataBase = new RrdDb(dataBaseFile);
             Sample sample = dataBase.createSample();
 
             logger.debug("RRD data base configuration:\n" + dataBase.getRrdDef().dump());
@@ -202,6 +208,69 @@ public class RRDDataStore extends Thread {
         }
     }
 
+    /**
+     * Fetches the values of the given data sources, consolidated by the data base, so that only
+     * the requested points are sent to a client instead of the whole data base.
+     *
+     * @param dataSources the names of the data sources
+     * @param consolFun the name of the consolidation function, see {@link ConsolFun}
+     * @param range the time range in seconds, ending at the last update of the data base
+     * @param resolution the resolution in seconds, the archive with the closest resolution is used
+     * @return the values of each data source, in the requested order
+     * @throws IOException when the data base cannot be read
+     */
+    public Map<String, double[]> fetch(String[] dataSources, String consolFun, long range, long resolution)
+            throws IOException {
+        // the data base synchronizes the fetches with the updates
+        return fetch(dataBase, dataSources, ConsolFun.valueOf(consolFun), range, resolution);
+    }
+
+    /**
+     * @see #fetch(String[], String, long, long)
+     */
+    public static Map<String, double[]> fetch(RrdDb dataBase, String[] dataSources, ConsolFun consolFun, long range,
+            long resolution) throws IOException {
+        long timeEnd = dataBase.getLastUpdateTime();
+        FetchRequest request = dataBase.createFetchRequest(consolFun, timeEnd - range, timeEnd, resolution);
+        request.setFilter(dataSources);
+        FetchData fetchData = request.fetchData();
+
+        Map<String, double[]> values = new LinkedHashMap<>();
+        for (String dataSource : dataSources) {
+            values.put(dataSource, fetchData.getValues(dataSource));
+        }
+        return values;
+    }
+
+    /**
+     * Converts a range given by the portal as a single letter to seconds.
+     *
+     * @param zone the range letter: a (1 minute), m (10 minutes), h (1 hour), H (8 hours), d (1 day), w (1 week),
+     *             M (1 month) or y (1 year)
+     * @return the range in seconds, 1 minute for an unknown letter
+     */
+    public static long getRangeInSeconds(char zone) {
+        switch (zone) {
+            default:
+            case 'a': // 1 minute
+                return 60;
+            case 'm': // 10 minute
+                return 60 * 10;
+            case 'h': // 1 hours
+                return 60 * 60;
+            case 'H': // 8 hours
+                return 60 * 60 * 8;
+            case 'd': // 1 day
+                return 60 * 60 * 24;
+            case 'w': // 1 week
+                return 60 * 60 * 24 * 7;
+            case 'M': // 1 month
+                return 60 * 60 * 24 * 28;
+            case 'y': // 1 year
+                return 60 * 60 * 24 * 365;
+        }
+    }
+
     /**
      * Terminates the thread activity.
      */
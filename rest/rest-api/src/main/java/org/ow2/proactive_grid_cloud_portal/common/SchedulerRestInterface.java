@@ -65,10 +65,12 @@ import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobResultData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobStateData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobUsageData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobValidationData;
+import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestMapCursorPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestMapPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.SchedulerStatusData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.SchedulerUserData;
+import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskLogsData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskResultData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskStateData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.UserJobData;
@@ -180,6 +182,45 @@ public interface SchedulerRestInterface {
             @QueryParam("finished") @DefaultValue("true") boolean finished)
             throws PermissionRestException, NotConnectedRestException;
 
+    /**
+     * Returns a map containing one entry with the revision id as key and a
+     * page of UserJobData as value. Unlike revisionjobsinfo, the page is
+     * located by a cursor: jobs are grouped by status (pending, then
+     * running, then finished) and sorted by decreasing id, and reading a
+     * page does not depend on the number of jobs before it.
+     *
+     * @param sessionId
+     *            a valid session id
+     * @param cursor
+     *            optional, the cursor returned with the previous page, none
+     *            for the first page
+     * @param limit
+     *            the maximum number of jobs of the page
+     * @param myJobs
+     *            fetch only the jobs owned by the user making the request
+     * @param pending
+     *            fetch pending jobs
+     * @param running
+     *            fetch running jobs
+     * @param finished
+     *            fetch finished jobs
+     * @return a map containing one entry with the revision id as key and the
+     *         list of UserJobData as value, along with the cursor of the
+     *         next page.
+     */
+    @GET
+    @GZIP
+    @Path("revisionjobsinfo/cursor")
+    @Produces({ "application/json", "application/xml" })
+    RestMapCursorPage<Long, ArrayList<UserJobData>> revisionAndJobsInfoByCursor(
+            @HeaderParam("sessionid") String sessionId, @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("50") int limit,
+            @QueryParam("myjobs") @DefaultValue("false") boolean myJobs,
+            @QueryParam("pending") @DefaultValue("true") boolean pending,
+            @QueryParam("running") @DefaultValue("true") boolean running,
+            @QueryParam("finished") @DefaultValue("true") boolean finished)
+            throws PermissionRestException, NotConnectedRestException;
+
     /**
      * Returns the revision number of the scheduler state
      * 
@@ -271,6 +312,27 @@ public interface SchedulerRestInterface {
     Map<String, String> jobResultValue(@HeaderParam("sessionid") String sessionId, @PathParam("jobid") String jobId)
             throws NotConnectedRestException, PermissionRestException, UnknownJobRestException;
 
+    /**
+     * Returns the same content as "jobs/{jobid}/result/value" but streamed:
+     * the task results are read from the scheduler a few at a time and written
+     * to the response as soon as they are read, so that the memory used does
+     * not depend on the number of tasks of the job. Only the tasks having a
+     * result are included.
+     *
+     * @param sessionId
+     *            a valid session id
+     * @param jobId
+     *            a job id
+     * @return a JSON object whose keys are the names of the tasks and values
+     *         their results
+     */
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/result/value/stream")
+    @Produces("application/json")
+    InputStream jobResultValueStream(@HeaderParam("sessionid") String sessionId, @PathParam("jobid") String jobId)
+            throws NotConnectedRestException, PermissionRestException, UnknownJobRestException;
+
     /**
      * Delete a job
      * 
@@ -794,6 +856,26 @@ public interface SchedulerRestInterface {
             throws NotConnectedRestException, UnknownJobRestException, UnknownTaskRestException,
             PermissionRestException;
 
+    /**
+     * Returns the same logs as "jobs/{jobid}/result/log/all" but streamed:
+     * the task results are read from the scheduler a few at a time and their
+     * logs written to the response as soon as they are read, so that the
+     * memory used does not depend on the number of tasks of the job.
+     *
+     * @param sessionId
+     *            a valid session id
+     * @param jobId
+     *            the id of the job
+     * @return the logs of the tasks ordered by task id, empty if no task is
+     *         finished
+     */
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/result/log/all/stream")
+    @Produces("application/json")
+    InputStream jobLogsStream(@HeaderParam("sessionid") String sessionId, @PathParam("jobid") String jobId)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException;
+
     /**
      * Return the task state of the task <code>taskname</code> of the job
      * <code>jobId</code>
@@ -980,6 +1062,58 @@ public interface SchedulerRestInterface {
             @PathParam("tasktag") String taskTag)
             throws NotConnectedRestException, UnknownJobRestException, PermissionRestException;
 
+    /**
+     * Returns the last task results of a page of the tasks of the job
+     * <code>jobId</code>, the tasks being ordered by id. Tasks which have no
+     * result yet are not included, so that a page can contain fewer results
+     * than its limit.
+     *
+     * @param sessionId
+     *            a valid session id
+     * @param jobId
+     *            the id of the job
+     * @param offset
+     *            the index of the first task of the page
+     * @param limit
+     *            the maximum number of tasks of the page
+     * @return the task results of the page and the total number of tasks of
+     *         the job
+     */
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/tasks/results/paginated")
+    @Produces("application/json")
+    RestPage<TaskResultData> taskResultsPaginated(@HeaderParam("sessionid") String sessionId,
+            @PathParam("jobid") String jobId, @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("50") int limit)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException;
+
+    /**
+     * Returns the logs of the last task results of a page of the tasks of the
+     * job <code>jobId</code>, the tasks being ordered by id. The values of the
+     * results are not read. Tasks which have no result yet are not included,
+     * so that a page can contain fewer logs than its limit.
+     *
+     * @param sessionId
+     *            a valid session id
+     * @param jobId
+     *            the id of the job
+     * @param offset
+     *            the index of the first task of the page
+     * @param limit
+     *            the maximum number of tasks of the page
+     * @return the task logs of the page and the total number of tasks of the
+     *         job
+     */
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/tasks/results/logs/paginated")
+    @Produces("application/json")
+    RestPage<TaskLogsData> taskLogsPaginated(@HeaderParam("sessionid") String sessionId,
+            @PathParam("jobid") String jobId, @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("50") int limit)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException;
+
     /**
      * Returns all the logs generated by the task (either stdout and stderr).
      *
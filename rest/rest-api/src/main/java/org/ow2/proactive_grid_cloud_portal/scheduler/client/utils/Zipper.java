@@ -106,15 +106,27 @@ public class Zipper {
                 throws IOException {
             checkNotNull(root);
             checkNotNull(os);
+            zipFiles(selectFiles(root, includes, excludes), root.getAbsolutePath(), os);
+        }
+
+        /**
+         * @return the total size of the files which would be zipped, before compression
+         */
+        public static long uncompressedSize(File root, List<String> includes, List<String> excludes) {
+            checkNotNull(root);
+            long size = 0;
+            for (File file : selectFiles(root, includes, excludes)) {
+                size += file.length();
+            }
+            return size;
+        }
+
+        private static ImmutableList<File> selectFiles(File root, List<String> includes, List<String> excludes) {
             FluentIterable<File> fi = Files.fileTreeTraverser().postOrderTraversal(root);
-            ImmutableList<File> fileList = nullOrEmpty(includes) && nullOrEmpty(excludes)
-                                                                                          ? fi.filter(new FilesOnlyPredicate())
-                                                                                              .toList()
-                                                                                          : fi.filter(new FileSelectionPredicate(root,
-                                                                                                                                 includes,
-                                                                                                                                 excludes))
-                                                                                              .toList();
-            zipFiles(fileList, root.getAbsolutePath(), os);
+            if (nullOrEmpty(includes) && nullOrEmpty(excludes)) {
+                return fi.filter(new FilesOnlyPredicate()).toList();
+            }
+            return fi.filter(new FileSelectionPredicate(root, includes, excludes)).toList();
         }
 
         private static boolean nullOrEmpty(List<String> strings) {
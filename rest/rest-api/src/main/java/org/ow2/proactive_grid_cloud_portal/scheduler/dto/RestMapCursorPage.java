@@ -0,0 +1,70 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.scheduler.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+
+/**
+ * A {@link RestMapPage} located by a cursor, which also holds the cursor of the next page.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+@XmlRootElement
+public class RestMapCursorPage<K extends Serializable, V extends Serializable> extends RestMapPage<K, V> {
+
+    private String nextCursor;
+
+    public RestMapCursorPage() {
+
+    }
+
+    public RestMapCursorPage(Map<K, V> map, int size, String nextCursor) {
+        super(map, size);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the cursor of the next page, null if this page is the last one
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "RestMapCursorPage{" + "size=" + getSize() + ", map='" + getMap() + '\'' + ", nextCursor='" +
+               nextCursor + '\'' + '}';
+    }
+
+}
@@ -76,6 +76,7 @@ import org.ow2.proactive.authentication.ConnectionInfo;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.db.SortParameter;
 import org.ow2.proactive.http.HttpClientBuilder;
+import org.ow2.proactive.scheduler.common.CursorPage;
 import org.ow2.proactive.scheduler.common.JobFilterCriteria;
 import org.ow2.proactive.scheduler.common.JobSortParameter;
 import org.ow2.proactive.scheduler.common.Page;
@@ -100,7 +101,9 @@ import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.job.JobStatus;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.job.factories.Job2XMLTransformer;
+import org.ow2.proactive.scheduler.common.task.SimpleTaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatesPage;
@@ -123,16 +126,19 @@ import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobInfoData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobResultData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobStateData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobUsageData;
+import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestMapCursorPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.SchedulerStatusData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.SchedulerUserData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskIdData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskInfoData;
+import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskLogsData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskResultData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskStateData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.UserJobData;
 import org.ow2.proactive_grid_cloud_portal.scheduler.exception.*;
 
+import com.google.common.collect.Iterables;
 import com.google.common.io.Closer;
 
 
@@ -307,6 +313,27 @@ public class SchedulerClient extends ClientBase implements ISchedulerClient {
         return jobInfos;
     }
 
+    @Override
+    public CursorPage<JobInfo> getJobsByCursor(String cursor, int limit, JobFilterCriteria criteria)
+            throws NotConnectedException, PermissionException {
+        CursorPage<JobInfo> jobInfos = null;
+        try {
+            RestMapCursorPage<Long, ArrayList<UserJobData>> page;
+            page = restApi().revisionAndJobsInfoByCursor(sid,
+                                                         cursor,
+                                                         limit,
+                                                         criteria.isMyJobsOnly(),
+                                                         criteria.isPending(),
+                                                         criteria.isRunning(),
+                                                         criteria.isFinished());
+            List<UserJobData> userJobDataList = Iterables.getOnlyElement(page.getMap().values());
+            jobInfos = new CursorPage<>(toJobInfos(userJobDataList), page.getSize(), page.getNextCursor());
+        } catch (Exception e) {
+            throwNCEOrPE(e);
+        }
+        return jobInfos;
+    }
+
     @Override
     public List<JobInfo> getJobsInfoList(List<String> jobsId) throws PermissionException, NotConnectedException {
         List<JobInfo> jobsInfoList = null;
@@ -1334,6 +1361,41 @@ public class SchedulerClient extends ClientBase implements ISchedulerClient {
         return taskStatesPage;
     }
 
+    @Override
+    public Page<TaskResult> getTaskResultsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        Page<TaskResult> taskResultsPage = null;
+        try {
+            RestPage<TaskResultData> page = restApi().taskResultsPaginated(sid, jobId, offset, limit);
+            List<TaskResult> taskResults = page.getList()
+                                               .stream()
+                                               .map(taskResultData -> toTaskResult(JobIdImpl.makeJobId(jobId),
+                                                                                   taskResultData))
+                                               .collect(Collectors.toList());
+            taskResultsPage = new Page<>(taskResults, page.getSize());
+        } catch (Exception e) {
+            throwUJEOrNCEOrPE(e);
+        }
+        return taskResultsPage;
+    }
+
+    @Override
+    public Page<TaskLogs> getTaskLogsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        Page<TaskLogs> taskLogsPage = null;
+        try {
+            RestPage<TaskLogsData> page = restApi().taskLogsPaginated(sid, jobId, offset, limit);
+            List<TaskLogs> taskLogs = page.getList()
+                                          .stream()
+                                          .map(logs -> new SimpleTaskLogs(logs.getStdoutLogs(), logs.getStderrLogs()))
+                                          .collect(Collectors.toList());
+            taskLogsPage = new Page<>(taskLogs, page.getSize());
+        } catch (Exception e) {
+            throwUJEOrNCEOrPE(e);
+        }
+        return taskLogsPage;
+    }
+
     @Override
     public boolean checkJobPermissionMethod(String sessionId, String jobId, String method)
             throws NotConnectedException, UnknownJobException {
@@ -0,0 +1,321 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.rest.ds;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.apache.log4j.Logger;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.common.exception.NotConnectedException;
+import org.ow2.proactive.scheduler.rest.ds.IDataSpaceClient.IRemoteDestination;
+import org.ow2.proactive.scheduler.rest.ds.IDataSpaceClient.IRemoteSource;
+import org.ow2.proactive_grid_cloud_portal.dataspace.dto.UploadSession;
+
+import com.google.common.base.Throwables;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+
+/**
+ * Transfers of large files between the local file system and the dataspaces, split in chunks sent over parallel
+ * streams. A failed chunk is sent again up to the given number of retries, and an upload interrupted for good is
+ * resumed by an upload with the same nonce, which skips the chunks already received by the server.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class ChunkedTransfer {
+
+    private static final Logger log = Logger.getLogger(ChunkedTransfer.class);
+
+    private final String restDataspaceUrl;
+
+    private final String sessionId;
+
+    private final ResteasyClient client;
+
+    private final int chunkSize;
+
+    private final int parallelStreams;
+
+    private final int retries;
+
+    ChunkedTransfer(String restDataspaceUrl, String sessionId, ClientHttpEngine httpEngine, int chunkSize,
+            int parallelStreams, int retries) {
+        this.restDataspaceUrl = restDataspaceUrl;
+        this.sessionId = sessionId;
+        this.client = new ResteasyClientBuilder().httpEngine(httpEngine).build();
+        this.chunkSize = chunkSize;
+        this.parallelStreams = parallelStreams;
+        this.retries = retries;
+    }
+
+    /**
+     * Uploads the file by chunks, the server decoding it with the given encoding once all the chunks are received.
+     *
+     * @param nonce identifies this upload among the uploads of the same file, the chunks already received by the
+     *            server for an upload with the same nonce are not sent again
+     * @return false if the server does not support uploads by chunks
+     */
+    boolean upload(final File file, String encoding, IRemoteDestination destination, String nonce)
+            throws NotConnectedException, IOException {
+        final long size = file.length();
+        UploadSession session;
+        Response response = client.target(restDataspaceUrl)
+                                  .path("upload")
+                                  .path(destination.getDataspace().value())
+                                  .path(destination.getPath())
+                                  .queryParam("size", size)
+                                  .queryParam("chunksize", chunkSize)
+                                  .queryParam("nonce", nonce)
+                                  .request()
+                                  .header("sessionid", sessionId)
+                                  .post(null);
+        try {
+            checkConnected(response);
+            if (response.getStatus() != HttpURLConnection.HTTP_OK) {
+                log.debug("Uploads by chunks not available, status code: " + response.getStatus());
+                return false;
+            }
+            session = response.readEntity(UploadSession.class);
+        } finally {
+            response.close();
+        }
+
+        final String id = session.getId();
+        final Map<Integer, String> received = session.getChunks() == null ? Collections.<Integer, String> emptyMap()
+                                                                          : session.getChunks();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Uploading %s by chunks, %d already received", file, received.size()));
+        }
+        transferChunks(chunkCount(size), new ChunkTransfer() {
+            @Override
+            public void transfer(int index) throws Exception {
+                long offset = (long) index * chunkSize;
+                byte[] chunk = new byte[(int) Math.min(chunkSize, size - offset)];
+                try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                    raf.seek(offset);
+                    raf.readFully(chunk);
+                }
+                String checksum = BaseEncoding.base64().encode(Hashing.md5().hashBytes(chunk).asBytes());
+                if (!checksum.equals(received.get(index))) {
+                    uploadChunk(id, index, chunk, checksum);
+                }
+            }
+        });
+
+        ResteasyWebTarget target = client.target(restDataspaceUrl).path("upload").path("session").path(id);
+        if (encoding != null) {
+            target = target.queryParam("encoding", encoding);
+        }
+        response = target.request().header("sessionid", sessionId).post(null);
+        try {
+            checkConnected(response);
+            if (response.getStatus() != HttpURLConnection.HTTP_CREATED) {
+                throw new IOException("File upload failed. Status code:" + response.getStatus());
+            }
+        } finally {
+            response.close();
+        }
+        return true;
+    }
+
+    /**
+     * Downloads the file of the given size by ranges of bytes, written in a part file renamed to the destination
+     * once complete.
+     *
+     * @return false if the server does not support ranged downloads
+     */
+    boolean download(IRemoteSource source, File destination, final long size)
+            throws NotConnectedException, IOException {
+        final ResteasyWebTarget target = client.target(restDataspaceUrl)
+                                               .path(source.getDataspace().value())
+                                               .path(source.getPath());
+        File parent = destination.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create the directory " + parent);
+        }
+        final File partFile = new File(destination.getPath() + ".part");
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(partFile, "rw")) {
+                raf.setLength(size);
+            }
+            // the first chunk tells whether the server honours byte ranges
+            if (!downloadChunk(target, partFile, 0, size)) {
+                log.debug("Ranged downloads not available");
+                return false;
+            }
+            transferChunks(chunkCount(size) - 1, new ChunkTransfer() {
+                @Override
+                public void transfer(int index) throws Exception {
+                    if (!downloadChunk(target, partFile, index + 1, size)) {
+                        throw new IOException("Byte range not honoured for chunk " + (index + 1));
+                    }
+                }
+            });
+            Files.move(partFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            Files.deleteIfExists(partFile.toPath());
+        }
+    }
+
+    private void uploadChunk(String id, int index, byte[] chunk, String checksum)
+            throws NotConnectedException, IOException {
+        Response response = client.target(restDataspaceUrl)
+                                  .path("upload")
+                                  .path("session")
+                                  .path(id)
+                                  .path(String.valueOf(index))
+                                  .request()
+                                  .header("sessionid", sessionId)
+                                  .header("Content-MD5", checksum)
+                                  .put(Entity.entity(chunk, MediaType.APPLICATION_OCTET_STREAM_TYPE));
+        try {
+            checkConnected(response);
+            if (response.getStatus() != HttpURLConnection.HTTP_NO_CONTENT) {
+                throw new IOException("Chunk " + index + " upload failed. Status code:" + response.getStatus());
+            }
+        } finally {
+            response.close();
+        }
+    }
+
+    private boolean downloadChunk(ResteasyWebTarget target, File partFile, int index, long size)
+            throws NotConnectedException, IOException {
+        long offset = (long) index * chunkSize;
+        long length = Math.min(chunkSize, size - offset);
+        Response response = target.request()
+                                  .header("sessionid", sessionId)
+                                  .header("Range", String.format("bytes=%d-%d", offset, offset + length - 1))
+                                  .acceptEncoding("identity")
+                                  .get();
+        try {
+            checkConnected(response);
+            if (response.getStatus() == HttpURLConnection.HTTP_OK) {
+                return false;
+            } else if (response.getStatus() != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException(String.format("Cannot retrieve chunk %d of the file. Status code: %s",
+                                                    index,
+                                                    response.getStatus()));
+            }
+            byte[] chunk = new byte[(int) length];
+            try (InputStream is = response.readEntity(InputStream.class)) {
+                ByteStreams.readFully(is, chunk);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(partFile, "rw")) {
+                raf.seek(offset);
+                raf.write(chunk);
+            }
+            return true;
+        } finally {
+            response.close();
+        }
+    }
+
+    private int chunkCount(long size) {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    private void transferChunks(int count, final ChunkTransfer transfer) throws NotConnectedException, IOException {
+        if (count <= 0) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelStreams, count),
+                                                                new NamedThreadFactory("DataSpaceChunkTransfer", true));
+        try {
+            List<Future<?>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    transferWithRetries(transfer, index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while transferring chunks");
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), NotConnectedException.class);
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void transferWithRetries(ChunkTransfer transfer, int index) throws Exception {
+        for (int attempt = 0;; attempt++) {
+            try {
+                transfer.transfer(index);
+                return;
+            } catch (NotConnectedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                log.debug("Retrying the transfer of chunk " + index, e);
+            }
+        }
+    }
+
+    private void checkConnected(Response response) throws NotConnectedException {
+        if (response.getStatus() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+            throw new NotConnectedException("User not authenticated or session timeout.");
+        }
+    }
+
+    private interface ChunkTransfer {
+        void transfer(int index) throws Exception;
+    }
+}
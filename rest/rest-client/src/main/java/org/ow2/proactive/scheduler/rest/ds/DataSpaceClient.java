@@ -26,6 +26,7 @@
 package org.ow2.proactive.scheduler.rest.ds;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -38,6 +39,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Entity;
@@ -68,6 +72,13 @@ public class DataSpaceClient implements IDataSpaceClient {
 
     private static final Logger log = Logger.getLogger(DataSpaceClient.class);
 
+    /** Default size of the chunks of the files transferred by chunks, smaller files are sent at once */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    public static final int DEFAULT_PARALLEL_STREAMS = 4;
+
+    public static final int DEFAULT_CHUNK_RETRIES = 3;
+
     private String restDataspaceUrl;
 
     private String sessionId;
@@ -76,6 +87,18 @@ public class DataSpaceClient implements IDataSpaceClient {
 
     private ISchedulerClient schedulerClient;
 
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int parallelStreams = DEFAULT_PARALLEL_STREAMS;
+
+    private int chunkRetries = DEFAULT_CHUNK_RETRIES;
+
+    /**
+     * Nonces of the uploads by chunks which failed, by destination and size. The next upload to the same destination
+     * takes the nonce to resume the upload, while concurrent uploads each get their own nonce.
+     */
+    private final ConcurrentMap<String, String> interruptedUploads = new ConcurrentHashMap<>();
+
     public DataSpaceClient() {
     }
 
@@ -104,6 +127,33 @@ public class DataSpaceClient implements IDataSpaceClient {
         init(connectionInfo.getUrl(), client);
     }
 
+    /**
+     * Sets the size of the chunks of the files transferred by chunks, files smaller than a chunk being transferred
+     * in a single request.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the number of chunks of a file transferred in parallel.
+     */
+    public void setParallelStreams(int parallelStreams) {
+        this.parallelStreams = parallelStreams;
+    }
+
+    /**
+     * Sets the number of times the transfer of a failed chunk is retried.
+     */
+    public void setChunkRetries(int chunkRetries) {
+        this.chunkRetries = chunkRetries;
+    }
+
+    /**
+     * Uploads the source to the destination. Files larger than the chunk size, and folders whose files are larger
+     * than the chunk size and which are still larger once zipped, are uploaded by chunks over parallel streams when
+     * the server supports it. Smaller folders are zipped while they are streamed.
+     */
     @Override
     public boolean upload(final ILocalSource source, final IRemoteDestination destination)
             throws NotConnectedException, PermissionException {
@@ -112,6 +162,64 @@ public class DataSpaceClient implements IDataSpaceClient {
             log.debug("Uploading from " + source + " to " + destination);
         }
 
+        try {
+            if (source instanceof LocalFileSource) {
+                File file = ((LocalFileSource) source).getFile();
+                if (file.length() > chunkSize && uploadByChunks(file, null, destination)) {
+                    logUploaded(source, destination);
+                    return true;
+                }
+            } else if (source instanceof LocalDirSource && ((LocalDirSource) source).getSize() > chunkSize) {
+                // only large folders are zipped locally first, to know the size of the archive to upload by chunks
+                final File archive = File.createTempFile("pa-ds-upload", ".zip");
+                try {
+                    try (OutputStream os = new FileOutputStream(archive)) {
+                        source.writeTo(os);
+                    }
+                    if (archive.length() > chunkSize && uploadByChunks(archive, "zip", destination)) {
+                        logUploaded(source, destination);
+                        return true;
+                    }
+                    return uploadAtOnce(new ILocalSource() {
+                        @Override
+                        public void writeTo(OutputStream outputStream) throws IOException {
+                            Files.copy(archive.toPath(), outputStream);
+                        }
+
+                        @Override
+                        public String getEncoding() throws IOException {
+                            return source.getEncoding();
+                        }
+                    }, destination);
+                } finally {
+                    if (!archive.delete()) {
+                        log.warn("Cannot delete the temporary archive " + archive);
+                    }
+                }
+            }
+        } catch (IOException ioe) {
+            throw Throwables.propagate(ioe);
+        }
+        return uploadAtOnce(source, destination);
+    }
+
+    private boolean uploadByChunks(File file, String encoding, IRemoteDestination destination)
+            throws NotConnectedException, IOException {
+        String key = destination.getDataspace().value() + '\n' + destination.getPath() + '\n' + file.length();
+        String nonce = interruptedUploads.remove(key);
+        if (nonce == null) {
+            nonce = UUID.randomUUID().toString();
+        }
+        try {
+            return chunkedTransfer().upload(file, encoding, destination, nonce);
+        } catch (NotConnectedException | IOException | RuntimeException e) {
+            interruptedUploads.put(key, nonce);
+            throw e;
+        }
+    }
+
+    private boolean uploadAtOnce(final ILocalSource source, final IRemoteDestination destination)
+            throws NotConnectedException, PermissionException {
         StringBuffer uriTmpl = (new StringBuffer()).append(restDataspaceUrl).append(destination.getDataspace().value());
         ResteasyClient client = new ResteasyClientBuilder().httpEngine(httpEngine).build();
         ResteasyWebTarget target = client.target(uriTmpl.toString()).path(destination.getPath());
@@ -132,9 +240,7 @@ public class DataSpaceClient implements IDataSpaceClient {
                 }
             }
 
-            if (log.isDebugEnabled()) {
-                log.debug("Upload from " + source + " to " + destination + " performed with success");
-            }
+            logUploaded(source, destination);
 
             return true;
         } catch (IOException ioe) {
@@ -146,6 +252,12 @@ public class DataSpaceClient implements IDataSpaceClient {
         }
     }
 
+    private void logUploaded(ILocalSource source, IRemoteDestination destination) {
+        if (log.isDebugEnabled()) {
+            log.debug("Upload from " + source + " to " + destination + " performed with success");
+        }
+    }
+
     @Override
     public boolean create(IRemoteSource source) throws NotConnectedException, PermissionException {
         if (log.isDebugEnabled()) {
@@ -186,6 +298,10 @@ public class DataSpaceClient implements IDataSpaceClient {
         }
     }
 
+    /**
+     * Downloads the source to the destination. Files larger than the chunk size are downloaded by chunks over
+     * parallel streams when the server supports it.
+     */
     @Override
     public boolean download(IRemoteSource source, ILocalDestination destination)
             throws NotConnectedException, PermissionException {
@@ -193,15 +309,31 @@ public class DataSpaceClient implements IDataSpaceClient {
             log.debug("Downloading from " + source + " to " + destination);
         }
 
+        List<String> includes = source.getIncludes();
+        List<String> excludes = source.getExcludes();
+        if (destination instanceof LocalDestination && (includes == null || includes.isEmpty()) &&
+            (excludes == null || excludes.isEmpty())) {
+            try {
+                long size = fileSize(source);
+                if (size > chunkSize &&
+                    chunkedTransfer().download(source, ((LocalDestination) destination).getFile(), size)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Download from " + source + " to " + destination + " performed with success");
+                    }
+                    return true;
+                }
+            } catch (IOException ioe) {
+                throw Throwables.propagate(ioe);
+            }
+        }
+
         StringBuffer uriTmpl = (new StringBuffer()).append(restDataspaceUrl).append(source.getDataspace().value());
         ResteasyClient client = new ResteasyClientBuilder().httpEngine(httpEngine).build();
         ResteasyWebTarget target = client.target(uriTmpl.toString()).path(source.getPath());
 
-        List<String> includes = source.getIncludes();
         if (includes != null && !includes.isEmpty()) {
             target = target.queryParam("includes", includes.toArray(new Object[includes.size()]));
         }
-        List<String> excludes = source.getExcludes();
         if (excludes != null && !excludes.isEmpty()) {
             target = target.queryParam("excludes", excludes.toArray(new Object[excludes.size()]));
         }
@@ -363,6 +495,36 @@ public class DataSpaceClient implements IDataSpaceClient {
         }
     }
 
+    /**
+     * @return the size of the source if it is a file, -1 otherwise
+     */
+    private long fileSize(IRemoteSource source) throws NotConnectedException {
+        StringBuffer uriTmpl = (new StringBuffer()).append(restDataspaceUrl).append(source.getDataspace().value());
+        ResteasyClient client = new ResteasyClientBuilder().httpEngine(httpEngine).build();
+        ResteasyWebTarget target = client.target(uriTmpl.toString()).path(source.getPath());
+        Response response = null;
+        try {
+            response = target.request().header("sessionid", sessionId).head();
+            if (response.getStatus() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                throw new NotConnectedException("User not authenticated or session timeout.");
+            }
+            String length = response.getHeaderString(HttpHeaders.CONTENT_LENGTH);
+            if (response.getStatus() != HttpURLConnection.HTTP_OK ||
+                !"FILE".equals(response.getHeaderString("x-proactive-ds-type")) || length == null) {
+                return -1;
+            }
+            return Long.parseLong(length);
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    private ChunkedTransfer chunkedTransfer() {
+        return new ChunkedTransfer(restDataspaceUrl, sessionId, httpEngine, chunkSize, parallelStreams, chunkRetries);
+    }
+
     private String restDataspaceUrl(String restServerUrl) {
         return (new StringBuffer()).append(restServerUrl)
                                    .append((restServerUrl.endsWith("/") ? "" : "/"))
@@ -57,6 +57,10 @@ public class LocalDestination implements ILocalDestination {
         }
     }
 
+    File getFile() {
+        return dest;
+    }
+
     @Override
     public String toString() {
         return "LocalDestination{" + "dest=" + dest + '}';
@@ -81,6 +81,13 @@ public class LocalDirSource implements ILocalSource {
         Zipper.ZIP.zip(source, includes, excludes, outputStream);
     }
 
+    /**
+     * @return the total size of the selected files, before they are zipped
+     */
+    long getSize() {
+        return Zipper.ZIP.uncompressedSize(source, includes, excludes);
+    }
+
     @Override
     public String getEncoding() throws IOException {
         return "zip";
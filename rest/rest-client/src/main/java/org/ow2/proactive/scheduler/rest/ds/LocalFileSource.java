@@ -66,6 +66,10 @@ public class LocalFileSource implements ILocalSource {
         return Zipper.isZipFile(file) ? null : "gzip";
     }
 
+    File getFile() {
+        return file;
+    }
+
     @Override
     public String toString() {
         return "LocalFileSource{" + "file=" + file + '}';
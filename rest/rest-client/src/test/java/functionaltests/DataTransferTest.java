@@ -290,6 +290,30 @@ public class DataTransferTest extends AbstractRestFuncTestCase {
 
     }
 
+    @Test
+    public void testUploadAndDownloadFileByChunks() throws Exception {
+        String testFolderName = "testUploadAndDownloadFileByChunks";
+        System.out.println(testFolderName);
+
+        File tmpFile = tmpDir.newFile(TEMP_FILE_TMP_NAME);
+        Files.write(randomFileContents(), tmpFile);
+
+        DataSpaceClient client = new DataSpaceClient();
+        client.init(new ConnectionInfo(getRestServerUrl(), getLogin(), getPassword(), null, true));
+        client.setChunkSize(FILE_SIZE / 7);
+
+        RemoteDestination dest = new RemoteDestination(USER, testFolderName + "/" + TEMP_FILE_TMP_NAME);
+        assertTrue(client.upload(new LocalFileSource(tmpFile), dest));
+        String destDirPath = URI.create(getScheduler().getUserSpaceURIs().get(0)).getPath();
+        File destFile = new File(destDirPath, testFolderName + "/" + TEMP_FILE_TMP_NAME);
+        assertTrue(Files.equal(tmpFile, destFile));
+
+        File downloadedFile = new File(tmpDir.newFolder(), TEMP_FILE_TMP_NAME);
+        RemoteSource source = new RemoteSource(USER, testFolderName + "/" + TEMP_FILE_TMP_NAME);
+        assertTrue(client.download(source, new LocalDestination(downloadedFile)));
+        assertTrue(Files.equal(tmpFile, downloadedFile));
+    }
+
     @Test
     public void testDownloadZipFile() throws Exception {
         testDownloadArchiveFile(TEMP_FILE_ZIP_NAME, zipFileUrl);
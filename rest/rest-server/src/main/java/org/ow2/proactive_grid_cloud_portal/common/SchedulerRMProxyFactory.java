@@ -25,13 +25,19 @@
  */
 package org.ow2.proactive_grid_cloud_portal.common;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyException;
+import java.util.TreeMap;
 
 import javax.security.auth.login.LoginException;
 
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.log4j.Logger;
 import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.NodeException;
+import org.objectweb.proactive.core.util.log.ProActiveLogger;
 import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.common.util.RMProxyUserInterface;
@@ -41,36 +47,252 @@ import org.ow2.proactive.scheduler.common.util.SchedulerProxyUserInterface;
 import org.ow2.proactive_grid_cloud_portal.webapp.PortalConfiguration;
 
 
+/**
+ * Creates the scheduler and RM connections used by the REST sessions.
+ * <p>
+ * Sessions logged with the same login, password, key and third-party credentials share a bounded
+ * number of connections (see {@link PortalConfiguration#SESSION_CONNECTIONS_PER_USER}), instead of
+ * each one holding its own pair of active objects. Sessions logged with encrypted credentials get
+ * their own connections. A connection must be given back with {@link #release(SchedulerProxyUserInterface)}
+ * or {@link #release(RMProxyUserInterface)}, it is terminated once no session uses it anymore.
+ */
 public class SchedulerRMProxyFactory {
 
+    private static final Logger logger = ProActiveLogger.getLogger(SchedulerRMProxyFactory.class);
+
+    private final SharedConnectionPool<SchedulerProxyUserInterface> schedulerConnections = new SharedConnectionPool<>();
+
+    private final SharedConnectionPool<RMProxyUserInterface> rmConnections = new SharedConnectionPool<>();
+
     public RMProxyUserInterface connectToRM(CredData credData)
             throws ActiveObjectCreationException, NodeException, RMException, KeyException, LoginException {
-        RMProxyUserInterface rm = PAActiveObject.newActive(RMProxyUserInterface.class, new Object[] {});
-        rm.init(PortalConfiguration.RM_URL.getValueAsString(), credData);
+        String key = getConnectionKey(credData);
+        RMProxyUserInterface rm = rmConnections.acquire(key, getMaxConnectionsPerUser());
+        if (rm == null) {
+            try {
+                rm = PAActiveObject.newActive(RMProxyUserInterface.class, new Object[] {});
+                initRM(rm, credData);
+            } catch (Exception e) {
+                rmConnections.cancel(key);
+                throw e;
+            }
+            rmConnections.add(key, rm);
+        }
         return rm;
     }
 
+    /**
+     * Opens a RM connection which is not shared: encrypted credentials cannot be compared without
+     * being decrypted, and the connection keeps the credentials of its session.
+     */
     public RMProxyUserInterface connectToRM(Credentials credentials)
             throws ActiveObjectCreationException, NodeException, RMException, KeyException, LoginException {
         RMProxyUserInterface rm = PAActiveObject.newActive(RMProxyUserInterface.class, new Object[] {});
-        rm.init(PortalConfiguration.RM_URL.getValueAsString(), credentials);
+        initRM(rm, credentials);
         return rm;
     }
 
+    /**
+     * Opens a scheduler connection which is not shared, as the jobs submitted through a connection
+     * run with its credentials.
+     *
+     * @see #connectToRM(Credentials)
+     */
     public SchedulerProxyUserInterface connectToScheduler(Credentials credentials)
             throws LoginException, SchedulerException, ActiveObjectCreationException, NodeException {
+        return connectToExclusiveScheduler(credentials);
+    }
+
+    public SchedulerProxyUserInterface connectToScheduler(CredData credData)
+            throws ActiveObjectCreationException, NodeException, LoginException, SchedulerException {
+        String key = getConnectionKey(credData);
+        SchedulerProxyUserInterface scheduler = schedulerConnections.acquire(key, getMaxConnectionsPerUser());
+        if (scheduler == null) {
+            try {
+                scheduler = connectToExclusiveScheduler(credData);
+            } catch (Exception e) {
+                schedulerConnections.cancel(key);
+                throw e;
+            }
+            schedulerConnections.add(key, scheduler);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Creates a scheduler connection which is not shared with other sessions, to register
+     * an event listener for instance, as a listener is bound to the connection.
+     */
+    public SchedulerProxyUserInterface connectToExclusiveScheduler(Credentials credentials)
+            throws LoginException, SchedulerException, ActiveObjectCreationException, NodeException {
         SchedulerProxyUserInterface scheduler = PAActiveObject.newActive(SchedulerProxyUserInterface.class,
                                                                          new Object[] {});
-        scheduler.init(PortalConfiguration.SCHEDULER_URL.getValueAsString(), credentials);
+        try {
+            scheduler.init(PortalConfiguration.SCHEDULER_URL.getValueAsString(), credentials);
+        } catch (LoginException | SchedulerException | RuntimeException e) {
+            terminate(scheduler);
+            throw e;
+        }
         return scheduler;
     }
 
-    public SchedulerProxyUserInterface connectToScheduler(CredData credData)
+    /**
+     * @see #connectToExclusiveScheduler(Credentials)
+     */
+    public SchedulerProxyUserInterface connectToExclusiveScheduler(CredData credData)
             throws ActiveObjectCreationException, NodeException, LoginException, SchedulerException {
         SchedulerProxyUserInterface scheduler = PAActiveObject.newActive(SchedulerProxyUserInterface.class,
                                                                          new Object[] {});
-        scheduler.init(PortalConfiguration.SCHEDULER_URL.getValueAsString(), credData);
+        try {
+            scheduler.init(PortalConfiguration.SCHEDULER_URL.getValueAsString(), credData);
+        } catch (LoginException | SchedulerException | RuntimeException e) {
+            terminate(scheduler);
+            throw e;
+        }
         return scheduler;
     }
 
+    /**
+     * @return true if the given connection is currently used by several sessions
+     */
+    public boolean isShared(SchedulerProxyUserInterface scheduler) {
+        return schedulerConnections.isShared(scheduler);
+    }
+
+    /**
+     * @return true if the given connection is currently used by several sessions
+     */
+    public boolean isShared(RMProxyUserInterface rm) {
+        return rmConnections.isShared(rm);
+    }
+
+    /**
+     * Gives back a scheduler connection, which is terminated if no other session uses it.
+     */
+    public void release(SchedulerProxyUserInterface scheduler) {
+        if (schedulerConnections.release(scheduler)) {
+            terminate(scheduler);
+        }
+    }
+
+    /**
+     * Gives back a RM connection, which is terminated if no other session uses it.
+     */
+    public void release(RMProxyUserInterface rm) {
+        if (rmConnections.release(rm)) {
+            terminate(rm);
+        }
+    }
+
+    /**
+     * Gives back a scheduler connection, which is disconnected and terminated if no other session uses it.
+     * The connection is removed from the pool before being disconnected, so that it cannot be handed out
+     * to another session meanwhile.
+     */
+    public void releaseAndDisconnect(SchedulerProxyUserInterface scheduler) {
+        if (schedulerConnections.release(scheduler)) {
+            disconnect(scheduler);
+        }
+    }
+
+    /**
+     * @see #releaseAndDisconnect(SchedulerProxyUserInterface)
+     */
+    public void releaseAndDisconnect(RMProxyUserInterface rm) {
+        if (rmConnections.release(rm)) {
+            disconnect(rm);
+        }
+    }
+
+    /**
+     * @return the number of scheduler connections currently opened for the sessions
+     */
+    public int getSchedulerConnectionsCount() {
+        return schedulerConnections.size();
+    }
+
+    /**
+     * @return the number of RM connections currently opened for the sessions
+     */
+    public int getRMConnectionsCount() {
+        return rmConnections.size();
+    }
+
+    private void initRM(RMProxyUserInterface rm, CredData credData) throws RMException, KeyException, LoginException {
+        try {
+            rm.init(PortalConfiguration.RM_URL.getValueAsString(), credData);
+        } catch (RMException | KeyException | LoginException | RuntimeException e) {
+            terminate(rm);
+            throw e;
+        }
+    }
+
+    private void initRM(RMProxyUserInterface rm, Credentials credentials)
+            throws RMException, KeyException, LoginException {
+        try {
+            rm.init(PortalConfiguration.RM_URL.getValueAsString(), credentials);
+        } catch (RMException | KeyException | LoginException | RuntimeException e) {
+            terminate(rm);
+            throw e;
+        }
+    }
+
+    /**
+     * Disconnects and terminates a connection which is not used anymore.
+     */
+    private void disconnect(SchedulerProxyUserInterface scheduler) {
+        try {
+            scheduler.disconnect();
+        } catch (Exception e) {
+            logger.warn("Error occurred while disconnecting a scheduler connection", e);
+        }
+        terminate(scheduler);
+    }
+
+    /**
+     * @see #disconnect(SchedulerProxyUserInterface)
+     */
+    private void disconnect(RMProxyUserInterface rm) {
+        try {
+            rm.disconnect();
+        } catch (Exception e) {
+            logger.warn("Error occurred while disconnecting a RM connection", e);
+        }
+        terminate(rm);
+    }
+
+    private void terminate(Object activeObject) {
+        try {
+            PAActiveObject.terminateActiveObject(activeObject, true);
+        } catch (Throwable e) {
+            logger.warn("Error occurred while terminating a scheduler or RM connection", e);
+        }
+    }
+
+    private int getMaxConnectionsPerUser() {
+        int maxConnectionsPerUser = PortalConfiguration.SESSION_CONNECTIONS_PER_USER.getValueAsInt();
+        // connections are not shared anymore if the limit is not positive
+        return maxConnectionsPerUser > 0 ? maxConnectionsPerUser : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Connections opened with a login and a password are shared only between sessions opened with
+     * exactly the same credentials, so that a connection can be reused before authenticating the
+     * session. Hence the key is a digest of these credentials rather than the user name.
+     */
+    static String getConnectionKey(CredData credData) {
+        StringBuilder key = new StringBuilder("credData\n");
+        key.append(credData.getLogin()).append('\n');
+        key.append(credData.getDomain()).append('\n');
+        key.append(credData.getPassword()).append('\n');
+        if (credData.getKey() != null) {
+            key.append(Base64.encodeBase64String(credData.getKey()));
+        }
+        key.append('\n');
+        if (credData.getThirdPartyCredentials() != null) {
+            key.append(new TreeMap<>(credData.getThirdPartyCredentials()));
+        }
+        return DigestUtils.sha256Hex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
 }
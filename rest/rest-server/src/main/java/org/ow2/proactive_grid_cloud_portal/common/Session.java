@@ -31,7 +31,6 @@ import javax.security.auth.login.LoginException;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.ActiveObjectCreationException;
-import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.NodeException;
 import org.objectweb.proactive.core.util.log.ProActiveLogger;
 import org.ow2.proactive.authentication.crypto.CredData;
@@ -151,6 +150,49 @@ public class Session {
         return rm;
     }
 
+    /**
+     * Returns a scheduler connection which is not shared with other sessions, as required to register
+     * an event listener that is bound to the connection. The shared connection used so far by this session,
+     * if any, is released.
+     */
+    public synchronized SchedulerProxyUserInterface getExclusiveScheduler() {
+        SchedulerProxyUserInterface sharedScheduler = getScheduler();
+        if (sharedScheduler != null && schedulerRMProxyFactory.isShared(sharedScheduler)) {
+            try {
+                if (credData != null) {
+                    scheduler = schedulerRMProxyFactory.connectToExclusiveScheduler(credData);
+                } else {
+                    scheduler = schedulerRMProxyFactory.connectToExclusiveScheduler(credentials);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to connect to the Scheduler", e);
+                throw new RuntimeException(e);
+            }
+            schedulerRMProxyFactory.release(sharedScheduler);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Gives back the scheduler connection of this session, it is disconnected unless other sessions use it.
+     */
+    public synchronized void disconnectScheduler() {
+        if (scheduler != null) {
+            schedulerRMProxyFactory.releaseAndDisconnect(scheduler);
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Gives back the RM connection of this session, it is disconnected unless other sessions use it.
+     */
+    public synchronized void disconnectRM() {
+        if (rm != null) {
+            schedulerRMProxyFactory.releaseAndDisconnect(rm);
+            rm = null;
+        }
+    }
+
     public String getUserName() {
         return userName;
     }
@@ -169,20 +211,16 @@ public class Session {
         return sessionId;
     }
 
-    public void terminate() {
-        terminateActiveObject(rm);
-        terminateActiveObject(scheduler);
-        jobsOutputController.terminate();
-    }
-
-    private void terminateActiveObject(Object activeObject) {
-        if (activeObject != null) {
-            try {
-                PAActiveObject.terminateActiveObject(activeObject, true);
-            } catch (Throwable e) {
-                logger.warn("Error occurred while terminating active object tied to session " + sessionId, e);
-            }
+    public synchronized void terminate() {
+        if (rm != null) {
+            schedulerRMProxyFactory.release(rm);
+            rm = null;
         }
+        if (scheduler != null) {
+            schedulerRMProxyFactory.release(scheduler);
+            scheduler = null;
+        }
+        jobsOutputController.terminate();
     }
 
     public boolean isExpired(long expirationDelay) {
@@ -0,0 +1,235 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Keeps track of the connections which are shared by the sessions of the same user.
+ * <p>
+ * Connections are grouped by a key identifying the user they were opened for. At most
+ * {@code maxConnectionsPerKey} connections are handed out per key, sessions being spread over
+ * the least used ones once this limit is reached. As the connections are active objects serving
+ * one request at a time, this also bounds the number of concurrent requests of a user.
+ * <p>
+ * A slot is reserved by {@link #acquire(String, int)} before a connection is opened, so that
+ * concurrent logins of a user cannot open more connections than the limit.
+ * <p>
+ * A connection is reference counted and must be closed by the caller once {@link #release(Object)}
+ * reports that no session uses it anymore.
+ *
+ * @param <C> the type of the shared connections
+ * @since ProActive Scheduling 8.4
+ */
+public class SharedConnectionPool<C> {
+
+    private final Map<String, KeyConnections> connectionsByKey = new HashMap<>();
+
+    private final Map<C, SharedConnection> sharedConnections = new IdentityHashMap<>();
+
+    /**
+     * Acquires an already opened connection for the given key, or reserves a slot to open a new one.
+     * If the limit is reached by connections which are still being opened, waits for one of them.
+     *
+     * @param key the key identifying the user of the connection
+     * @param maxConnectionsPerKey the maximum number of connections opened for the given key
+     * @return a connection whose reference count has been incremented, or null if a slot has been
+     * reserved: a new connection must then be opened and either {@link #add(String, Object) added}
+     * to the pool or the slot {@link #cancel(String) cancelled}
+     */
+    public synchronized C acquire(String key, int maxConnectionsPerKey) {
+        KeyConnections keyConnections = getKeyConnections(key);
+        while (keyConnections.connections.isEmpty() && keyConnections.opening >= maxConnectionsPerKey) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a connection", e);
+            }
+            keyConnections = getKeyConnections(key);
+        }
+        if (keyConnections.size() < maxConnectionsPerKey) {
+            keyConnections.opening++;
+            return null;
+        }
+        return acquireLeastUsed(keyConnections);
+    }
+
+    /**
+     * Adds a newly opened connection to the pool, with a reference count of one, using the slot
+     * reserved by {@link #acquire(String, int)} if any.
+     *
+     * @param key the key identifying the user of the connection
+     * @param connection the connection
+     */
+    public synchronized void add(String key, C connection) {
+        KeyConnections keyConnections = getKeyConnections(key);
+        if (keyConnections.opening > 0) {
+            keyConnections.opening--;
+        }
+        keyConnections.connections.add(connection);
+        sharedConnections.put(connection, new SharedConnection(key, connection));
+        notifyAll();
+    }
+
+    /**
+     * Frees a slot reserved by {@link #acquire(String, int)} whose connection could not be opened.
+     *
+     * @param key the key identifying the user of the connection
+     */
+    public synchronized void cancel(String key) {
+        KeyConnections keyConnections = getKeyConnections(key);
+        if (keyConnections.opening > 0) {
+            keyConnections.opening--;
+        }
+        removeIfEmpty(key, keyConnections);
+        notifyAll();
+    }
+
+    /**
+     * Adds a connection which had to be opened to know its key, e.g. to authenticate its user,
+     * unless the limit of connections of this key is already reached.
+     *
+     * @param key the key identifying the user of the connection
+     * @param connection the newly opened connection
+     * @param maxConnectionsPerKey the maximum number of connections opened for the given key
+     * @return the given connection if it was added to the pool, or an already opened connection
+     * whose reference count has been incremented, in which case the given one must be closed
+     */
+    public synchronized C share(String key, C connection, int maxConnectionsPerKey) {
+        KeyConnections keyConnections = getKeyConnections(key);
+        if (keyConnections.size() < maxConnectionsPerKey || keyConnections.connections.isEmpty()) {
+            keyConnections.connections.add(connection);
+            sharedConnections.put(connection, new SharedConnection(key, connection));
+            return connection;
+        }
+        return acquireLeastUsed(keyConnections);
+    }
+
+    /**
+     * Releases a connection acquired from or added to the pool.
+     *
+     * @param connection the connection
+     * @return true if no session uses the connection anymore and it must be closed, or if the
+     * connection is not part of the pool
+     */
+    public synchronized boolean release(C connection) {
+        SharedConnection sharedConnection = sharedConnections.get(connection);
+        if (sharedConnection == null) {
+            return true;
+        }
+        if (--sharedConnection.references > 0) {
+            return false;
+        }
+        sharedConnections.remove(connection);
+        // connections are compared by identity as calling equals on an active object is a remote call
+        KeyConnections keyConnections = connectionsByKey.get(sharedConnection.key);
+        for (Iterator<C> iterator = keyConnections.connections.iterator(); iterator.hasNext();) {
+            if (iterator.next() == connection) {
+                iterator.remove();
+            }
+        }
+        removeIfEmpty(sharedConnection.key, keyConnections);
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * @param connection the connection
+     * @return true if the connection is currently used by more than one session
+     */
+    public synchronized boolean isShared(C connection) {
+        SharedConnection sharedConnection = sharedConnections.get(connection);
+        return sharedConnection != null && sharedConnection.references > 1;
+    }
+
+    /**
+     * @return the number of connections currently opened through the pool
+     */
+    public synchronized int size() {
+        return sharedConnections.size();
+    }
+
+    private KeyConnections getKeyConnections(String key) {
+        KeyConnections keyConnections = connectionsByKey.get(key);
+        if (keyConnections == null) {
+            keyConnections = new KeyConnections();
+            connectionsByKey.put(key, keyConnections);
+        }
+        return keyConnections;
+    }
+
+    private void removeIfEmpty(String key, KeyConnections keyConnections) {
+        if (keyConnections.size() == 0) {
+            connectionsByKey.remove(key);
+        }
+    }
+
+    private C acquireLeastUsed(KeyConnections keyConnections) {
+        SharedConnection leastUsed = null;
+        for (C connection : keyConnections.connections) {
+            SharedConnection sharedConnection = sharedConnections.get(connection);
+            if (leastUsed == null || sharedConnection.references < leastUsed.references) {
+                leastUsed = sharedConnection;
+            }
+        }
+        leastUsed.references++;
+        return leastUsed.connection;
+    }
+
+    private class KeyConnections {
+
+        private final List<C> connections = new ArrayList<>();
+
+        /** number of slots reserved for connections being opened */
+        private int opening;
+
+        private int size() {
+            return connections.size() + opening;
+        }
+    }
+
+    private class SharedConnection {
+
+        private final String key;
+
+        private final C connection;
+
+        private int references = 1;
+
+        private SharedConnection(String key, C connection) {
+            this.key = key;
+            this.connection = connection;
+        }
+    }
+
+}
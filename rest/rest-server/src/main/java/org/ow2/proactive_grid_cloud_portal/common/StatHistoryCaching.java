@@ -26,6 +26,11 @@
 package org.ow2.proactive_grid_cloud_portal.common;
 
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 
 /**
@@ -36,6 +41,8 @@ import java.util.HashMap;
  * <p>
  * This class will store the result of the requests along with the parameter,
  * so that future request matching the same parameter are directly retrieved from the cache.
+ * Identical requests received while the value is being computed wait for that computation
+ * instead of querying the server again.
  * 
  * @author mschnoor
  *
@@ -74,6 +81,8 @@ public class StatHistoryCaching {
 
     private HashMap<String, StatHistoryCacheEntry> statHistoryCache = null;
 
+    private final ConcurrentMap<String, FutureTask<String>> pendingRequests = new ConcurrentHashMap<>();
+
     private static StatHistoryCaching instance = null;
 
     private StatHistoryCaching() {
@@ -108,4 +117,45 @@ public class StatHistoryCaching {
         this.statHistoryCache.put(key, entry);
     }
 
+    /**
+     * Returns the cached value of the given key, or computes it. Only one computation runs at a time
+     * for a given key, concurrent callers share its result.
+     *
+     * @param key key of the cache element to retrieve
+     * @param loader computes the value when there is no unexpired cache entry
+     * @return the cached or computed value
+     * @throws ExecutionException when the computation failed, wrapping its cause
+     * @throws InterruptedException when interrupted while waiting for the computation
+     */
+    public String getValue(String key, Callable<String> loader) throws ExecutionException, InterruptedException {
+        StatHistoryCacheEntry entry = getEntry(key);
+        if (entry != null) {
+            return entry.getValue();
+        }
+
+        FutureTask<String> task = new FutureTask<>(() -> {
+            // the previous request may have completed since the cache was checked
+            StatHistoryCacheEntry cached = getEntry(key);
+            if (cached != null) {
+                return cached.getValue();
+            }
+            long timeStamp = System.currentTimeMillis();
+            String value = loader.call();
+            // the entry is added before the request is removed so that no caller can miss both
+            addEntry(key, timeStamp, value);
+            return value;
+        });
+        FutureTask<String> pending = pendingRequests.putIfAbsent(key, task);
+        if (pending != null) {
+            return pending.get();
+        }
+
+        try {
+            task.run();
+            return task.get();
+        } finally {
+            pendingRequests.remove(key, task);
+        }
+    }
+
 }
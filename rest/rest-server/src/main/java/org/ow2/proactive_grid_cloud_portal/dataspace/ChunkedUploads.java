@@ -0,0 +1,271 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.dataspace;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive_grid_cloud_portal.dataspace.dto.UploadSession;
+import org.ow2.proactive_grid_cloud_portal.webapp.PortalConfiguration;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+
+
+/**
+ * Files uploaded by chunks in the dataspaces. The chunks are written in a part file of a local directory and the
+ * file is handed to the dataspace once all of them are received.
+ * <p>
+ * An upload is identified by its user, dataspace, path, size, chunk size and by a nonce chosen by the client for
+ * each upload, so that concurrent uploads of the same file do not share a part file while opening an upload again
+ * with the same nonce after an interruption gives back the checksums of the chunks already received and only the
+ * missing ones are sent. Uploads left inactive longer than the expiration delay are discarded.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class ChunkedUploads {
+
+    private static final Logger logger = Logger.getLogger(ChunkedUploads.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static ChunkedUploads instance;
+
+    private final File directory;
+
+    private final long expiration;
+
+    private final ConcurrentMap<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    ChunkedUploads(File directory, long expiration) {
+        this.directory = directory;
+        this.expiration = expiration;
+    }
+
+    public static synchronized ChunkedUploads getInstance() {
+        if (instance == null) {
+            String directory = PortalConfiguration.DATASPACE_UPLOAD_DIR.getValueAsStringOrNull();
+            long expiration = PortalConfiguration.DATASPACE_UPLOAD_EXPIRATION.getValueAsInt();
+            instance = new ChunkedUploads(directory == null ? new File(System.getProperty("java.io.tmpdir"),
+                                                                       "pa-rest-uploads")
+                                                            : new File(directory),
+                                          TimeUnit.SECONDS.toMillis(expiration));
+        }
+        return instance;
+    }
+
+    /**
+     * Opens the upload of a file, or resumes it if it was already opened with the same parameters.
+     *
+     * @param nonce chosen by the client for this upload, null for clients which do not send one
+     */
+    public UploadSession open(String user, String dataspace, String pathname, long size, int chunkSize, String nonce)
+            throws IOException {
+        checkArgument(size >= 0, "Invalid upload size: %s.", size);
+        checkArgument(chunkSize > 0, "Invalid chunk size: %s.", chunkSize);
+        discardExpired();
+
+        String id = Hashing.sha1()
+                           .hashString(user + '\n' + dataspace.toLowerCase() + '\n' + pathname + '\n' + size + '\n' +
+                                       chunkSize + '\n' + Strings.nullToEmpty(nonce), StandardCharsets.UTF_8)
+                           .toString();
+        Upload upload = uploads.get(id);
+        if (upload == null) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create the upload directory " + directory);
+            }
+            Upload created = new Upload(id, user, dataspace, pathname, size, chunkSize, new File(directory, id));
+            upload = uploads.putIfAbsent(id, created);
+            if (upload == null) {
+                upload = created;
+                logger.debug(String.format("Opened upload %s of %s in %s", id, pathname, dataspace.toUpperCase()));
+            }
+        }
+        upload.touch();
+        return upload.toSession();
+    }
+
+    /**
+     * @return the upload of the given user with the given id, or null if it is unknown or expired
+     */
+    public Upload get(String user, String id) {
+        Upload upload = uploads.get(id);
+        if (upload == null || !upload.user.equals(user)) {
+            return null;
+        }
+        upload.touch();
+        return upload;
+    }
+
+    public void remove(Upload upload) {
+        if (take(upload)) {
+            upload.delete();
+        }
+    }
+
+    /**
+     * Removes an upload without deleting its part file, so that it is committed by a single request.
+     *
+     * @return true if the upload was removed by this call, its part file must then be deleted once read
+     */
+    public boolean take(Upload upload) {
+        return uploads.remove(upload.id, upload);
+    }
+
+    private void discardExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Upload> it = uploads.values().iterator(); it.hasNext();) {
+            Upload upload = it.next();
+            if (now - upload.lastAccess > expiration) {
+                it.remove();
+                logger.debug("Discarding expired upload " + upload.id);
+                upload.delete();
+            }
+        }
+    }
+
+    public static class Upload {
+
+        private final String id;
+
+        private final String user;
+
+        private final String dataspace;
+
+        private final String pathname;
+
+        private final long size;
+
+        private final int chunkSize;
+
+        private final File partFile;
+
+        private final ConcurrentMap<Integer, String> chunks = new ConcurrentHashMap<>();
+
+        private volatile long lastAccess;
+
+        Upload(String id, String user, String dataspace, String pathname, long size, int chunkSize, File partFile) {
+            this.id = id;
+            this.user = user;
+            this.dataspace = dataspace;
+            this.pathname = pathname;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.partFile = partFile;
+        }
+
+        public String getDataspace() {
+            return dataspace;
+        }
+
+        public String getPathname() {
+            return pathname;
+        }
+
+        public int getChunkCount() {
+            return (int) ((size + chunkSize - 1) / chunkSize);
+        }
+
+        public boolean isComplete() {
+            return chunks.size() == getChunkCount();
+        }
+
+        /**
+         * Writes a chunk at its place in the part file. The chunk is only recorded as received if it has the
+         * expected length and, when given, the expected base64 encoded MD5 checksum.
+         */
+        public void writeChunk(int index, InputStream is, String expectedChecksum) throws IOException {
+            checkArgument(index >= 0 && index < getChunkCount(), "Invalid chunk index: %s.", index);
+            long offset = (long) index * chunkSize;
+            long length = Math.min(chunkSize, size - offset);
+
+            // a chunk sent again is only valid once fully rewritten
+            chunks.remove(index);
+            Hasher hasher = Hashing.md5().newHasher();
+            long written = 0;
+            try (RandomAccessFile raf = new RandomAccessFile(partFile, "rw")) {
+                raf.seek(offset);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    checkArgument(written + read <= length, "Chunk %s is longer than %s bytes.", index, length);
+                    raf.write(buffer, 0, read);
+                    hasher.putBytes(buffer, 0, read);
+                    written += read;
+                }
+            }
+            checkArgument(written == length, "Chunk %s has %s bytes instead of %s.", index, written, length);
+
+            String checksum = BaseEncoding.base64().encode(hasher.hash().asBytes());
+            checkArgument(expectedChecksum == null || expectedChecksum.equals(checksum),
+                          "Checksum mismatch for chunk %s.",
+                          index);
+            chunks.put(index, checksum);
+            touch();
+        }
+
+        public InputStream openStream() throws IOException {
+            if (!partFile.exists()) {
+                // only possible for an empty file, which has no chunk
+                partFile.createNewFile();
+            }
+            return new FileInputStream(partFile);
+        }
+
+        UploadSession toSession() {
+            UploadSession session = new UploadSession();
+            session.setId(id);
+            session.setSize(size);
+            session.setChunkSize(chunkSize);
+            session.setChunks(new HashMap<>(chunks));
+            return session;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        void delete() {
+            if (partFile.exists() && !partFile.delete()) {
+                logger.warn("Cannot delete the upload part file " + partFile);
+            }
+        }
+    }
+}
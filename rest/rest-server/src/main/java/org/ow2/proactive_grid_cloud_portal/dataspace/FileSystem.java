@@ -207,6 +207,25 @@ public class FileSystem {
         }
     }
 
+    /**
+     * Copies the given range of bytes of the file.
+     */
+    public static void copy(FileObject fo, long offset, long length, OutputStream os) throws IOException {
+        fo.refresh();
+        Closer closer = Closer.create();
+        closer.register(os);
+        try {
+            InputStream is = fo.getContent().getInputStream();
+            closer.register(is);
+            ByteStreams.skipFully(is, offset);
+            ByteStreams.copy(ByteStreams.limit(is, length), os);
+        } catch (IOException ioe) {
+            throw closer.rethrow(ioe);
+        } finally {
+            closer.close();
+        }
+    }
+
     public static boolean isEmpty(FileObject fo) throws FileSystemException {
         fo.refresh();
         FileObject[] children = fo.getChildren();
@@ -33,6 +33,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.HttpHeaders;
@@ -53,6 +55,7 @@ import org.ow2.proactive_grid_cloud_portal.common.Session;
 import org.ow2.proactive_grid_cloud_portal.common.SessionStore;
 import org.ow2.proactive_grid_cloud_portal.common.SharedSessionStore;
 import org.ow2.proactive_grid_cloud_portal.dataspace.dto.ListFile;
+import org.ow2.proactive_grid_cloud_portal.dataspace.dto.UploadSession;
 import org.ow2.proactive_grid_cloud_portal.dataspace.util.VFSZipper;
 import org.ow2.proactive_grid_cloud_portal.scheduler.exception.NotConnectedRestException;
 import org.ow2.proactive_grid_cloud_portal.scheduler.exception.PermissionRestException;
@@ -72,6 +75,8 @@ public class RestDataspaceImpl {
 
     private static SessionStore sessions = SharedSessionStore.getInstance();
 
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
     /**
      * Upload a file to the specified location in the <i>dataspace</i>. The
      * format of the PUT URI is:
@@ -147,6 +152,9 @@ public class RestDataspaceImpl {
      * <li>a 'zip' encoded stream, if the client accepts 'zip' encoded contents</li>
      * </ul>
      * </li>
+     * <li>If the pathname represents a file and a single byte range is given in
+     * the 'Range' header, only these bytes are returned, as an identity encoded
+     * stream with a 206 (Partial Content) status.</li>
      * <li>If the pathname represents a directory, its contents will be returned
      * as 'zip' encoded stream.</li>
      * <li>file names or regular expressions can be used as 'includes' and
@@ -157,7 +165,8 @@ public class RestDataspaceImpl {
     @GET
     @Path("/{dataspace}/{path-name:.*}")
     public Response retrieve(@HeaderParam("sessionid") String sessionId,
-            @HeaderParam("Accept-Encoding") String encoding, @PathParam("dataspace") String dataspace,
+            @HeaderParam("Accept-Encoding") String encoding, @HeaderParam("Range") String range,
+            @PathParam("dataspace") String dataspace,
             @PathParam("path-name") String pathname, @QueryParam("comp") String component,
             @QueryParam("includes") List<String> includes, @QueryParam("excludes") List<String> excludes)
             throws NotConnectedRestException, PermissionRestException {
@@ -173,7 +182,13 @@ public class RestDataspaceImpl {
                 return componentResponse(component, fo, includes, excludes);
             }
             if (fo.getType() == FileType.FILE) {
-                if (VFSZipper.isZipFile(fo)) {
+                if (!Strings.isNullOrEmpty(range) && BYTE_RANGE.matcher(range).matches()) {
+                    logger.debug(String.format("Retrieving range %s of file %s in %s",
+                                               range,
+                                               pathname,
+                                               dataspace.toUpperCase()));
+                    return rangeComponentResponse(fo, range);
+                } else if (VFSZipper.isZipFile(fo)) {
                     logger.debug(String.format("Retrieving file %s in %s", pathname, dataspace.toUpperCase()));
                     return fileComponentResponse(fo);
                 } else if (Strings.isNullOrEmpty(encoding) || encoding.contains("*") || encoding.contains("gzip")) {
@@ -313,6 +328,125 @@ public class RestDataspaceImpl {
         }
     }
 
+    /**
+     * Opens the upload by chunks of a file to the specified location in the
+     * <i>dataspace</i>, or resumes it if it was already opened with the same
+     * size, chunk size and nonce. The format of the POST URI is:
+     * <p>
+     * {@code http://<rest-server-path>/data/upload/<dataspace>/<path-name>?size=<size>&chunksize=<chunk-size>}
+     * <p>
+     * The optional {@code nonce} query parameter is chosen by the client for
+     * each upload, so that concurrent uploads of the same file are kept apart.
+     * <p>
+     * An {@link UploadSession} object is returned in JSON format. It contains the
+     * id of the upload and the checksums of the chunks already received. The
+     * missing chunks are then sent with {@link #storeChunk} and the file is
+     * written in the dataspace with {@link #commitUpload}.
+     */
+    @POST
+    @Path("/upload/{dataspace}/{path-name:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response openUpload(@HeaderParam("sessionid") String sessionId, @PathParam("dataspace") String dataspace,
+            @PathParam("path-name") String pathname, @QueryParam("size") long size,
+            @QueryParam("chunksize") int chunkSize, @QueryParam("nonce") String nonce)
+            throws NotConnectedRestException, PermissionRestException {
+        Session session = checkSessionValidity(sessionId);
+        try {
+            checkPathParams(dataspace, pathname);
+            logger.debug(String.format("Opening upload of %s in %s", pathname, dataspace.toUpperCase()));
+            UploadSession upload = ChunkedUploads.getInstance()
+                                                 .open(session.getUserName(),
+                                                       dataspace,
+                                                       pathname,
+                                                       size,
+                                                       chunkSize,
+                                                       nonce);
+            return Response.ok(upload, MediaType.APPLICATION_JSON).build();
+        } catch (Throwable error) {
+            logger.error(String.format("Cannot open the upload of %s in %s.", pathname, dataspace.toUpperCase()),
+                         error);
+            throw rethrow(error);
+        }
+    }
+
+    /**
+     * Stores a chunk of a file uploaded by chunks. The format of the PUT URI is:
+     * <p>
+     * {@code http://<rest-server-path>/data/upload/session/<id>/<chunk-index>}
+     * <p>
+     * <b>Notes:</b>
+     * <ul>
+     * <li>If the 'Content-MD5' header is given, the chunk is rejected when its
+     * checksum differs.</li>
+     * <li>A chunk can be sent again, for instance after a failure, and chunks
+     * can be sent in parallel.</li>
+     * </ul>
+     */
+    @PUT
+    @Path("/upload/session/{id}/{index}")
+    public Response storeChunk(@HeaderParam("sessionid") String sessionId, @HeaderParam("Content-MD5") String checksum,
+            @PathParam("id") String id, @PathParam("index") int index, InputStream is)
+            throws NotConnectedRestException, PermissionRestException {
+        Session session = checkSessionValidity(sessionId);
+        ChunkedUploads.Upload upload = ChunkedUploads.getInstance().get(session.getUserName(), id);
+        if (upload == null) {
+            return notFoundRes();
+        }
+        try {
+            upload.writeChunk(index, is, checksum);
+            return noContentRes();
+        } catch (IllegalArgumentException e) {
+            logger.warn(String.format("Rejected chunk %d of upload %s: %s", index, id, e.getMessage()));
+            return badRequestRes(e.getMessage());
+        } catch (Throwable error) {
+            logger.error(String.format("Cannot store chunk %d of upload %s.", index, id), error);
+            throw rethrow(error);
+        }
+    }
+
+    /**
+     * Writes a file uploaded by chunks in the <i>dataspace</i>, once all its
+     * chunks are received. The format of the POST URI is:
+     * <p>
+     * {@code http://<rest-server-path>/data/upload/session/<id>}
+     * <p>
+     * If 'gzip' or 'zip' is given as the 'encoding' query parameter, the
+     * uploaded contents are decoded before being stored.
+     */
+    @POST
+    @Path("/upload/session/{id}")
+    public Response commitUpload(@HeaderParam("sessionid") String sessionId, @PathParam("id") String id,
+            @QueryParam("encoding") String encoding) throws NotConnectedRestException, PermissionRestException {
+        Session session = checkSessionValidity(sessionId);
+        ChunkedUploads uploads = ChunkedUploads.getInstance();
+        ChunkedUploads.Upload upload = uploads.get(session.getUserName(), id);
+        if (upload == null) {
+            return notFoundRes();
+        }
+        if (!upload.isComplete()) {
+            return badRequestRes(String.format("Upload %s is missing chunks.", id));
+        }
+        // an upload committed concurrently is written only once
+        if (!uploads.take(upload)) {
+            return notFoundRes();
+        }
+        try (InputStream is = upload.openStream()) {
+            logger.debug(String.format("Storing uploaded file %s in %s",
+                                       upload.getPathname(),
+                                       upload.getDataspace().toUpperCase()));
+            writeFile(is, resolveFile(session, upload.getDataspace(), upload.getPathname()), encoding);
+        } catch (Throwable error) {
+            logger.error(String.format("Cannot save the uploaded file to %s in %s.",
+                                       upload.getPathname(),
+                                       upload.getDataspace().toUpperCase()),
+                         error);
+            rethrow(error);
+        } finally {
+            upload.delete();
+        }
+        return Response.status(Response.Status.CREATED).build();
+    }
+
     private Response componentResponse(String type, FileObject fo, List<String> includes, List<String> excludes)
             throws FileSystemException {
         switch (type) {
@@ -369,6 +503,53 @@ public class RestDataspaceImpl {
         }).header(HttpHeaders.CONTENT_TYPE, mediaType(fo)).header(HttpHeaders.CONTENT_ENCODING, "identity").build();
     }
 
+    private Response rangeComponentResponse(final FileObject fo, String range) throws FileSystemException {
+        long size = fo.getContent().getSize();
+        Matcher matcher = BYTE_RANGE.matcher(range);
+        matcher.matches();
+        long first;
+        long last;
+        try {
+            if (matcher.group(1).isEmpty()) {
+                // suffix range, the last bytes of the file
+                first = matcher.group(2).isEmpty() ? size : Math.max(0, size - Long.parseLong(matcher.group(2)));
+                last = size - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                last = matcher.group(2).isEmpty() ? size - 1 : Math.min(size - 1, Long.parseLong(matcher.group(2)));
+            }
+        } catch (NumberFormatException e) {
+            // the positions do not fit in a long
+            return rangeNotSatisfiableResponse(size);
+        }
+        if (first > last) {
+            return rangeNotSatisfiableResponse(size);
+        }
+        final long offset = first;
+        final long length = last - first + 1;
+        return Response.status(Response.Status.PARTIAL_CONTENT).entity(new StreamingOutput() {
+            @Override
+            public void write(OutputStream outputStream) throws IOException, WebApplicationException {
+                try {
+                    FileSystem.copy(fo, offset, length, outputStream);
+                } catch (IOException ioe) {
+                    throw new WebApplicationException(ioe, Response.Status.INTERNAL_SERVER_ERROR);
+                }
+            }
+        })
+                       .header(HttpHeaders.CONTENT_TYPE, mediaType(fo))
+                       .header(HttpHeaders.CONTENT_ENCODING, "identity")
+                       .header(HttpHeaders.CONTENT_LENGTH, length)
+                       .header("Content-Range", String.format("bytes %d-%d/%d", first, last, size))
+                       .build();
+    }
+
+    private Response rangeNotSatisfiableResponse(long size) {
+        return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                       .header("Content-Range", "bytes */" + size)
+                       .build();
+    }
+
     private Response deleteDir(FileObject fo, List<String> includes, List<String> excludes) throws FileSystemException {
         if ((includes == null || includes.isEmpty()) && (excludes == null || excludes.isEmpty())) {
             fo.delete(SELECT_ALL);
@@ -27,27 +27,27 @@ package org.ow2.proactive_grid_cloud_portal.rm;
 
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.KeyException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import javax.management.Attribute;
-import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
@@ -82,6 +82,7 @@ import org.objectweb.proactive.core.node.NodeFactory;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.authentication.crypto.Credentials;
+import org.ow2.proactive.jmx.RRDDataStore;
 import org.ow2.proactive.resourcemanager.common.NSState;
 import org.ow2.proactive.resourcemanager.common.RMState;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
@@ -103,12 +104,10 @@ import org.ow2.proactive_grid_cloud_portal.common.Session;
 import org.ow2.proactive_grid_cloud_portal.common.SessionStore;
 import org.ow2.proactive_grid_cloud_portal.common.SharedSessionStore;
 import org.ow2.proactive_grid_cloud_portal.common.StatHistoryCaching;
-import org.ow2.proactive_grid_cloud_portal.common.StatHistoryCaching.StatHistoryCacheEntry;
 import org.ow2.proactive_grid_cloud_portal.common.dto.LoginForm;
 import org.rrd4j.ConsolFun;
-import org.rrd4j.core.FetchData;
-import org.rrd4j.core.FetchRequest;
-import org.rrd4j.core.RrdDb;
+
+import com.google.common.base.Throwables;
 
 
 @Path("/rm")
@@ -161,8 +160,9 @@ public class RMRest implements RMRestInterface {
     @Path("disconnect")
     @Produces("application/json")
     public void rmDisconnect(@HeaderParam("sessionid") String sessionId) throws NotConnectedException {
-        RMProxyUserInterface rm = checkAccess(sessionId);
-        rm.disconnect();
+        checkAccess(sessionId);
+        // a connection shared with other sessions of the user is only released
+        sessionStore.get(sessionId).disconnectRM();
         sessionStore.terminate(sessionId);
     }
 
@@ -763,31 +763,36 @@ public class RMRest implements RMRestInterface {
             range += 'a';
         }
 
-        StatHistoryCacheEntry cache = StatHistoryCaching.getInstance().getEntry(range);
-        // found unexpired cache entry matching the parameters: return it immediately
-        if (cache != null) {
-            return cache.getValue();
+        String ranges = range;
+        try {
+            // identical queries in flight are coalesced, the result is cached for a few seconds
+            return StatHistoryCaching.getInstance().getValue(ranges, () -> fetchStatHistory(rm, ranges));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            Throwables.propagateIfInstanceOf(cause, IOException.class);
+            Throwables.propagateIfInstanceOf(cause, InstanceNotFoundException.class);
+            Throwables.propagateIfInstanceOf(cause, ReflectionException.class);
+            Throwables.propagateIfInstanceOf(cause, MalformedObjectNameException.class);
+            throw Throwables.propagate(cause);
         }
+    }
 
-        long l1 = System.currentTimeMillis();
-
-        ObjectName on = new ObjectName(RMJMXBeans.RUNTIMEDATA_MBEAN_NAME);
-        AttributeList attrs = rm.getMBeanAttributes(on, new String[] { "StatisticHistory" });
-        Attribute attr = (Attribute) attrs.get(0);
-        // content of the RRD4J database backing file
-        byte[] rrd4j = (byte[]) attr.getValue();
-
-        File rrd4jDb = File.createTempFile("database", "rr4dj");
-        rrd4jDb.deleteOnExit();
-
-        try (OutputStream out = new FileOutputStream(rrd4jDb)) {
-            out.write(rrd4j);
+    private String fetchStatHistory(RMProxyUserInterface rm, String range)
+            throws InstanceNotFoundException, ReflectionException, MalformedObjectNameException, IOException {
+        // one windowed query per distinct range, only the consolidated points are sent by the RM
+        Map<Character, List<String>> dataSourcesByRange = new LinkedHashMap<>();
+        for (int i = 0; i < dataSources.length; i++) {
+            dataSourcesByRange.computeIfAbsent(range.charAt(i), zone -> new ArrayList<>()).add(dataSources[i]);
+        }
+        Map<String, double[]> history = new HashMap<>();
+        for (Map.Entry<Character, List<String>> entry : dataSourcesByRange.entrySet()) {
+            List<String> names = entry.getValue();
+            history.putAll(rm.getStatisticHistory(names.toArray(new String[names.size()]),
+                                                  ConsolFun.AVERAGE.name(),
+                                                  RRDDataStore.getRangeInSeconds(entry.getKey()),
+                                                  1));
         }
 
-        // create RRD4J DB, should be identical to the one held by the RM
-        RrdDb db = new RrdDb(rrd4jDb.getAbsolutePath(), true);
-
-        long timeEnd = db.getLastUpdateTime();
         // force float separator for JSON parsing
         DecimalFormatSymbols otherSymbols = new DecimalFormatSymbols(Locale.US);
         otherSymbols.setDecimalSeparator('.');
@@ -800,43 +805,9 @@ public class RMRest implements RMRestInterface {
 
         for (int i = 0; i < dataSources.length; i++) {
             String dataSource = dataSources[i];
-            char zone = range.charAt(i);
-            long timeStart;
-
-            switch (zone) {
-                default:
-                case 'a': // 1 minute
-                    timeStart = timeEnd - 60;
-                    break;
-                case 'm': // 10 minute
-                    timeStart = timeEnd - 60 * 10;
-                    break;
-                case 'h': // 1 hours
-                    timeStart = timeEnd - 60 * 60;
-                    break;
-                case 'H': // 8 hours
-                    timeStart = timeEnd - 60 * 60 * 8;
-                    break;
-                case 'd': // 1 day
-                    timeStart = timeEnd - 60 * 60 * 24;
-                    break;
-                case 'w': // 1 week
-                    timeStart = timeEnd - 60 * 60 * 24 * 7;
-                    break;
-                case 'M': // 1 month
-                    timeStart = timeEnd - 60 * 60 * 24 * 28;
-                    break;
-                case 'y': // 1 year
-                    timeStart = timeEnd - 60 * 60 * 24 * 365;
-                    break;
-            }
-
-            FetchRequest req = db.createFetchRequest(ConsolFun.AVERAGE, timeStart, timeEnd);
-            req.setFilter(dataSource);
-            FetchData fetchData = req.fetchData();
             result.append("\"").append(dataSource).append("\":[");
 
-            double[] values = fetchData.getValues(dataSource);
+            double[] values = history.get(dataSource);
             for (int j = 0; j < values.length; j++) {
                 if (Double.compare(Double.NaN, values[j]) == 0) {
                     result.append("null");
@@ -852,14 +823,7 @@ public class RMRest implements RMRestInterface {
         }
         result.append("}");
 
-        db.close();
-        rrd4jDb.delete();
-
-        String ret = result.toString();
-
-        StatHistoryCaching.getInstance().addEntry(range, l1, ret);
-
-        return ret;
+        return result.toString();
     }
 
     @Override
@@ -38,6 +38,8 @@ import java.security.KeyException;
 import java.security.PublicKey;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.security.auth.login.LoginException;
@@ -49,6 +51,7 @@ import javax.ws.rs.core.*;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileType;
@@ -101,6 +104,8 @@ import org.ow2.proactive_grid_cloud_portal.scheduler.dto.eventing.EventNotificat
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.eventing.EventSubscription;
 import org.ow2.proactive_grid_cloud_portal.scheduler.exception.*;
 import org.ow2.proactive_grid_cloud_portal.scheduler.util.EventUtil;
+import org.ow2.proactive_grid_cloud_portal.scheduler.util.LazyInputStreamEnumeration;
+import org.ow2.proactive_grid_cloud_portal.scheduler.util.PagedTaskIterator;
 import org.ow2.proactive_grid_cloud_portal.scheduler.util.ValidationUtil;
 import org.ow2.proactive_grid_cloud_portal.scheduler.util.WorkflowVariablesTransformer;
 import org.ow2.proactive_grid_cloud_portal.webapp.DateFormatter;
@@ -366,6 +371,47 @@ public class SchedulerStateRest implements SchedulerRestInterface {
         }
     }
 
+    @Override
+    @GET
+    @GZIP
+    @Path("revisionjobsinfo/cursor")
+    @Produces({ "application/json", "application/xml" })
+    public RestMapCursorPage<Long, ArrayList<UserJobData>> revisionAndJobsInfoByCursor(
+            @HeaderParam("sessionid") String sessionId, @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("50") int limit,
+            @QueryParam("myjobs") @DefaultValue("false") boolean myJobs,
+            @QueryParam("pending") @DefaultValue("true") boolean pending,
+            @QueryParam("running") @DefaultValue("true") boolean running,
+            @QueryParam("finished") @DefaultValue("true") boolean finished)
+            throws PermissionRestException, NotConnectedRestException {
+        try {
+            Scheduler s = checkAccess(sessionId, "revisionjobsinfo/cursor?cursor=" + cursor + "&limit=" + limit);
+            String user = sessionStore.get(sessionId).getUserName();
+
+            boolean onlyUserJobs = (myJobs && user != null && user.trim().length() > 0);
+
+            CursorPage<JobInfo> page = s.getJobsByCursor(cursor,
+                                                         limit,
+                                                         new JobFilterCriteria(onlyUserJobs,
+                                                                               pending,
+                                                                               running,
+                                                                               finished));
+            List<JobInfo> jobsInfo = page.getList();
+            ArrayList<UserJobData> jobs = new ArrayList<>(jobsInfo.size());
+            for (JobInfo jobInfo : jobsInfo) {
+                jobs.add(new UserJobData(mapper.map(jobInfo, JobInfoData.class)));
+            }
+
+            HashMap<Long, ArrayList<UserJobData>> map = new HashMap<>(1);
+            map.put(SchedulerStateListener.getInstance().getSchedulerStateRevision(), jobs);
+            return new RestMapCursorPage<>(map, page.getSize(), page.getNextCursor());
+        } catch (PermissionException e) {
+            throw new PermissionRestException(e);
+        } catch (NotConnectedException e) {
+            throw new NotConnectedRestException(e);
+        }
+    }
+
     /**
      * Returns the revision number of the scheduler state
      *
@@ -636,6 +682,43 @@ public class SchedulerStateRest implements SchedulerRestInterface {
         }
     }
 
+    @Override
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/result/value/stream")
+    @Produces("application/json")
+    public InputStream jobResultValueStream(@HeaderParam("sessionid") String sessionId,
+            @PathParam("jobid") String jobId)
+            throws NotConnectedRestException, PermissionRestException, UnknownJobRestException {
+        try {
+            Scheduler s = checkAccess(sessionId, PATH_JOBS + jobId + "/result/value/stream");
+            Iterator<TaskResult> taskResults = readTaskPages(jobId, (offset, limit) -> {
+                return s.getTaskResultsPaginated(jobId, offset, limit);
+            });
+            Charset encoding = Charset.forName(FILE_ENCODING);
+
+            // the JSON object is written one task result at a time
+            AtomicBoolean first = new AtomicBoolean(true);
+            LazyInputStreamEnumeration<TaskResult> results = new LazyInputStreamEnumeration<>(taskResults, result -> {
+                String separator = first.getAndSet(false) ? "" : ",";
+                String name = StringEscapeUtils.escapeJson(result.getTaskId().getReadableName());
+                String value = StringEscapeUtils.escapeJson(getTaskResultValueAsStringOrExceptionStackTrace(result));
+                return IOUtils.toInputStream(separator + '"' + name + "\":\"" + value + '"', encoding);
+            });
+
+            List<InputStream> json = Arrays.asList(IOUtils.toInputStream("{", encoding),
+                                                   new SequenceInputStream(results),
+                                                   IOUtils.toInputStream("}", encoding));
+            return new SequenceInputStream(Collections.enumeration(json));
+        } catch (PermissionException e) {
+            throw new PermissionRestException(e);
+        } catch (UnknownJobException e) {
+            throw new UnknownJobRestException(e);
+        } catch (NotConnectedException e) {
+            throw new NotConnectedRestException(e);
+        }
+    }
+
     /**
      * Delete a job
      *
@@ -1294,21 +1377,16 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             JobState jobState = scheduler.getJobState(jobId);
 
             List<TaskState> tasks = jobState.getTasks();
-            List<InputStream> streams = new ArrayList<>(tasks.size());
 
             Collections.sort(tasks, TaskState.COMPARE_BY_FINISHED_TIME_ASC);
 
-            for (TaskState taskState : tasks) {
-
-                InputStream inputStream = retrieveTaskLogs(taskState, sessionId, jobId);
-
-                if (inputStream != null) {
-                    streams.add(inputStream);
-                }
-            }
+            // the logs of a task are only retrieved once the logs of the previous tasks have been sent
+            String logsSessionId = sessionId;
+            Function<TaskState, InputStream> taskLogs = taskState -> retrieveTaskLogs(taskState, logsSessionId, jobId);
+            LazyInputStreamEnumeration<TaskState> logs = new LazyInputStreamEnumeration<>(tasks.iterator(), taskLogs);
 
             // will produce HTTP 204 code if null
-            return streams.isEmpty() ? null : new SequenceInputStream(Collections.enumeration(streams));
+            return logs.hasMoreElements() ? new SequenceInputStream(logs) : null;
         } catch (PermissionException e) {
             throw new PermissionRestException(e);
         } catch (UnknownJobException e) {
@@ -1669,6 +1747,58 @@ public class SchedulerStateRest implements SchedulerRestInterface {
         }
     }
 
+    @Override
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/tasks/results/paginated")
+    @Produces("application/json")
+    public RestPage<TaskResultData> taskResultsPaginated(@HeaderParam("sessionid") String sessionId,
+            @PathParam("jobid") String jobId, @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("-1") int limit)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException {
+        if (limit == -1)
+            limit = TASKS_PAGE_SIZE;
+        try {
+            Scheduler s = checkAccess(sessionId, PATH_JOBS + jobId + PATH_TASKS + "results/paginated");
+            Page<TaskResult> page = s.getTaskResultsPaginated(jobId, offset, limit);
+            List<TaskResultData> results = new ArrayList<>(page.getList().size());
+            for (TaskResult current : page.getList()) {
+                results.add(buildTaskResultData(current));
+            }
+            return new RestPage<>(results, page.getSize());
+        } catch (PermissionException e) {
+            throw new PermissionRestException(e);
+        } catch (UnknownJobException e) {
+            throw new UnknownJobRestException(e);
+        } catch (NotConnectedException e) {
+            throw new NotConnectedRestException(e);
+        }
+    }
+
+    @Override
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/tasks/results/logs/paginated")
+    @Produces("application/json")
+    public RestPage<TaskLogsData> taskLogsPaginated(@HeaderParam("sessionid") String sessionId,
+            @PathParam("jobid") String jobId, @QueryParam("offset") @DefaultValue("0") int offset,
+            @QueryParam("limit") @DefaultValue("-1") int limit)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException {
+        if (limit == -1)
+            limit = TASKS_PAGE_SIZE;
+        try {
+            Scheduler s = checkAccess(sessionId, PATH_JOBS + jobId + PATH_TASKS + "results/logs/paginated");
+            Page<TaskLogs> page = s.getTaskLogsPaginated(jobId, offset, limit);
+            return new RestPage<>(map(page.getList(), TaskLogsData.class), page.getSize());
+        } catch (PermissionException e) {
+            throw new PermissionRestException(e);
+        } catch (UnknownJobException e) {
+            throw new UnknownJobRestException(e);
+        } catch (NotConnectedException e) {
+            throw new NotConnectedRestException(e);
+        }
+    }
+
     @Override
     @GET
     @GZIP
@@ -1763,6 +1893,42 @@ public class SchedulerStateRest implements SchedulerRestInterface {
         }
     }
 
+    @Override
+    @GET
+    @GZIP
+    @Path("jobs/{jobid}/result/log/all/stream")
+    @Produces("application/json")
+    public InputStream jobLogsStream(@HeaderParam("sessionid") String sessionId, @PathParam("jobid") String jobId)
+            throws NotConnectedRestException, UnknownJobRestException, PermissionRestException {
+        try {
+            Scheduler s = checkAccess(sessionId, PATH_JOBS + jobId + "/result/log/all/stream");
+            // only the logs are read, not the values of the results
+            Iterator<TaskLogs> taskLogs = readTaskPages(jobId, (offset, limit) -> {
+                return s.getTaskLogsPaginated(jobId, offset, limit);
+            });
+            LazyInputStreamEnumeration<TaskLogs> logs = new LazyInputStreamEnumeration<>(taskLogs, taskLog -> {
+                return IOUtils.toInputStream(taskLog.getAllLogs(true), Charset.forName(FILE_ENCODING));
+            });
+
+            // will produce HTTP 204 code if null
+            return logs.hasMoreElements() ? new SequenceInputStream(logs) : null;
+        } catch (PermissionException e) {
+            throw new PermissionRestException(e);
+        } catch (UnknownJobException e) {
+            throw new UnknownJobRestException(e);
+        } catch (NotConnectedException e) {
+            throw new NotConnectedRestException(e);
+        }
+    }
+
+    /**
+     * Reads the elements of the tasks of a job page by page, the first page being read immediately.
+     */
+    private <T> PagedTaskIterator<T> readTaskPages(String jobId, PagedTaskIterator.PageReader<T> reader)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        return new PagedTaskIterator<>(reader, jobId, PortalConfiguration.SCHEDULER_RESULTS_PAGE_SIZE.getValueAsInt());
+    }
+
     @Override
     @GET
     @GZIP
@@ -2590,13 +2756,13 @@ public class SchedulerStateRest implements SchedulerRestInterface {
     public void disconnect(@HeaderParam("sessionid")
     final String sessionId) throws NotConnectedRestException, PermissionRestException {
         try {
-            final Scheduler s = checkAccess(sessionId, "disconnect");
-            logger.info("disconnection user " + sessionStore.get(sessionId) + " to session " + sessionId);
-            s.disconnect();
-        } catch (PermissionException e) {
-            throw new PermissionRestException(e);
-        } catch (NotConnectedException e) {
-            throw new NotConnectedRestException(e);
+            checkAccess(sessionId, "disconnect");
+            Session session = sessionStore.get(sessionId);
+            logger.info("disconnection user " + session + " to session " + sessionId);
+            // a connection shared with other sessions of the user is only released
+            if (session != null) {
+                session.disconnectScheduler();
+            }
         } finally {
             sessionStore.terminate(sessionId);
             logger.debug("sessionid " + sessionId + " terminated");
@@ -3439,7 +3605,9 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             throws NotConnectedRestException, PermissionRestException {
         HttpSession session = req.getSession();
         String broadcasterId = (String) session.getAttribute(ATM_BROADCASTER_ID);
-        final SchedulerProxyUserInterface scheduler = checkAccess(broadcasterId);
+        checkAccess(broadcasterId);
+        // the event listener is bound to the connection, which must not be shared with other sessions
+        final SchedulerProxyUserInterface scheduler = sessionStore.get(broadcasterId).getExclusiveScheduler();
         SchedulerEventBroadcaster eventListener = new SchedulerEventBroadcaster(broadcasterId);
         try {
             final SchedulerEventBroadcaster activedEventListener = PAActiveObject.turnActive(eventListener);
@@ -0,0 +1,75 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.scheduler.util;
+
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+
+/**
+ * Enumerates the streams created from a sequence of elements, each stream being created only
+ * when it is requested. Used with a {@link java.io.SequenceInputStream}, the content of an
+ * element is only read once the content of the previous ones has been consumed.
+ * <p>
+ * Elements for which no stream is created, i.e. the function returns null, are skipped.
+ *
+ * @param <T> the type of the elements
+ * @since ProActive Scheduling 8.4
+ */
+public class LazyInputStreamEnumeration<T> implements Enumeration<InputStream> {
+
+    private final Iterator<T> elements;
+
+    private final Function<T, InputStream> toInputStream;
+
+    private InputStream next;
+
+    public LazyInputStreamEnumeration(Iterator<T> elements, Function<T, InputStream> toInputStream) {
+        this.elements = elements;
+        this.toInputStream = toInputStream;
+    }
+
+    @Override
+    public boolean hasMoreElements() {
+        while (next == null && elements.hasNext()) {
+            next = toInputStream.apply(elements.next());
+        }
+        return next != null;
+    }
+
+    @Override
+    public InputStream nextElement() {
+        if (!hasMoreElements()) {
+            throw new NoSuchElementException();
+        }
+        InputStream current = next;
+        next = null;
+        return current;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.scheduler.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.ow2.proactive.scheduler.common.Page;
+import org.ow2.proactive.scheduler.common.exception.NotConnectedException;
+import org.ow2.proactive.scheduler.common.exception.PermissionException;
+import org.ow2.proactive.scheduler.common.exception.UnknownJobException;
+
+
+/**
+ * Iterates over the elements (results, logs) of the tasks of a job, reading them from the scheduler
+ * one page at a time so that at most one page of elements is held in memory whatever the number of
+ * tasks of the job.
+ * <p>
+ * The first page is read when the iterator is created, so that a missing permission or an
+ * unknown job is reported before the elements are consumed.
+ *
+ * @param <T> the type of the elements
+ * @since ProActive Scheduling 8.4
+ */
+public class PagedTaskIterator<T> implements Iterator<T> {
+
+    /**
+     * Reads a page of the elements of the tasks of a job.
+     */
+    @FunctionalInterface
+    public interface PageReader<T> {
+
+        Page<T> readPage(int offset, int limit) throws NotConnectedException, UnknownJobException, PermissionException;
+    }
+
+    private final PageReader<T> reader;
+
+    private final String jobId;
+
+    private final int pageSize;
+
+    private int offset = 0;
+
+    private int size;
+
+    private Iterator<T> page;
+
+    public PagedTaskIterator(PageReader<T> reader, String jobId, int pageSize)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.reader = reader;
+        this.jobId = jobId;
+        this.pageSize = pageSize;
+        readPage();
+    }
+
+    private void readPage() throws NotConnectedException, UnknownJobException, PermissionException {
+        Page<T> elements = reader.readPage(offset, pageSize);
+        size = elements.getSize();
+        offset += pageSize;
+        page = elements.getList().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        // pages may be empty when their tasks are not finished
+        while (!page.hasNext() && offset < size) {
+            try {
+                readPage();
+            } catch (NotConnectedException | UnknownJobException | PermissionException e) {
+                throw new IllegalStateException("Cannot read the tasks of job " + jobId, e);
+            }
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+}
@@ -52,6 +52,9 @@ public enum PortalConfiguration implements PACommonProperties {
             PropertyType.STRING,
             "org.ow2.proactive.scheduler.common.util.logforwarder.providers.SocketBasedForwardingProvider"),
 
+    /** Number of task results read at once from the scheduler when streaming job results and logs */
+    SCHEDULER_RESULTS_PAGE_SIZE("scheduler.results.page.size", PropertyType.INTEGER, "50"),
+
     RM_URL("rm.url", PropertyType.STRING),
 
     RM_CACHE_LOGIN("rm.cache.login", PropertyType.STRING, "watcher"),
@@ -62,6 +65,20 @@ public enum PortalConfiguration implements PACommonProperties {
 
     RM_CACHE_REFRESHRATE("rm.cache.refreshrate", PropertyType.INTEGER, "3500"),
 
+    /**
+     * Maximum number of scheduler (resp. RM) connections opened for the sessions of a user, the
+     * sessions sharing these connections. Only the sessions logged with the same login, password, key and
+     * third-party credentials share connections, sessions logged with a credentials file open their own
+     * connections. Not positive to open one connection per session.
+     */
+    SESSION_CONNECTIONS_PER_USER("session.connections.per.user", PropertyType.INTEGER, "4"),
+
+    /** Directory holding the parts of the chunked dataspace uploads, a temporary directory if not set */
+    DATASPACE_UPLOAD_DIR("dataspace.upload.dir", PropertyType.STRING),
+
+    /** Delay in seconds after which an inactive chunked dataspace upload is discarded */
+    DATASPACE_UPLOAD_EXPIRATION("dataspace.upload.expiration", PropertyType.INTEGER, "86400"),
+
     NOVNC_ENABLED("novnc.enabled", PropertyType.BOOLEAN, "false"),
 
     NOVNC_PORT("novnc.port", PropertyType.INTEGER, "5900"),
@@ -25,11 +25,15 @@
  */
 package org.ow2.proactive_grid_cloud_portal.common;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.scheduler.common.exception.NotConnectedException;
 import org.ow2.proactive.scheduler.common.util.SchedulerProxyUserInterface;
 
@@ -56,4 +60,45 @@ public class SessionTest {
         verify(scheduler).renewSession();
     }
 
+    /**
+     * Check that a session which registers an event listener gets its own scheduler connection and
+     * gives back the connection it was sharing with other sessions.
+     */
+    @Test
+    public void testExclusiveSchedulerReplacesSharedScheduler() throws Exception {
+        SchedulerRMProxyFactory schedulerProxyFactory = mock(SchedulerRMProxyFactory.class);
+        SchedulerProxyUserInterface sharedScheduler = mock(SchedulerProxyUserInterface.class);
+        SchedulerProxyUserInterface exclusiveScheduler = mock(SchedulerProxyUserInterface.class);
+        CredData credData = new CredData("login", "password");
+        when(schedulerProxyFactory.connectToScheduler(credData)).thenReturn(sharedScheduler);
+        when(schedulerProxyFactory.connectToExclusiveScheduler(credData)).thenReturn(exclusiveScheduler);
+        when(schedulerProxyFactory.isShared(sharedScheduler)).thenReturn(true);
+
+        Session session = new Session("sessionId", schedulerProxyFactory, new Clock());
+        session.connectToScheduler(credData);
+
+        Assert.assertSame(exclusiveScheduler, session.getExclusiveScheduler());
+        Assert.assertSame(exclusiveScheduler, session.getScheduler());
+        verify(schedulerProxyFactory).release(sharedScheduler);
+    }
+
+    /**
+     * Check that the scheduler connection of a disconnected session is given back once, the factory
+     * deciding atomically whether it is disconnected.
+     */
+    @Test
+    public void testDisconnectedSchedulerIsReleasedOnce() throws Exception {
+        SchedulerRMProxyFactory schedulerProxyFactory = mock(SchedulerRMProxyFactory.class);
+        SchedulerProxyUserInterface scheduler = mock(SchedulerProxyUserInterface.class);
+
+        Session session = new Session("sessionId", schedulerProxyFactory, new Clock());
+        session.setScheduler(scheduler);
+        session.disconnectScheduler();
+        session.terminate();
+
+        verify(schedulerProxyFactory).releaseAndDisconnect(scheduler);
+        verify(schedulerProxyFactory, never()).release(any(SchedulerProxyUserInterface.class));
+        verify(scheduler, never()).disconnect();
+    }
+
 }
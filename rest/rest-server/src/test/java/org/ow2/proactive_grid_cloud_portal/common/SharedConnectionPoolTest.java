@@ -0,0 +1,180 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+
+public class SharedConnectionPoolTest {
+
+    private SharedConnectionPool<Object> pool = new SharedConnectionPool<>();
+
+    @Test
+    public void testConnectionsAreSharedOnceTheLimitIsReached() {
+        Object connection1 = new Object();
+        Object connection2 = new Object();
+
+        assertNull(pool.acquire("user", 2));
+        pool.add("user", connection1);
+        assertNull(pool.acquire("user", 2));
+        pool.add("user", connection2);
+
+        assertSame(connection1, pool.acquire("user", 2));
+        assertSame(connection2, pool.acquire("user", 2));
+        assertTrue(pool.isShared(connection1));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testConnectionsAreNotSharedBetweenKeys() {
+        pool.add("user", new Object());
+
+        assertNull(pool.acquire("otherUser", 1));
+    }
+
+    @Test
+    public void testConnectionIsClosedWhenLastSessionReleasesIt() {
+        Object connection = new Object();
+        pool.add("user", connection);
+        pool.acquire("user", 1);
+
+        assertFalse(pool.release(connection));
+        assertFalse(pool.isShared(connection));
+        assertTrue(pool.release(connection));
+
+        assertEquals(0, pool.size());
+        assertNull(pool.acquire("user", 1));
+    }
+
+    @Test
+    public void testUnknownConnectionIsClosedWhenReleased() {
+        assertTrue(pool.release(new Object()));
+    }
+
+    @Test
+    public void testConnectionsCountDoesNotGrowWithSessions() {
+        List<Object> sessionConnections = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Object connection = pool.acquire("user", 4);
+            if (connection == null) {
+                connection = new Object();
+                pool.add("user", connection);
+            }
+            sessionConnections.add(connection);
+        }
+
+        assertEquals(4, pool.size());
+
+        int closedConnections = 0;
+        for (Object connection : sessionConnections) {
+            if (pool.release(connection)) {
+                closedConnections++;
+            }
+        }
+        assertEquals(4, closedConnections);
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void testSlotIsReservedUntilTheConnectionIsAdded() throws Exception {
+        Object connection = new Object();
+        assertNull(pool.acquire("user", 1));
+
+        // the only slot is being opened, a concurrent login waits for it
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> concurrentLogin = executor.submit(() -> pool.acquire("user", 1));
+            Thread.sleep(100);
+            assertFalse(concurrentLogin.isDone());
+
+            pool.add("user", connection);
+
+            assertSame(connection, concurrentLogin.get(10, TimeUnit.SECONDS));
+            assertEquals(1, pool.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancelledSlotIsFreed() {
+        assertNull(pool.acquire("user", 1));
+        pool.cancel("user");
+
+        assertNull(pool.acquire("user", 1));
+    }
+
+    @Test
+    public void testConcurrentLoginsDoNotExceedTheLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Object>> logins = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                logins.add(executor.submit(() -> {
+                    Object connection = pool.acquire("user", 2);
+                    if (connection == null) {
+                        connection = new Object();
+                        pool.add("user", connection);
+                    }
+                    return connection;
+                }));
+            }
+            for (Future<Object> login : logins) {
+                login.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testAuthenticatedConnectionIsSharedOnceTheLimitIsReached() {
+        Object connection1 = new Object();
+        Object connection2 = new Object();
+
+        assertSame(connection1, pool.share("user", connection1, 1));
+        assertSame(connection1, pool.share("user", connection2, 1));
+
+        assertTrue(pool.isShared(connection1));
+        assertEquals(1, pool.size());
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+
+public class StatHistoryCachingTest {
+
+    private StatHistoryCaching cache = StatHistoryCaching.getInstance();
+
+    @Test
+    public void testValueIsCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("1", cache.getValue("cached", () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("1", cache.getValue("cached", () -> String.valueOf(loads.incrementAndGet())));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testIdenticalRequestsInFlightAreCoalesced() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.getValue("coalesced", () -> {
+                loading.countDown();
+                release.await();
+                return String.valueOf(loads.incrementAndGet());
+            }));
+            loading.await(10, TimeUnit.SECONDS);
+
+            Callable<String> loader = () -> String.valueOf(loads.incrementAndGet());
+            Future<String> second = executor.submit(() -> cache.getValue("coalesced", loader));
+            release.countDown();
+
+            assertEquals("1", first.get(10, TimeUnit.SECONDS));
+            assertEquals("1", second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testFailureIsNotCached() throws Exception {
+        try {
+            cache.getValue("failing", () -> {
+                throw new IllegalStateException();
+            });
+        } finally {
+            assertEquals("ok", cache.getValue("failing", () -> "ok"));
+        }
+    }
+}
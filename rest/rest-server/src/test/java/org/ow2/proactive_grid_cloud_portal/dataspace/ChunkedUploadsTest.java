@@ -0,0 +1,212 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.dataspace;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ow2.proactive_grid_cloud_portal.dataspace.dto.UploadSession;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+
+public class ChunkedUploadsTest {
+
+    private static final int CHUNK_SIZE = 4;
+
+    private static final String NONCE = "nonce";
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    private ChunkedUploads uploads;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = temporaryFolder.newFolder();
+        uploads = new ChunkedUploads(directory, 60000);
+    }
+
+    @Test
+    public void testChunksInAnyOrder() throws IOException {
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+        ChunkedUploads.Upload upload = uploads.get("user", session.getId());
+
+        assertThat(upload.getChunkCount()).isEqualTo(3);
+        writeChunk(upload, 2);
+        writeChunk(upload, 0);
+        assertThat(upload.isComplete()).isFalse();
+        writeChunk(upload, 1);
+        assertThat(upload.isComplete()).isTrue();
+
+        try (InputStream is = upload.openStream()) {
+            assertThat(ByteStreams.toByteArray(is)).isEqualTo(CONTENT);
+        }
+
+        uploads.remove(upload);
+        assertThat(uploads.get("user", session.getId())).isNull();
+        assertThat(directory.list().length).isEqualTo(0);
+    }
+
+    @Test
+    public void testUploadIsTakenOnce() throws IOException {
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+        ChunkedUploads.Upload upload = uploads.get("user", session.getId());
+        for (int i = 0; i < upload.getChunkCount(); i++) {
+            writeChunk(upload, i);
+        }
+
+        assertThat(uploads.take(upload)).isTrue();
+        assertThat(uploads.take(upload)).isFalse();
+        assertThat(uploads.get("user", session.getId())).isNull();
+
+        try (InputStream is = upload.openStream()) {
+            assertThat(ByteStreams.toByteArray(is)).isEqualTo(CONTENT);
+        }
+        upload.delete();
+        assertThat(directory.list().length).isEqualTo(0);
+    }
+
+    @Test
+    public void testResumeGivesReceivedChunks() throws IOException {
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+        writeChunk(uploads.get("user", session.getId()), 1);
+
+        UploadSession resumed = uploads.open("user", "USER", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+
+        assertThat(resumed.getId()).isEqualTo(session.getId());
+        assertThat(resumed.getChunks()).isEqualTo(Collections.singletonMap(1, checksum(1)));
+    }
+
+    @Test
+    public void testDifferentUploadsHaveDifferentIds() throws IOException {
+        String id = openId("user", "user", "file.txt", CONTENT.length, NONCE);
+
+        assertThat(openId("other", "user", "file.txt", CONTENT.length, NONCE)).isNotEqualTo(id);
+        assertThat(openId("user", "global", "file.txt", CONTENT.length, NONCE)).isNotEqualTo(id);
+        assertThat(openId("user", "user", "other.txt", CONTENT.length, NONCE)).isNotEqualTo(id);
+        assertThat(openId("user", "user", "file.txt", CONTENT.length + 1, NONCE)).isNotEqualTo(id);
+        assertThat(openId("user", "user", "file.txt", CONTENT.length, "other")).isNotEqualTo(id);
+    }
+
+    @Test
+    public void testConcurrentUploadsOfTheSameFileAreKeptApart() throws IOException {
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+        writeChunk(uploads.get("user", session.getId()), 1);
+
+        UploadSession other = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, "other");
+
+        assertThat(other.getId()).isNotEqualTo(session.getId());
+        assertThat(other.getChunks()).isEmpty();
+    }
+
+    @Test
+    public void testUploadOfAnotherUserIsNotFound() throws IOException {
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+
+        assertThat(uploads.get("other", session.getId())).isNull();
+        assertThat(uploads.get("user", "unknown")).isNull();
+    }
+
+    @Test
+    public void testChunkWithWrongChecksumIsRejected() throws IOException {
+        ChunkedUploads.Upload upload = uploads.get("user", openId("user", "user", "file.txt", CONTENT.length, NONCE));
+        try {
+            upload.writeChunk(0, new ByteArrayInputStream(chunk(0)), checksum(1));
+            throw new AssertionError("Chunk with a wrong checksum accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        assertThat(upload.toSession().getChunks()).isEmpty();
+    }
+
+    @Test
+    public void testChunkWithWrongLengthIsRejected() throws IOException {
+        ChunkedUploads.Upload upload = uploads.get("user", openId("user", "user", "file.txt", CONTENT.length, NONCE));
+        try {
+            upload.writeChunk(2, new ByteArrayInputStream(chunk(0)), null);
+            throw new AssertionError("Chunk with a wrong length accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        assertThat(upload.toSession().getChunks()).isEmpty();
+    }
+
+    @Test
+    public void testEmptyFileIsComplete() throws IOException {
+        ChunkedUploads.Upload upload = uploads.get("user",
+                                                   uploads.open("user", "user", "empty.txt", 0, CHUNK_SIZE).getId());
+
+        assertThat(upload.isComplete()).isTrue();
+        try (InputStream is = upload.openStream()) {
+            assertThat(ByteStreams.toByteArray(is).length).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testExpiredUploadsAreDiscarded() throws IOException {
+        uploads = new ChunkedUploads(directory, -1);
+        UploadSession session = uploads.open("user", "user", "file.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+        writeChunk(uploads.get("user", session.getId()), 0);
+
+        uploads.open("user", "user", "other.txt", CONTENT.length, CHUNK_SIZE, NONCE);
+
+        assertThat(uploads.get("user", session.getId())).isNull();
+        assertThat(directory.list().length).isEqualTo(0);
+    }
+
+    private String openId(String user, String dataspace, String pathname, long size, String nonce) throws IOException {
+        return uploads.open(user, dataspace, pathname, size, CHUNK_SIZE, nonce).getId();
+    }
+
+    private void writeChunk(ChunkedUploads.Upload upload, int index) throws IOException {
+        upload.writeChunk(index, new ByteArrayInputStream(chunk(index)), checksum(index));
+    }
+
+    private static byte[] chunk(int index) {
+        return Arrays.copyOfRange(CONTENT, index * CHUNK_SIZE, Math.min(CONTENT.length, (index + 1) * CHUNK_SIZE));
+    }
+
+    private static String checksum(int index) {
+        return BaseEncoding.base64().encode(Hashing.md5().hashBytes(chunk(index)).asBytes());
+    }
+}
@@ -40,10 +40,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Random;
 
-import javax.management.Attribute;
-import javax.management.AttributeList;
-import javax.management.ObjectName;
-
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
@@ -61,6 +57,7 @@ import org.junit.Test;
 import org.mockito.Matchers;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
+import org.ow2.proactive.jmx.RRDDataStore;
 import org.ow2.proactive.resourcemanager.common.util.RMProxyUserInterface;
 import org.ow2.proactive_grid_cloud_portal.RestTestServer;
 import org.ow2.proactive_grid_cloud_portal.common.SharedSessionStoreTestUtils;
@@ -95,9 +92,18 @@ public class RMRestTest extends RestTestServer {
         RMProxyUserInterface rmMock = mock(RMProxyUserInterface.class);
         String sessionId = SharedSessionStoreTestUtils.createValidSession(rmMock);
 
-        AttributeList value = new AttributeList(Collections.singletonList(new Attribute("test",
-                                                                                        createRrdDb().getBytes())));
-        when(rmMock.getMBeanAttributes(Matchers.<ObjectName> any(), Matchers.<String[]> any())).thenReturn(value);
+        RrdDb rrdDb = createRrdDb();
+        when(rmMock.getStatisticHistory(Matchers.<String[]> any(),
+                                        anyString(),
+                                        Matchers.anyLong(),
+                                        Matchers.anyLong())).thenAnswer(invocation -> {
+                                            Object[] args = invocation.getArguments();
+                                            return RRDDataStore.fetch(rrdDb,
+                                                                      (String[]) args[0],
+                                                                      ConsolFun.valueOf((String) args[1]),
+                                                                      (Long) args[2],
+                                                                      (Long) args[3]);
+                                        });
         RMRestInterface client = ProxyFactory.create(RMRestInterface.class, "http://localhost:" + port + "/");
 
         String statHistory = client.getStatHistory(sessionId, "hhhhh");
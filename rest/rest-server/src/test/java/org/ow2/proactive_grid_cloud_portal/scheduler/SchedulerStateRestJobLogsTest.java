@@ -27,7 +27,11 @@ package org.ow2.proactive_grid_cloud_portal.scheduler;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -41,7 +45,9 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.ow2.proactive.scheduler.common.Page;
 import org.ow2.proactive.scheduler.common.task.SimpleTaskLogs;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.util.SchedulerProxyUserInterface;
 import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
@@ -50,10 +56,13 @@ import org.ow2.proactive.scheduler.task.TaskIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
 import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
 import org.ow2.proactive_grid_cloud_portal.common.SharedSessionStoreTestUtils;
+import org.ow2.proactive_grid_cloud_portal.webapp.PortalConfiguration;
 
 
 public class SchedulerStateRestJobLogsTest {
 
+    private static final int PAGE_SIZE = PortalConfiguration.SCHEDULER_RESULTS_PAGE_SIZE.getValueAsInt();
+
     private SchedulerProxyUserInterface mockScheduler;
 
     private SchedulerStateRest restScheduler;
@@ -99,6 +108,34 @@ public class SchedulerStateRestJobLogsTest {
         assertEquals("HelloWorld", jobLogs);
     }
 
+    @Test
+    public void jobLogsStream_not_finished() throws Exception {
+        Page<TaskLogs> noLogs = new Page<>(Collections.emptyList(), 1);
+        when(mockScheduler.getTaskLogsPaginated("123", 0, PAGE_SIZE)).thenReturn(noLogs);
+
+        InputStream jobLogs = restScheduler.jobLogsStream(validSessionId, "123");
+
+        assertNull(jobLogs);
+    }
+
+    @Test
+    public void jobLogsStream_reads_logs_page_by_page() throws Exception {
+        Page<TaskLogs> firstPage = new Page<>(Collections.singletonList(new SimpleTaskLogs("Hello", "")),
+                                              PAGE_SIZE + 1);
+        Page<TaskLogs> secondPage = new Page<>(Collections.singletonList(new SimpleTaskLogs("", "World")),
+                                               PAGE_SIZE + 1);
+        when(mockScheduler.getTaskLogsPaginated("123", 0, PAGE_SIZE)).thenReturn(firstPage);
+        when(mockScheduler.getTaskLogsPaginated("123", PAGE_SIZE, PAGE_SIZE)).thenReturn(secondPage);
+
+        InputStream jobLogs = restScheduler.jobLogsStream(validSessionId, "123");
+
+        // the second page is only read once the first one has been sent
+        verify(mockScheduler, never()).getTaskLogsPaginated("123", PAGE_SIZE, PAGE_SIZE);
+        assertEquals("HelloWorld", IOUtils.toString(jobLogs, Charset.defaultCharset()));
+        // the values of the results are not read
+        verify(mockScheduler, never()).getTaskResultsPaginated(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     public void job_full_logs_not_finished() throws Exception {
         InternalTaskFlowJob jobState = new InternalTaskFlowJob();
@@ -164,12 +201,14 @@ public class SchedulerStateRestJobLogsTest {
 
     private JobResultImpl createJobResult(String taskOutput, String taskErrput) {
         JobResultImpl jobResult = new JobResultImpl();
-        jobResult.addTaskResult("OneTask",
-                                new TaskResultImpl(TaskIdImpl.createTaskId(JobIdImpl.makeJobId("123"), "OneTask", 1),
-                                                   "result",
-                                                   new SimpleTaskLogs(taskOutput, taskErrput),
-                                                   100),
-                                false);
+        jobResult.addTaskResult("OneTask", createTaskResult(taskOutput, taskErrput), false);
         return jobResult;
     }
+
+    private TaskResultImpl createTaskResult(String taskOutput, String taskErrput) {
+        return new TaskResultImpl(TaskIdImpl.createTaskId(JobIdImpl.makeJobId("123"), "OneTask", 1),
+                                  "result",
+                                  new SimpleTaskLogs(taskOutput, taskErrput),
+                                  100);
+    }
 }
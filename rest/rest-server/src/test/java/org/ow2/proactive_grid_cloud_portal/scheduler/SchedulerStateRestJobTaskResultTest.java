@@ -27,14 +27,25 @@ package org.ow2.proactive_grid_cloud_portal.scheduler;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.objectweb.proactive.core.util.converter.ObjectToByteConverter;
+import org.ow2.proactive.scheduler.common.Page;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.util.SchedulerProxyUserInterface;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
 import org.ow2.proactive.scheduler.job.JobInfoImpl;
@@ -45,6 +56,7 @@ import org.ow2.proactive_grid_cloud_portal.RestTestServer;
 import org.ow2.proactive_grid_cloud_portal.common.SchedulerRestInterface;
 import org.ow2.proactive_grid_cloud_portal.common.SharedSessionStoreTestUtils;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.JobResultData;
+import org.ow2.proactive_grid_cloud_portal.scheduler.dto.RestPage;
 import org.ow2.proactive_grid_cloud_portal.scheduler.dto.TaskResultData;
 
 
@@ -126,4 +138,39 @@ public class SchedulerStateRestJobTaskResultTest extends RestTestServer {
         assertEquals("hello", result);
     }
 
+    @Test
+    public void testValueOfJobResultStream() throws Throwable {
+        TaskResultImpl taskResult = new TaskResultImpl(TaskIdImpl.createTaskId(JobIdImpl.makeJobId("42"), "mytask", 1),
+                                                       ObjectToByteConverter.ObjectStream.convert("say \"hello\""),
+                                                       null,
+                                                       null,
+                                                       false);
+        Page<TaskResult> results = new Page<>(Collections.singletonList(taskResult), 1);
+        when(mockOfScheduler.getTaskResultsPaginated(eq("42"), eq(0), anyInt())).thenReturn(results);
+
+        InputStream jobResult = restInterface.jobResultValueStream(sessionId, "42");
+        JSONObject values = (JSONObject) new JSONParser().parse(IOUtils.toString(jobResult, StandardCharsets.UTF_8));
+
+        assertEquals(1, values.size());
+        assertEquals("say \"hello\"", values.get("mytask"));
+    }
+
+    @Test
+    public void testTaskResultsPaginated() throws Throwable {
+        TaskResultImpl taskResult = new TaskResultImpl(TaskIdImpl.createTaskId(JobIdImpl.makeJobId("42"), "mytask", 1),
+                                                       ObjectToByteConverter.ObjectStream.convert("hello"),
+                                                       null,
+                                                       null,
+                                                       false);
+        Page<TaskResult> results = new Page<>(Collections.singletonList(taskResult), 3);
+        when(mockOfScheduler.getTaskResultsPaginated("42", 1, 2)).thenReturn(results);
+
+        RestPage<TaskResultData> page = restInterface.taskResultsPaginated(sessionId, "42", 1, 2);
+
+        assertEquals(3, page.getSize());
+        assertEquals(1, page.getList().size());
+        assertEquals("mytask", page.getList().get(0).getId().getReadableName());
+        assertEquals("hello", page.getList().get(0).getValue());
+    }
+
 }
@@ -59,6 +59,7 @@ import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.task.Task;
 import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatesPage;
@@ -733,6 +734,18 @@ public class RestSmartProxyImpl extends AbstractSmartProxy<RestJobTrackerImpl>
         return _getScheduler().getTaskPaginated(jobId, offset, limit);
     }
 
+    @Override
+    public Page<TaskResult> getTaskResultsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        return _getScheduler().getTaskResultsPaginated(jobId, offset, limit);
+    }
+
+    @Override
+    public Page<TaskLogs> getTaskLogsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        return _getScheduler().getTaskLogsPaginated(jobId, offset, limit);
+    }
+
     /**
      * notify the socket disconnection
      */
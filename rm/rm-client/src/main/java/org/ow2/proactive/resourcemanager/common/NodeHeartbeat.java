@@ -0,0 +1,167 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.common;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.objectweb.proactive.annotation.PublicAPI;
+
+
+/**
+ * NodeHeartbeat is periodically pushed by the nodes of a host to the resource manager,
+ * along with their urls, to report that they are alive.
+ *
+ * It tells when the next heartbeat is expected, so that the resource manager only
+ * pings the nodes which missed it, and carries a snapshot of the resources of the host
+ * (load, memory, disk) which is kept by the resource manager and can be used to select nodes.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+@PublicAPI
+public class NodeHeartbeat implements Serializable {
+
+    private final long period;
+
+    private final double systemLoadAverage;
+
+    private final int availableProcessors;
+
+    private final long freeMemory;
+
+    private final long totalMemory;
+
+    private final long freeDiskSpace;
+
+    /**
+     * @param period the delay in milliseconds before the next heartbeat
+     * @param systemLoadAverage the system load average of the host, negative if not available
+     * @param availableProcessors the number of processors of the host
+     * @param freeMemory the free physical memory of the host in bytes, negative if not available
+     */
+    public NodeHeartbeat(long period, double systemLoadAverage, int availableProcessors, long freeMemory) {
+        this(period, systemLoadAverage, availableProcessors, freeMemory, -1, -1);
+    }
+
+    /**
+     * @param period the delay in milliseconds before the next heartbeat
+     * @param systemLoadAverage the system load average of the host, negative if not available
+     * @param availableProcessors the number of processors of the host
+     * @param freeMemory the free physical memory of the host in bytes, negative if not available
+     * @param totalMemory the total physical memory of the host in bytes, negative if not available
+     * @param freeDiskSpace the usable space of the temporary directory of the node in bytes,
+     *                      negative if not available
+     */
+    public NodeHeartbeat(long period, double systemLoadAverage, int availableProcessors, long freeMemory,
+            long totalMemory, long freeDiskSpace) {
+        this.period = period;
+        this.systemLoadAverage = systemLoadAverage;
+        this.availableProcessors = availableProcessors;
+        this.freeMemory = freeMemory;
+        this.totalMemory = totalMemory;
+        this.freeDiskSpace = freeDiskSpace;
+    }
+
+    /**
+     * @return the delay in milliseconds before the next heartbeat
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return the system load average of the host, negative if not available
+     */
+    public double getSystemLoadAverage() {
+        return systemLoadAverage;
+    }
+
+    /**
+     * @return the number of processors of the host
+     */
+    public int getAvailableProcessors() {
+        return availableProcessors;
+    }
+
+    /**
+     * @return the free physical memory of the host in bytes, negative if not available
+     */
+    public long getFreeMemory() {
+        return freeMemory;
+    }
+
+    /**
+     * @return the total physical memory of the host in bytes, negative if not available
+     */
+    public long getTotalMemory() {
+        return totalMemory;
+    }
+
+    /**
+     * @return the usable space of the temporary directory of the node in bytes, negative if not available
+     */
+    public long getFreeDiskSpace() {
+        return freeDiskSpace;
+    }
+
+    /**
+     * @return the system load average divided by the number of processors of the host,
+     * or a negative value if not available
+     */
+    public double getLoadPerProcessor() {
+        if (systemLoadAverage < 0 || availableProcessors <= 0) {
+            return -1;
+        }
+        return systemLoadAverage / availableProcessors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NodeHeartbeat that = (NodeHeartbeat) o;
+        return period == that.period && Double.compare(systemLoadAverage, that.systemLoadAverage) == 0 &&
+               availableProcessors == that.availableProcessors && freeMemory == that.freeMemory &&
+               totalMemory == that.totalMemory && freeDiskSpace == that.freeDiskSpace;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(period, systemLoadAverage, availableProcessors, freeMemory, totalMemory, freeDiskSpace);
+    }
+
+    @Override
+    public String toString() {
+        return "NodeHeartbeat{period=" + period + ", systemLoadAverage=" + systemLoadAverage +
+               ", availableProcessors=" + availableProcessors + ", freeMemory=" + freeMemory + ", totalMemory=" +
+               totalMemory + ", freeDiskSpace=" + freeDiskSpace + "}";
+    }
+
+}
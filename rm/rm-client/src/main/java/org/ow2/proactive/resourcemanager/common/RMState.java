@@ -26,6 +26,8 @@
 package org.ow2.proactive.resourcemanager.common;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import javax.xml.bind.annotation.XmlRootElement;
@@ -49,19 +51,60 @@ public class RMState implements Serializable {
 
     private final Long maxNumberOfNodes;
 
+    private final long version;
+
+    private final Map<String, NodeHeartbeat> nodeResources;
+
     public RMState(RMStateNodeUrls rmNodeUrls, Long maxNumberOfNodes) {
+        this(rmNodeUrls, maxNumberOfNodes, -1);
+    }
+
+    public RMState(RMStateNodeUrls rmNodeUrls, Long maxNumberOfNodes, long version) {
+        this(rmNodeUrls, maxNumberOfNodes, version, Collections.<String, NodeHeartbeat> emptyMap());
+    }
+
+    public RMState(RMStateNodeUrls rmNodeUrls, Long maxNumberOfNodes, long version,
+            Map<String, NodeHeartbeat> nodeResources) {
         this.rmNodeUrls = rmNodeUrls;
         this.maxNumberOfNodes = maxNumberOfNodes;
+        this.version = version;
+        this.nodeResources = nodeResources;
     }
 
     public Long getMaxNumberOfNodes() {
         return maxNumberOfNodes;
     }
 
+    /**
+     * Returns the version of the resource manager nodes index this state was built from.
+     * It can be given to {@link org.ow2.proactive.resourcemanager.frontend.ResourceManager#getStateSince(long)}
+     * to only retrieve the nodes which changed since this state.
+     *
+     * @return the version of this state, or -1 if the state is not versioned
+     */
+    public long getVersion() {
+        return version;
+    }
+
     protected RMStateNodeUrls getRmNodeUrls() {
         return rmNodeUrls;
     }
 
+    protected Map<String, NodeHeartbeat> getNodeResources() {
+        return nodeResources;
+    }
+
+    /**
+     * Returns the last snapshot of the resources (load, memory, disk) of the host of a free node,
+     * as reported by the node along with its heartbeat.
+     *
+     * @param nodeUrl the url of a free node
+     * @return the resources snapshot, or null if the node is not free or has not reported its resources
+     */
+    public NodeHeartbeat getNodeResources(String nodeUrl) {
+        return nodeResources.get(nodeUrl);
+    }
+
     /**
      * Return true if the scheduler has free resources, false if not.
      *
@@ -0,0 +1,186 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.common;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.objectweb.proactive.annotation.PublicAPI;
+
+
+/**
+ * RMStateDelta represents the changes of the resource manager state between two versions.
+ *
+ * For each node which changed since the requested version, the delta tells whether the node is
+ * still known by the resource manager, whether it is alive and whether it is free. When the
+ * requested version is too old to be computed incrementally, the delta carries the full state.
+ *
+ * The resources snapshots of the free nodes are refreshed by the heartbeats without changing
+ * the version, so the delta always carries all of them.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+@PublicAPI
+public class RMStateDelta implements Serializable {
+
+    private final long fromVersion;
+
+    private final long version;
+
+    private final Long maxNumberOfNodes;
+
+    private final RMState fullState;
+
+    private final Set<String> changedNodes;
+
+    private final Set<String> knownNodes;
+
+    private final Set<String> aliveNodes;
+
+    private final Set<String> freeNodes;
+
+    private final Map<String, NodeHeartbeat> nodeResources;
+
+    /**
+     * Creates a delta which only contains the nodes changed since the given version.
+     */
+    public RMStateDelta(long fromVersion, long version, Long maxNumberOfNodes, Set<String> changedNodes,
+            Set<String> knownNodes, Set<String> aliveNodes, Set<String> freeNodes) {
+        this(fromVersion,
+             version,
+             maxNumberOfNodes,
+             changedNodes,
+             knownNodes,
+             aliveNodes,
+             freeNodes,
+             Collections.<String, NodeHeartbeat> emptyMap());
+    }
+
+    /**
+     * Creates a delta which only contains the nodes changed since the given version, along with
+     * the resources snapshots of all the free nodes.
+     */
+    public RMStateDelta(long fromVersion, long version, Long maxNumberOfNodes, Set<String> changedNodes,
+            Set<String> knownNodes, Set<String> aliveNodes, Set<String> freeNodes,
+            Map<String, NodeHeartbeat> nodeResources) {
+        this.fromVersion = fromVersion;
+        this.version = version;
+        this.maxNumberOfNodes = maxNumberOfNodes;
+        this.fullState = null;
+        this.changedNodes = changedNodes;
+        this.knownNodes = knownNodes;
+        this.aliveNodes = aliveNodes;
+        this.freeNodes = freeNodes;
+        this.nodeResources = nodeResources;
+    }
+
+    /**
+     * Creates a delta which replaces the whole state.
+     */
+    public RMStateDelta(long fromVersion, RMState fullState) {
+        this.fromVersion = fromVersion;
+        this.version = fullState.getVersion();
+        this.maxNumberOfNodes = fullState.getMaxNumberOfNodes();
+        this.fullState = fullState;
+        this.changedNodes = Collections.emptySet();
+        this.knownNodes = Collections.emptySet();
+        this.aliveNodes = Collections.emptySet();
+        this.freeNodes = Collections.emptySet();
+        this.nodeResources = fullState.getNodeResources();
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the full state if the delta could not be computed incrementally, null otherwise
+     */
+    public RMState getFullState() {
+        return fullState;
+    }
+
+    /**
+     * @return urls of the nodes which changed since the requested version
+     */
+    public Set<String> getChangedNodes() {
+        return changedNodes;
+    }
+
+    /**
+     * Applies this delta to the given state.
+     *
+     * @param state the state at version {@link #getFromVersion()}, can be null
+     * @return the state at version {@link #getVersion()}, the given state itself if nothing changed
+     */
+    public RMState applyTo(RMState state) {
+        if (fullState != null) {
+            return fullState;
+        }
+        if (state == null || state.getVersion() != fromVersion) {
+            throw new IllegalArgumentException("Delta from version " + fromVersion + " cannot be applied to state " +
+                                               (state == null ? null : state.getVersion()));
+        }
+        if (changedNodes.isEmpty() && version == fromVersion &&
+            Objects.equals(maxNumberOfNodes, state.getMaxNumberOfNodes())) {
+            if (nodeResources.equals(state.getNodeResources())) {
+                return state;
+            }
+            return new RMState(state.getRmNodeUrls(), maxNumberOfNodes, version, nodeResources);
+        }
+        Set<String> newFreeNodes = new HashSet<>(state.getFreeNodes());
+        Set<String> newAliveNodes = new HashSet<>(state.getAliveNodes());
+        Set<String> newAllNodes = new HashSet<>(state.getAllNodes());
+        for (String url : changedNodes) {
+            update(newAllNodes, url, knownNodes.contains(url));
+            update(newAliveNodes, url, aliveNodes.contains(url));
+            update(newFreeNodes, url, freeNodes.contains(url));
+        }
+        return new RMState(new RMStateNodeUrls(Collections.unmodifiableSet(newFreeNodes),
+                                               Collections.unmodifiableSet(newAliveNodes),
+                                               Collections.unmodifiableSet(newAllNodes)),
+                           maxNumberOfNodes,
+                           version,
+                           nodeResources);
+    }
+
+    private static void update(Set<String> urls, String url, boolean present) {
+        if (present) {
+            urls.add(url);
+        } else {
+            urls.remove(url);
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ package org.ow2.proactive.resourcemanager.common.util;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.management.Attribute;
@@ -38,6 +39,7 @@ import javax.management.IntrospectionException;
 import javax.management.InvalidAttributeValueException;
 import javax.management.MBeanException;
 import javax.management.MBeanInfo;
+import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import javax.management.ReflectionException;
 
@@ -49,8 +51,11 @@ import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.authentication.crypto.Credentials;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
+import org.ow2.proactive.resourcemanager.core.jmx.RMJMXBeans;
 import org.ow2.proactive.resourcemanager.frontend.RMMonitoring;
 import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
 import org.ow2.proactive.resourcemanager.frontend.topology.Topology;
@@ -217,6 +222,13 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return target.getState();
     }
 
+    /**
+     * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getStateSince(long)
+     */
+    public RMStateDelta getStateSince(long version) {
+        return target.getStateSince(version);
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getSupportedNodeSourceInfrastructures()
      */
@@ -261,6 +273,15 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return target.setNodesAvailable(nodeUrls);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @ImmediateService
+    @Override
+    public Set<String> setNodesAvailable(Set<String> nodeUrls, NodeHeartbeat heartbeat) {
+        return target.setNodesAvailable(nodeUrls, heartbeat);
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#releaseNode(org.objectweb.proactive.core.node.Node)
      */
@@ -364,6 +385,39 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return this.jmxClient.getConnector().getMBeanServerConnection().getAttributes(name, attributes);
     }
 
+    /**
+     * Fetches the statistics history of the Resource Manager, consolidated on the server side
+     * so that only the requested points are transferred.
+     *
+     * @param dataSources the names of the data sources
+     * @param consolFun the consolidation function, for instance AVERAGE or MAX
+     * @param range the time range in seconds, ending at the last update of the statistics
+     * @param resolution the resolution in seconds
+     * @return the values of each data source, in the requested order
+     * @throws InstanceNotFoundException
+     * @throws ReflectionException
+     * @throws MalformedObjectNameException
+     * @throws IOException when the statistics cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, double[]> getStatisticHistory(String[] dataSources, String consolFun, long range,
+            long resolution)
+            throws InstanceNotFoundException, ReflectionException, MalformedObjectNameException, IOException {
+        Object[] params = new Object[] { dataSources, consolFun, range, resolution };
+        String[] signature = new String[] { String[].class.getName(), String.class.getName(), long.class.getName(),
+                                            long.class.getName() };
+        try {
+            return (Map<String, double[]>) this.jmxClient.getConnector()
+                                                         .getMBeanServerConnection()
+                                                         .invoke(new ObjectName(RMJMXBeans.RUNTIMEDATA_MBEAN_NAME),
+                                                                 "fetchStatisticHistory",
+                                                                 params,
+                                                                 signature);
+        } catch (MBeanException e) {
+            throw new IOException(e.getTargetException());
+        }
+    }
+
     /**
      * Set a single JMX attribute of the MBean <code>objectName</code>.
      * Only integer and string attributes are currently supported, see <code>type</code>.
@@ -35,6 +35,8 @@ public class RMJMXBeans {
 
     public static final String MANAGEMENT_MBEAN_NAME = "ProActiveResourceManager:name=Management";
 
+    public static final String SELECTION_SCRIPT_CACHE_MBEAN_NAME = "ProActiveResourceManager:name=SelectionScriptCache";
+
     private RMJMXBeans() {
     }
 }
@@ -60,6 +60,15 @@ public enum PAResourceManagerProperties implements PACommonProperties {
     /** Ping frequency in ms used by node source for keeping a watch on handled nodes */
     RM_NODE_SOURCE_PING_FREQUENCY("pa.rm.node.source.ping.frequency", PropertyType.INTEGER, "45000"),
 
+    /**
+     * Number of heartbeat periods a node can miss before it is pinged by its node source,
+     * nodes sending heartbeats on time are not pinged
+     */
+    RM_NODE_HEARTBEAT_TOLERANCE("pa.rm.node.heartbeat.tolerance", PropertyType.INTEGER, "2"),
+
+    /** Precision in ms of the detection of nodes which missed their heartbeat */
+    RM_NODE_HEARTBEAT_TICK("pa.rm.node.heartbeat.tick", PropertyType.INTEGER, "1000"),
+
     /** Ping frequency used by resource manager to ping connected clients (in ms) */
     RM_CLIENT_PING_FREQUENCY("pa.rm.client.ping.frequency", PropertyType.INTEGER, "45000"),
 
@@ -247,6 +256,12 @@ public enum PAResourceManagerProperties implements PACommonProperties {
 
     RM_SELECTION_LOGS_MAX_SIZE("pa.rm.logs.selection.max.size", PropertyType.STRING, "10000"),
 
+    /** Write selection logs from a background thread which keeps log files open */
+    RM_SELECTION_LOGS_ASYNCHRONOUS("pa.rm.logs.selection.asynchronous", PropertyType.BOOLEAN, "false"),
+
+    /** Maximum number of selection log files kept open by the asynchronous writer */
+    RM_SELECTION_LOGS_MAX_OPEN_FILES("pa.rm.logs.selection.max.open.files", PropertyType.INTEGER, "256"),
+
     RM_NB_LOCAL_NODES("pa.rm.local.nodes.number", PropertyType.INTEGER, "-1"),
 
     /**Kill Runtime when shutting down the Resource Manager.
@@ -35,7 +35,9 @@ import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.core.util.wrapper.IntWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.ow2.proactive.authentication.UserData;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.common.event.RMEvent;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
 import org.ow2.proactive.resourcemanager.frontend.topology.Topology;
@@ -285,6 +287,20 @@ public interface ResourceManager {
      */
     Set<String> setNodesAvailable(Set<String> nodeUrls);
 
+    /**
+     * Same as {@link #setNodesAvailable(Set)}, with a heartbeat telling when the
+     * next call is expected and carrying the load of the host of the nodes.
+     * The Resource Manager does not ping the nodes as long as their heartbeats are
+     * received on time.
+     *
+     * @param nodeUrls the URLs of the workers associated to the node that publishes the update.
+     * @param heartbeat the heartbeat of the host of the nodes.
+     *
+     * @return The set of worker node URLs that are unknown to the Resource Manager
+     * (i.e. have been removed by a user).
+     */
+    Set<String> setNodesAvailable(Set<String> nodeUrls, NodeHeartbeat heartbeat);
+
     /**
      * Returns true if the resource manager is operational and a client is connected.
      *
@@ -301,6 +317,16 @@ public interface ResourceManager {
      */
     RMState getState();
 
+    /**
+     * Returns the changes of the resource manager summary state since the given version.
+     * The version is obtained from a previous {@link RMState} or {@link RMStateDelta}.
+     * If the version is unknown or too old, the returned delta contains the full state.
+     *
+     * @param version the version of the state known by the caller
+     * @return the changes since the given version
+     */
+    RMStateDelta getStateSince(long version);
+
     /**
      * Returns the monitoring interface to manager listeners of the resource manager.
      *
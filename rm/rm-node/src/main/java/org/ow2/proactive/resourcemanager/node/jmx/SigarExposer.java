@@ -71,13 +71,14 @@ public class SigarExposer extends AbstractJMXHelper {
             FileUtils.forceMkdir(new File(databaseFolder));
             String dataBaseName = databaseFolder + nodeName + "_statistics.rrd";
 
-            setDataStore(new RRDSigarDataStore(mbs,
-                                               dataBaseName,
-                                               PAResourceManagerProperties.RM_RRD_STEP.getValueAsInt(),
-                                               Logger.getLogger(SigarExposer.class)));
+            RRDSigarDataStore dataStore = new RRDSigarDataStore(mbs,
+                                                                dataBaseName,
+                                                                PAResourceManagerProperties.RM_RRD_STEP.getValueAsInt(),
+                                                                Logger.getLogger(SigarExposer.class));
+            setDataStore(dataStore);
 
             name = new ObjectName("sigar:Type=Processes");
-            SigarProcessesMXBean processes = new SigarProcesses(dataBaseName);
+            SigarProcessesMXBean processes = new SigarProcesses(dataStore);
             if (!mbs.isRegistered(name)) {
                 mbs.registerMBean(processes, name);
             }
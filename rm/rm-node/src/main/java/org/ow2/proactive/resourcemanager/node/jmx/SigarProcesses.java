@@ -31,16 +31,15 @@ import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.hyperic.sigar.Sigar;
 import org.hyperic.sigar.SigarException;
 import org.hyperic.sigar.cmd.Ps;
+import org.ow2.proactive.jmx.RRDDataStore;
 import org.ow2.proactive.resourcemanager.utils.RRDSigarDataStore;
 import org.rrd4j.ConsolFun;
-import org.rrd4j.core.FetchData;
-import org.rrd4j.core.FetchRequest;
-import org.rrd4j.core.RrdDb;
 
 
 public class SigarProcesses implements SigarProcessesMXBean {
@@ -48,10 +47,10 @@ public class SigarProcesses implements SigarProcessesMXBean {
     /** Log4J logger */
     private final static Logger logger = Logger.getLogger(SigarProcesses.class);
 
-    private String statBaseName;
+    private final RRDDataStore dataStore;
 
-    public SigarProcesses(String statBaseName) {
-        this.statBaseName = statBaseName;
+    public SigarProcesses(RRDDataStore dataStore) {
+        this.dataStore = dataStore;
     }
 
     @SuppressWarnings("unchecked")
@@ -86,10 +85,24 @@ public class SigarProcesses implements SigarProcessesMXBean {
 
     @Override
     public String getAttributesHistory(String objectName, String[] attrs, String range) throws IOException {
+        return getAttributesHistory(objectName,
+                                    attrs,
+                                    ConsolFun.AVERAGE.name(),
+                                    RRDDataStore.getRangeInSeconds(range.charAt(0)),
+                                    1);
+    }
+
+    @Override
+    public String getAttributesHistory(String objectName, String[] attrs, String consolFun, long range,
+            long resolution) throws IOException {
+        String[] dataSources = new String[attrs.length];
+        for (int i = 0; i < attrs.length; i++) {
+            dataSources[i] = RRDSigarDataStore.toDataStoreName(attrs[i] + "-" + objectName);
+        }
 
-        RrdDb db = new RrdDb(statBaseName, true);
+        // the data base is queried in place instead of being reopened for each request
+        Map<String, double[]> history = dataStore.fetch(dataSources, consolFun, range, resolution);
 
-        long timeEnd = db.getLastUpdateTime();
         // force float separator for JSON parsing
         DecimalFormatSymbols otherSymbols = new DecimalFormatSymbols(Locale.US);
         otherSymbols.setDecimalSeparator('.');
@@ -100,47 +113,11 @@ public class SigarProcesses implements SigarProcessesMXBean {
         StringBuilder result = new StringBuilder();
         result.append("{");
 
-        for (int i = 0; i < attrs.length; i++) {
-
-            String dataSource = RRDSigarDataStore.toDataStoreName(attrs[i] + "-" + objectName);
-
-            char zone = range.charAt(0);
-            long timeStart;
-
-            switch (zone) {
-                default:
-                case 'a': // 1 minute
-                    timeStart = timeEnd - 60;
-                    break;
-                case 'm': // 10 minute
-                    timeStart = timeEnd - 60 * 10;
-                    break;
-                case 'h': // 1 hours
-                    timeStart = timeEnd - 60 * 60;
-                    break;
-                case 'H': // 8 hours
-                    timeStart = timeEnd - 60 * 60 * 8;
-                    break;
-                case 'd': // 1 day
-                    timeStart = timeEnd - 60 * 60 * 24;
-                    break;
-                case 'w': // 1 week
-                    timeStart = timeEnd - 60 * 60 * 24 * 7;
-                    break;
-                case 'M': // 1 month
-                    timeStart = timeEnd - 60 * 60 * 24 * 28;
-                    break;
-                case 'y': // 1 year
-                    timeStart = timeEnd - 60 * 60 * 24 * 365;
-                    break;
-            }
-
-            FetchRequest req = db.createFetchRequest(ConsolFun.AVERAGE, timeStart, timeEnd);
-            req.setFilter(dataSource);
-            FetchData fetchData = req.fetchData();
+        for (int i = 0; i < dataSources.length; i++) {
+            String dataSource = dataSources[i];
             result.append("\"").append(dataSource).append("\":[");
 
-            double[] values = fetchData.getValues(dataSource);
+            double[] values = history.get(dataSource);
             for (int j = 0; j < values.length - 1; j++) {
                 if (Double.compare(Double.NaN, values[j]) == 0) {
                     result.append("null");
@@ -151,13 +128,11 @@ public class SigarProcesses implements SigarProcessesMXBean {
                     result.append(',');
             }
             result.append(']');
-            if (i < attrs.length - 1)
+            if (i < dataSources.length - 1)
                 result.append(',');
         }
         result.append("}");
 
-        db.close();
-
         return result.toString();
     }
 }
@@ -35,4 +35,19 @@ public interface SigarProcessesMXBean {
     ProcessInfo[] getProcesses() throws SigarException;
 
     String getAttributesHistory(String objectName, String[] attrs, String range) throws IOException;
+
+    /**
+     * Returns the history of the given attributes, consolidated on the node so that only the
+     * requested points are sent to the client.
+     *
+     * @param objectName the name of the monitored object
+     * @param attrs the attributes of the object
+     * @param consolFun the consolidation function, for instance AVERAGE or MAX
+     * @param range the time range in seconds, ending at the last sample
+     * @param resolution the resolution in seconds
+     * @return the values of each attribute as a JSON object
+     * @throws IOException when the statistics cannot be read
+     */
+    String getAttributesHistory(String objectName, String[] attrs, String consolFun, long range, long resolution)
+            throws IOException;
 }
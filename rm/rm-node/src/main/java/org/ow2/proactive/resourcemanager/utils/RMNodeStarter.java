@@ -34,6 +34,8 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -84,6 +86,7 @@ import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.jmx.PermissionChecker;
 import org.ow2.proactive.jmx.naming.JMXTransportProtocol;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthentication;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.RMConstants;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 import org.ow2.proactive.resourcemanager.exception.AddingNodesException;
@@ -634,7 +637,8 @@ public class RMNodeStarter {
             throw new NotConnectedException("No connection to RM");
         }
 
-        Set<String> unknownNodeUrls = PAFuture.getFutureValue(rm.setNodesAvailable(ImmutableSet.copyOf(nodes.keySet())),
+        Set<String> unknownNodeUrls = PAFuture.getFutureValue(rm.setNodesAvailable(ImmutableSet.copyOf(nodes.keySet()),
+                                                                                   createHeartbeat()),
                                                               nodeAvailabilityReportTimeoutDelay);
 
         for (String unknownNodeUrl : unknownNodeUrls) {
@@ -650,6 +654,32 @@ public class RMNodeStarter {
         return nodeCount > 0;
     }
 
+    /**
+     * The heartbeat sent along with the node urls tells the RM when to expect the next
+     * report, so that it does not ping the nodes, and carries the resources of the host.
+     */
+    private NodeHeartbeat createHeartbeat() {
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        long freeMemory = -1;
+        long totalMemory = -1;
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+            freeMemory = ((com.sun.management.OperatingSystemMXBean) operatingSystem).getFreePhysicalMemorySize();
+            totalMemory = ((com.sun.management.OperatingSystemMXBean) operatingSystem).getTotalPhysicalMemorySize();
+        }
+        long freeDiskSpace = -1;
+        try {
+            freeDiskSpace = new File(System.getProperty("java.io.tmpdir")).getUsableSpace();
+        } catch (SecurityException e) {
+            logger.debug("Cannot read the usable space of the temporary directory", e);
+        }
+        return new NodeHeartbeat(PING_DELAY_IN_MS,
+                                 operatingSystem.getSystemLoadAverage(),
+                                 operatingSystem.getAvailableProcessors(),
+                                 freeMemory,
+                                 totalMemory,
+                                 freeDiskSpace);
+    }
+
     private void killWorkerNodeIfRemovedByUser(Map<String, Node> nodes, String unknownNodeUrl) {
         Node node = nodes.get(unknownNodeUrl);
 
@@ -141,9 +141,6 @@ public class RRDSigarDataStore extends RRDDataStore {
      */
     public void run() {
         try {
-
-            RrdDb dataBase = new RrdDb(dataBaseFile);
-
             logger.debug("RRD database configuration:\n" + dataBase.getRrdDef().dump());
 
             while (!terminate) {
@@ -158,6 +158,8 @@ public class RMFactory {
                 appender.setMaxFileSize(PAResourceManagerProperties.RM_SELECTION_LOGS_MAX_SIZE.getValueAsString());
             }
             appender.setFilesLocation(logsLocation);
+            appender.setAsynchronous(PAResourceManagerProperties.RM_SELECTION_LOGS_ASYNCHRONOUS.getValueAsBoolean());
+            appender.setMaxOpenFiles(PAResourceManagerProperties.RM_SELECTION_LOGS_MAX_OPEN_FILES.getValueAsInt());
             selectionLogger.addAppender(appender);
         }
     }
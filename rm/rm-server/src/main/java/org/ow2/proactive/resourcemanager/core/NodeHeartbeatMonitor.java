@@ -0,0 +1,208 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+
+
+/**
+ * Failure detector of the nodes which push heartbeats to the resource manager.
+ * <p>
+ * Each heartbeat sets the deadline of the next one, after a configurable number of missed
+ * periods. The deadlines are kept in a hashed timing wheel: a heartbeat moves the node to the
+ * slot of its new deadline and each tick of the wheel only looks at the nodes of the slots
+ * that elapsed, so that the cost of the detection does not depend on the number of nodes
+ * sending their heartbeats on time.
+ * <p>
+ * A node which missed its deadline is no longer monitored, it is handed over to the
+ * given consumer to be pinged and it is pinged by its node source like the nodes which
+ * never sent heartbeats, until it sends a heartbeat again.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class NodeHeartbeatMonitor {
+
+    private static final Logger logger = Logger.getLogger(NodeHeartbeatMonitor.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final long tickDuration;
+
+    private final int tolerance;
+
+    private final List<Set<String>> wheel;
+
+    private final Map<String, MonitoredNode> monitoredNodes = new HashMap<>();
+
+    private long lastTick;
+
+    private ScheduledExecutorService ticker;
+
+    /**
+     * @param tickDuration the precision in milliseconds of the detection
+     * @param tolerance the number of heartbeat periods a node can miss
+     * @param now the current time in milliseconds
+     */
+    public NodeHeartbeatMonitor(long tickDuration, int tolerance, long now) {
+        this.tickDuration = Math.max(tickDuration, 1);
+        this.tolerance = Math.max(tolerance, 1);
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new HashSet<String>());
+        }
+        this.lastTick = now / this.tickDuration;
+    }
+
+    /**
+     * Starts ticking the wheel in a dedicated thread.
+     *
+     * @param missedHeartbeatConsumer receives the urls of the nodes which missed their heartbeat
+     */
+    public synchronized void start(final Consumer<String> missedHeartbeatConsumer) {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("Node heartbeat monitor", true));
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                for (String nodeUrl : expire(System.currentTimeMillis())) {
+                    missedHeartbeatConsumer.accept(nodeUrl);
+                }
+            } catch (Throwable t) {
+                logger.warn("Error occurred while detecting missed node heartbeats", t);
+            }
+        }, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Records the heartbeat of a node and postpones its deadline accordingly.
+     */
+    public synchronized void heartbeat(String nodeUrl, NodeHeartbeat heartbeat, long now) {
+        long deadline = now + heartbeat.getPeriod() * tolerance;
+        long deadlineTick = Math.max(deadline / tickDuration + 1, lastTick + 1);
+
+        MonitoredNode monitoredNode = monitoredNodes.get(nodeUrl);
+        if (monitoredNode != null) {
+            getSlot(monitoredNode.deadlineTick).remove(nodeUrl);
+        }
+        monitoredNodes.put(nodeUrl, new MonitoredNode(heartbeat, deadlineTick));
+        getSlot(deadlineTick).add(nodeUrl);
+    }
+
+    /**
+     * Advances the wheel up to the given time.
+     *
+     * @return the urls of the nodes whose deadline elapsed, they are not monitored anymore
+     */
+    public synchronized List<String> expire(long now) {
+        long currentTick = now / tickDuration;
+        List<String> expiredNodes = new ArrayList<>();
+        // a whole turn of the wheel visits every monitored node
+        for (long tick = Math.max(lastTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+            for (Iterator<String> iterator = getSlot(tick).iterator(); iterator.hasNext();) {
+                String nodeUrl = iterator.next();
+                // nodes whose deadline is more than one turn away stay in their slot
+                if (monitoredNodes.get(nodeUrl).deadlineTick <= currentTick) {
+                    iterator.remove();
+                    monitoredNodes.remove(nodeUrl);
+                    expiredNodes.add(nodeUrl);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        if (!expiredNodes.isEmpty()) {
+            logger.debug(expiredNodes.size() + " node(s) missed their heartbeat");
+        }
+        return expiredNodes;
+    }
+
+    /**
+     * Stops monitoring a node, when it is down or removed.
+     */
+    public synchronized void remove(String nodeUrl) {
+        MonitoredNode monitoredNode = monitoredNodes.remove(nodeUrl);
+        if (monitoredNode != null) {
+            getSlot(monitoredNode.deadlineTick).remove(nodeUrl);
+        }
+    }
+
+    /**
+     * @return true if the node sends its heartbeats on time, so that it does not need to be pinged
+     */
+    public synchronized boolean isMonitored(String nodeUrl) {
+        return monitoredNodes.containsKey(nodeUrl);
+    }
+
+    /**
+     * @return the last heartbeat of a monitored node, or null if the node is not monitored
+     */
+    public synchronized NodeHeartbeat getLastHeartbeat(String nodeUrl) {
+        MonitoredNode monitoredNode = monitoredNodes.get(nodeUrl);
+        return monitoredNode == null ? null : monitoredNode.heartbeat;
+    }
+
+    public synchronized int size() {
+        return monitoredNodes.size();
+    }
+
+    private Set<String> getSlot(long tick) {
+        return wheel.get((int) (tick % WHEEL_SIZE));
+    }
+
+    private static class MonitoredNode {
+
+        private final NodeHeartbeat heartbeat;
+
+        private final long deadlineTick;
+
+        private MonitoredNode(NodeHeartbeat heartbeat, long deadlineTick) {
+            this.heartbeat = heartbeat;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+}
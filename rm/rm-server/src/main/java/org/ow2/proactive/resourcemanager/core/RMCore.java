@@ -75,10 +75,11 @@ import org.ow2.proactive.policy.ClientsPolicy;
 import org.ow2.proactive.resourcemanager.authentication.Client;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthenticationImpl;
 import org.ow2.proactive.resourcemanager.cleaning.NodesCleaner;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.RMConstants;
 import org.ow2.proactive.resourcemanager.common.RMState;
-import org.ow2.proactive.resourcemanager.common.RMStateNodeUrls;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.common.event.RMEvent;
 import org.ow2.proactive.resourcemanager.common.event.RMEventType;
 import org.ow2.proactive.resourcemanager.common.event.RMInitialState;
@@ -256,6 +257,12 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      **/
     private List<RMNode> eligibleNodes;
 
+    /**
+     * Incrementally maintained index of free, alive and registered nodes,
+     * used to build the summary state without iterating over all nodes.
+     */
+    private final RMNodeIndex nodeIndex = new RMNodeIndex();
+
     private SelectionManager selectionManager;
 
     /**
@@ -283,6 +290,12 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      */
     public static TopologyManager topologyManager;
 
+    /**
+     * Failure detector of the nodes which push heartbeats, these nodes are not pinged
+     * by their node source as long as their heartbeats are received on time
+     */
+    public static NodeHeartbeatMonitor nodeHeartbeatMonitor;
+
     /**
      * Client pinger
      */
@@ -355,6 +368,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         this.selectionManager = manager;
         this.eligibleNodes = freeNodesList;
         this.dbManager = newDataBaseManager;
+        this.nodeIndex.rebuild(allNodes.values(), freeNodesList);
     }
 
     /**
@@ -423,6 +437,14 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
             topologyManager = new TopologyManager();
 
+            int heartbeatTick = PAResourceManagerProperties.RM_NODE_HEARTBEAT_TICK.getValueAsInt();
+            int heartbeatTolerance = PAResourceManagerProperties.RM_NODE_HEARTBEAT_TOLERANCE.getValueAsInt();
+            nodeHeartbeatMonitor = new NodeHeartbeatMonitor(heartbeatTick,
+                                                            heartbeatTolerance,
+                                                            System.currentTimeMillis());
+            // the nodes are looked up and pinged from the active object thread
+            nodeHeartbeatMonitor.start(((RMCore) rmCoreStub)::internalPingNodeWhichMissedHeartbeat);
+
             nodeConfigurator = (RMNodeConfigurator) PAActiveObject.newActive(RMNodeConfigurator.class.getName(),
                                                                              new Object[] { rmCoreStub },
                                                                              nodeRM);
@@ -592,12 +614,13 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         rmNode.setFree();
         // an eligible node is a node that is free and not locked
         if (!rmNode.isLocked()) {
-            this.eligibleNodes.add(rmNode);
+            addEligibleNode(rmNode);
         }
 
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              client.getName()));
 
@@ -641,7 +664,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              initiator.getName()));
     }
@@ -672,15 +696,20 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         logger.debug("Removing node " + rmnode.getNodeURL() + " provided by " + rmnode.getProvider());
         // removing the node from the HM list
         if (rmnode.isFree()) {
-            eligibleNodes.remove(rmnode);
+            removeEligibleNode(rmnode);
         }
         this.allNodes.remove(rmnode.getNodeURL());
+        if (nodeHeartbeatMonitor != null) {
+            nodeHeartbeatMonitor.remove(rmnode.getNodeURL());
+        }
+        selectionManager.invalidateScriptResults(Collections.singleton(rmnode.getNodeURL()));
 
         // persist node removal
         dbManager.removeNode(rmnode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmnode.createNodeEvent(RMEventType.NODE_REMOVED,
+        this.registerAndEmitNodeEvent(rmnode,
+                                      rmnode.createNodeEvent(RMEventType.NODE_REMOVED,
                                                              rmnode.getState(),
                                                              initiator.getName()));
     }
@@ -702,6 +731,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         //was added during internalRegisterConfiguringNode
         RMNode rmnode = this.allNodes.get(nodeURL);
         registerAvailableNode(configuredNode);
+        selectionManager.invalidateScriptResults(Collections.singleton(nodeURL));
 
         if (toShutDown) {
             logger.warn("Node " + rmnode.getNodeURL() +
@@ -745,7 +775,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      * @return total number of alive nodes
      */
     public int getTotalAliveNodesNumber() {
-        return listAliveNodeUrls().size();
+        return nodeIndex.getAliveNodesNumber();
     }
 
     /**
@@ -767,6 +797,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      */
     public BooleanWrapper registerAvailableNode(RMNode rmNode) {
         this.allNodes.put(rmNode.getNodeURL(), rmNode);
+        this.nodeIndex.updateNode(rmNode, true);
         return new BooleanWrapper(true);
     }
 
@@ -795,7 +826,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         persistNewRMNodeIfRecoveryEnabled(rmnode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmnode.createNodeEvent(RMEventType.NODE_ADDED,
+        this.registerAndEmitNodeEvent(rmnode,
+                                      rmnode.createNodeEvent(RMEventType.NODE_ADDED,
                                                              null,
                                                              rmnode.getProvider().getName()));
 
@@ -950,7 +982,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         // temporary list to avoid concurrent modification
         List<RMNode> nodelList = new LinkedList<>();
-        nodelList.addAll(eligibleNodes);
+        nodelList.addAll(nodeIndex.getFreeNodes(nodeSourceName));
 
         logger.debug("Free nodes size " + nodelList.size());
         for (RMNode node : nodelList) {
@@ -1034,6 +1066,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
     public void setEligibleNodesToRecover(List<RMNode> eligibleNodes) {
         this.eligibleNodes = eligibleNodes;
+        this.nodeIndex.rebuild(allNodes.values(), eligibleNodes);
     }
 
     private final class RemoveAllNodes implements Function<NodeSource, Void> {
@@ -1124,9 +1157,24 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     @ImmediateService
     @Override
     public Set<String> setNodesAvailable(Set<String> nodeUrls) {
+        return setNodesAvailable(nodeUrls, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The nodes which are known by the Resource Manager are monitored by
+     * {@link #nodeHeartbeatMonitor} until they miss a heartbeat, and the resources
+     * reported by the heartbeat are kept on the nodes and in the state.
+     */
+    @ImmediateService
+    @Override
+    public Set<String> setNodesAvailable(Set<String> nodeUrls, NodeHeartbeat heartbeat) {
 
         waitForRMCoreToBeInitializedIfNeeded();
 
+        long now = System.currentTimeMillis();
+
         if (logger.isTraceEnabled()) {
             logger.trace("Received availability for the following workers: " + nodeUrls);
         }
@@ -1142,17 +1190,39 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
                     logger.debug("Known nodes are: " + Arrays.toString(allNodes.keySet().toArray()));
                 }
                 nodeUrlsNotKnownByTheRM.add(nodeUrl);
-            } else if (node.isDown()) {
-                restoreNodeState(nodeUrl, node);
             } else {
-                if (logger.isDebugEnabled()) {
+                if (node.isDown()) {
+                    restoreNodeState(nodeUrl, node);
+                } else if (logger.isDebugEnabled()) {
                     logger.debug("The node identified by " + nodeUrl + " is known and not DOWN, no action performed");
                 }
+                if (heartbeat != null) {
+                    nodeIndex.updateResources(node, heartbeat);
+                    if (nodeHeartbeatMonitor != null) {
+                        nodeHeartbeatMonitor.heartbeat(nodeUrl, heartbeat, now);
+                    }
+                }
             }
         }
         return nodeUrlsNotKnownByTheRM.build();
     }
 
+    /**
+     * Internal operation asking the node source of a node which missed its heartbeat to ping it,
+     * the node is marked as down if the ping fails. This method is called by
+     * {@link #nodeHeartbeatMonitor} through the stub, so that the nodes are accessed from the
+     * active object thread.
+     *
+     * @param nodeUrl the url of the node which missed its heartbeat
+     */
+    public void internalPingNodeWhichMissedHeartbeat(String nodeUrl) {
+        RMNode rmNode = allNodes.get(nodeUrl);
+        if (rmNode != null && !rmNode.isDown() && rmNode.getNode() != null) {
+            logger.info("The node " + nodeUrl + " missed its heartbeat, pinging it");
+            rmNode.getNodeSource().pingNode(rmNode.getNode());
+        }
+    }
+
     private void waitForRMCoreToBeInitializedIfNeeded() {
         try {
             if (countDownLatch.getCount() != 0) {
@@ -1289,6 +1359,13 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
             deployedNodeSource.reconfigure(newDescriptor.getInfrastructureParameters(),
                                            newDescriptor.getPolicyParameters());
             this.emitNodeSourceEvent(deployedNodeSource, RMEventType.NODESOURCE_UPDATED);
+            // the reconfiguration may change attributes of the nodes tested by selection scripts
+            selectionManager.invalidateScriptResults(allNodes.values()
+                                                             .stream()
+                                                             .filter(rmNode -> rmNode.getNodeSourceName()
+                                                                                     .equals(nodeSourceName))
+                                                             .map(RMNode::getNodeURL)
+                                                             .collect(Collectors.toList()));
             logger.info(NODE_SOURCE_STRING + nodeSourceName + " has been successfully updated with dynamic parameters");
             return new BooleanWrapper(true);
         } catch (Exception e) {
@@ -1736,14 +1813,6 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     // Methods called by RMUser, override RMCoreInterface
     // ----------------------------------------------------------------------
 
-    private static Set<String> nodesListToUrlsSet(Collection<RMNode> nodeList) {
-        HashSet<String> nodesUrlsSet = new HashSet<>(nodeList.size());
-        for (RMNode node : nodeList) {
-            nodesUrlsSet.add(node.getNodeURL());
-        }
-        return nodesUrlsSet;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -2032,13 +2101,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
     @Override
     public Set<String> listAliveNodeUrls() {
-        HashSet<String> aliveNodes = new HashSet<>();
-        for (RMNode node : this.allNodes.values()) {
-            if (!node.isDown()) {
-                aliveNodes.add(node.getNodeURL());
-            }
-        }
-        return aliveNodes;
+        return nodeIndex.getAliveNodeUrls();
     }
 
     @Override
@@ -2113,6 +2176,9 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         this.selectionManager.shutdown();
         this.clientPinger.shutdown();
+        if (nodeHeartbeatMonitor != null) {
+            nodeHeartbeatMonitor.shutdown();
+        }
 
         PAFuture.waitFor(this.monitoring.shutdown());
 
@@ -2155,12 +2221,13 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         // Get the previous state of the node needed for the event
         final NodeState previousNodeState = rmNode.getState();
         rmNode.setBusy(owner);
-        this.eligibleNodes.remove(rmNode);
+        removeEligibleNode(rmNode);
 
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              owner.getName()));
 
@@ -2181,15 +2248,20 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
             // Get the previous state of the node needed for the event
             final NodeState previousNodeState = rmNode.getState();
             if (rmNode.isFree()) {
-                eligibleNodes.remove(rmNode);
+                removeEligibleNode(rmNode);
             }
 
             rmNode.setDown();
+            if (nodeHeartbeatMonitor != null) {
+                nodeHeartbeatMonitor.remove(nodeUrl);
+            }
+            selectionManager.invalidateScriptResults(Collections.singleton(nodeUrl));
 
             persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
             // create the event
-            this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+            this.registerAndEmitNodeEvent(rmNode,
+                                          rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                                  previousNodeState,
                                                                  rmNode.getProvider().getName()));
         } else {
@@ -2200,10 +2272,21 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         }
     }
 
-    private void registerAndEmitNodeEvent(final RMNodeEvent event) {
+    private void registerAndEmitNodeEvent(final RMNode rmNode, final RMNodeEvent event) {
+        this.nodeIndex.updateNode(rmNode, this.allNodes.containsKey(rmNode.getNodeURL()));
         this.monitoring.nodeEvent(event);
     }
 
+    private void addEligibleNode(RMNode rmNode) {
+        this.eligibleNodes.add(rmNode);
+        this.nodeIndex.setFree(rmNode, true);
+    }
+
+    private void removeEligibleNode(RMNode rmNode) {
+        this.eligibleNodes.remove(rmNode);
+        this.nodeIndex.setFree(rmNode, false);
+    }
+
     /**
      * Removed a node with given url from the internal structures of the core.
      *
@@ -2337,11 +2420,14 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      * {@inheritDoc}
      */
     public RMState getState() {
-        RMStateNodeUrls rmStateNodeUrls = new RMStateNodeUrls(nodesListToUrlsSet(eligibleNodes),
-                                                              listAliveNodeUrls(),
-                                                              nodesListToUrlsSet(allNodes.values()));
-        RMState state = new RMState(rmStateNodeUrls, maximumNumberOfNodes);
-        return state;
+        return nodeIndex.getState(maximumNumberOfNodes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public RMStateDelta getStateSince(long version) {
+        return nodeIndex.getStateSince(version, maximumNumberOfNodes);
     }
 
     public List<String> getToBeRemovedUnavailableNodesUrls() {
@@ -2635,7 +2721,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
             // can throw a security exception if the lockInitiator is not an admin
             this.checkNodeAdminPermission(rmNode, lockInitiator);
             rmNode.lock(lockInitiator);
-            this.eligibleNodes.remove(rmNode);
+            removeEligibleNode(rmNode);
         } catch (SecurityException e) {
             logger.warn("Lock node lockInitiator is not admin", e);
             return false;
@@ -2647,7 +2733,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         // sending the following event is required in order to have monitoring information
         // updated in the intermediate RM cache (see RMListenerProxy#nodeEvent)
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              rmNode.getState(),
                                                              lockInitiator.getName()));
 
@@ -2698,7 +2785,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
             // an eligible node is a node that is free AND not locked
             if (rmNode.isFree()) {
-                eligibleNodes.add(rmNode);
+                addEligibleNode(rmNode);
             }
 
             updateNode(rmNode);
@@ -2709,7 +2796,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         dbManager.createLockEntryOrUpdate(rmNode.getNodeSourceName(), RMDBManager.NodeLockUpdateAction.DECREMENT);
 
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              rmNode.getState(),
                                                              caller.getName()));
 
@@ -0,0 +1,299 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateNodeUrls;
+import org.ow2.proactive.resourcemanager.rmnode.RMNode;
+
+
+/**
+ * Versioned index of the nodes handled by the {@link RMCore}.
+ *
+ * The index is updated incrementally by the core on each node state transition, so that the
+ * summary state of the resource manager does not need to be rebuilt from all the nodes on each
+ * request. Every change increments the version of the index and is recorded in a change log
+ * which allows to compute the nodes changed since a given version.
+ *
+ * Free nodes are additionally partitioned by node source, and the last resources snapshots
+ * reported by the free nodes along with their heartbeats are kept to be sent with the state.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class RMNodeIndex {
+
+    static final int DEFAULT_CHANGE_LOG_SIZE = 100000;
+
+    private final int changeLogSize;
+
+    /**
+     * versions start from the creation time so that the versions known by clients
+     * of a previous resource manager instance are not mistaken for recent ones
+     */
+    private long version = System.currentTimeMillis() << 20;
+
+    private final Set<String> freeNodeUrls = new HashSet<>();
+
+    private final Set<String> aliveNodeUrls = new HashSet<>();
+
+    private final Set<String> allNodeUrls = new HashSet<>();
+
+    private final Map<String, Set<RMNode>> freeNodesByNodeSource = new HashMap<>();
+
+    private final Map<String, NodeHeartbeat> freeNodeResources = new HashMap<>();
+
+    /** immutable copy of {@link #freeNodeResources}, null when it must be rebuilt */
+    private Map<String, NodeHeartbeat> resourcesSnapshot;
+
+    /** version of the last change of each node url */
+    private final Map<String, Long> lastChanges = new HashMap<>();
+
+    /** node urls ordered by the version of their last change */
+    private final TreeMap<Long, String> changeLog = new TreeMap<>();
+
+    /** deltas cannot be computed from versions older than this one */
+    private long oldestVersion = version;
+
+    private RMStateNodeUrls snapshot;
+
+    private long snapshotVersion = -1;
+
+    RMNodeIndex() {
+        this(DEFAULT_CHANGE_LOG_SIZE);
+    }
+
+    RMNodeIndex(int changeLogSize) {
+        this.changeLogSize = changeLogSize;
+    }
+
+    /**
+     * Updates the registration and the alive status of a node.
+     *
+     * @param rmNode the node which changed
+     * @param registered true if the node is handled by the core, false if it was removed
+     */
+    synchronized void updateNode(RMNode rmNode, boolean registered) {
+        String url = rmNode.getNodeURL();
+        boolean changed = update(allNodeUrls, url, registered);
+        changed |= update(aliveNodeUrls, url, registered && !rmNode.isDown());
+        if (!registered) {
+            changed |= removeFreeNode(rmNode);
+        }
+        if (changed) {
+            recordChange(url);
+        }
+    }
+
+    /**
+     * Updates the eligibility of a node for scheduling, i.e. the node is free and not locked.
+     */
+    synchronized void setFree(RMNode rmNode, boolean free) {
+        boolean changed;
+        if (free) {
+            changed = freeNodeUrls.add(rmNode.getNodeURL());
+            freeNodesByNodeSource.computeIfAbsent(rmNode.getNodeSourceName(), k -> new LinkedHashSet<>())
+                                 .add(rmNode);
+            putResources(rmNode.getNodeURL(), rmNode.getResources());
+        } else {
+            changed = removeFreeNode(rmNode);
+        }
+        if (changed) {
+            recordChange(rmNode.getNodeURL());
+        }
+    }
+
+    /**
+     * Records the last resources snapshot reported by a node. The version is not changed, the
+     * snapshots of the free nodes are sent along with every state and delta.
+     */
+    synchronized void updateResources(RMNode rmNode, NodeHeartbeat resources) {
+        rmNode.setResources(resources);
+        if (freeNodeUrls.contains(rmNode.getNodeURL())) {
+            putResources(rmNode.getNodeURL(), resources);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index, used when the core state is restored.
+     */
+    synchronized void rebuild(Collection<RMNode> allNodes, Collection<RMNode> freeNodes) {
+        allNodeUrls.clear();
+        aliveNodeUrls.clear();
+        freeNodeUrls.clear();
+        freeNodesByNodeSource.clear();
+        freeNodeResources.clear();
+        resourcesSnapshot = null;
+        for (RMNode rmNode : allNodes) {
+            allNodeUrls.add(rmNode.getNodeURL());
+            if (!rmNode.isDown()) {
+                aliveNodeUrls.add(rmNode.getNodeURL());
+            }
+        }
+        synchronized (freeNodes) {
+            for (RMNode rmNode : freeNodes) {
+                freeNodeUrls.add(rmNode.getNodeURL());
+                freeNodesByNodeSource.computeIfAbsent(rmNode.getNodeSourceName(), k -> new LinkedHashSet<>())
+                                     .add(rmNode);
+                putResources(rmNode.getNodeURL(), rmNode.getResources());
+            }
+        }
+        // previous clients must get a full state
+        version++;
+        oldestVersion = version;
+        lastChanges.clear();
+        changeLog.clear();
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized int getAliveNodesNumber() {
+        return aliveNodeUrls.size();
+    }
+
+    synchronized Set<String> getAliveNodeUrls() {
+        return new HashSet<>(aliveNodeUrls);
+    }
+
+    /**
+     * @return the free nodes of the given node source
+     */
+    synchronized List<RMNode> getFreeNodes(String nodeSourceName) {
+        Set<RMNode> nodes = freeNodesByNodeSource.get(nodeSourceName);
+        if (nodes == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * Returns the summary state of the nodes. The state is only rebuilt when the index has
+     * changed since the previous call, otherwise the same immutable snapshot is returned.
+     */
+    synchronized RMState getState(Long maxNumberOfNodes) {
+        if (snapshotVersion != version) {
+            snapshot = new RMStateNodeUrls(Collections.unmodifiableSet(new HashSet<>(freeNodeUrls)),
+                                           Collections.unmodifiableSet(new HashSet<>(aliveNodeUrls)),
+                                           Collections.unmodifiableSet(new HashSet<>(allNodeUrls)));
+            snapshotVersion = version;
+        }
+        return new RMState(snapshot, maxNumberOfNodes, version, getResourcesSnapshot());
+    }
+
+    /**
+     * Returns the changes since the given version. Only the nodes changed since this version are
+     * visited, unless the version is unknown or older than the change log.
+     */
+    synchronized RMStateDelta getStateSince(long fromVersion, Long maxNumberOfNodes) {
+        if (fromVersion < oldestVersion || fromVersion > version) {
+            return new RMStateDelta(fromVersion, getState(maxNumberOfNodes));
+        }
+        Set<String> changed = new HashSet<>();
+        Set<String> known = new HashSet<>();
+        Set<String> alive = new HashSet<>();
+        Set<String> free = new HashSet<>();
+        for (String url : changeLog.tailMap(fromVersion, false).values()) {
+            changed.add(url);
+            if (allNodeUrls.contains(url)) {
+                known.add(url);
+            }
+            if (aliveNodeUrls.contains(url)) {
+                alive.add(url);
+            }
+            if (freeNodeUrls.contains(url)) {
+                free.add(url);
+            }
+        }
+        return new RMStateDelta(fromVersion,
+                                version,
+                                maxNumberOfNodes,
+                                changed,
+                                known,
+                                alive,
+                                free,
+                                getResourcesSnapshot());
+    }
+
+    private Map<String, NodeHeartbeat> getResourcesSnapshot() {
+        if (resourcesSnapshot == null) {
+            resourcesSnapshot = Collections.unmodifiableMap(new HashMap<>(freeNodeResources));
+        }
+        return resourcesSnapshot;
+    }
+
+    private void putResources(String url, NodeHeartbeat resources) {
+        if (resources != null && !resources.equals(freeNodeResources.put(url, resources))) {
+            resourcesSnapshot = null;
+        }
+    }
+
+    private boolean removeFreeNode(RMNode rmNode) {
+        Set<RMNode> nodes = freeNodesByNodeSource.get(rmNode.getNodeSourceName());
+        if (nodes != null) {
+            nodes.remove(rmNode);
+            if (nodes.isEmpty()) {
+                freeNodesByNodeSource.remove(rmNode.getNodeSourceName());
+            }
+        }
+        if (freeNodeResources.remove(rmNode.getNodeURL()) != null) {
+            resourcesSnapshot = null;
+        }
+        return freeNodeUrls.remove(rmNode.getNodeURL());
+    }
+
+    private void recordChange(String url) {
+        version++;
+        Long previous = lastChanges.put(url, version);
+        if (previous != null) {
+            changeLog.remove(previous);
+        }
+        changeLog.put(version, url);
+        while (changeLog.size() > changeLogSize) {
+            Map.Entry<Long, String> eldest = changeLog.pollFirstEntry();
+            lastChanges.remove(eldest.getValue());
+            oldestVersion = eldest.getKey();
+        }
+    }
+
+    private static boolean update(Set<String> urls, String url, boolean present) {
+        return present ? urls.add(url) : urls.remove(url);
+    }
+
+}
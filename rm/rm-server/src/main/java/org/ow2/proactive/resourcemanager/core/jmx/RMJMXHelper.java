@@ -43,8 +43,11 @@ import org.ow2.proactive.resourcemanager.core.jmx.mbean.ManagementMBeanImpl;
 import org.ow2.proactive.resourcemanager.core.jmx.mbean.MyAccountMBeanImpl;
 import org.ow2.proactive.resourcemanager.core.jmx.mbean.RuntimeDataMBean;
 import org.ow2.proactive.resourcemanager.core.jmx.mbean.RuntimeDataMBeanImpl;
+import org.ow2.proactive.resourcemanager.core.jmx.mbean.SelectionScriptCacheMBeanImpl;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 import org.ow2.proactive.resourcemanager.frontend.RMMonitoringImpl;
+import org.ow2.proactive.resourcemanager.selection.statistics.ProbablisticSelectionManager;
+import org.ow2.proactive.resourcemanager.selection.statistics.SelectionScriptCacheStatistics;
 
 
 /**
@@ -137,6 +140,16 @@ public final class RMJMXHelper extends AbstractJMXHelper {
         } catch (Exception e) {
             LOGGER.error("Unable to register the ManagementMBean", e);
         }
+
+        // Register the SelectionScriptCache MBean into the MBean server
+        try {
+            final SelectionScriptCacheStatistics statistics = ProbablisticSelectionManager.getCacheStatistics();
+            final SelectionScriptCacheMBeanImpl cacheMBean = new SelectionScriptCacheMBeanImpl(statistics);
+            final ObjectName name = new ObjectName(RMJMXBeans.SELECTION_SCRIPT_CACHE_MBEAN_NAME);
+            mbs.registerMBean(cacheMBean, name);
+        } catch (Exception e) {
+            LOGGER.error("Unable to register the SelectionScriptCacheMBean", e);
+        }
     }
 
     /**
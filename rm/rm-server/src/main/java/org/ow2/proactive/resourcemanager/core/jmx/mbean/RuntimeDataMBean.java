@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.objectweb.proactive.annotation.PublicAPI;
 import org.ow2.proactive.resourcemanager.common.NodeState;
@@ -181,4 +182,18 @@ public interface RuntimeDataMBean {
      */
     byte[] getStatisticHistory() throws IOException;
 
+    /**
+     * Fetches the statistics accumulated in the RRD data base, consolidated on the server
+     * so that only the requested points are sent instead of the whole data base.
+     *
+     * @param dataSources the names of the data sources
+     * @param consolFun the consolidation function, for instance AVERAGE or MAX
+     * @param range the time range in seconds, ending at the last update of the data base
+     * @param resolution the resolution in seconds
+     * @return the values of each data source, in the requested order
+     * @throws IOException when data base cannot be read
+     */
+    Map<String, double[]> fetchStatisticHistory(String[] dataSources, String consolFun, long range, long resolution)
+            throws IOException;
+
 }
@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.Map;
 
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
@@ -208,4 +209,12 @@ public class RuntimeDataMBeanImpl extends StandardMBean implements RuntimeDataMB
     public byte[] getStatisticHistory() throws IOException {
         return RMJMXHelper.getInstance().getDataStore().getBytes();
     }
+
+    /**
+     * @see RuntimeDataMBean#fetchStatisticHistory(String[], String, long, long)
+     */
+    public Map<String, double[]> fetchStatisticHistory(String[] dataSources, String consolFun, long range,
+            long resolution) throws IOException {
+        return RMJMXHelper.getInstance().getDataStore().fetch(dataSources, consolFun, range, resolution);
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core.jmx.mbean;
+
+import java.util.Map;
+
+
+/**
+ * MBean interface exposing how often the Resource Manager avoids
+ * selection script executions thanks to already known results.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public interface SelectionScriptCacheMBean {
+
+    /**
+     * Returns the number of script executions avoided.
+     * @return the number of cache hits
+     */
+    long getCacheHits();
+
+    /**
+     * Returns the number of script executions performed.
+     * @return the number of cache misses
+     */
+    long getCacheMisses();
+
+    /**
+     * Returns the ratio of avoided script executions.
+     * @return the hit rate, between 0 and 1
+     */
+    double getCacheHitRate();
+
+    /**
+     * Returns the number of scripts currently known.
+     * @return the number of scripts
+     */
+    int getCachedScriptsCount();
+
+    /**
+     * Returns the hit rate of each known script.
+     * @return a map of abbreviated script contents to hit rates, between 0 and 1
+     */
+    Map<String, Double> getScriptsHitRate();
+}
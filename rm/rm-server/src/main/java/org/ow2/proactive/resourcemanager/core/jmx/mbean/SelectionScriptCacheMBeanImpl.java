@@ -0,0 +1,71 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core.jmx.mbean;
+
+import java.util.Map;
+
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.ow2.proactive.resourcemanager.selection.statistics.SelectionScriptCacheStatistics;
+
+
+/**
+ * Implementation of the SelectionScriptCacheMBean interface.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public final class SelectionScriptCacheMBeanImpl extends StandardMBean implements SelectionScriptCacheMBean {
+
+    private final SelectionScriptCacheStatistics statistics;
+
+    public SelectionScriptCacheMBeanImpl(final SelectionScriptCacheStatistics statistics)
+            throws NotCompliantMBeanException {
+        super(SelectionScriptCacheMBean.class);
+        this.statistics = statistics;
+    }
+
+    public long getCacheHits() {
+        return this.statistics.getHits();
+    }
+
+    public long getCacheMisses() {
+        return this.statistics.getMisses();
+    }
+
+    public double getCacheHitRate() {
+        return this.statistics.getHitRate();
+    }
+
+    public int getCachedScriptsCount() {
+        return this.statistics.getScriptsCount();
+    }
+
+    public Map<String, Double> getScriptsHitRate() {
+        return this.statistics.getHitRates();
+    }
+}
@@ -57,6 +57,7 @@ import org.ow2.proactive.resourcemanager.authentication.Client;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
+import org.ow2.proactive.resourcemanager.core.NodeHeartbeatMonitor;
 import org.ow2.proactive.resourcemanager.core.RMCore;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 import org.ow2.proactive.resourcemanager.db.NodeSourceData;
@@ -290,10 +291,7 @@ public class NodeSource implements InitActive, RunActive {
                 timeStamp = System.currentTimeMillis();
 
                 if (delta > pingFrequency) {
-                    logger.info("[" + name + "] Pinging alive nodes : " + getAliveNodes().size());
-                    for (Node node : getAliveNodes()) {
-                        pingNode(node);
-                    }
+                    pingAliveNodesWithoutHeartbeat();
                     delta = 0;
                 }
             } catch (InterruptedException e) {
@@ -302,6 +300,24 @@ public class NodeSource implements InitActive, RunActive {
         }
     }
 
+    /**
+     * Pings the alive nodes, except the ones which send their heartbeats on time.
+     */
+    private void pingAliveNodesWithoutHeartbeat() {
+        NodeHeartbeatMonitor heartbeatMonitor = RMCore.nodeHeartbeatMonitor;
+        List<Node> nodesToPing = new LinkedList<>();
+        for (Node node : getAliveNodes()) {
+            if (heartbeatMonitor == null || !heartbeatMonitor.isMonitored(node.getNodeInformation().getURL())) {
+                nodesToPing.add(node);
+            }
+        }
+        logger.info("[" + name + "] Pinging alive nodes : " + nodesToPing.size() + " (" + this.nodes.size() +
+                    " alive)");
+        for (Node node : nodesToPing) {
+            pingNode(node);
+        }
+    }
+
     /**
      * Updates internal node source structures.
      */
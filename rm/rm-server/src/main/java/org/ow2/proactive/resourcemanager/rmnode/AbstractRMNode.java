@@ -30,6 +30,7 @@ import java.util.Date;
 
 import org.ow2.proactive.jmx.naming.JMXTransportProtocol;
 import org.ow2.proactive.resourcemanager.authentication.Client;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.event.RMEventType;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeDescriptor;
@@ -94,6 +95,9 @@ public abstract class AbstractRMNode implements RMNode, Serializable {
     /** Time stamp of the latest state change */
     protected long stateChangeTime;
 
+    /** Last resources snapshot reported by the node, updated by the heartbeats */
+    protected volatile NodeHeartbeat resources;
+
     public AbstractRMNode() {
         this.nodeName = null;
         this.nodeURL = null;
@@ -204,6 +208,22 @@ public abstract class AbstractRMNode implements RMNode, Serializable {
         return lockedBy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NodeHeartbeat getResources() {
+        return resources;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResources(NodeHeartbeat resources) {
+        this.resources = resources;
+    }
+
     protected String getLockStatus() {
         String result = "Locked: " + Boolean.toString(isLocked);
 
@@ -34,6 +34,7 @@ import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
 import org.ow2.proactive.jmx.naming.JMXTransportProtocol;
 import org.ow2.proactive.resourcemanager.authentication.Client;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.event.RMEventType;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
@@ -352,4 +353,19 @@ public interface RMNode extends Comparable<RMNode> {
 
     long millisSinceStateChanged();
 
+    /**
+     * Returns the last snapshot of the resources of the host of the node (load, memory, disk),
+     * as reported by the node along with its heartbeat.
+     *
+     * @return the last resources snapshot or {@code null} if the node has not reported any
+     */
+    NodeHeartbeat getResources();
+
+    /**
+     * Sets the last snapshot of the resources of the host of the node.
+     *
+     * @param resources the snapshot reported by the node
+     */
+    void setResources(NodeHeartbeat resources);
+
 }
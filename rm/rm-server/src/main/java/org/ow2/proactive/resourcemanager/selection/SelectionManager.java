@@ -209,6 +209,18 @@ public abstract class SelectionManager {
     public abstract boolean processScriptResult(SelectionScript script, Map<String, Serializable> bindings,
             ScriptResult<Boolean> scriptResult, RMNode rmnode);
 
+    /**
+     * Forgets the selection script results known for the given nodes, so that
+     * scripts are executed again on them. Called by the core when the nodes
+     * are added, removed, lost or when their node source is reconfigured.
+     *
+     * @param nodeUrls
+     *            - urls of the nodes whose attributes may have changed
+     */
+    @ImmediateService
+    public void invalidateScriptResults(Collection<String> nodeUrls) {
+    }
+
     public NodeSet selectNodes(Criteria criteria, Client client) {
 
         maybeSetLoggingContext(criteria);
@@ -515,8 +527,13 @@ public abstract class SelectionManager {
 
         List<RMNode> filteredList = new ArrayList<>();
         HashSet<Permission> clientPermissions = new HashSet<>();
+        // nodes sharing a permission are checked only once, whatever the result
+        HashSet<Permission> deniedPermissions = new HashSet<>();
         for (RMNode node : freeNodes) {
             // checking the permission
+            if (deniedPermissions.contains(node.getUserPermission())) {
+                continue;
+            }
             try {
                 if (!clientPermissions.contains(node.getUserPermission())) {
                     client.checkPermission(node.getUserPermission(),
@@ -527,6 +544,9 @@ public abstract class SelectionManager {
             } catch (SecurityException e) {
                 // client does not have an access to this node
                 logger.debug(e.getMessage());
+                if (node.getUserPermission() != null) {
+                    deniedPermissions.add(node.getUserPermission());
+                }
                 continue;
             }
 
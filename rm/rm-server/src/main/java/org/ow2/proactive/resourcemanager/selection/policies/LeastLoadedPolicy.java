@@ -0,0 +1,110 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.selection.policies;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive.resourcemanager.authentication.Client;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.resourcemanager.core.NodeHeartbeatMonitor;
+import org.ow2.proactive.resourcemanager.core.RMCore;
+import org.ow2.proactive.resourcemanager.rmnode.RMNode;
+import org.ow2.proactive.resourcemanager.selection.SelectionPolicy;
+
+
+/**
+ * The selection policy that selects first the nodes of the least loaded hosts, according
+ * to the last heartbeats sent by the nodes.
+ *
+ * Nodes are shuffled and then sorted by load per processor, then by free memory. Nodes
+ * which did not send their heartbeat on time come last.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class LeastLoadedPolicy implements SelectionPolicy {
+
+    private final static Logger logger = Logger.getLogger(LeastLoadedPolicy.class);
+
+    /**
+     * Sort by the load of the hosts.
+     *
+     * @return the same list sorted by load (allowed by interface specification).
+     */
+    public List<RMNode> arrangeNodes(int number, List<RMNode> nodes, Client client) {
+        NodeHeartbeatMonitor heartbeatMonitor = RMCore.nodeHeartbeatMonitor;
+        Collections.shuffle(nodes);
+        if (heartbeatMonitor == null) {
+            return nodes;
+        }
+        logger.debug("Arranging nodes according to the load of their hosts");
+        // heartbeats keep coming while sorting, the comparison must rely on a snapshot
+        Map<String, NodeHeartbeat> heartbeats = new HashMap<>();
+        for (RMNode node : nodes) {
+            heartbeats.put(node.getNodeURL(), heartbeatMonitor.getLastHeartbeat(node.getNodeURL()));
+        }
+        Collections.sort(nodes, new HeartbeatComparator(heartbeats));
+        return nodes;
+    }
+
+    private static class HeartbeatComparator implements Comparator<RMNode> {
+
+        private final Map<String, NodeHeartbeat> heartbeats;
+
+        private HeartbeatComparator(Map<String, NodeHeartbeat> heartbeats) {
+            this.heartbeats = heartbeats;
+        }
+
+        @Override
+        public int compare(RMNode node1, RMNode node2) {
+            NodeHeartbeat heartbeat1 = heartbeats.get(node1.getNodeURL());
+            NodeHeartbeat heartbeat2 = heartbeats.get(node2.getNodeURL());
+            double load1 = getLoad(heartbeat1);
+            double load2 = getLoad(heartbeat2);
+            if (load1 != load2) {
+                return Double.compare(load1, load2);
+            }
+            if (heartbeat1 == null || heartbeat2 == null) {
+                return 0;
+            }
+            return Long.compare(heartbeat2.getFreeMemory(), heartbeat1.getFreeMemory());
+        }
+
+        private double getLoad(NodeHeartbeat heartbeat) {
+            if (heartbeat == null) {
+                return Double.MAX_VALUE;
+            }
+            double load = heartbeat.getLoadPerProcessor();
+            // the load is not available on all systems, such nodes come after the known loads
+            return load < 0 ? Double.MAX_VALUE / 2 : load;
+        }
+    }
+
+}
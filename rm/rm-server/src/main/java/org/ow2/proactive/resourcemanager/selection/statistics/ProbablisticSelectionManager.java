@@ -28,15 +28,21 @@ package org.ow2.proactive.resourcemanager.selection.statistics;
 import java.io.Serializable;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
+import org.objectweb.proactive.annotation.ImmediateService;
+import org.objectweb.proactive.api.PAFuture;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.resourcemanager.core.RMCore;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
@@ -45,6 +51,7 @@ import org.ow2.proactive.resourcemanager.selection.SelectionManager;
 import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.scripting.ScriptResult;
 import org.ow2.proactive.scripting.SelectionScript;
+import org.ow2.proactive.scripting.SelectionScriptResult;
 
 
 /**
@@ -61,15 +68,21 @@ import org.ow2.proactive.scripting.SelectionScript;
  * gives an optimal strategy for scripts execution. For several scripts join probabilities
  * are calculated for each nodes.
  *
+ * The result of a static script, or of any script declaring a time to live in
+ * {@link SelectionScript#CACHE_TTL_VARIABLE}, is reused without executing the script
+ * again until it expires or until the node is invalidated by the resource manager.
+ *
  */
 @ActiveObject
 public class ProbablisticSelectionManager extends SelectionManager {
 
     private final static Logger logger = Logger.getLogger(ProbablisticSelectionManager.class);
 
+    private static final SelectionScriptCacheStatistics cacheStatistics = new SelectionScriptCacheStatistics();
+
     // contains an information about already executed scripts
-    // script digest => node => probability
-    private HashMap<String, HashMap<String, Probability>> probabilities;
+    // script digest => node => last known result
+    private ConcurrentHashMap<String, ConcurrentHashMap<String, NodeScriptResult>> results;
 
     // in order to avoid OOM when the number of scripts exceeds the limit
     // we could :
@@ -78,14 +91,23 @@ public class ProbablisticSelectionManager extends SelectionManager {
     //	  need to store the time, update it each time, then sort when removing
     //    the system will be too CPU consuming working on the limit
     // 3. Removed the oldest added script. For this we have this queue. 
-    private LinkedList<String> digestQueue = new LinkedList<>();
+    private Queue<String> digestQueue = new ConcurrentLinkedQueue<>();
 
     public ProbablisticSelectionManager() {
     }
 
     public ProbablisticSelectionManager(RMCore rmcore) {
         super(rmcore);
-        this.probabilities = new HashMap<>();
+        this.results = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the hits and misses of the scripts results known by the selection manager
+     *
+     * @return the statistics of the selection scripts cache
+     */
+    public static SelectionScriptCacheStatistics getCacheStatistics() {
+        return cacheStatistics;
     }
 
     /**
@@ -109,25 +131,41 @@ public class ProbablisticSelectionManager extends SelectionManager {
         }
 
         try {
+            // the digests do not depend on the nodes
+            List<SelectionScript> scriptsWithReplacedBindings = new ArrayList<>(scripts.size());
+            List<String> digests = new ArrayList<>(scripts.size());
+            for (SelectionScript script : scripts) {
+                SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
+                scriptsWithReplacedBindings.add(scriptWithReplacedBindings);
+                digests.add(new String(scriptWithReplacedBindings.digest()));
+            }
+
             // finding intersection
             HashMap<RMNode, Probability> intersectionMap = new LinkedHashMap<>();
             for (RMNode rmnode : nodes) {
                 boolean intersection = true;
                 double intersectionProbability = 1;
-                for (SelectionScript script : scripts) {
-                    SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
-                    String digest = new String(scriptWithReplacedBindings.digest());
-                    if (probabilities.containsKey(digest) &&
-                        probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                        double probability = probabilities.get(digest).get(rmnode.getNodeURL()).value();
+                for (int i = 0; i < digests.size(); i++) {
+                    SelectionScript scriptWithReplacedBindings = scriptsWithReplacedBindings.get(i);
+                    NodeScriptResult knownResult = getKnownResult(digests.get(i),
+                                                                  scriptWithReplacedBindings,
+                                                                  rmnode.getNodeURL(),
+                                                                  startTime);
+                    if (knownResult == null) {
+                        intersectionProbability *= Probability.defaultValue();
+                    } else if (knownResult.isReusable(startTime) && !knownResult.passed) {
+                        // the script is known to fail on this node, no need to execute it
+                        cacheStatistics.hit(digests.get(i), scriptWithReplacedBindings);
+                        intersection = false;
+                        break;
+                    } else {
+                        double probability = knownResult.probability.value();
                         if (probability == 0) {
                             intersection = false;
                             break;
                         } else {
                             intersectionProbability *= probability;
                         }
-                    } else {
-                        intersectionProbability *= Probability.defaultValue();
                     }
                 }
 
@@ -169,7 +207,7 @@ public class ProbablisticSelectionManager extends SelectionManager {
      * @return true if script will pass on the node
      */
     @Override
-    public synchronized boolean isPassed(SelectionScript script, Map<String, Serializable> bindings, RMNode rmnode) {
+    public boolean isPassed(SelectionScript script, Map<String, Serializable> bindings, RMNode rmnode) {
         String digest = null;
         SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
         if (logger.isTraceEnabled()) {
@@ -178,12 +216,18 @@ public class ProbablisticSelectionManager extends SelectionManager {
         }
         try {
             digest = new String(scriptWithReplacedBindings.digest());
-            if (probabilities.containsKey(digest) && probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                Probability p = probabilities.get(digest).get(rmnode.getNodeURL());
+            long now = System.currentTimeMillis();
+            NodeScriptResult knownResult = getKnownResult(digest, scriptWithReplacedBindings, rmnode.getNodeURL(), now);
+            if (knownResult != null) {
                 String scriptType = scriptWithReplacedBindings.isDynamic() ? "dynamic" : "static";
                 if (logger.isDebugEnabled())
                     logger.debug(rmnode.getNodeURL() + " : " + digest.hashCode() + " known " + scriptType + " script");
-                return p.value() == 1;
+                if (knownResult.isReusable(now) && knownResult.passed) {
+                    cacheStatistics.hit(digest, scriptWithReplacedBindings);
+                    return true;
+                }
+                cacheStatistics.miss(digest, scriptWithReplacedBindings);
+                return false;
             }
         } catch (NoSuchAlgorithmException e) {
             logger.error(e.getMessage(), e);
@@ -191,6 +235,9 @@ public class ProbablisticSelectionManager extends SelectionManager {
 
         if (logger.isDebugEnabled())
             logger.debug(rmnode.getNodeURL() + " : " + digest.hashCode() + " unknown script");
+        if (digest != null) {
+            cacheStatistics.miss(digest, scriptWithReplacedBindings);
+        }
         return false;
     }
 
@@ -204,61 +251,35 @@ public class ProbablisticSelectionManager extends SelectionManager {
      * @return whether node is selected
      */
     @Override
-    public synchronized boolean processScriptResult(SelectionScript script, Map<String, Serializable> bindings,
+    public boolean processScriptResult(SelectionScript script, Map<String, Serializable> bindings,
             ScriptResult<Boolean> scriptResult, RMNode rmnode) {
 
         boolean result = false;
 
         SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
+        // the result may still be wrapped into a future
+        scriptResult = PAFuture.getFutureValue(scriptResult);
 
         try {
             String digest = new String(scriptWithReplacedBindings.digest());
-            Probability probability = new Probability(Probability.defaultValue());
-            if (probabilities.containsKey(digest) && probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                probability = probabilities.get(digest).get(rmnode.getNodeURL());
-                assert (probability.value() >= 0 && probability.value() <= 1);
-            }
+            ConcurrentHashMap<String, NodeScriptResult> nodeResults = getOrCreateNodeResults(digest);
 
-            if (scriptResult == null || scriptResult.errorOccured() || !scriptResult.getResult()) {
-                // error during script execution or script returned false
-                if (scriptWithReplacedBindings.isDynamic()) {
-                    probability.decrease();
-                } else {
-                    probability = Probability.ZERO;
-                }
-            } else {
-                // script passed
-                result = true;
-                if (scriptWithReplacedBindings.isDynamic()) {
-                    probability.increase();
-                } else {
-                    probability = Probability.ONE;
-                }
-            }
+            // the script fails on an error or when it returns false
+            final boolean passed = scriptResult != null && !scriptResult.errorOccured() && scriptResult.getResult();
+            final boolean dynamic = scriptWithReplacedBindings.isDynamic();
+            final long expirationTime = getExpirationTime(scriptWithReplacedBindings, scriptResult);
+            result = passed;
 
-            if (!probabilities.containsKey(digest)) {
-                // checking if the number of selection script does not exceeded the maximum
-                if (probabilities.size() >= PAResourceManagerProperties.RM_SELECT_SCRIPT_CACHE_SIZE.getValueAsInt()) {
-                    String oldest = digestQueue.poll();
-                    probabilities.remove(oldest);
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Removing the script: " + scriptWithReplacedBindings.hashCode() +
-                                     " from the data base because the limit is reached");
-                    }
-                }
-                // adding a new script record
-                probabilities.put(digest, new HashMap<String, Probability>());
-                logger.debug("Scripts cache size " + probabilities.size());
-                digestQueue.offer(digest);
-            }
+            // the previous result is replaced atomically, so that concurrent results on the same node are not lost
+            NodeScriptResult nodeResult = nodeResults.compute(rmnode.getNodeURL().intern(), (nodeUrl, previous) -> {
+                Probability probability = nextProbability(previous, dynamic, passed);
+                return new NodeScriptResult(probability, passed, expirationTime);
+            });
 
             if (logger.isDebugEnabled()) {
                 logger.debug(rmnode.getNodeURL() + " : script " + scriptWithReplacedBindings.hashCode() +
-                             ", probability " + probability);
+                             ", probability " + nodeResult.probability + ", expiration time " + expirationTime);
             }
-
-            probabilities.get(digest).put(rmnode.getNodeURL().intern(), probability);
-
         } catch (NoSuchAlgorithmException e) {
             logger.error(e.getMessage(), e);
         }
@@ -266,6 +287,117 @@ public class ProbablisticSelectionManager extends SelectionManager {
         return result;
     }
 
+    /**
+     * Forgets the results of all scripts on the given nodes.
+     *
+     * @param nodeUrls urls of the nodes whose attributes may have changed
+     */
+    @Override
+    @ImmediateService
+    public void invalidateScriptResults(Collection<String> nodeUrls) {
+        if (nodeUrls.isEmpty()) {
+            return;
+        }
+        for (ConcurrentHashMap<String, NodeScriptResult> nodeResults : results.values()) {
+            for (String nodeUrl : nodeUrls) {
+                nodeResults.remove(nodeUrl);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scripts results invalidated for " + nodeUrls);
+        }
+    }
+
+    /**
+     * Returns the result known for a script on a node, dropping the results of
+     * static scripts once they have expired so that they are executed again.
+     */
+    private NodeScriptResult getKnownResult(String digest, SelectionScript scriptWithReplacedBindings, String nodeUrl,
+            long now) {
+        ConcurrentHashMap<String, NodeScriptResult> nodeResults = results.get(digest);
+        if (nodeResults == null) {
+            return null;
+        }
+        NodeScriptResult knownResult = nodeResults.get(nodeUrl);
+        if (knownResult != null && !scriptWithReplacedBindings.isDynamic() && !knownResult.isReusable(now)) {
+            // the probability of a static script is either 0 or 1 and cannot be trusted anymore
+            nodeResults.remove(nodeUrl, knownResult);
+            return null;
+        }
+        return knownResult;
+    }
+
+    private ConcurrentHashMap<String, NodeScriptResult> getOrCreateNodeResults(String digest) {
+        ConcurrentHashMap<String, NodeScriptResult> nodeResults = results.get(digest);
+        if (nodeResults != null) {
+            return nodeResults;
+        }
+        ConcurrentHashMap<String, NodeScriptResult> newNodeResults = new ConcurrentHashMap<>();
+        nodeResults = results.putIfAbsent(digest, newNodeResults);
+        if (nodeResults != null) {
+            return nodeResults;
+        }
+
+        // adding a new script record
+        digestQueue.offer(digest);
+        // checking if the number of selection script does not exceeded the maximum
+        int maxSize = PAResourceManagerProperties.RM_SELECT_SCRIPT_CACHE_SIZE.getValueAsInt();
+        while (results.size() > maxSize) {
+            String oldest = digestQueue.poll();
+            if (oldest == null) {
+                break;
+            }
+            results.remove(oldest);
+            cacheStatistics.remove(oldest);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Removing the script: " + oldest.hashCode() +
+                             " from the data base because the limit is reached");
+            }
+        }
+        logger.debug("Scripts cache size " + results.size());
+        return newNodeResults;
+    }
+
+    /**
+     * Computes the probability of a script to pass on a node after a new execution. The
+     * probability of a dynamic script is only modified while its previous result is held
+     * by {@link ConcurrentHashMap#compute}, and the shared constants of static scripts are
+     * never modified.
+     */
+    private static Probability nextProbability(NodeScriptResult previousResult, boolean dynamic, boolean passed) {
+        if (!dynamic) {
+            return passed ? Probability.ONE : Probability.ZERO;
+        }
+        Probability probability;
+        if (previousResult == null || previousResult.probability == Probability.ZERO ||
+            previousResult.probability == Probability.ONE) {
+            probability = new Probability(Probability.defaultValue());
+        } else {
+            probability = previousResult.probability;
+            assert (probability.value() >= 0 && probability.value() <= 1);
+        }
+        if (passed) {
+            probability.increase();
+        } else {
+            probability.decrease();
+        }
+        return probability;
+    }
+
+    /**
+     * Results of static scripts never expire unless the script declares a time to live,
+     * results of dynamic scripts are only reused when the script declares one.
+     */
+    private long getExpirationTime(SelectionScript scriptWithReplacedBindings, ScriptResult<Boolean> scriptResult) {
+        if (scriptResult instanceof SelectionScriptResult) {
+            long cacheTtl = ((SelectionScriptResult) scriptResult).getCacheTtl();
+            if (cacheTtl >= 0) {
+                return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(cacheTtl);
+            }
+        }
+        return scriptWithReplacedBindings.isDynamic() ? 0 : Long.MAX_VALUE;
+    }
+
     /**
      * @see org.ow2.proactive.authentication.Loggable#getLogger()
      */
@@ -310,4 +442,28 @@ public class ProbablisticSelectionManager extends SelectionManager {
         return scriptContent;
     }
 
+    /**
+     * Last known result of a script on a node. The probability is used to order the
+     * nodes, the result itself is reused without executing the script until it expires.
+     */
+    private static final class NodeScriptResult {
+
+        private final Probability probability;
+
+        private final boolean passed;
+
+        // 0 if the result cannot be reused
+        private final long expirationTime;
+
+        private NodeScriptResult(Probability probability, boolean passed, long expirationTime) {
+            this.probability = probability;
+            this.passed = passed;
+            this.expirationTime = expirationTime;
+        }
+
+        private boolean isReusable(long now) {
+            return now < expirationTime;
+        }
+    }
+
 }
@@ -0,0 +1,140 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.selection.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ow2.proactive.scripting.SelectionScript;
+
+
+/**
+ * Counts, for each selection script known by the {@link ProbablisticSelectionManager},
+ * how many times its execution on a node was avoided thanks to an already known
+ * result (hit) and how many times it had to be executed (miss).
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class SelectionScriptCacheStatistics {
+
+    private static final int LABEL_LENGTH = 80;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    // script digest => counters
+    private final ConcurrentHashMap<String, ScriptCounters> scripts = new ConcurrentHashMap<>();
+
+    void hit(String digest, SelectionScript script) {
+        hits.incrementAndGet();
+        getCounters(digest, script).hits.incrementAndGet();
+    }
+
+    void miss(String digest, SelectionScript script) {
+        misses.incrementAndGet();
+        getCounters(digest, script).misses.incrementAndGet();
+    }
+
+    void remove(String digest) {
+        scripts.remove(digest);
+    }
+
+    /**
+     * @return the number of script executions avoided since the start of the resource manager
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of script executions since the start of the resource manager
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of scripts having statistics
+     */
+    public int getScriptsCount() {
+        return scripts.size();
+    }
+
+    /**
+     * Returns the hit rate of each known script
+     *
+     * @return a map of script labels to the ratio of avoided executions, between 0 and 1
+     */
+    public Map<String, Double> getHitRates() {
+        Map<String, Double> hitRates = new HashMap<>(scripts.size());
+        for (ScriptCounters counters : scripts.values()) {
+            hitRates.put(counters.label, ratio(counters.hits.get(), counters.misses.get()));
+        }
+        return hitRates;
+    }
+
+    /**
+     * @return the ratio of avoided executions for all scripts, between 0 and 1
+     */
+    public double getHitRate() {
+        return ratio(hits.get(), misses.get());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private ScriptCounters getCounters(String digest, SelectionScript script) {
+        return scripts.computeIfAbsent(digest, key -> new ScriptCounters(createLabel(key, script)));
+    }
+
+    private static String createLabel(String digest, SelectionScript script) {
+        String content = script.getScript().trim().replaceAll("\\s+", " ");
+        if (content.length() > LABEL_LENGTH) {
+            content = content.substring(0, LABEL_LENGTH) + "...";
+        }
+        // several scripts may only differ by their bindings, the digest tells them apart
+        return content + " #" + Integer.toHexString(digest.hashCode());
+    }
+
+    private static final class ScriptCounters {
+
+        private final String label;
+
+        private final AtomicLong hits = new AtomicLong();
+
+        private final AtomicLong misses = new AtomicLong();
+
+        private ScriptCounters(String label) {
+            this.label = label;
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.utils.appenders;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Layout;
+import org.apache.log4j.Logger;
+import org.apache.log4j.RollingFileAppender;
+import org.apache.log4j.spi.LoggingEvent;
+
+
+/**
+ * Writes logging events to many files from a single background thread.
+ *
+ * Events are put in a lock-free queue by the logging threads and drained by the writer thread,
+ * which keeps a bounded LRU pool of open files. Files are flushed as a group when the flush
+ * interval has elapsed or when enough events have been written, and files which have not been
+ * used for a while are closed.
+ *
+ * When the queue is full, the logging threads wait for the writer thread to make room, so that
+ * no event is lost. Events are only dropped, and counted, once the writer is closed, when their
+ * file cannot be opened, or when the writer thread itself logs while the queue is full.
+ */
+class AsynchronousFileWriter implements Runnable {
+
+    /** Time a logging thread waits before checking again for room in a full queue */
+    private static final long WAIT_FOR_ROOM_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final FileAppender appender;
+
+    private final ConcurrentLinkedQueue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final AtomicLong writtenEvents = new AtomicLong();
+
+    // only accessed by the writer thread
+    private final LinkedHashMap<String, PooledFile> openFiles;
+
+    private final Thread writerThread;
+
+    private volatile boolean closed = false;
+
+    private long lastFlushTime = System.currentTimeMillis();
+
+    private int unflushedEvents = 0;
+
+    AsynchronousFileWriter(FileAppender appender) {
+        this.appender = appender;
+        this.openFiles = new LinkedHashMap<String, PooledFile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PooledFile> eldest) {
+                if (size() > AsynchronousFileWriter.this.appender.getMaxOpenFiles()) {
+                    eldest.getValue().close();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.writerThread = new Thread(this, "AsynchronousFileWriter-" + appender.getName());
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues an event to be written to the given file, waiting for room in the queue when it is full.
+     *
+     * @return false if the writer is closed, the event is then dropped
+     */
+    boolean offer(String fileName, LoggingEvent event) {
+        while (queueDepth.incrementAndGet() > appender.getMaxQueueSize()) {
+            queueDepth.decrementAndGet();
+            if (closed || Thread.currentThread() == writerThread) {
+                // the writer thread cannot wait for itself
+                droppedEvents.incrementAndGet();
+                return false;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(WAIT_FOR_ROOM_NANOS);
+        }
+        if (closed) {
+            queueDepth.decrementAndGet();
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        // the event is rendered by another thread, thread local data must be captured now
+        event.getNDC();
+        event.getThreadName();
+        event.getMDCCopy();
+        event.getRenderedMessage();
+        event.getThrowableStrRep();
+        queue.offer(new PendingEvent(fileName, event, null));
+        return true;
+    }
+
+    /**
+     * Waits until all the events queued before this call are written and flushed to disk.
+     */
+    void flush(long timeoutMillis) {
+        if (closed || Thread.currentThread() == writerThread) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        queue.offer(new PendingEvent(null, null, latch));
+        LockSupport.unpark(writerThread);
+        try {
+            latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes all pending events, closes all open files and stops the writer thread.
+     */
+    void close(long timeoutMillis) {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    long getWrittenEvents() {
+        return writtenEvents.get();
+    }
+
+    @Override
+    public void run() {
+        while (!closed) {
+            try {
+                drainQueue();
+                long now = System.currentTimeMillis();
+                if (now - lastFlushTime >= appender.getFlushInterval()) {
+                    flushOpenFiles(now);
+                }
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(appender.getFlushInterval()));
+                }
+            } catch (Throwable t) {
+                Logger.getRootLogger().error("Error in asynchronous file writer", t);
+            }
+        }
+        drainQueue();
+        for (PooledFile file : openFiles.values()) {
+            file.close();
+        }
+        openFiles.clear();
+    }
+
+    private void drainQueue() {
+        PendingEvent pending;
+        while ((pending = queue.poll()) != null) {
+            if (pending.flushLatch != null) {
+                flushOpenFiles(System.currentTimeMillis());
+                pending.flushLatch.countDown();
+                continue;
+            }
+            queueDepth.decrementAndGet();
+            write(pending.fileName, pending.event);
+            if (unflushedEvents >= appender.getFlushBatchSize()) {
+                flushOpenFiles(System.currentTimeMillis());
+            }
+        }
+    }
+
+    private void write(String fileName, LoggingEvent event) {
+        PooledFile file = openFiles.get(fileName);
+        if (file == null) {
+            file = open(fileName);
+            if (file == null) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+            openFiles.put(fileName, file);
+        }
+        file.append(event);
+        file.dirty = true;
+        file.lastUsed = System.currentTimeMillis();
+        unflushedEvents++;
+        writtenEvents.incrementAndGet();
+    }
+
+    private PooledFile open(String fileName) {
+        File file = new File(fileName);
+        try {
+            if (!file.exists()) {
+                FileUtils.forceMkdirParent(file);
+            }
+            PooledFile pooledFile = new PooledFile(appender.getLayout(), fileName);
+            pooledFile.setMaxBackupIndex(1);
+            if (appender.getMaxFileSize() != null) {
+                pooledFile.setMaxFileSize(appender.getMaxFileSize());
+            }
+            return pooledFile;
+        } catch (IOException e) {
+            Logger.getRootLogger().error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void flushOpenFiles(long now) {
+        Iterator<Map.Entry<String, PooledFile>> iterator = openFiles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PooledFile> entry = iterator.next();
+            PooledFile file = entry.getValue();
+            if (file.dirty) {
+                file.flush();
+                file.dirty = false;
+                // the log folder of a removed job must not be kept alive by an open handle
+                if (!new File(entry.getKey()).exists()) {
+                    file.close();
+                    iterator.remove();
+                    continue;
+                }
+            }
+            if (now - file.lastUsed >= appender.getIdleTimeout()) {
+                file.close();
+                iterator.remove();
+            }
+        }
+        unflushedEvents = 0;
+        lastFlushTime = now;
+    }
+
+    private static class PendingEvent {
+
+        private final String fileName;
+
+        private final LoggingEvent event;
+
+        private final CountDownLatch flushLatch;
+
+        private PendingEvent(String fileName, LoggingEvent event, CountDownLatch flushLatch) {
+            this.fileName = fileName;
+            this.event = event;
+            this.flushLatch = flushLatch;
+        }
+    }
+
+    /**
+     * A rolling file which stays open and is flushed on demand.
+     */
+    private static class PooledFile extends RollingFileAppender {
+
+        private boolean dirty = false;
+
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledFile(Layout layout, String fileName) throws IOException {
+            super(layout, fileName, true);
+            setImmediateFlush(false);
+        }
+
+        private void flush() {
+            if (qw != null) {
+                qw.flush();
+            }
+        }
+    }
+}
@@ -47,6 +47,10 @@ import org.apache.log4j.spi.LoggingEvent;
  * Is used to put server logs for tasks and jobs into files with 
  * different names.
  *
+ * By default each event opens, writes and closes its file. In asynchronous mode,
+ * events are queued and written by a background thread which keeps a bounded
+ * pool of open files (see {@link AsynchronousFileWriter}).
+ *
  */
 public class FileAppender extends WriterAppender {
 
@@ -56,6 +60,20 @@ public class FileAppender extends WriterAppender {
 
     protected String filesLocation;
 
+    private boolean asynchronous = false;
+
+    private int maxOpenFiles = 256;
+
+    private int maxQueueSize = 100000;
+
+    private long flushInterval = 200;
+
+    private int flushBatchSize = 1000;
+
+    private long idleTimeout = 30000;
+
+    private volatile AsynchronousFileWriter asynchronousWriter;
+
     public FileAppender() {
 
         setLayout(new PatternLayout("[%d{ISO8601} %-5p] %m%n"));
@@ -83,6 +101,10 @@ public class FileAppender extends WriterAppender {
         if (filesLocation != null) {
             fileName = filesLocation + File.separator + fileName;
         }
+        if (asynchronous) {
+            getAsynchronousWriter().offer(fileName, event);
+            return;
+        }
         File file = new File(fileName);
         if (!file.exists()) {
             try {
@@ -106,8 +128,61 @@ public class FileAppender extends WriterAppender {
         }
     }
 
+    private AsynchronousFileWriter getAsynchronousWriter() {
+        AsynchronousFileWriter writer = asynchronousWriter;
+        if (writer == null) {
+            synchronized (this) {
+                writer = asynchronousWriter;
+                if (writer == null) {
+                    writer = new AsynchronousFileWriter(this);
+                    asynchronousWriter = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * In asynchronous mode, waits until the events logged before this call are written to disk.
+     */
+    public void flush() {
+        AsynchronousFileWriter writer = asynchronousWriter;
+        if (writer != null) {
+            writer.flush(flushInterval * 10);
+        }
+    }
+
     @Override
-    public void close() {
+    public synchronized void close() {
+        if (asynchronousWriter != null) {
+            asynchronousWriter.close(flushInterval * 10);
+            asynchronousWriter = null;
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be written in asynchronous mode
+     */
+    public int getQueueDepth() {
+        AsynchronousFileWriter writer = asynchronousWriter;
+        return writer != null ? writer.getQueueDepth() : 0;
+    }
+
+    /**
+     * @return the number of events which could not be written in asynchronous mode, a full queue
+     *         making the logging threads wait instead
+     */
+    public long getDroppedEvents() {
+        AsynchronousFileWriter writer = asynchronousWriter;
+        return writer != null ? writer.getDroppedEvents() : 0;
+    }
+
+    /**
+     * @return the number of events written in asynchronous mode
+     */
+    public long getWrittenEvents() {
+        AsynchronousFileWriter writer = asynchronousWriter;
+        return writer != null ? writer.getWrittenEvents() : 0;
     }
 
     @Override
@@ -130,4 +205,52 @@ public class FileAppender extends WriterAppender {
     public void setMaxFileSize(String maxFileSize) {
         this.maxFileSize = maxFileSize;
     }
+
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    public int getMaxOpenFiles() {
+        return maxOpenFiles;
+    }
+
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getFlushBatchSize() {
+        return flushBatchSize;
+    }
+
+    public void setFlushBatchSize(int flushBatchSize) {
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
 }
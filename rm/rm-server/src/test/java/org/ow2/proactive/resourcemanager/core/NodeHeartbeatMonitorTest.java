@@ -0,0 +1,106 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+
+
+public class NodeHeartbeatMonitorTest {
+
+    private static final long TICK = 100;
+
+    private NodeHeartbeatMonitor monitor;
+
+    @Before
+    public void setUp() {
+        monitor = new NodeHeartbeatMonitor(TICK, 2, 0);
+    }
+
+    @Test
+    public void testNodeIsMonitoredUntilItMissesItsHeartbeats() {
+        monitor.heartbeat("node1", heartbeat(1000), 0);
+
+        assertThat(monitor.isMonitored("node1")).isTrue();
+        assertThat(monitor.expire(1500)).isEmpty();
+        assertThat(monitor.expire(2200)).containsExactly("node1");
+        assertThat(monitor.isMonitored("node1")).isFalse();
+        assertThat(monitor.getLastHeartbeat("node1")).isNull();
+    }
+
+    @Test
+    public void testHeartbeatPostponesTheDeadline() {
+        monitor.heartbeat("node1", heartbeat(1000), 0);
+        monitor.heartbeat("node1", heartbeat(1000), 1500);
+
+        assertThat(monitor.expire(2200)).isEmpty();
+        assertThat(monitor.expire(3700)).containsExactly("node1");
+    }
+
+    @Test
+    public void testDeadlinesBeyondOneTurnOfTheWheel() {
+        // 512 ticks of 100 ms make a turn of 51.2 seconds
+        monitor.heartbeat("node1", heartbeat(60000), 0);
+
+        assertThat(monitor.expire(60000)).isEmpty();
+        assertThat(monitor.expire(119000)).isEmpty();
+        assertThat(monitor.expire(120200)).containsExactly("node1");
+    }
+
+    @Test
+    public void testExpirationAfterALongPause() {
+        monitor.heartbeat("node1", heartbeat(1000), 0);
+        monitor.heartbeat("node2", heartbeat(100000), 0);
+
+        assertThat(monitor.expire(1000000)).containsExactly("node1", "node2");
+    }
+
+    @Test
+    public void testRemovedNodeDoesNotExpire() {
+        monitor.heartbeat("node1", heartbeat(1000), 0);
+        monitor.remove("node1");
+
+        assertThat(monitor.expire(5000)).isEmpty();
+        assertThat(monitor.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLastHeartbeatIsKept() {
+        NodeHeartbeat heartbeat = new NodeHeartbeat(1000, 2.0, 4, 1024);
+        monitor.heartbeat("node1", heartbeat, 0);
+
+        assertThat(monitor.getLastHeartbeat("node1")).isSameAs(heartbeat);
+        assertThat(monitor.getLastHeartbeat("node1").getLoadPerProcessor()).isEqualTo(0.5);
+    }
+
+    private NodeHeartbeat heartbeat(long period) {
+        return new NodeHeartbeat(period, -1, 1, -1);
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.rmnode.RMNode;
+
+
+public class RMNodeIndexTest {
+
+    private RMNodeIndex index;
+
+    private RMNode node1;
+
+    private RMNode node2;
+
+    @Before
+    public void setUp() {
+        index = new RMNodeIndex(3);
+        node1 = mockNode("node1", "ns1");
+        node2 = mockNode("node2", "ns2");
+        index.rebuild(Arrays.asList(node1, node2), Collections.singletonList(node1));
+    }
+
+    @Test
+    public void testStateIsBuiltFromIndex() {
+        RMState state = index.getState(10L);
+        assertThat(state.getAllNodes()).containsExactly("node1", "node2");
+        assertThat(state.getAliveNodes()).containsExactly("node1", "node2");
+        assertThat(state.getFreeNodes()).containsExactly("node1");
+        assertThat(state.getVersion()).isEqualTo(index.getVersion());
+    }
+
+    @Test
+    public void testStateIsNotRebuiltWhenNothingChanged() {
+        RMState state1 = index.getState(10L);
+        RMState state2 = index.getState(10L);
+        assertThat(state1.getFreeNodes()).isSameAs(state2.getFreeNodes());
+
+        index.setFree(node2, true);
+        assertThat(index.getState(10L).getFreeNodes()).isNotSameAs(state1.getFreeNodes());
+    }
+
+    @Test
+    public void testNoChangeDoesNotIncrementVersion() {
+        long version = index.getVersion();
+        index.setFree(node1, true);
+        index.updateNode(node1, true);
+        assertThat(index.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    public void testDeltaContainsOnlyChangedNodes() {
+        RMState state = index.getState(10L);
+
+        index.setFree(node1, false);
+        when(node2.isDown()).thenReturn(true);
+        index.updateNode(node2, true);
+
+        RMStateDelta delta = index.getStateSince(state.getVersion(), 10L);
+        assertThat(delta.getFullState()).isNull();
+        assertThat(delta.getChangedNodes()).containsExactly("node1", "node2");
+
+        RMState newState = delta.applyTo(state);
+        assertThat(newState.getVersion()).isEqualTo(index.getVersion());
+        assertThat(newState.getFreeNodes()).isEmpty();
+        assertThat(newState.getAliveNodes()).containsExactly("node1");
+        assertThat(newState.getAllNodes()).containsExactly("node1", "node2");
+    }
+
+    @Test
+    public void testEmptyDeltaReturnsSameState() {
+        RMState state = index.getState(10L);
+        RMStateDelta delta = index.getStateSince(state.getVersion(), 10L);
+        assertThat(delta.getChangedNodes()).isEmpty();
+        assertThat(delta.applyTo(state)).isSameAs(state);
+    }
+
+    @Test
+    public void testEmptyDeltaWithoutMaxNumberOfNodesReturnsSameState() {
+        RMState state = index.getState(null);
+        RMStateDelta delta = index.getStateSince(state.getVersion(), null);
+        assertThat(delta.applyTo(state)).isSameAs(state);
+    }
+
+    @Test
+    public void testRemovedNodeIsRemovedFromAllSets() {
+        RMState state = index.getState(10L);
+        index.updateNode(node1, false);
+
+        RMState newState = index.getStateSince(state.getVersion(), 10L).applyTo(state);
+        assertThat(newState.getAllNodes()).containsExactly("node2");
+        assertThat(newState.getFreeNodes()).isEmpty();
+        assertThat(index.getFreeNodes("ns1")).isEmpty();
+    }
+
+    @Test
+    public void testFreeNodesArePartitionedByNodeSource() {
+        index.setFree(node2, true);
+        assertThat(index.getFreeNodes("ns1")).containsExactly(node1);
+        assertThat(index.getFreeNodes("ns2")).containsExactly(node2);
+        assertThat(index.getFreeNodes("unknown")).isEmpty();
+    }
+
+    @Test
+    public void testResourcesOfFreeNodesAreSentWithoutChangingVersion() {
+        RMState state = index.getState(10L);
+        long version = index.getVersion();
+        NodeHeartbeat resources = new NodeHeartbeat(1000, 1.0, 4, 1024, 4096, 2048);
+        index.updateResources(node1, resources);
+        index.updateResources(node2, new NodeHeartbeat(1000, 1.0, 4, 1024, 4096, 2048));
+        assertThat(index.getVersion()).isEqualTo(version);
+
+        RMState newState = index.getStateSince(state.getVersion(), 10L).applyTo(state);
+        assertThat(newState).isNotSameAs(state);
+        assertThat(newState.getNodeResources("node1")).isEqualTo(resources);
+        assertThat(newState.getNodeResources("node2")).isNull();
+
+        // same snapshot, same state
+        index.updateResources(node1, new NodeHeartbeat(1000, 1.0, 4, 1024, 4096, 2048));
+        assertThat(index.getStateSince(newState.getVersion(), 10L).applyTo(newState)).isSameAs(newState);
+
+        index.setFree(node1, false);
+        assertThat(index.getState(10L).getNodeResources("node1")).isNull();
+    }
+
+    @Test
+    public void testFullStateWhenVersionIsTooOld() {
+        RMState state = index.getState(10L);
+        for (int i = 0; i < 5; i++) {
+            RMNode node = mockNode("new" + i, "ns1");
+            index.updateNode(node, true);
+        }
+
+        RMStateDelta delta = index.getStateSince(state.getVersion(), 10L);
+        assertThat(delta.getFullState()).isNotNull();
+        assertThat(delta.applyTo(state).getAllNodes()).hasSize(7);
+    }
+
+    @Test
+    public void testFullStateWhenVersionIsUnknown() {
+        RMStateDelta delta = index.getStateSince(index.getVersion() + 1, 10L);
+        assertThat(delta.getFullState()).isNotNull();
+        assertThat(delta.applyTo(null).getAllNodes()).hasSize(2);
+    }
+
+    private static RMNode mockNode(String url, String nodeSourceName) {
+        RMNode node = mock(RMNode.class);
+        when(node.getNodeURL()).thenReturn(url);
+        when(node.getNodeSourceName()).thenReturn(nodeSourceName);
+        when(node.isDown()).thenReturn(false);
+        return node;
+    }
+
+}
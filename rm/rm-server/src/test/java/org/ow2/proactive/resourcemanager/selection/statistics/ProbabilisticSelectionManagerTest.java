@@ -34,6 +34,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.Level;
@@ -50,6 +54,7 @@ import org.ow2.proactive.resourcemanager.selection.SelectionManagerTest;
 import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.scripting.ScriptResult;
 import org.ow2.proactive.scripting.SelectionScript;
+import org.ow2.proactive.scripting.SelectionScriptResult;
 import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
 import org.ow2.proactive.utils.Criteria;
 import org.ow2.proactive.utils.NodeSet;
@@ -305,6 +310,124 @@ public class ProbabilisticSelectionManagerTest {
         Assert.assertFalse(selectionManager.isPassed(script, bindings, freeNodes.get(0)));
     }
 
+    @Test
+    public void testDynamicScriptResultReusedWhileTtlIsValid() throws Exception {
+        SelectionScript script = new SelectionScript("test", "groovy", true);
+        ManagerObjects managerObjects = new ManagerObjects(2).invoke();
+        SelectionManager selectionManager = managerObjects.getSelectionManager();
+        ArrayList<RMNode> freeNodes = managerObjects.getFreeNodes();
+        long hits = ProbablisticSelectionManager.getCacheStatistics().getHits();
+
+        selectionManager.processScriptResult(script,
+                                             Collections.EMPTY_MAP,
+                                             new SelectionScriptResult(true, 3600),
+                                             freeNodes.get(0));
+        selectionManager.processScriptResult(script,
+                                             Collections.EMPTY_MAP,
+                                             new SelectionScriptResult(true, 0),
+                                             freeNodes.get(1));
+
+        Assert.assertTrue(selectionManager.isPassed(script, Collections.EMPTY_MAP, freeNodes.get(0)));
+        Assert.assertFalse(selectionManager.isPassed(script, Collections.EMPTY_MAP, freeNodes.get(1)));
+        Assert.assertEquals(hits + 1, ProbablisticSelectionManager.getCacheStatistics().getHits());
+    }
+
+    @Test
+    public void testFailedScriptResultExcludesNodeWhileTtlIsValid() throws Exception {
+        PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.updateProperty("0");
+        try {
+            SelectionScript script = new SelectionScript("test", "groovy", true);
+            ManagerObjects managerObjects = new ManagerObjects(2).invoke();
+            SelectionManager selectionManager = managerObjects.getSelectionManager();
+            ArrayList<RMNode> freeNodes = managerObjects.getFreeNodes();
+
+            selectionManager.processScriptResult(script,
+                                                 Collections.EMPTY_MAP,
+                                                 new SelectionScriptResult(false, 3600),
+                                                 freeNodes.get(0));
+            selectionManager.processScriptResult(script,
+                                                 Collections.EMPTY_MAP,
+                                                 new ScriptResult<>(false),
+                                                 freeNodes.get(1));
+
+            List<RMNode> arrangedNodes = selectionManager.arrangeNodesForScriptExecution(freeNodes,
+                                                                                         Collections.singletonList(script),
+                                                                                         Collections.EMPTY_MAP);
+
+            Assert.assertEquals(Collections.singletonList(freeNodes.get(1)), arrangedNodes);
+        } finally {
+            PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.updateProperty("300000");
+        }
+    }
+
+    @Test
+    public void testInvalidatedNodesExecuteScriptsAgain() throws Exception {
+        SelectionScript passingScript = new SelectionScript("passing", "groovy", false);
+        SelectionScript failingScript = new SelectionScript("failing", "groovy", false);
+        ManagerObjects managerObjects = new ManagerObjects(1).invoke();
+        SelectionManager selectionManager = managerObjects.getSelectionManager();
+        ArrayList<RMNode> freeNodes = managerObjects.getFreeNodes();
+        RMNode node = freeNodes.get(0);
+
+        selectionManager.processScriptResult(passingScript, Collections.EMPTY_MAP, new ScriptResult<>(true), node);
+        selectionManager.processScriptResult(failingScript, Collections.EMPTY_MAP, new ScriptResult<>(false), node);
+        Assert.assertTrue(selectionManager.isPassed(passingScript, Collections.EMPTY_MAP, node));
+        Assert.assertTrue(selectionManager.arrangeNodesForScriptExecution(freeNodes,
+                                                                          Collections.singletonList(failingScript),
+                                                                          Collections.EMPTY_MAP)
+                                          .isEmpty());
+
+        selectionManager.invalidateScriptResults(Collections.singleton(node.getNodeURL()));
+
+        Assert.assertFalse(selectionManager.isPassed(passingScript, Collections.EMPTY_MAP, node));
+        Assert.assertEquals(freeNodes,
+                            selectionManager.arrangeNodesForScriptExecution(freeNodes,
+                                                                            Collections.singletonList(failingScript),
+                                                                            Collections.EMPTY_MAP));
+    }
+
+    @Test
+    public void testConcurrentResultsOnTheSameNodeAreAllCounted() throws Exception {
+        int nbResults = 50;
+        final SelectionScript script = new SelectionScript("test", "groovy", true);
+        ManagerObjects managerObjects = new ManagerObjects(2).invoke();
+        final SelectionManager selectionManager = managerObjects.getSelectionManager();
+        ArrayList<RMNode> freeNodes = managerObjects.getFreeNodes();
+        final RMNode concurrentNode = freeNodes.get(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < nbResults; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return selectionManager.processScriptResult(script,
+                                                                Collections.EMPTY_MAP,
+                                                                new ScriptResult<>(true),
+                                                                concurrentNode);
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // one result less, received sequentially
+        for (int i = 0; i < nbResults - 1; i++) {
+            selectionManager.processScriptResult(script,
+                                                 Collections.EMPTY_MAP,
+                                                 new ScriptResult<>(true),
+                                                 freeNodes.get(0));
+        }
+
+        List<RMNode> arrangedNodes = selectionManager.arrangeNodesForScriptExecution(freeNodes,
+                                                                                     Collections.singletonList(script),
+                                                                                     Collections.EMPTY_MAP);
+
+        Assert.assertEquals(concurrentNode, arrangedNodes.get(0));
+    }
+
     private class ManagerObjects {
         private int nbNodes;
 
@@ -0,0 +1,149 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.utils.appenders;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.MDC;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class FileAppenderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File logFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        logFolder = folder.newFolder("logs");
+    }
+
+    @After
+    public void tearDown() {
+        MDC.remove(MultipleFileAppender.FILE_NAMES);
+    }
+
+    @Test
+    public void testAsynchronousAppend() throws IOException {
+        FileAppender appender = createAppender(new FileAppender());
+
+        for (int i = 0; i < 10; i++) {
+            appender.append("1/1t" + i, createEvent("HelloWorld" + i));
+        }
+        appender.flush();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(readLog("1/1t" + i), containsString("HelloWorld" + i));
+        }
+        assertThat(appender.getWrittenEvents(), is(10L));
+        assertThat(appender.getQueueDepth(), is(0));
+        assertThat(appender.getDroppedEvents(), is(0L));
+        appender.close();
+    }
+
+    @Test
+    public void testAsynchronousAppendWithMoreFilesThanPoolSize() throws IOException {
+        FileAppender appender = createAppender(new FileAppender());
+        appender.setMaxOpenFiles(2);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5; i++) {
+                appender.append("2/2t" + i, createEvent("round" + round));
+            }
+        }
+        appender.close();
+
+        for (int i = 0; i < 5; i++) {
+            String log = readLog("2/2t" + i);
+            assertThat(log, containsString("round0"));
+            assertThat(log, containsString("round1"));
+            assertThat(log, containsString("round2"));
+        }
+    }
+
+    @Test
+    public void testAsynchronousAppendWaitsWhenQueueIsFull() throws IOException {
+        FileAppender appender = createAppender(new FileAppender());
+        appender.setMaxQueueSize(1);
+
+        for (int i = 0; i < 100; i++) {
+            appender.append("3/3t0", createEvent("line" + i));
+        }
+        appender.flush();
+
+        String log = readLog("3/3t0");
+        for (int i = 0; i < 100; i++) {
+            assertThat(log, containsString("line" + i));
+        }
+        assertThat(appender.getWrittenEvents(), is(100L));
+        assertThat(appender.getDroppedEvents(), is(0L));
+        appender.close();
+    }
+
+    @Test
+    public void testAsynchronousMultipleFileAppender() throws IOException {
+        FileAppender appender = createAppender(new MultipleFileAppender());
+        MDC.put(MultipleFileAppender.FILE_NAMES, Arrays.asList("4/4t0", "4/4t1"));
+
+        appender.append(createEvent("selection"));
+        appender.flush();
+
+        assertThat(readLog("4/4t0"), containsString("selection"));
+        assertThat(readLog("4/4t1"), containsString("selection"));
+        appender.close();
+    }
+
+    private FileAppender createAppender(FileAppender appender) {
+        appender.setFilesLocation(logFolder.getAbsolutePath());
+        appender.setAsynchronous(true);
+        return appender;
+    }
+
+    private LoggingEvent createEvent(String message) {
+        return new LoggingEvent("mylogger", Logger.getRootLogger(), Level.INFO, message, null);
+    }
+
+    private String readLog(String fileName) throws IOException {
+        return FileUtils.readFileToString(new File(logFolder, fileName), Charset.defaultCharset());
+    }
+}
@@ -25,6 +25,12 @@
  */
 package org.ow2.proactive.scheduler.common;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
 
 import org.objectweb.proactive.annotation.PublicAPI;
@@ -34,6 +40,9 @@ import org.objectweb.proactive.annotation.PublicAPI;
  * NotificationData is used by the Scheduler Core to notify the front-end of any changes.
  * It is sent through notification methods in core interface.
  *
+ * The same notification is usually sent to every listening client: its data are
+ * serialized once and the resulting bytes are reused for each client.
+ *
  * @param T the type of the data to be sent in the notification.
  *
  * @author The ProActive Team
@@ -48,6 +57,9 @@ public class NotificationData<T extends Object> implements Serializable {
     /** The data to be sent in the update */
     private T data;
 
+    /** The serialized data, computed the first time the notification is sent */
+    private transient byte[] serializedData;
+
     /**
      * Create a new instance of NotificationData.
      *
@@ -77,8 +89,62 @@ public class NotificationData<T extends Object> implements Serializable {
         return data;
     }
 
+    private synchronized byte[] getSerializedData() throws IOException {
+        if (serializedData == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream dataOutput = new ObjectOutputStream(bytes)) {
+                dataOutput.writeObject(data);
+            }
+            serializedData = bytes.toByteArray();
+        }
+        return serializedData;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("eventType", eventType);
+        fields.put("data", null);
+        out.writeFields();
+        out.writeObject(getSerializedData());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        eventType = (SchedulerEvent) fields.get("eventType", null);
+        // the receiver may update the data before sending them again, so the bytes are not kept
+        byte[] bytes = (byte[]) in.readObject();
+        try (ObjectInputStream dataInput = new ContextClassLoaderObjectInputStream(bytes)) {
+            data = (T) dataInput.readObject();
+        }
+    }
+
     @Override
     public String toString() {
         return "NotificationData{" + "eventType=" + eventType + ", data=" + data + '}';
     }
+
+    /**
+     * Resolves the classes of the data like the stream which received the notification
+     * would do, by looking first at the context class loader.
+     */
+    private static class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        ContextClassLoaderObjectInputStream(byte[] bytes) throws IOException {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            if (contextClassLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, contextClassLoader);
+                } catch (ClassNotFoundException e) {
+                    // falling back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
 }
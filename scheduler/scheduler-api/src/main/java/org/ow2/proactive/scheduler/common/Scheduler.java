@@ -46,6 +46,7 @@ import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.common.job.JobResult;
 import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatesPage;
@@ -1358,6 +1359,30 @@ public interface Scheduler extends SchedulerUsage, ThirdPartyCredentials {
     Page<JobInfo> getJobs(int offset, int limit, JobFilterCriteria filterCriteria,
             List<SortParameter<JobSortParameter>> sortParameters) throws NotConnectedException, PermissionException;
 
+    /**
+     * Retrieves a page of the jobs of the scheduler, located by a cursor instead of an offset.
+     * Jobs are sorted in these groups: pending jobs, then running, stalled and paused jobs,
+     * then the other jobs, the most recent first in each group.<br>
+     * The next page starts right after the last job of the previous one, even if jobs were
+     * submitted or removed in the meantime, and it is read without scanning the jobs before it.
+     *
+     * @param cursor
+     *            the cursor returned with the previous page, null or empty for the first page
+     * @param limit
+     *            max number of jobs to retrieve
+     * @param filterCriteria
+     *            defines types of job (myonly, pending, running, finished),
+     *            as in {@link #getJobs(int, int, JobFilterCriteria, List)}
+     *
+     * @return the page of jobs, its size being the total number of jobs matching the criteria
+     * @throws NotConnectedException
+     *             if you are not authenticated.
+     * @throws PermissionException
+     *             if you have not enough permission to access this method.
+     */
+    CursorPage<JobInfo> getJobsByCursor(String cursor, int limit, JobFilterCriteria filterCriteria)
+            throws NotConnectedException, PermissionException;
+
     /**
      * Returns a list of jobs info corresponding to the given job IDs (in the same order)
      *
@@ -1526,4 +1551,45 @@ public interface Scheduler extends SchedulerUsage, ThirdPartyCredentials {
     TaskStatesPage getTaskPaginated(String jobId, int offset, int limit)
             throws NotConnectedException, UnknownJobException, PermissionException;;
 
+    /**
+     * Return the last results of a page of the tasks of the given job, the tasks being
+     * ordered by id. Tasks which have no result yet are not included in the page, so that a
+     * page can contain fewer results than requested.<br>
+     * Reading the results page by page keeps the memory used bounded whatever the size of
+     * the job, contrary to {@link #getJobResult(String)}.
+     *
+     * @param jobId the job in which the results are.
+     * @param offset the index of the first task of the page
+     * @param limit the maximum number of tasks of the page
+     * @return the results of the page, its size being the total number of tasks of the job
+     * @throws NotConnectedException
+     *             if you are not authenticated.
+     * @throws UnknownJobException
+     *             if the job does not exist.
+     * @throws PermissionException
+     *             if you can't access to this particular job.
+     */
+    Page<TaskResult> getTaskResultsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException;
+
+    /**
+     * Return the logs of the last results of a page of the tasks of the given job, the tasks
+     * being ordered by id. Contrary to {@link #getTaskResultsPaginated(String, int, int)}, the
+     * values of the results are not read. Tasks which have no result yet are not included in
+     * the page, so that a page can contain fewer logs than requested.
+     *
+     * @param jobId the job in which the logs are.
+     * @param offset the index of the first task of the page
+     * @param limit the maximum number of tasks of the page
+     * @return the logs of the page, its size being the total number of tasks of the job
+     * @throws NotConnectedException
+     *             if you are not authenticated.
+     * @throws UnknownJobException
+     *             if the job does not exist.
+     * @throws PermissionException
+     *             if you can't access to this particular job.
+     */
+    Page<TaskLogs> getTaskLogsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException;
+
 }
@@ -0,0 +1,264 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.common.job.factories;
+
+import java.io.IOException;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import org.ow2.proactive.scheduler.common.exception.JobCreationException;
+import org.ow2.proactive.scheduler.common.exception.JobValidationException;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+
+/**
+ * Stream reader validating the job descriptor against its schema while it is read.
+ *
+ * Every event read with {@link #next()} is forwarded to a schema verifier, so that the job can be built and
+ * validated in a single parsing pass. The schema version is chosen from the namespace of the root element,
+ * as {@link org.ow2.proactive.scheduler.common.job.factories.spi.stax.StaxJobValidatorServiceProvider} does.
+ *
+ * The first validation error stops the reading, it is then available through {@link #finish()}.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class SchemaValidatingStreamReader extends StreamReaderDelegate {
+
+    private ContentHandler validatorHandler;
+
+    private JobValidationException validationError;
+
+    private int depth = 0;
+
+    private boolean documentEnded = false;
+
+    SchemaValidatingStreamReader(XMLStreamReader reader) {
+        super(reader);
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        int eventType;
+        try {
+            eventType = super.next();
+        } catch (XMLStreamException e) {
+            // the document is not well formed
+            if (validationError == null) {
+                validationError = new JobValidationException(true, e);
+            }
+            throw e;
+        }
+        if (validationError == null) {
+            try {
+                validate(eventType);
+            } catch (SAXException e) {
+                JobCreationException cause = ValidationUtil.getValidationError(e);
+                validationError = new JobValidationException(true, cause != null ? cause : e);
+            } catch (IOException | RuntimeException e) {
+                validationError = new JobValidationException(true, e);
+            }
+            if (validationError != null) {
+                throw new XMLStreamException(validationError.getMessage(), getLocation(), validationError);
+            }
+        }
+        return eventType;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int eventType = next();
+        while ((eventType == XMLStreamConstants.CHARACTERS && isWhiteSpace()) ||
+               (eventType == XMLStreamConstants.CDATA && isWhiteSpace()) ||
+               eventType == XMLStreamConstants.SPACE || eventType == XMLStreamConstants.PROCESSING_INSTRUCTION ||
+               eventType == XMLStreamConstants.COMMENT) {
+            eventType = next();
+        }
+        if (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("expected start or end tag", getLocation());
+        }
+        return eventType;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLStreamException("parser must be on START_ELEMENT to read next text", getLocation());
+        }
+        StringBuilder content = new StringBuilder();
+        int eventType = next();
+        while (eventType != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.CHARACTERS || eventType == XMLStreamConstants.CDATA ||
+                eventType == XMLStreamConstants.SPACE || eventType == XMLStreamConstants.ENTITY_REFERENCE) {
+                content.append(getText());
+            } else if (eventType == XMLStreamConstants.START_ELEMENT ||
+                       eventType == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("element text content may not contain START_ELEMENT", getLocation());
+            }
+            eventType = next();
+        }
+        return content.toString();
+    }
+
+    /**
+     * Reads and validates the rest of the document, the caller may have stopped reading before its end.
+     *
+     * @throws JobValidationException if the document is not valid
+     */
+    void finish() throws JobValidationException {
+        try {
+            while (validationError == null && !documentEnded && hasNext()) {
+                next();
+            }
+        } catch (XMLStreamException e) {
+            if (validationError == null) {
+                validationError = new JobValidationException(true, e);
+            }
+        }
+        if (validationError != null) {
+            throw validationError;
+        }
+    }
+
+    private void validate(int eventType) throws SAXException, IOException {
+        switch (eventType) {
+            case XMLStreamConstants.START_ELEMENT:
+                if (validatorHandler == null) {
+                    startValidation();
+                }
+                depth++;
+                for (int i = 0; i < getNamespaceCount(); i++) {
+                    validatorHandler.startPrefixMapping(nullToEmpty(getNamespacePrefix(i)),
+                                                        nullToEmpty(getNamespaceURI(i)));
+                }
+                validatorHandler.startElement(nullToEmpty(getNamespaceURI()),
+                                              getLocalName(),
+                                              qualifiedName(getPrefix(), getLocalName()),
+                                              getSaxAttributes());
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                validatorHandler.endElement(nullToEmpty(getNamespaceURI()),
+                                            getLocalName(),
+                                            qualifiedName(getPrefix(), getLocalName()));
+                for (int i = 0; i < getNamespaceCount(); i++) {
+                    validatorHandler.endPrefixMapping(nullToEmpty(getNamespacePrefix(i)));
+                }
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (depth > 0) {
+                    validatorHandler.characters(getTextCharacters(), getTextStart(), getTextLength());
+                }
+                break;
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                if (validatorHandler != null) {
+                    validatorHandler.processingInstruction(getPITarget(), getPIData());
+                }
+                break;
+            case XMLStreamConstants.END_DOCUMENT:
+                documentEnded = true;
+                if (validatorHandler != null) {
+                    validatorHandler.endDocument();
+                }
+                break;
+            default:
+                // comments and DTD events are not validated
+        }
+    }
+
+    private void startValidation() throws SAXException, IOException {
+        Schemas schema = Schemas.SCHEMA_LATEST;
+        if (XMLTags.JOB.matches(getLocalName())) {
+            schema = Schemas.getSchemaByNamespace(getNamespaceURI());
+            if (schema == null) {
+                throw new SAXException(new JobCreationException("Unknown job descriptor namespace: " +
+                                                                getNamespaceURI()));
+            }
+        }
+        validatorHandler = ValidationUtil.newValidatorHandler(ValidationUtil.getCompiledSchema(schema));
+        validatorHandler.setDocumentLocator(new StreamLocator());
+        validatorHandler.startDocument();
+    }
+
+    private AttributesImpl getSaxAttributes() {
+        AttributesImpl attributes = new AttributesImpl();
+        for (int i = 0; i < getAttributeCount(); i++) {
+            String type = getAttributeType(i);
+            attributes.addAttribute(nullToEmpty(getAttributeNamespace(i)),
+                                    getAttributeLocalName(i),
+                                    qualifiedName(getAttributePrefix(i), getAttributeLocalName(i)),
+                                    type != null ? type : "CDATA",
+                                    getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Gives the current position of the stream reader to the verifier, used in the validation error messages.
+     */
+    private class StreamLocator implements Locator {
+
+        @Override
+        public String getPublicId() {
+            Location location = getLocation();
+            return location != null ? location.getPublicId() : null;
+        }
+
+        @Override
+        public String getSystemId() {
+            Location location = getLocation();
+            return location != null ? location.getSystemId() : null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            Location location = getLocation();
+            return location != null ? location.getLineNumber() : -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            Location location = getLocation();
+            return location != null ? location.getColumnNumber() : -1;
+        }
+    }
+}
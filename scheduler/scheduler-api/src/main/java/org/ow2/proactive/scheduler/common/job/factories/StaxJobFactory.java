@@ -64,6 +64,7 @@ import org.ow2.proactive.scheduler.common.job.JobVariable;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.job.factories.spi.JobValidatorRegistry;
 import org.ow2.proactive.scheduler.common.job.factories.spi.JobValidatorService;
+import org.ow2.proactive.scheduler.common.job.factories.spi.stax.StaxJobValidatorServiceProvider;
 import org.ow2.proactive.scheduler.common.task.CommonAttribute;
 import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
 import org.ow2.proactive.scheduler.common.task.JavaTask;
@@ -210,15 +211,30 @@ public class StaxJobFactory extends JobFactory {
             Map<String, String> replacementGenericInfos)
             throws JobCreationException, VerifierConfigurationException, IOException, XMLStreamException {
         byte[] bytes = ValidationUtil.getInputStreamBytes(jobInputStream);
-        try (ByteArrayInputStream jobInputStreamForValidation = new ByteArrayInputStream(bytes)) {
-            validate(jobInputStreamForValidation);
-        }
+        boolean schemaValidation = validate(bytes);
 
         Map<String, ArrayList<String>> dependencies = new HashMap<>();
         Job job;
         try (ByteArrayInputStream jobInpoutStreamForParsing = new ByteArrayInputStream(bytes)) {
             XMLStreamReader xmlsr = xmlInputFactory.createXMLStreamReader(jobInpoutStreamForParsing, FILE_ENCODING);
-            job = createJob(xmlsr, replacementVariables, replacementGenericInfos, dependencies, new String(bytes));
+            if (schemaValidation) {
+                // the schema validation is done while the job is built, a validation error prevails over the
+                // creation error it may have caused
+                SchemaValidatingStreamReader validatingReader = new SchemaValidatingStreamReader(xmlsr);
+                try {
+                    job = createJob(validatingReader,
+                                    replacementVariables,
+                                    replacementGenericInfos,
+                                    dependencies,
+                                    new String(bytes));
+                } catch (JobCreationException e) {
+                    validatingReader.finish();
+                    throw e;
+                }
+                validatingReader.finish();
+            } else {
+                job = createJob(xmlsr, replacementVariables, replacementGenericInfos, dependencies, new String(bytes));
+            }
             xmlsr.close();
         }
 
@@ -232,9 +248,10 @@ public class StaxJobFactory extends JobFactory {
     }
 
     /*
-     * Validate the given job descriptor
+     * Validate the given job descriptor, except against the schema which is done while parsing it.
+     * Returns true if the schema validation is required.
      */
-    private void validate(InputStream jobInputStream) throws VerifierConfigurationException, JobCreationException {
+    private boolean validate(byte[] jobBytes) throws VerifierConfigurationException, JobCreationException {
         Map<String, JobValidatorService> factories;
         try {
             factories = JobValidatorRegistry.getInstance().getRegisteredFactories();
@@ -243,15 +260,23 @@ public class StaxJobFactory extends JobFactory {
             throw new VerifierConfigurationException(MSG_UNABLE_TO_INSTANCIATE_JOB_VALIDATION_FACTORIES, e);
         }
 
+        boolean schemaValidation = false;
         try {
             for (JobValidatorService factory : factories.values()) {
-                factory.validateJob(jobInputStream);
+                if (factory instanceof StaxJobValidatorServiceProvider) {
+                    schemaValidation = true;
+                } else {
+                    try (InputStream jobInputStream = new ByteArrayInputStream(jobBytes)) {
+                        factory.validateJob(jobInputStream);
+                    }
+                }
             }
         } catch (JobValidationException e) {
             throw e;
         } catch (Exception e) {
             throw new JobValidationException(true, e);
         }
+        return schemaValidation;
     }
 
     /*
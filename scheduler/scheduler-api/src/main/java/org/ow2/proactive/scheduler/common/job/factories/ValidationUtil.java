@@ -33,6 +33,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.io.IOUtils;
 import org.iso_relax.verifier.Schema;
@@ -53,6 +55,9 @@ import com.sun.msv.verifier.ValidityViolation;
  */
 public class ValidationUtil {
 
+    /** Compiled schemas by location, a compiled schema is immutable and can be shared between threads */
+    private static final ConcurrentMap<String, Schema> compiledSchemas = new ConcurrentHashMap<>();
+
     /**
      * Validates the job descriptor file against the specified schema.
      * 
@@ -66,33 +71,99 @@ public class ValidationUtil {
      */
     public static void validate(InputStream jobInputStream, InputStream schemaIs)
             throws SAXException, IOException, JobCreationException {
-        try {
+        validate(jobInputStream, compileSchema(schemaIs));
+    }
 
+    /**
+     * Validates the job descriptor file against the specified schema version.
+     * The schema is compiled on first use and kept for the next validations.
+     *
+     * @param jobInputStream
+     *            the job file content as an InputStream
+     * @param schema
+     *            the job schema version
+     *
+     * @throws JobCreationException
+     *             if the job descriptor is invalid
+     */
+    public static void validate(InputStream jobInputStream, Schemas schema)
+            throws SAXException, IOException, JobCreationException {
+        validate(jobInputStream, getCompiledSchema(schema));
+    }
+
+    private static void validate(InputStream jobInputStream, Schema schema)
+            throws SAXException, IOException, JobCreationException {
+        try {
             XMLReader reader = XMLReaderFactory.createXMLReader("org.apache.xerces.parsers.SAXParser");
+            reader.setContentHandler(newValidatorHandler(schema));
+            reader.parse(new InputSource(jobInputStream));
+        } catch (SAXException se) {
+            JobCreationException validationError = getValidationError(se);
+            if (validationError != null) {
+                // unwrap
+                throw validationError;
+            } else {
+                throw se;
+            }
+        }
+    }
+
+    /**
+     * Returns the compiled schema of the given version, compiling it if it is used for the first time.
+     */
+    static Schema getCompiledSchema(Schemas schema) throws SAXException, IOException {
+        Schema compiledSchema = compiledSchemas.get(schema.getLocation());
+        if (compiledSchema == null) {
+            try (InputStream schemaIs = ValidationUtil.class.getResourceAsStream(schema.getLocation())) {
+                compiledSchema = compileSchema(schemaIs);
+            }
+            Schema previous = compiledSchemas.putIfAbsent(schema.getLocation(), compiledSchema);
+            if (previous != null) {
+                compiledSchema = previous;
+            }
+        }
+        return compiledSchema;
+    }
+
+    private static Schema compileSchema(InputStream schemaIs) throws SAXException, IOException {
+        try {
             VerifierFactory vfactory = new com.sun.msv.verifier.jarv.TheFactoryImpl();
-            Schema schema = vfactory.compileSchema(schemaIs);
+            return vfactory.compileSchema(schemaIs);
+        } catch (VerifierConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
+    /**
+     * Creates a SAX content handler validating the events it receives against the given schema.
+     * Validation errors are thrown as SAXException wrapping a JobCreationException, see
+     * {@link #getValidationError(SAXException)}.
+     */
+    static ContentHandler newValidatorHandler(Schema schema) {
+        try {
             Verifier verifier = schema.newVerifier();
             VerifierHandler handler = verifier.getVerifierHandler();
             ContentHandlerDecorator contentHandlerDecorator = new ContentHandlerDecorator(handler);
-            reader.setContentHandler(contentHandlerDecorator);
             ValidationErrorHandler errHandler = new ValidationErrorHandler(contentHandlerDecorator);
             verifier.setErrorHandler(errHandler);
-
-            reader.parse(new InputSource(jobInputStream));
-        } catch (SAXException se) {
-            Throwable cause = se.getCause();
-            if (cause != null && cause instanceof JobCreationException) {
-                // unwrap
-                throw (JobCreationException) cause;
-            } else {
-                throw se;
-            }
+            return contentHandlerDecorator;
         } catch (VerifierConfigurationException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Returns the JobCreationException describing the validation error wrapped in the given exception,
+     * or null if it is not a validation error.
+     */
+    static JobCreationException getValidationError(SAXException se) {
+        Throwable cause = se.getCause();
+        if (cause instanceof JobCreationException) {
+            return (JobCreationException) cause;
+        }
+        return null;
+    }
+
     public static byte[] getInputStreamBytes(InputStream inputStream) throws IOException {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             IOUtils.copy(inputStream, outputStream);
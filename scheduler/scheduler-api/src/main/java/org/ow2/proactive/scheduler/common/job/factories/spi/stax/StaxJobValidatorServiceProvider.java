@@ -63,10 +63,9 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
         try {
             byte[] bytes = ValidationUtil.getInputStreamBytes(jobInputStream);
             try (ByteArrayInputStream jobInputStreamForSchema = new ByteArrayInputStream(bytes)) {
-                String findSchemaByNamespaceUsed = findSchemaByNamespaceUsed(jobInputStreamForSchema);
-                InputStream schemaStream = this.getClass().getResourceAsStream(findSchemaByNamespaceUsed);
+                Schemas findSchemaByNamespaceUsed = findSchemaByNamespaceUsed(jobInputStreamForSchema);
                 try (ByteArrayInputStream jobInputStreamForValidation = new ByteArrayInputStream(bytes)) {
-                    ValidationUtil.validate(jobInputStreamForValidation, schemaStream);
+                    ValidationUtil.validate(jobInputStreamForValidation, findSchemaByNamespaceUsed);
                 }
             }
         } catch (Exception e) {
@@ -80,16 +79,16 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
         return job;
     }
 
-    private String findSchemaByNamespaceUsed(InputStream jobInputStream)
+    private Schemas findSchemaByNamespaceUsed(InputStream jobInputStream)
             throws FileNotFoundException, XMLStreamException, JobValidationException {
         XMLStreamReader cursorRoot = xmlInputFactory.createXMLStreamReader(jobInputStream);
         try {
             while (cursorRoot.hasNext()) {
-                String namespace = advanceCursorAndFindSchema(cursorRoot);
-                if (namespace != null)
-                    return namespace;
+                Schemas schema = advanceCursorAndFindSchema(cursorRoot);
+                if (schema != null)
+                    return schema;
             }
-            return Schemas.SCHEMA_LATEST.getLocation();
+            return Schemas.SCHEMA_LATEST;
         } catch (Exception e) {
             throw new JobValidationException(e.getMessage(), e);
         } finally {
@@ -99,7 +98,7 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
         }
     }
 
-    private String advanceCursorAndFindSchema(XMLStreamReader cursorRoot) throws XMLStreamException {
+    private Schemas advanceCursorAndFindSchema(XMLStreamReader cursorRoot) throws XMLStreamException {
         int eventType;
         String current;
         eventType = cursorRoot.next();
@@ -107,7 +106,11 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
             current = cursorRoot.getLocalName();
             if (XMLTags.JOB.matches(current)) {
                 String namespace = cursorRoot.getName().getNamespaceURI();
-                return Schemas.getSchemaByNamespace(namespace).getLocation();
+                Schemas schema = Schemas.getSchemaByNamespace(namespace);
+                if (schema == null) {
+                    throw new XMLStreamException("Unknown job descriptor namespace: " + namespace);
+                }
+                return schema;
             }
         }
         return null;
@@ -66,6 +66,10 @@ public enum PASchedulerProperties implements PACommonProperties {
     /** Scheduler main loop time out */
     SCHEDULER_TIME_OUT("pa.scheduler.core.timeout", PropertyType.INTEGER, "100"),
 
+    /** Initial delay in milliseconds before retrying a scheduling loop which started no task after nodes were released,
+     * doubled after each unproductive retry up to the scheduler main loop time out. 0 to disable the retries */
+    SCHEDULER_NODES_RELEASE_RETRY_DELAY("pa.scheduler.core.nodes.release.retry.delay", PropertyType.INTEGER, "10"),
+
     /** Scheduler auto reconnection to the RM when the connection is down */
     SCHEDULER_RMCONNECTION_AUTO_CONNECT("pa.scheduler.core.rmconnection.autoconnect", PropertyType.BOOLEAN, "true"),
 
@@ -132,11 +136,22 @@ public enum PASchedulerProperties implements PACommonProperties {
      * until the scheduling loop will block as well.*/
     SCHEDULER_STARTTASK_THREADNUMBER("pa.scheduler.core.starttask.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of threads used to create the task launchers of the tasks started in a scheduling loop. */
+    SCHEDULER_STARTTASK_LAUNCHER_THREADNUMBER(
+            "pa.scheduler.core.starttask.launcher.threadnumber",
+            PropertyType.INTEGER,
+            "20"),
+
     /** Maximum number of threads used to send events to clients. This property defines the number of clients
      * than can block at the same time. If this number is reached, every clients won't receive events until
      * a thread unlock. */
     SCHEDULER_LISTENERS_THREADNUMBER("pa.scheduler.core.listener.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of events waiting to be sent to a client. Further progress events are dropped until
+     * the client catches up, any other event disconnects the client. Successive progress events of a task
+     * are merged into the latest one. */
+    SCHEDULER_LISTENERS_QUEUE_SIZE("pa.scheduler.core.listener.queue.size", PropertyType.INTEGER, "10000"),
+
     /** List of the scripts paths to execute at scheduler start. Paths are separated by a ';'. */
     SCHEDULER_STARTSCRIPTS_PATHS("pa.scheduler.startscripts.paths", PropertyType.LIST),
 
@@ -214,6 +229,16 @@ public enum PASchedulerProperties implements PACommonProperties {
      **/
     TASK_RUNASME("pa.scheduler.task.runasme", PropertyType.BOOLEAN, "false"),
 
+    /**
+     * Number of idle forked JVMs kept started on each node for a given fork environment, 0 disables the pool
+     * and starts a new JVM for each forked task. Tasks executed in a pooled JVM share its static state, only
+     * its system properties are restored after each task.
+     */
+    TASK_FORK_POOL_SIZE("pa.scheduler.task.fork.pool.size", PropertyType.INTEGER, "0"),
+
+    /** Number of tasks executed by a pooled forked JVM before it is replaced by a new one */
+    TASK_FORK_POOL_MAX_TASKS("pa.scheduler.task.fork.pool.max.tasks", PropertyType.INTEGER, "50"),
+
     /** Number of tasks to fetch per page when pagination is used */
     TASKS_PAGE_SIZE("pa.scheduler.tasks.page.size", PropertyType.INTEGER, "100"),
 
@@ -283,6 +308,12 @@ public enum PASchedulerProperties implements PACommonProperties {
 
     SCHEDULER_JOB_LOGS_MAX_SIZE("pa.scheduler.job.logs.max.size", PropertyType.STRING, "10000"),
 
+    // Write job/task logs from a background thread which keeps log files open
+    SCHEDULER_JOB_LOGS_ASYNCHRONOUS("pa.scheduler.job.logs.asynchronous", PropertyType.BOOLEAN, "false"),
+
+    // Maximum number of job/task log files kept open by the asynchronous writer
+    SCHEDULER_JOB_LOGS_MAX_OPEN_FILES("pa.scheduler.job.logs.max.open.files", PropertyType.INTEGER, "256"),
+
     //    /** Log max size (in lines per tasks) */
     //    LOGS_MAX_SIZE("pa.scheduler.logs.maxsize", PropertyType.INTEGER),
 
@@ -369,8 +400,29 @@ public enum PASchedulerProperties implements PACommonProperties {
             PropertyType.INTEGER,
             "100"),
 
+    /** Number of job batches loaded concurrently, each in its own session, when the scheduler is restarted */
+    SCHEDULER_DB_RECOVERY_LOAD_JOBS_THREADS("pa.scheduler.db.recovery.load.jobs.threads", PropertyType.INTEGER, "4"),
+
+    /** Load the scripts and dataspace selectors of the recovered tasks only when they are first needed */
+    SCHEDULER_DB_RECOVERY_LAZY_TASK_BODY("pa.scheduler.db.recovery.lazy.task.body", PropertyType.BOOLEAN, "true"),
+
     SCHEDULER_DB_FETCH_TASK_RESULTS_BATCH_SIZE("pa.scheduler.db.fetch.batch_size", PropertyType.INTEGER, "50"),
 
+    /** Delay in milliseconds before task and job state updates are written to the database.
+     * Updates received during the delay are merged and written in a single transaction.
+     * If set to 0, the updates are written synchronously. */
+    SCHEDULER_DB_TASK_UPDATES_DELAY("pa.scheduler.db.task.updates.delay", PropertyType.INTEGER, "0"),
+
+    /** Maximum number of delayed task and job state updates, reaching it writes them immediately */
+    SCHEDULER_DB_TASK_UPDATES_MAX_BUFFERED("pa.scheduler.db.task.updates.max.buffered", PropertyType.INTEGER, "1000"),
+
+    /** Directory where the task result values too large for the database are stored.
+     * If empty, all the values are stored in the database. */
+    SCHEDULER_DB_RESULTS_STORE_DIRECTORY("pa.scheduler.db.results.store.dir", PropertyType.STRING, "data/results"),
+
+    /** Size in bytes above which a task result value is stored in the results directory instead of the database */
+    SCHEDULER_DB_RESULTS_STORE_THRESHOLD("pa.scheduler.db.results.store.threshold", PropertyType.INTEGER, "1048576"),
+
     /* ***************************************************************** */
     /* ***************** EMAIL NOTIFICATION PROPERTIES ***************** */
     /* ***************************************************************** */
@@ -393,6 +445,13 @@ public enum PASchedulerProperties implements PACommonProperties {
 
     LICENSE_SCHEDULING_POLICY_CONFIGURATION("pa.scheduler.license.policy.configuration", PropertyType.STRING),
 
+    /* ***************************************************************** */
+    /* ***************** FAIR SHARE SCHEDULING POLICY PROPERTIES ******* */
+    /* ***************************************************************** */
+
+    /** path of the file which defines the weights of the users and groups of the fair share policy */
+    FAIR_SHARE_SCHEDULING_POLICY_CONFIGURATION("pa.scheduler.fairshare.policy.configuration", PropertyType.STRING),
+
     /* ***************************************************************** */
     /* ***************** SYNCHRONIZATION STORE PROPERTIES ************** */
     /* ***************************************************************** */
@@ -400,6 +459,22 @@ public enum PASchedulerProperties implements PACommonProperties {
     /** location of the jdbm database for persistent channels */
     SCHEDULER_SYNCHRONIZATION_DATABASE("pa.scheduler.synchronization.db", PropertyType.STRING, "data/synchronization"),
 
+    /**
+     * maximum number of modifications of persistent channels grouped in a single database commit.
+     * The default value of 1 commits every modification before replying. With a greater value, modifications
+     * are committed as soon as no other request is waiting, and acknowledged modifications can be lost on a crash.
+     */
+    SCHEDULER_SYNCHRONIZATION_DATABASE_COMMIT_MAX_OPERATIONS(
+            "pa.scheduler.synchronization.db.commit.max.operations",
+            PropertyType.INTEGER,
+            "1"),
+
+    /** maximum number of compiled closures kept in memory by the synchronization service */
+    SCHEDULER_SYNCHRONIZATION_CLOSURE_CACHE_SIZE(
+            "pa.scheduler.synchronization.closure.cache.size",
+            PropertyType.INTEGER,
+            "1000"),
+
     /* ***************************************************************** */
     /* ******************* PORTAL DISPLAY PROPERTIES ******************* */
     /* ***************************************************************** */
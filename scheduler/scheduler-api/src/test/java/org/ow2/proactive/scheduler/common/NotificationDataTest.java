@@ -0,0 +1,95 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.common;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+
+public class NotificationDataTest {
+
+    @Test
+    public void testDataAreSerializedOnceForAllReceivers() throws Exception {
+        CountingData data = new CountingData("task progress");
+        NotificationData<CountingData> notification = new NotificationData<>(SchedulerEvent.TASK_PROGRESS, data);
+        int serializations = CountingData.serializations.get();
+
+        NotificationData<CountingData> firstCopy = copy(notification);
+        NotificationData<CountingData> secondCopy = copy(notification);
+
+        assertThat(CountingData.serializations.get()).isEqualTo(serializations + 1);
+        assertThat(firstCopy.getEventType()).isEqualTo(SchedulerEvent.TASK_PROGRESS);
+        assertThat(firstCopy.getData().value).isEqualTo("task progress");
+        assertThat(secondCopy.getData().value).isEqualTo("task progress");
+        assertThat(secondCopy.getData()).isNotSameAs(firstCopy.getData());
+    }
+
+    @Test
+    public void testReceivedNotificationSerializesItsOwnData() throws Exception {
+        NotificationData<CountingData> received = copy(new NotificationData<>(SchedulerEvent.TASK_PROGRESS,
+                                                                              new CountingData("before")));
+        received.getData().value = "after";
+
+        assertThat(copy(received).getData().value).isEqualTo("after");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> NotificationData<T> copy(NotificationData<T> notification) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(notification);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (NotificationData<T>) input.readObject();
+        }
+    }
+
+    private static class CountingData implements Serializable {
+
+        private static final AtomicInteger serializations = new AtomicInteger();
+
+        private String value;
+
+        private CountingData(String value) {
+            this.value = value;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            serializations.incrementAndGet();
+            out.defaultWriteObject();
+        }
+    }
+
+}
@@ -27,10 +27,13 @@ package org.ow2.proactive.scheduler.common.job.factories;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -40,10 +43,12 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.ow2.proactive.scheduler.common.exception.JobCreationException;
+import org.ow2.proactive.scheduler.common.exception.JobValidationException;
 import org.ow2.proactive.scheduler.common.job.Job;
 import org.ow2.proactive.scheduler.common.job.JobVariable;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.task.JavaTask;
+import org.ow2.proactive.scheduler.common.task.Task;
 import org.ow2.proactive.scheduler.common.task.TaskVariable;
 
 import com.google.common.collect.ImmutableMap;
@@ -500,6 +505,66 @@ public class TestStaxJobFactory {
         assertEquals("value1", genericInformation.get("info1"));
     }
 
+    @Test
+    public void testCreateJobShouldFailWithSchemaValidationError() throws Exception {
+        try {
+            factory.createJob(workflow(3, 1));
+            fail("The job should not be valid");
+        } catch (JobValidationException e) {
+            assertTrue(e.isSchemaException());
+            assertTrue(e.getMessage(), e.getMessage().contains("Uncompleted task"));
+            assertTrue(e.getMessage(), e.getMessage().contains("task1"));
+        }
+    }
+
+    @Test
+    public void testCreateJobShouldFailWithUnknownNamespace() throws Exception {
+        String workflow = "<job xmlns=\"urn:proactive:jobdescriptor:unknown\" name=\"job\"/>";
+        try {
+            factory.createJob(new ByteArrayInputStream(workflow.getBytes(StandardCharsets.UTF_8)));
+            fail("The job should not be valid");
+        } catch (JobValidationException e) {
+            assertTrue(e.isSchemaException());
+        }
+    }
+
+    @Test
+    public void testCreateJobWithManyTasks() throws Exception {
+        int numberOfTasks = 1000;
+        TaskFlowJob job = (TaskFlowJob) factory.createJob(workflow(numberOfTasks, -1));
+
+        assertEquals(numberOfTasks, job.getTasks().size());
+        Task lastTask = job.getTask("task" + (numberOfTasks - 1));
+        assertEquals(1, lastTask.getDependencesList().size());
+        assertEquals("task0", lastTask.getDependencesList().get(0).getName());
+    }
+
+    private InputStream workflow(int numberOfTasks, int taskWithoutExecutable) {
+        return new ByteArrayInputStream(workflowBytes(numberOfTasks, taskWithoutExecutable));
+    }
+
+    private static byte[] workflowBytes(int numberOfTasks, int taskWithoutExecutable) {
+        StringBuilder workflow = new StringBuilder();
+        workflow.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<job xmlns=\"urn:proactive:jobdescriptor:dev\" name=\"generated\" priority=\"normal\">\n")
+                .append("<taskFlow>\n");
+        for (int i = 0; i < numberOfTasks; i++) {
+            workflow.append("<task name=\"task").append(i).append("\">\n");
+            if (i > 0) {
+                workflow.append("<depends><task ref=\"task0\"/></depends>\n");
+            }
+            if (i != taskWithoutExecutable) {
+                workflow.append("<scriptExecutable><script><code language=\"groovy\">")
+                        .append("<![CDATA[ println \"task ")
+                        .append(i)
+                        .append("\" ]]></code></script></scriptExecutable>\n");
+            }
+            workflow.append("</task>\n");
+        }
+        workflow.append("</taskFlow>\n</job>\n");
+        return workflow.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
     private static <K, V> void assertExpectedKeyValueEntriesMatch(Map<K, V> map) {
         // map variable is assumed to contain attributes name/value parsed from XML
 
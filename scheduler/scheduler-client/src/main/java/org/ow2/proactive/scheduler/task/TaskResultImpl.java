@@ -28,11 +28,14 @@ package org.ow2.proactive.scheduler.task;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.util.converter.ByteToObjectConverter;
@@ -65,6 +68,14 @@ public class TaskResultImpl implements TaskResult {
     /** The value of the result if no exception occurred as a byte array */
     private byte[] serializedValue = null;
 
+    /** Handle on the value kept in a result store, in which case serializedValue is not set */
+    @XmlTransient
+    private TaskResultValueReference valueReference = null;
+
+    /** The value fetched through valueReference, kept until memory is needed */
+    @XmlTransient
+    private transient SoftReference<byte[]> fetchedValue = null;
+
     /** true if this result contains raw data **/
     private boolean isRaw = false;
 
@@ -365,12 +376,13 @@ public class TaskResultImpl implements TaskResult {
      * @throws ClassNotFoundException
      * @throws IOException
      */
-    private Serializable instanciateValue(ClassLoader cl) throws IOException, ClassNotFoundException {
-        if (this.serializedValue != null && this.value == null) {
+    private synchronized Serializable instanciateValue(ClassLoader cl) throws IOException, ClassNotFoundException {
+        if ((this.serializedValue != null || this.valueReference != null) && this.value == null) {
+            byte[] bytes = this.serializedValue != null ? this.serializedValue : fetchValue();
             if (this.isRaw) {
-                return this.serializedValue;
+                return bytes;
             } else {
-                this.value = (Serializable) ByteToObjectConverter.ObjectStream.convert(this.serializedValue, cl);
+                this.value = (Serializable) ByteToObjectConverter.ObjectStream.convert(bytes, cl);
             }
         }
         return this.value;
@@ -396,9 +408,53 @@ public class TaskResultImpl implements TaskResult {
      * @return the serializedValue.
      */
     public byte[] getSerializedValue() {
+        if (serializedValue == null && valueReference != null) {
+            try {
+                return fetchValue();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot fetch the result of the task " + this.id, e);
+            }
+        }
         return serializedValue;
     }
 
+    /**
+     * Fetches the value through its reference, unless it has already been fetched
+     * and is still in memory.
+     *
+     * @return the serialized value
+     * @throws IOException if the value cannot be fetched
+     */
+    private synchronized byte[] fetchValue() throws IOException {
+        byte[] bytes = fetchedValue == null ? null : fetchedValue.get();
+        if (bytes == null) {
+            bytes = valueReference.fetch();
+            fetchedValue = new SoftReference<>(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the handle on the value when it is kept in a result store.
+     *
+     * @return the handle on the value, or null if the serialized value is held by this result.
+     */
+    public TaskResultValueReference getValueReference() {
+        return valueReference;
+    }
+
+    /**
+     * Replaces the serialized value held by this result by a handle on the same value
+     * kept in a result store. The value is then fetched when it is first read.
+     *
+     * @param valueReference the handle on the value
+     */
+    public void setValueReference(TaskResultValueReference valueReference) {
+        this.valueReference = valueReference;
+        this.serializedValue = null;
+        this.fetchedValue = null;
+    }
+
     @Override
     public Map<String, String> getMetadata() {
         return metadata;
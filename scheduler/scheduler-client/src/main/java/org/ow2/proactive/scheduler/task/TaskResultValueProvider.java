@@ -0,0 +1,49 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+
+/**
+ * Gives access to the serialized values of task results which are kept
+ * out of the scheduler database, see {@link TaskResultValueReference}.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public interface TaskResultValueProvider extends Serializable {
+
+    /**
+     * Returns the serialized value of a task result.
+     *
+     * @param reference the reference of the value in the result store
+     * @return the serialized value
+     * @throws IOException if the value cannot be read
+     */
+    byte[] getSerializedValue(String reference) throws IOException;
+
+}
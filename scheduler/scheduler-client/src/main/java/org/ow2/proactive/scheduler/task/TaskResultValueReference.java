@@ -0,0 +1,71 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+
+/**
+ * Handle on the serialized value of a task result kept in a result store.
+ * Only the handle is sent along with the task result, the value is fetched
+ * from its provider when it is read.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class TaskResultValueReference implements Serializable {
+
+    private final String reference;
+
+    private final TaskResultValueProvider provider;
+
+    public TaskResultValueReference(String reference, TaskResultValueProvider provider) {
+        this.reference = reference;
+        this.provider = provider;
+    }
+
+    /**
+     * Fetches the serialized value from the provider.
+     *
+     * @return the serialized value
+     * @throws IOException if the value cannot be fetched
+     */
+    public byte[] fetch() throws IOException {
+        return provider.getSerializedValue(reference);
+    }
+
+    /**
+     * @return the reference of the value in the result store
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskResultValueReference{" + "reference='" + reference + '\'' + '}';
+    }
+}
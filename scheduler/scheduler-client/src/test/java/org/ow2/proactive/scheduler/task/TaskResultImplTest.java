@@ -0,0 +1,98 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.proactive.core.util.converter.ObjectToByteConverter;
+
+
+public class TaskResultImplTest {
+
+    private CountingProvider provider;
+
+    @Before
+    public void createProvider() throws IOException {
+        provider = new CountingProvider(ObjectToByteConverter.ObjectStream.convert("value"));
+    }
+
+    @Test
+    public void testSerializedValueIsFetchedOnce() throws Throwable {
+        TaskResultImpl result = new TaskResultImpl(null, null, null, null, true);
+        result.setValueReference(new TaskResultValueReference("ref", provider));
+
+        assertThat(result.getSerializedValue()).isEqualTo(provider.value);
+        assertThat(result.getSerializedValue()).isEqualTo(provider.value);
+        assertThat((byte[]) result.getValue()).isEqualTo(provider.value);
+
+        assertThat(provider.fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testValueIsInstantiatedFromFetchedValue() throws Throwable {
+        TaskResultImpl result = new TaskResultImpl(null, null, null, null, false);
+        result.setValueReference(new TaskResultValueReference("ref", provider));
+
+        assertThat(result.getValue()).isEqualTo("value");
+        assertThat(result.getSerializedValue()).isEqualTo(provider.value);
+
+        assertThat(provider.fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNewReferenceIsFetchedAgain() throws Throwable {
+        TaskResultImpl result = new TaskResultImpl(null, null, null, null, true);
+        result.setValueReference(new TaskResultValueReference("ref", provider));
+        result.getSerializedValue();
+
+        result.setValueReference(new TaskResultValueReference("other", provider));
+        result.getSerializedValue();
+
+        assertThat(provider.fetches.get()).isEqualTo(2);
+    }
+
+    private static class CountingProvider implements TaskResultValueProvider {
+
+        private final byte[] value;
+
+        private final AtomicInteger fetches = new AtomicInteger();
+
+        CountingProvider(byte[] value) {
+            this.value = value;
+        }
+
+        @Override
+        public byte[] getSerializedValue(String reference) {
+            fetches.incrementAndGet();
+            return value;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.ow2.proactive.authentication.ConnectionInfo;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.db.SortParameter;
+import org.ow2.proactive.scheduler.common.CursorPage;
 import org.ow2.proactive.scheduler.common.JobFilterCriteria;
 import org.ow2.proactive.scheduler.common.JobSortParameter;
 import org.ow2.proactive.scheduler.common.Page;
@@ -63,6 +64,7 @@ import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.common.job.JobResult;
 import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatesPage;
@@ -631,6 +633,13 @@ public class SchedulerNodeClient implements ISchedulerClient, Serializable {
         return client.getJobs(offset, limit, filterCriteria, sortParameters);
     }
 
+    @Override
+    public CursorPage<JobInfo> getJobsByCursor(String cursor, int limit, JobFilterCriteria filterCriteria)
+            throws NotConnectedException, PermissionException {
+        renewSession();
+        return client.getJobsByCursor(cursor, limit, filterCriteria);
+    }
+
     @Override
     public List<JobInfo> getJobsInfoList(List<String> jobsId) throws PermissionException, NotConnectedException {
         renewSession();
@@ -852,6 +861,20 @@ public class SchedulerNodeClient implements ISchedulerClient, Serializable {
         return client.getTaskPaginated(jobId, offset, limit);
     }
 
+    @Override
+    public Page<TaskResult> getTaskResultsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        renewSession();
+        return client.getTaskResultsPaginated(jobId, offset, limit);
+    }
+
+    @Override
+    public Page<TaskLogs> getTaskLogsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        renewSession();
+        return client.getTaskLogsPaginated(jobId, offset, limit);
+    }
+
     @Override
     public boolean checkJobPermissionMethod(String sessionId, String jobId, String method)
             throws NotConnectedException, UnknownJobException {
@@ -0,0 +1,224 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import com.google.common.util.concurrent.Striped;
+
+
+/**
+ * Node-wide index of the files transferred to the CACHE space by input selectors.
+ *
+ * Each cached file is identified by its path relative to the CACHE space and records the fingerprint of the
+ * source it was copied from, so that the file is transferred again only when its source changed.
+ * Transfers are protected by one lock per file, thus tasks transferring different files do not wait for each other.
+ *
+ * When a maximum size is configured, cached files are evicted in least recently used order.
+ * Files used by running tasks are never evicted.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class DataspaceCacheIndex {
+
+    private static final DataspaceCacheIndex INSTANCE = new DataspaceCacheIndex();
+
+    private static final int NUMBER_OF_LOCKS = 4096;
+
+    private final Map<String, CachedFile> files = new ConcurrentHashMap<>();
+
+    private final Striped<Lock> locks = Striped.lazyWeakLock(NUMBER_OF_LOCKS);
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    DataspaceCacheIndex() {
+    }
+
+    static DataspaceCacheIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the lock which must be held while transferring, using or evicting the given cached file
+     */
+    Lock getLock(String path) {
+        return locks.get(path);
+    }
+
+    boolean isTracked(String path) {
+        return files.containsKey(path);
+    }
+
+    boolean isUpToDate(String path, Fingerprint source) {
+        CachedFile cachedFile = files.get(path);
+        return cachedFile != null && cachedFile.fingerprint.equals(source);
+    }
+
+    /**
+     * Records that the given cached file is a copy of the given source, and marks it as used by a task.
+     * Must be called while holding the lock of the file.
+     */
+    void acquire(String path, Fingerprint source) {
+        CachedFile cachedFile = files.computeIfAbsent(path, key -> new CachedFile(source));
+        synchronized (cachedFile) {
+            cachedFile.fingerprint = source;
+            cachedFile.users++;
+            cachedFile.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Marks the given cached file as no longer used by a task
+     */
+    void release(String path) {
+        CachedFile cachedFile = files.get(path);
+        if (cachedFile != null) {
+            synchronized (cachedFile) {
+                cachedFile.users--;
+            }
+        }
+    }
+
+    long getTotalSize() {
+        long totalSize = 0;
+        for (CachedFile cachedFile : files.values()) {
+            totalSize += cachedFile.fingerprint.size;
+        }
+        return totalSize;
+    }
+
+    /**
+     * Evicts unused files, least recently used first, until the total size of the cached files is below the given size.
+     * Files which are locked by a transfer are skipped. Does nothing if an eviction is already in progress.
+     *
+     * @param maxSize maximum total size of the cached files, in bytes
+     * @param deleter deletes a file from the CACHE space, returns false if the file could not be deleted
+     * @return the paths of the evicted files
+     */
+    List<String> evict(long maxSize, Predicate<String> deleter) {
+        List<String> evicted = new ArrayList<>();
+        if (!evictionLock.tryLock()) {
+            return evicted;
+        }
+        try {
+            long totalSize = getTotalSize();
+            if (totalSize <= maxSize) {
+                return evicted;
+            }
+            List<Map.Entry<String, CachedFile>> candidates = new ArrayList<>(files.entrySet());
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            for (Map.Entry<String, CachedFile> candidate : candidates) {
+                if (totalSize <= maxSize) {
+                    break;
+                }
+                String path = candidate.getKey();
+                Lock lock = getLock(path);
+                if (!lock.tryLock()) {
+                    continue;
+                }
+                try {
+                    CachedFile cachedFile = candidate.getValue();
+                    if (cachedFile.users <= 0 && files.get(path) == cachedFile && deleter.test(path)) {
+                        files.remove(path);
+                        totalSize -= cachedFile.fingerprint.size;
+                        evicted.add(path);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return evicted;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Identifies the content of a source file by its location, size and modification time
+     */
+    static final class Fingerprint {
+
+        private final String uri;
+
+        private final long size;
+
+        private final long lastModified;
+
+        Fingerprint(String uri, long size, long lastModified) {
+            this.uri = uri;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) o;
+            return size == that.size && lastModified == that.lastModified && uri.equals(that.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = uri.hashCode();
+            result = 31 * result + (int) (size ^ (size >>> 32));
+            result = 31 * result + (int) (lastModified ^ (lastModified >>> 32));
+            return result;
+        }
+    }
+
+    private static final class CachedFile {
+
+        private volatile Fingerprint fingerprint;
+
+        private volatile int users;
+
+        private volatile long lastAccess;
+
+        private CachedFile(Fingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
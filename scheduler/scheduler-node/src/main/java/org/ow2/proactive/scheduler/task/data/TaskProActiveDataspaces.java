@@ -28,6 +28,8 @@ package org.ow2.proactive.scheduler.task.data;
 import static com.google.common.base.Throwables.getStackTraceAsString;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -39,6 +41,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.FileUtils;
@@ -74,6 +79,12 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
 
     public static final String PA_NODE_DATASPACE_CREATE_FOLDER_HIERARCHY_SEQUENTIALLY = "pa.node.dataspace.create_folder_hierarchy_sequentially";
 
+    /**
+     * Maximum size in bytes of the files transferred to the CACHE space, least recently used files are evicted
+     * when it is exceeded. No limit is applied when the property is not set or not positive.
+     */
+    public static final String PA_NODE_DATASPACE_CACHE_MAX_SIZE = "pa.node.dataspace.cache.maxsize";
+
     private transient DataSpacesFileObject SCRATCH;
 
     private transient DataSpacesFileObject CACHE;
@@ -94,7 +105,20 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
 
     private boolean linuxOS;
 
-    private static transient ReentrantLock cacheTransferLock = new ReentrantLock();
+    private static transient ReentrantLock cacheFolderCreationLock = new ReentrantLock();
+
+    private transient DataspaceCacheIndex cacheIndex = DataspaceCacheIndex.getInstance();
+
+    /** Cached files used by this task, they cannot be evicted until the task is closed */
+    private transient List<String> cachedFilesInUse = new ArrayList<>();
+
+    private transient AtomicInteger cacheHits = new AtomicInteger();
+
+    private transient AtomicInteger cacheMisses = new AtomicInteger();
+
+    private transient AtomicLong cacheBytesTransferred = new AtomicLong();
+
+    private transient AtomicLong cacheBytesSaved = new AtomicLong();
 
     private SpaceInstanceInfo cacheSpaceInstanceInfo;
 
@@ -118,6 +142,22 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
         initDataSpaces();
     }
 
+    /**
+     * Transient fields are not initialized by their declaration when an instance is deserialized.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        cacheIndex = DataspaceCacheIndex.getInstance();
+        cachedFilesInUse = new ArrayList<>();
+        cacheHits = new AtomicInteger();
+        cacheMisses = new AtomicInteger();
+        cacheBytesTransferred = new AtomicLong();
+        cacheBytesSaved = new AtomicLong();
+        clientLogs = new StringBuffer();
+        executorTransfer = Executors.newFixedThreadPool(getFileTransferThreadPoolSize(),
+                                                        new NamedThreadFactory("FileTransferThreadPool"));
+    }
+
     protected int getFileTransferThreadPoolSize() {
         String sizeAsString = System.getProperty(PA_NODE_DATASPACE_FILE_TRANSFER_THREAD_POOL_SIZE);
 
@@ -437,28 +477,32 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
             boolean cacheTransferPresent = !inputSpaceCacheFiles.isEmpty() || !outputSpaceCacheFiles.isEmpty() ||
                                            !globalSpaceCacheFiles.isEmpty() || !userSpaceCacheFiles.isEmpty();
             if (cacheTransferPresent && CACHE != null) {
-                cacheTransferLock.lockInterruptibly();
+                Map<String, DataSpacesFileObject> filesToCopyToCache;
+                // only the folder hierarchy is created under a node-wide lock,
+                // files are transferred under their own lock
+                cacheFolderCreationLock.lockInterruptibly();
                 try {
-
-                    Map<String, DataSpacesFileObject> filesToCopyToCache = createFolderHierarchySequentially(CACHE,
-                                                                                                             inputSpaceUri,
-                                                                                                             inputSpaceCacheFiles,
-                                                                                                             outputSpaceUri,
-                                                                                                             outputSpaceCacheFiles,
-                                                                                                             globalSpaceUri,
-                                                                                                             globalSpaceCacheFiles,
-                                                                                                             userSpaceUri,
-                                                                                                             userSpaceCacheFiles);
-
-                    long startTime = System.currentTimeMillis();
-                    List<Future<Boolean>> transferFuturesCache = doCopyInputDataToSpace(CACHE, filesToCopyToCache);
-
-                    handleResultsWhileTransferringFile(transferFuturesCache, "CACHE", startTime);
+                    filesToCopyToCache = createFolderHierarchySequentially(CACHE,
+                                                                           inputSpaceUri,
+                                                                           inputSpaceCacheFiles,
+                                                                           outputSpaceUri,
+                                                                           outputSpaceCacheFiles,
+                                                                           globalSpaceUri,
+                                                                           globalSpaceCacheFiles,
+                                                                           userSpaceUri,
+                                                                           userSpaceCacheFiles);
                 } finally {
-                    if (cacheTransferPresent) {
-                        cacheTransferLock.unlock();
-                    }
+                    cacheFolderCreationLock.unlock();
                 }
+
+                long startTime = System.currentTimeMillis();
+                List<Future<Boolean>> transferFuturesCache = doCopyInputDataToCache(filesToCopyToCache);
+
+                handleResultsWhileTransferringFile(transferFuturesCache, "CACHE", startTime);
+                logger.info("CACHE transfers of task " + taskId + " : " + cacheHits.get() + " hits, " +
+                            cacheMisses.get() + " misses, " + cacheBytesTransferred.get() + " bytes transferred, " +
+                            cacheBytesSaved.get() + " bytes saved");
+                evictCachedFilesIfNeeded();
             } else if (cacheTransferPresent) {
                 logDataspacesStatus("CACHE dataspace is not available while file transfers to cache were required. Check the Node logs for errors.",
                                     DataspacesStatusLevel.ERROR);
@@ -756,6 +800,22 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
         return transferFutures;
     }
 
+    private List<Future<Boolean>> doCopyInputDataToCache(Map<String, DataSpacesFileObject> filesToCopy) {
+
+        List<Future<Boolean>> transferFutures = new ArrayList<>(filesToCopy.size());
+
+        for (final Map.Entry<String, DataSpacesFileObject> entry : filesToCopy.entrySet()) {
+            transferFutures.add(executorTransfer.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws FileSystemException, InterruptedException {
+                    return copyFileToCache(entry.getValue(), entry.getKey());
+                }
+            }));
+        }
+
+        return transferFutures;
+    }
+
     private Future<Boolean> parallelFileCopy(final DataSpacesFileObject source,
             final DataSpacesFileObject destinationBase, final String destinationRelativeToBase,
             final boolean isInputFile) {
@@ -765,36 +825,126 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
         return executorTransfer.submit(new Callable<Boolean>() {
             @Override
             public Boolean call() throws FileSystemException {
+                return copyFile(source, destinationBase, destinationRelativeToBase, isInputFile);
+            }
+        });
+    }
 
-                DataSpacesFileObject target = destinationBase.resolveFile(destinationRelativeToBase);
-
-                target.refresh();
-                if (!target.exists()) {
-                    logger.info("Copying " + source.getRealURI() + " to " + destinationBase.getRealURI() + "/" +
-                                destinationRelativeToBase);
-                    target.copyFrom(source, FileSelector.SELECT_SELF);
-                } else if (source.getContent().getLastModifiedTime() > target.getContent().getLastModifiedTime()) {
-                    logger.info("Copying " + source.getRealURI() + " to " + destinationBase.getRealURI() + "/" +
-                                destinationRelativeToBase + " (newer version)");
-                    target.copyFrom(source, FileSelector.SELECT_SELF);
-                } else {
-                    logger.debug("Destination file " + target.getRealURI() + " is already present and newer.");
-                }
+    private boolean copyFile(DataSpacesFileObject source, DataSpacesFileObject destinationBase,
+            String destinationRelativeToBase, boolean isInputFile) throws FileSystemException {
 
-                target.refresh();
-                if (!target.exists()) {
-                    String message = "There was a problem during the copy of " + source.getRealURI() + " to " +
-                                     target.getRealURI() + ". File not present after copy.";
-                    logger.error(message);
-                    logDataspacesStatus(message, DataspacesStatusLevel.ERROR);
-                } else {
-                    if (isInputFile) {
-                        setFileRightsForRunAsUserMode(target);
-                    }
+        DataSpacesFileObject target = destinationBase.resolveFile(destinationRelativeToBase);
+
+        target.refresh();
+        if (!target.exists()) {
+            logger.info("Copying " + source.getRealURI() + " to " + destinationBase.getRealURI() + "/" +
+                        destinationRelativeToBase);
+            target.copyFrom(source, FileSelector.SELECT_SELF);
+        } else if (source.getContent().getLastModifiedTime() > target.getContent().getLastModifiedTime()) {
+            logger.info("Copying " + source.getRealURI() + " to " + destinationBase.getRealURI() + "/" +
+                        destinationRelativeToBase + " (newer version)");
+            target.copyFrom(source, FileSelector.SELECT_SELF);
+        } else {
+            logger.debug("Destination file " + target.getRealURI() + " is already present and newer.");
+        }
+
+        return checkCopiedFile(source, target, isInputFile);
+    }
+
+    private boolean checkCopiedFile(DataSpacesFileObject source, DataSpacesFileObject target, boolean isInputFile)
+            throws FileSystemException {
+        target.refresh();
+        if (!target.exists()) {
+            String message = "There was a problem during the copy of " + source.getRealURI() + " to " +
+                             target.getRealURI() + ". File not present after copy.";
+            logger.error(message);
+            logDataspacesStatus(message, DataspacesStatusLevel.ERROR);
+            return false;
+        } else {
+            if (isInputFile) {
+                setFileRightsForRunAsUserMode(target);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Copies a file to the CACHE space, unless the cached copy was made from the same version of the source.
+     *
+     * A cached file which is not yet indexed (e.g. copied before the node restarted) is kept if it is newer
+     * than its source.
+     */
+    private boolean copyFileToCache(DataSpacesFileObject source, String relativePath)
+            throws FileSystemException, InterruptedException {
+        if (!FileType.FILE.equals(source.getType())) {
+            copyFile(source, CACHE, relativePath, true);
+            return true;
+        }
+        long size = source.getContent().getSize();
+        long lastModified = source.getContent().getLastModifiedTime();
+        DataspaceCacheIndex.Fingerprint fingerprint = new DataspaceCacheIndex.Fingerprint(source.getRealURI(),
+                                                                                           size,
+                                                                                           lastModified);
+        Lock lock = cacheIndex.getLock(relativePath);
+        lock.lockInterruptibly();
+        try {
+            DataSpacesFileObject target = CACHE.resolveFile(relativePath);
+            target.refresh();
+            boolean upToDate = target.exists() &&
+                               (cacheIndex.isUpToDate(relativePath, fingerprint) ||
+                                (!cacheIndex.isTracked(relativePath) &&
+                                 fingerprint.getLastModified() <= target.getContent().getLastModifiedTime()));
+            if (upToDate) {
+                logger.debug("Cached file " + target.getRealURI() + " is up to date.");
+                cacheHits.incrementAndGet();
+                cacheBytesSaved.addAndGet(fingerprint.getSize());
+            } else {
+                logger.info("Copying " + source.getRealURI() + " to " + CACHE.getRealURI() + "/" + relativePath);
+                target.copyFrom(source, FileSelector.SELECT_SELF);
+                cacheMisses.incrementAndGet();
+                cacheBytesTransferred.addAndGet(fingerprint.getSize());
+            }
+            if (checkCopiedFile(source, target, true)) {
+                cacheIndex.acquire(relativePath, fingerprint);
+                synchronized (cachedFilesInUse) {
+                    cachedFilesInUse.add(relativePath);
                 }
-                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void evictCachedFilesIfNeeded() {
+        long maxSize = getCacheMaxSize();
+        if (maxSize <= 0) {
+            return;
+        }
+        List<String> evictedFiles = cacheIndex.evict(maxSize, path -> {
+            try {
+                return CACHE.resolveFile(path).delete();
+            } catch (FileSystemException e) {
+                logger.warn("Could not evict " + path + " from CACHE space", e);
+                return false;
             }
         });
+        if (!evictedFiles.isEmpty()) {
+            logger.info("Evicted " + evictedFiles.size() + " least recently used files from CACHE space");
+        }
+    }
+
+    protected long getCacheMaxSize() {
+        String sizeAsString = System.getProperty(PA_NODE_DATASPACE_CACHE_MAX_SIZE);
+        if (sizeAsString != null) {
+            try {
+                return Long.parseLong(sizeAsString);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value set for property '" + PA_NODE_DATASPACE_CACHE_MAX_SIZE + "': " +
+                            sizeAsString);
+            }
+        }
+        return 0;
     }
 
     private Future<List<DataSpacesFileObject>> findFilesToCopyFromInput(final DataSpacesFileObject space,
@@ -941,6 +1091,13 @@ public class TaskProActiveDataspaces implements TaskDataspaces {
             logDataspacesStatus(message, DataspacesStatusLevel.ERROR);
         }
 
+        synchronized (cachedFilesInUse) {
+            for (String cachedFile : cachedFilesInUse) {
+                cacheIndex.release(cachedFile);
+            }
+            cachedFilesInUse.clear();
+        }
+
         if (CACHE != null) {
             try {
                 logger.info("Unregistering cache space : " + cacheSpaceInstanceInfo.getMountingPoint());
@@ -30,9 +30,11 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Serializable;
 import java.security.KeyException;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.objectweb.proactive.extensions.processbuilder.OSProcessBuilder;
+import org.objectweb.proactive.extensions.processbuilder.OSUser;
 import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
 import org.ow2.proactive.scheduler.task.context.TaskContext;
 import org.ow2.proactive.scheduler.task.context.TaskContextVariableExtractor;
@@ -80,6 +82,29 @@ public class ForkedProcessBuilderCreator implements Serializable {
         return processBuilder;
     }
 
+    /**
+     * Creates a process builder starting a pooled forked JVM.
+     *
+     * @param nativeScriptPath The scheduler home, used to find native scripts.
+     * @param user             The user running the JVM, null to run it as the node user.
+     * @param command          The command starting the JVM.
+     * @param workingDir       The working directory of the JVM.
+     * @return Returns a process builder, ready to execute.
+     * @throws Exception
+     * @see ForkedJvmTaskExecutionCommandCreator#createForkedJvmWorkerCommand(TaskContext)
+     */
+    public OSProcessBuilder createForkedJvmWorkerProcessBuilder(String nativeScriptPath, OSUser user,
+            List<String> command, File workingDir) throws Exception {
+        OSProcessBuilder processBuilder;
+        if (user != null) {
+            processBuilder = ForkerUtils.getOSProcessBuilderFactory(nativeScriptPath).getBuilder(user);
+        } else {
+            processBuilder = ForkerUtils.getOSProcessBuilderFactory(nativeScriptPath).getBuilder();
+        }
+        processBuilder.command().addAll(command);
+        return processBuilder.directory(workingDir);
+    }
+
     private ScriptResult executeForkEnvironmentScriptAndExtractVariables(TaskContext context, PrintStream outputSink,
             PrintStream errorSink, OSProcessBuilder processBuilder) throws Exception {
         ScriptResult forkEnvironmentScriptResult = null;
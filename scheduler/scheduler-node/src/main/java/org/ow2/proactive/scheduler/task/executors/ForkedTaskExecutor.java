@@ -30,11 +30,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.PrintStream;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.extensions.processbuilder.OSProcessBuilder;
+import org.objectweb.proactive.extensions.processbuilder.OSUser;
+import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
 import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
@@ -42,6 +45,11 @@ import org.ow2.proactive.scheduler.task.context.TaskContext;
 import org.ow2.proactive.scheduler.task.context.TaskContextSerializer;
 import org.ow2.proactive.scheduler.task.exceptions.ForkedJvmProcessException;
 import org.ow2.proactive.scheduler.task.executors.forked.env.ExecuteForkedTaskInsideNewJvm;
+import org.ow2.proactive.scheduler.task.executors.forked.env.ForkedJvmTaskExecutionCommandCreator;
+import org.ow2.proactive.scheduler.task.executors.forked.pool.ForkedJvmPool;
+import org.ow2.proactive.scheduler.task.executors.forked.pool.ForkedJvmSignature;
+import org.ow2.proactive.scheduler.task.executors.forked.pool.PooledForkedJvm;
+import org.ow2.proactive.scheduler.task.utils.ForkerUtils;
 import org.ow2.proactive.scheduler.task.utils.ProcessStreamsReader;
 import org.ow2.proactive.scheduler.task.utils.task.termination.CleanupTimeoutGetter;
 import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
@@ -50,7 +58,10 @@ import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
 /**
  * Executor in charge to fork a new process for running a non forked task in a dedicated JVM.
  *
+ * When the forked JVM pool is enabled, eligible tasks are executed in a pre-started JVM of the pool instead.
+ *
  * @see ExecuteForkedTaskInsideNewJvm#fromForkedJVM(String)
+ * @see ForkedJvmPool
  * @see InProcessTaskExecutor
  */
 public class ForkedTaskExecutor implements TaskExecutor {
@@ -61,14 +72,26 @@ public class ForkedTaskExecutor implements TaskExecutor {
 
     private final TaskContextSerializer taskContextSerializer = new TaskContextSerializer();
 
+    private final ForkedJvmTaskExecutionCommandCreator forkedJvmTaskExecutionCommandCreator = new ForkedJvmTaskExecutionCommandCreator();
+
+    private final ForkedJvmPool forkedJvmPool;
+
     private final File workingDir;
 
     public ForkedTaskExecutor(File workingDir) {
+        this(workingDir, ForkedJvmPool.getInstance());
+    }
+
+    public ForkedTaskExecutor(File workingDir, ForkedJvmPool forkedJvmPool) {
         this.workingDir = workingDir;
+        this.forkedJvmPool = forkedJvmPool;
     }
 
     @Override
     public TaskResultImpl execute(TaskContext context, PrintStream outputSink, PrintStream errorSink) {
+        if (forkedJvmPool.isEnabled() && forkedJvmPool.isPoolable(context)) {
+            return executeInPooledJvm(context, outputSink, errorSink);
+        }
         CookieBasedProcessTreeKiller taskProcessTreeKiller = null;
         Process process = null;
         ProcessStreamsReader processStreamsReader = null;
@@ -142,6 +165,55 @@ public class ForkedTaskExecutor implements TaskExecutor {
         }
     }
 
+    private TaskResultImpl executeInPooledJvm(TaskContext context, PrintStream outputSink, PrintStream errorSink) {
+        PooledForkedJvm jvm = null;
+        boolean failed = true;
+        try {
+            if (!workingDir.exists()) {
+                FileUtils.forceMkdir(workingDir);
+            }
+            List<String> command = forkedJvmTaskExecutionCommandCreator.createForkedJvmWorkerCommand(context);
+            String nativeScriptPath = context.getSchedulerHome();
+
+            ForkedJvmPool.ProcessBuilderSupplier processBuilderSupplier;
+            ForkedJvmSignature signature;
+            if (context.isRunAsUser()) {
+                ForkerUtils.setSharedExecutablePermissions(workingDir);
+                OSUser user = ForkerUtils.checkConfigAndGetUser(context.getDecrypter());
+                CredData credentials = context.getDecrypter().decrypt();
+                String userName = credentials.getDomain() != null ? credentials.getDomain() + "\\" +
+                                                                   credentials.getLogin()
+                                                                 : credentials.getLogin();
+                signature = new ForkedJvmSignature(command, userName, workingDir);
+                processBuilderSupplier = () -> forkedJvmProcessBuilderCreator.createForkedJvmWorkerProcessBuilder(nativeScriptPath,
+                                                                                                                  user,
+                                                                                                                  command,
+                                                                                                                  workingDir);
+            } else {
+                signature = new ForkedJvmSignature(command, null, workingDir);
+                processBuilderSupplier = () -> forkedJvmProcessBuilderCreator.createForkedJvmWorkerProcessBuilder(nativeScriptPath,
+                                                                                                                  null,
+                                                                                                                  command,
+                                                                                                                  workingDir);
+            }
+
+            jvm = forkedJvmPool.acquire(signature, processBuilderSupplier);
+            Object result = jvm.execute(context, outputSink, errorSink);
+            if (result instanceof TaskResultImpl) {
+                failed = false;
+                return (TaskResultImpl) result;
+            } else {
+                return createTaskResult(context, (Throwable) result);
+            }
+        } catch (Throwable throwable) {
+            return createTaskResult(context, throwable);
+        } finally {
+            if (jvm != null) {
+                forkedJvmPool.release(jvm, failed);
+            }
+        }
+    }
+
     private TaskResultImpl createTaskResult(TaskContext context, Throwable throwable) {
         return new TaskResultImpl(context.getTaskId(),
                                   new ForkedJvmProcessException("Failed to execute task in a forked JVM", throwable));
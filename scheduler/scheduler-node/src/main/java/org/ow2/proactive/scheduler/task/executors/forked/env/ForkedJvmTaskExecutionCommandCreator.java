@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +77,28 @@ public class ForkedJvmTaskExecutionCommandCreator implements Serializable {
      */
     public List<String> createForkedJvmTaskExecutionCommand(TaskContext taskContext,
             ScriptResult forkEnvironmentScriptResult, String serializedContextAbsolutePath) throws Exception {
+        return createForkedJvmCommand(taskContext,
+                                      forkEnvironmentScriptResult,
+                                      ExecuteForkedTaskInsideNewJvm.class.getName(),
+                                      serializedContextAbsolutePath);
+    }
+
+    /**
+     * Creates a command to start a pooled java virtual machine able to run the given task and any other
+     * task with the same fork environment. The local port of the pool must be appended to the command.
+     *
+     * @param taskContext TaskContext object describing the task.
+     * @return A List, empty if the TaskContext is null, otherwise filled with a command.
+     * @throws Exception If the {@link TaskContextVariableExtractor} could not extract all variables from the
+     *                   TaskContext.
+     * @see ForkedJvmWorker
+     */
+    public List<String> createForkedJvmWorkerCommand(TaskContext taskContext) throws Exception {
+        return createForkedJvmCommand(taskContext, null, ForkedJvmWorker.class.getName());
+    }
+
+    private List<String> createForkedJvmCommand(TaskContext taskContext, ScriptResult forkEnvironmentScriptResult,
+            String mainClassName, String... mainArguments) throws Exception {
         if (taskContext == null) {
             return new ArrayList<>(0);
         }
@@ -145,8 +168,8 @@ public class ForkedJvmTaskExecutionCommandCreator implements Serializable {
         javaCommand.add("-cp");
         javaCommand.add(classpath.toString());
         javaCommand.addAll(jvmArguments);
-        javaCommand.add(ExecuteForkedTaskInsideNewJvm.class.getName());
-        javaCommand.add(serializedContextAbsolutePath);
+        javaCommand.add(mainClassName);
+        javaCommand.addAll(Arrays.asList(mainArguments));
 
         return javaCommand;
     }
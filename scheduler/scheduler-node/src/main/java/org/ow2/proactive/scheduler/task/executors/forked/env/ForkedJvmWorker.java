@@ -0,0 +1,154 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors.forked.env;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Properties;
+
+import org.ow2.proactive.scheduler.common.SchedulerConstants;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.task.context.TaskContext;
+import org.ow2.proactive.scheduler.task.executors.InProcessTaskExecutor;
+import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
+
+
+/**
+ * Entry point of a pooled forked JVM.
+ *
+ * The JVM connects back to the node on a local socket and executes the task contexts it receives
+ * one after the other, sending back each task result on the same socket. After each task, an end of
+ * task marker is printed on the standard output and error so that the node can split the output of
+ * consecutive tasks.
+ *
+ * The JVM is started in the working directory of the tasks it executes, only tasks sharing the same
+ * working directory are executed by a given JVM.
+ *
+ * Child processes started by a task are killed when the task finishes, as they would be when the
+ * forked JVM of a non pooled task terminates. The system properties are restored after each task,
+ * the other static state of the JVM is shared by the tasks it executes.
+ *
+ * @see org.ow2.proactive.scheduler.task.executors.forked.pool.ForkedJvmPool
+ */
+public class ForkedJvmWorker {
+
+    public static final String END_OF_TASK_MARKER = "#PA_FORKED_JVM_END_OF_TASK#";
+
+    private ForkedJvmWorker() {
+
+    }
+
+    /**
+     * Everything here and called from here should only use System.out and System.err
+     *
+     * @param args the local port to connect to, the authentication token is read on the standard input
+     */
+    public static void main(String[] args) throws Throwable {
+        if (args.length != 1) {
+            System.err.println("Port of the forked JVM pool is expected");
+            System.exit(-1);
+        }
+
+        ExecuteForkedTaskInsideNewJvm.setSecurityPolicy();
+
+        String token = new BufferedReader(new InputStreamReader(System.in)).readLine();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+            new DataOutputStream(socket.getOutputStream()).writeUTF(token);
+            ObjectOutputStream toNode = new ObjectOutputStream(socket.getOutputStream());
+            toNode.flush();
+            ObjectInputStream fromNode = new ObjectInputStream(socket.getInputStream());
+
+            while (true) {
+                TaskContext context;
+                try {
+                    context = (TaskContext) fromNode.readObject();
+                } catch (EOFException poolClosed) {
+                    break;
+                }
+
+                Object result = execute(context);
+
+                printEndOfTaskMarker(System.out, token);
+                printEndOfTaskMarker(System.err, token);
+
+                try {
+                    toNode.writeObject(result);
+                } catch (Throwable couldNotSerializeResult) {
+                    couldNotSerializeResult.printStackTrace(System.err);
+                    toNode.reset();
+                    toNode.writeObject(couldNotSerializeResult);
+                }
+                toNode.reset();
+                toNode.flush();
+            }
+        }
+
+        // Call to System.exit is necessary at this point as the forked JVM can keep alive non-daemon threads
+        System.exit(0);
+    }
+
+    private static Object execute(TaskContext context) {
+        CookieBasedProcessTreeKiller taskProcessTreeKiller = null;
+        Properties systemProperties = (Properties) System.getProperties().clone();
+        try {
+            if (context.getInitializer().getGenericInformation() == null ||
+                !"true".equalsIgnoreCase(context.getInitializer()
+                                                .getGenericInformation()
+                                                .get(SchedulerConstants.DISABLE_PROCESS_TREE_KILLER_GENERIC_INFO))) {
+                TaskId taskId = context.getTaskId();
+                String cookieNameSuffix = "Job" + taskId.getJobId().value() + "Task" + taskId.value();
+                taskProcessTreeKiller = CookieBasedProcessTreeKiller.createAllChildrenKiller(cookieNameSuffix);
+            }
+            return new InProcessTaskExecutor().execute(context, System.out, System.err);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace(System.err);
+            return throwable;
+        } finally {
+            if (taskProcessTreeKiller != null) {
+                taskProcessTreeKiller.kill();
+            }
+            // the properties set by a task must not be seen by the next one
+            System.setProperties(systemProperties);
+        }
+    }
+
+    /**
+     * The marker ends a line but may follow the last output of the task if it did not end with a new line.
+     */
+    private static void printEndOfTaskMarker(PrintStream stream, String token) {
+        stream.flush();
+        stream.println(END_OF_TASK_MARKER + token);
+        stream.flush();
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors.forked.pool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.extensions.processbuilder.OSProcessBuilder;
+import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.task.context.TaskContext;
+
+
+/**
+ * Pool of pre-started forked JVMs of a node.
+ *
+ * JVMs are identified by a {@link ForkedJvmSignature}, a task can only be executed by a JVM which has the
+ * signature computed for the task. When a JVM is taken from the pool, another one with the same signature
+ * is started in the background so that the next task finds a ready JVM. JVMs are replaced after a given
+ * number of tasks or as soon as a task execution fails.
+ *
+ * Only tasks which do not define a fork environment script nor system environment variables can use the pool,
+ * as these may change the command or the environment of the JVM for each task. A JVM runs in the working
+ * directory of its tasks, so that relative paths and child processes of a task behave as in a non pooled JVM.
+ * The pool is thus only used by tasks whose fork environment defines a working directory: by default each
+ * task runs in its own scratch directory, which no other task could reuse.
+ *
+ * The pool is disabled unless {@link PASchedulerProperties#TASK_FORK_POOL_SIZE} is positive.
+ */
+public class ForkedJvmPool {
+
+    private static final Logger logger = Logger.getLogger(ForkedJvmPool.class);
+
+    private static final ForkedJvmPool INSTANCE = new ForkedJvmPool(PASchedulerProperties.TASK_FORK_POOL_SIZE.getValueAsInt(),
+                                                                    PASchedulerProperties.TASK_FORK_POOL_MAX_TASKS.getValueAsInt());
+
+    private final int maxIdleJvms;
+
+    private final int maxTasksPerJvm;
+
+    // idle JVMs, most recently released last
+    private final Deque<PooledForkedJvm> idleJvms = new ArrayDeque<>();
+
+    private final Map<ForkedJvmSignature, Integer> startingJvms = new HashMap<>();
+
+    private final ExecutorService backgroundExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ForkedJvmPool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong startedJvms = new AtomicLong();
+
+    private final AtomicLong reusedJvms = new AtomicLong();
+
+    private final AtomicLong recycledJvms = new AtomicLong();
+
+    private final AtomicLong failedJvms = new AtomicLong();
+
+    public ForkedJvmPool(int maxIdleJvms, int maxTasksPerJvm) {
+        this.maxIdleJvms = maxIdleJvms;
+        this.maxTasksPerJvm = maxTasksPerJvm;
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::destroyIdleJvms));
+        }
+    }
+
+    public static ForkedJvmPool getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return maxIdleJvms > 0;
+    }
+
+    /**
+     * @return true if the given task can be executed in a pooled JVM
+     */
+    public boolean isPoolable(TaskContext context) {
+        ForkEnvironment forkEnvironment = context.getInitializer().getForkEnvironment();
+        return forkEnvironment != null && forkEnvironment.getWorkingDir() != null &&
+               forkEnvironment.getEnvScript() == null && forkEnvironment.getSystemEnvironment().isEmpty();
+    }
+
+    /**
+     * Takes an idle JVM with the given signature from the pool, or starts a new one if there is none.
+     *
+     * @param signature the signature of the JVM
+     * @param processBuilderSupplier creates process builders starting a JVM with the given signature,
+     *                               it is kept to pre-start JVMs unless the JVM runs as another user
+     * @return a JVM connected to the node, which must be given back with {@link #release(PooledForkedJvm, boolean)}
+     * @throws Exception if no JVM could be started
+     */
+    public PooledForkedJvm acquire(ForkedJvmSignature signature, ProcessBuilderSupplier processBuilderSupplier)
+            throws Exception {
+        PooledForkedJvm jvm = pollIdleJvm(signature);
+        if (jvm != null) {
+            reusedJvms.incrementAndGet();
+        } else {
+            jvm = PooledForkedJvm.start(signature, processBuilderSupplier.get());
+            startedJvms.incrementAndGet();
+        }
+        if (!signature.isRunAsUser()) {
+            // credentials of the task must not be kept to start JVMs for future tasks
+            prestart(signature, processBuilderSupplier);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Using " + jvm + " " + getStatistics());
+        }
+        return jvm;
+    }
+
+    /**
+     * Gives a JVM back to the pool after a task execution.
+     *
+     * @param jvm the JVM
+     * @param failed true if the communication with the JVM failed or if the task was interrupted,
+     *               the JVM and its child processes are then destroyed before returning
+     */
+    public void release(PooledForkedJvm jvm, boolean failed) {
+        if (failed || !jvm.isAlive()) {
+            failedJvms.incrementAndGet();
+            jvm.destroy();
+            return;
+        }
+        if (jvm.getExecutedTasks() >= maxTasksPerJvm) {
+            recycledJvms.incrementAndGet();
+            backgroundExecutor.submit(jvm::destroy);
+            return;
+        }
+        addIdleJvm(jvm);
+    }
+
+    private synchronized PooledForkedJvm pollIdleJvm(ForkedJvmSignature signature) {
+        Iterator<PooledForkedJvm> iterator = idleJvms.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledForkedJvm jvm = iterator.next();
+            if (jvm.getSignature().equals(signature)) {
+                iterator.remove();
+                if (jvm.isAlive()) {
+                    return jvm;
+                }
+                backgroundExecutor.submit(jvm::destroy);
+            }
+        }
+        return null;
+    }
+
+    private void addIdleJvm(PooledForkedJvm jvm) {
+        PooledForkedJvm evicted = null;
+        synchronized (this) {
+            idleJvms.addLast(jvm);
+            if (idleJvms.size() > maxIdleJvms) {
+                evicted = idleJvms.removeFirst();
+            }
+        }
+        if (evicted != null) {
+            recycledJvms.incrementAndGet();
+            backgroundExecutor.submit(evicted::destroy);
+        }
+    }
+
+    private void prestart(ForkedJvmSignature signature, ProcessBuilderSupplier processBuilderSupplier) {
+        synchronized (this) {
+            int readyJvms = startingJvms.getOrDefault(signature, 0);
+            for (PooledForkedJvm jvm : idleJvms) {
+                if (jvm.getSignature().equals(signature)) {
+                    readyJvms++;
+                }
+            }
+            if (readyJvms > 0) {
+                return;
+            }
+            startingJvms.merge(signature, 1, Integer::sum);
+        }
+        backgroundExecutor.submit(() -> {
+            try {
+                PooledForkedJvm jvm = PooledForkedJvm.start(signature, processBuilderSupplier.get());
+                startedJvms.incrementAndGet();
+                addIdleJvm(jvm);
+            } catch (Throwable t) {
+                logger.warn("Could not pre-start forked JVM", t);
+            } finally {
+                synchronized (ForkedJvmPool.this) {
+                    startingJvms.merge(signature, -1, Integer::sum);
+                    startingJvms.remove(signature, 0);
+                }
+            }
+        });
+    }
+
+    private void destroyIdleJvms() {
+        List<PooledForkedJvm> jvms;
+        synchronized (this) {
+            jvms = new ArrayList<>(idleJvms);
+            idleJvms.clear();
+        }
+        for (PooledForkedJvm jvm : jvms) {
+            jvm.destroy();
+        }
+    }
+
+    public synchronized int getIdleJvms() {
+        return idleJvms.size();
+    }
+
+    public long getStartedJvms() {
+        return startedJvms.get();
+    }
+
+    public long getReusedJvms() {
+        return reusedJvms.get();
+    }
+
+    public long getRecycledJvms() {
+        return recycledJvms.get();
+    }
+
+    public long getFailedJvms() {
+        return failedJvms.get();
+    }
+
+    private String getStatistics() {
+        return "(idle: " + getIdleJvms() + ", started: " + startedJvms + ", reused: " + reusedJvms + ", recycled: " +
+               recycledJvms + ", failed: " + failedJvms + ")";
+    }
+
+    /**
+     * Creates a new process builder for each started JVM.
+     */
+    @FunctionalInterface
+    public interface ProcessBuilderSupplier {
+
+        OSProcessBuilder get() throws Exception;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors.forked.pool;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Identifies forked JVMs which can run the same tasks: same java command (java home, classpath and
+ * JVM arguments) started by the same user in the same working directory.
+ */
+public class ForkedJvmSignature {
+
+    private final List<String> command;
+
+    private final String user;
+
+    private final File workingDir;
+
+    /**
+     * @param command the command starting the JVM
+     * @param user the user running the JVM, null for the node user
+     * @param workingDir the working directory of the JVM and of the tasks it executes
+     */
+    public ForkedJvmSignature(List<String> command, String user, File workingDir) {
+        this.command = new ArrayList<>(command);
+        this.user = user;
+        this.workingDir = workingDir.getAbsoluteFile();
+    }
+
+    public List<String> getCommand() {
+        return new ArrayList<>(command);
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public File getWorkingDir() {
+        return workingDir;
+    }
+
+    public boolean isRunAsUser() {
+        return user != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ForkedJvmSignature that = (ForkedJvmSignature) o;
+        return command.equals(that.command) && Objects.equals(user, that.user) && workingDir.equals(that.workingDir);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(command, user, workingDir);
+    }
+
+    @Override
+    public String toString() {
+        return (user != null ? user + "@" : "") + workingDir + ": " + String.join(" ", command);
+    }
+}
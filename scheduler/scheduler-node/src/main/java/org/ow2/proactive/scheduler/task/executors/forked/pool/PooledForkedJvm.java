@@ -0,0 +1,325 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.executors.forked.pool;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.extensions.processbuilder.OSProcessBuilder;
+import org.ow2.proactive.scheduler.task.context.TaskContext;
+import org.ow2.proactive.scheduler.task.exceptions.ForkedJvmProcessException;
+import org.ow2.proactive.scheduler.task.executors.forked.env.ForkedJvmWorker;
+import org.ow2.proactive.scheduler.task.utils.task.termination.CleanupTimeoutGetter;
+import org.ow2.proactive.utils.CookieBasedProcessTreeKiller;
+
+
+/**
+ * Node side of a pooled forked JVM.
+ *
+ * Task contexts and results are exchanged over a local socket. The standard output and error of the
+ * JVM are redirected to the sinks of the task being executed, the end of the output of a task being
+ * delimited by a marker printed by the JVM.
+ *
+ * @see ForkedJvmWorker
+ */
+public class PooledForkedJvm {
+
+    private static final Logger logger = Logger.getLogger(PooledForkedJvm.class);
+
+    private static final AtomicLong idGenerator = new AtomicLong();
+
+    private static final int CONNECTION_TIMEOUT_MILLIS = 60000;
+
+    private static final int END_OF_TASK_OUTPUT_TIMEOUT_MILLIS = 5000;
+
+    private final long id;
+
+    private final ForkedJvmSignature signature;
+
+    private final Process process;
+
+    private final CookieBasedProcessTreeKiller processTreeKiller;
+
+    private final StreamPump outputPump;
+
+    private final StreamPump errorPump;
+
+    private final ExecutorService resultReader;
+
+    private Socket socket;
+
+    private ObjectOutputStream toWorker;
+
+    private ObjectInputStream fromWorker;
+
+    private int executedTasks = 0;
+
+    private volatile boolean destroyed = false;
+
+    private PooledForkedJvm(long id, ForkedJvmSignature signature, Process process,
+            CookieBasedProcessTreeKiller processTreeKiller, String endOfTaskMarker) {
+        this.id = id;
+        this.signature = signature;
+        this.process = process;
+        this.processTreeKiller = processTreeKiller;
+        this.outputPump = new StreamPump(process.getInputStream(), endOfTaskMarker, "ForkedJvm" + id + "_OUT");
+        this.errorPump = new StreamPump(process.getErrorStream(), endOfTaskMarker, "ForkedJvm" + id + "_ERR");
+        this.resultReader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ForkedJvm" + this.id + "_RESULT");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a new forked JVM and waits until it is connected.
+     *
+     * @param signature the signature of the JVM
+     * @param processBuilder a process builder for the worker command, the local port is appended to its command
+     * @return the connected JVM
+     * @throws IOException if the JVM could not be started or did not connect in time
+     */
+    static PooledForkedJvm start(ForkedJvmSignature signature, OSProcessBuilder processBuilder) throws IOException {
+        long id = idGenerator.incrementAndGet();
+        String token = UUID.randomUUID().toString();
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(CONNECTION_TIMEOUT_MILLIS);
+            processBuilder.command().add(String.valueOf(serverSocket.getLocalPort()));
+
+            CookieBasedProcessTreeKiller processTreeKiller = CookieBasedProcessTreeKiller.createProcessChildrenKiller("ForkedJvm" +
+                                                                                                                     id,
+                                                                                                                     processBuilder.environment());
+            Process process = processBuilder.start();
+            PooledForkedJvm jvm = new PooledForkedJvm(id,
+                                                      signature,
+                                                      process,
+                                                      processTreeKiller,
+                                                      ForkedJvmWorker.END_OF_TASK_MARKER + token);
+            try {
+                // the token is sent on the standard input so that it is not visible to other processes
+                try (Writer input = new OutputStreamWriter(process.getOutputStream(), Charset.defaultCharset())) {
+                    input.write(token + System.lineSeparator());
+                }
+                jvm.connect(serverSocket, token);
+                return jvm;
+            } catch (IOException | RuntimeException e) {
+                jvm.destroy();
+                throw e;
+            }
+        }
+    }
+
+    private void connect(ServerSocket serverSocket, String token) throws IOException {
+        while (true) {
+            Socket candidate = serverSocket.accept();
+            if (token.equals(readToken(candidate))) {
+                socket = candidate;
+                break;
+            }
+            logger.warn("Rejected connection to forked JVM pool from " + candidate.getRemoteSocketAddress());
+            candidate.close();
+        }
+        toWorker = new ObjectOutputStream(socket.getOutputStream());
+        toWorker.flush();
+        fromWorker = new ObjectInputStream(socket.getInputStream());
+    }
+
+    private String readToken(Socket candidate) {
+        try {
+            candidate.setSoTimeout(CONNECTION_TIMEOUT_MILLIS);
+            String token = new DataInputStream(candidate.getInputStream()).readUTF();
+            candidate.setSoTimeout(0);
+            return token;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Executes a task in this JVM.
+     *
+     * @param context the task to execute
+     * @param outputSink the standard output sink of the task
+     * @param errorSink the error sink of the task
+     * @return the task result or the throwable raised by the JVM when running the task
+     * @throws Exception if the communication with the JVM failed or if the current thread was interrupted,
+     * the JVM must then be destroyed
+     */
+    public Object execute(TaskContext context, PrintStream outputSink, PrintStream errorSink) throws Exception {
+        outputPump.setSink(outputSink);
+        errorPump.setSink(errorSink);
+        try {
+            toWorker.writeObject(context);
+            toWorker.reset();
+            toWorker.flush();
+
+            Future<Object> result = resultReader.submit(() -> fromWorker.readObject());
+            try {
+                Object taskResult = result.get();
+                executedTasks++;
+                outputPump.awaitEndOfTask(END_OF_TASK_OUTPUT_TIMEOUT_MILLIS);
+                errorPump.awaitEndOfTask(END_OF_TASK_OUTPUT_TIMEOUT_MILLIS);
+                return taskResult;
+            } catch (ExecutionException e) {
+                throw new ForkedJvmProcessException("Could not read task result (forked JVM may have been killed by the task)",
+                                                    e.getCause());
+            }
+        } finally {
+            outputPump.setSink(null);
+            errorPump.setSink(null);
+        }
+    }
+
+    public boolean isAlive() {
+        return !destroyed && process.isAlive();
+    }
+
+    public int getExecutedTasks() {
+        return executedTasks;
+    }
+
+    public ForkedJvmSignature getSignature() {
+        return signature;
+    }
+
+    /**
+     * Stops the JVM and kills all its child processes.
+     */
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Could not close connection to forked JVM " + id, e);
+        }
+        process.destroy();
+        try {
+            process.waitFor((new CleanupTimeoutGetter()).getCleanupTimeSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            logger.info("Exception while waiting forked JVM to finish " + e);
+            Thread.currentThread().interrupt();
+        }
+        processTreeKiller.kill();
+        resultReader.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "ForkedJvm" + id;
+    }
+
+    /**
+     * Pipes a stream of the JVM to the sink of the current task.
+     */
+    private static class StreamPump implements Runnable {
+
+        private final BufferedReader in;
+
+        private final String endOfTaskMarker;
+
+        private final Semaphore endOfTask = new Semaphore(0);
+
+        private volatile PrintStream sink;
+
+        private StreamPump(InputStream in, String endOfTaskMarker, String name) {
+            this.in = new BufferedReader(new InputStreamReader(in));
+            this.endOfTaskMarker = endOfTaskMarker;
+            Thread thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void setSink(PrintStream sink) {
+            if (sink != null) {
+                // ignore markers of previous tasks which arrived after their timeout
+                endOfTask.drainPermits();
+            }
+            this.sink = sink;
+        }
+
+        private void awaitEndOfTask(long timeoutMillis) throws InterruptedException {
+            if (!endOfTask.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("End of task output not received from forked JVM, output may be incomplete");
+            }
+        }
+
+        @Override
+        public void run() {
+            String line;
+            try {
+                while ((line = in.readLine()) != null) {
+                    if (line.endsWith(endOfTaskMarker)) {
+                        // the last output of the task may not end with a new line
+                        String lastOutput = line.substring(0, line.length() - endOfTaskMarker.length());
+                        if (!lastOutput.isEmpty()) {
+                            forward(lastOutput);
+                        }
+                        endOfTask.release();
+                    } else {
+                        forward(line);
+                    }
+                }
+            } catch (IOException e) {
+                // nothing to do, the process is dead
+            }
+        }
+
+        private void forward(String line) {
+            PrintStream currentSink = sink;
+            if (currentSink != null) {
+                currentSink.println(line);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package functionaltests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.TaskIdImpl;
+import org.ow2.proactive.scheduler.task.TaskLauncherInitializer;
+import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.TestTaskOutput;
+import org.ow2.proactive.scheduler.task.containers.ScriptExecutableContainer;
+import org.ow2.proactive.scheduler.task.context.NodeDataSpacesURIs;
+import org.ow2.proactive.scheduler.task.context.NodeInfo;
+import org.ow2.proactive.scheduler.task.context.TaskContext;
+import org.ow2.proactive.scheduler.task.executors.ForkedTaskExecutor;
+import org.ow2.proactive.scheduler.task.executors.forked.pool.ForkedJvmPool;
+import org.ow2.proactive.scripting.SimpleScript;
+import org.ow2.proactive.scripting.TaskScript;
+
+
+/**
+ * Executes several tasks in pooled forked JVMs.
+ * As the pool starts separate JVMs, this test is a functionalTest (to avoid leaving alive subprocesses when cancelled)
+ */
+public class ForkedJvmPoolTest {
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void tasks_are_executed_in_pooled_jvms() throws Throwable {
+        ForkedJvmPool pool = new ForkedJvmPool(2, 3);
+        File workingDir = tmpFolder.newFolder();
+
+        for (int i = 0; i < 5; i++) {
+            TestTaskOutput taskOutput = new TestTaskOutput();
+            ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(workingDir, pool);
+            String script = "print('hello" + i + "'); result='result" + i + "'";
+
+            TaskResultImpl result = taskExecutor.execute(createContext(script, i, workingDir),
+                                                         taskOutput.outputStream,
+                                                         taskOutput.error);
+
+            assertEquals("result" + i, result.value());
+            assertEquals(String.format("hello%d%n", i), taskOutput.output());
+        }
+
+        // only the first task waits for a JVM to start
+        assertEquals(0, pool.getFailedJvms());
+        assertEquals(4, pool.getReusedJvms());
+    }
+
+    @Test
+    public void relative_files_are_resolved_against_the_task_working_dir() throws Throwable {
+        ForkedJvmPool pool = new ForkedJvmPool(2, 10);
+        String script = "var reader = new java.io.BufferedReader(new java.io.FileReader('input.txt'));" +
+                        "result = reader.readLine(); reader.close();" +
+                        "var writer = new java.io.FileWriter('output.txt'); writer.write(result); writer.close();";
+
+        for (int i = 0; i < 3; i++) {
+            File workingDir = tmpFolder.newFolder();
+            Files.write(new File(workingDir, "input.txt").toPath(), ("content" + i).getBytes(StandardCharsets.UTF_8));
+            TestTaskOutput taskOutput = new TestTaskOutput();
+            ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(workingDir, pool);
+
+            TaskResultImpl result = taskExecutor.execute(createContext(script, i, workingDir),
+                                                         taskOutput.outputStream,
+                                                         taskOutput.error);
+
+            assertEquals("content" + i, result.value());
+            assertEquals("content" + i,
+                         new String(Files.readAllBytes(new File(workingDir, "output.txt").toPath()),
+                                    StandardCharsets.UTF_8));
+        }
+
+        // each working directory has its own JVM
+        assertEquals(0, pool.getReusedJvms());
+    }
+
+    @Test
+    public void tasks_without_working_dir_are_not_pooled() throws Throwable {
+        ForkedJvmPool pool = new ForkedJvmPool(2, 10);
+        TestTaskOutput taskOutput = new TestTaskOutput();
+        ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(tmpFolder.newFolder(), pool);
+
+        TaskResultImpl result = taskExecutor.execute(createContext("result='result'", 1, null),
+                                                     taskOutput.outputStream,
+                                                     taskOutput.error);
+
+        assertEquals("result", result.value());
+        assertEquals(0, pool.getStartedJvms());
+    }
+
+    @Test
+    public void failing_jvm_is_not_reused() throws Throwable {
+        ForkedJvmPool pool = new ForkedJvmPool(2, 10);
+        TestTaskOutput taskOutput = new TestTaskOutput();
+        File workingDir = tmpFolder.newFolder();
+        ForkedTaskExecutor taskExecutor = new ForkedTaskExecutor(workingDir, pool);
+
+        TaskResultImpl result = taskExecutor.execute(createContext("java.lang.System.exit(1)", 1, workingDir),
+                                                     taskOutput.outputStream,
+                                                     taskOutput.error);
+
+        assertNotNull(result.getException());
+        assertEquals(1, pool.getFailedJvms());
+    }
+
+    private TaskContext createContext(String script, int taskId, File workingDir) throws Exception {
+        TaskLauncherInitializer initializer = new TaskLauncherInitializer();
+        initializer.setTaskId((TaskIdImpl.createTaskId(JobIdImpl.makeJobId("1000"), "job", taskId)));
+        if (workingDir != null) {
+            ForkEnvironment forkEnvironment = new ForkEnvironment();
+            forkEnvironment.setWorkingDir(workingDir.getAbsolutePath());
+            initializer.setForkEnvironment(forkEnvironment);
+        }
+        return new TaskContext(new ScriptExecutableContainer(new TaskScript(new SimpleScript(script, "javascript"))),
+                               initializer,
+                               null,
+                               new NodeDataSpacesURIs("", "", "", "", "", ""),
+                               "",
+                               new NodeInfo("", "", ""));
+    }
+}
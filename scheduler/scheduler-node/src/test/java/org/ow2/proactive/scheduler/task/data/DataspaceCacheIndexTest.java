@@ -0,0 +1,147 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.data;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DataspaceCacheIndexTest {
+
+    private DataspaceCacheIndex index;
+
+    private List<String> deletedFiles;
+
+    @Before
+    public void init() {
+        index = new DataspaceCacheIndex();
+        deletedFiles = new ArrayList<>();
+    }
+
+    @Test
+    public void testUpToDate() {
+        DataspaceCacheIndex.Fingerprint source = new DataspaceCacheIndex.Fingerprint("file:/input/a", 10, 1000);
+
+        assertThat(index.isTracked("a")).isFalse();
+        assertThat(index.isUpToDate("a", source)).isFalse();
+
+        index.acquire("a", source);
+
+        assertThat(index.isTracked("a")).isTrue();
+        assertThat(index.isUpToDate("a", new DataspaceCacheIndex.Fingerprint("file:/input/a", 10, 1000))).isTrue();
+        assertThat(index.isUpToDate("a", new DataspaceCacheIndex.Fingerprint("file:/input/a", 10, 2000))).isFalse();
+        assertThat(index.isUpToDate("a", new DataspaceCacheIndex.Fingerprint("file:/input/a", 20, 1000))).isFalse();
+        assertThat(index.isUpToDate("a", new DataspaceCacheIndex.Fingerprint("file:/other/a", 10, 1000))).isFalse();
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedFirst() throws InterruptedException {
+        addUnusedFile("a", 10);
+        addUnusedFile("b", 10);
+        addUnusedFile("c", 10);
+        // a is used again, b becomes the least recently used file
+        addUnusedFile("a", 10);
+
+        List<String> evicted = index.evict(20, this::delete);
+
+        assertThat(evicted).containsExactly("b");
+        assertThat(deletedFiles).containsExactly("b");
+        assertThat(index.getTotalSize()).isEqualTo(20L);
+        assertThat(index.isTracked("b")).isFalse();
+    }
+
+    @Test
+    public void testFilesInUseAreNotEvicted() throws InterruptedException {
+        index.acquire("a", new DataspaceCacheIndex.Fingerprint("file:/input/a", 10, 0));
+        Thread.sleep(2);
+        addUnusedFile("b", 10);
+
+        assertThat(index.evict(0, this::delete)).containsExactly("b");
+        assertThat(index.isTracked("a")).isTrue();
+
+        index.release("a");
+
+        assertThat(index.evict(0, this::delete)).containsExactly("a");
+        assertThat(index.getTotalSize()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testLockedFilesAreNotEvicted() throws InterruptedException {
+        addUnusedFile("a", 10);
+        addUnusedFile("b", 10);
+
+        Lock lock = index.getLock("a");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        Thread transfer = new Thread(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                evicted.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        transfer.start();
+        locked.await();
+
+        assertThat(index.evict(0, this::delete)).containsExactly("b");
+
+        evicted.countDown();
+        transfer.join();
+        assertThat(index.evict(0, this::delete)).containsExactly("a");
+    }
+
+    @Test
+    public void testFailedDeletionKeepsFile() {
+        index.acquire("a", new DataspaceCacheIndex.Fingerprint("file:/input/a", 10, 0));
+        index.release("a");
+
+        assertThat(index.evict(0, path -> false)).isEmpty();
+        assertThat(index.isTracked("a")).isTrue();
+    }
+
+    private void addUnusedFile(String path, long size) throws InterruptedException {
+        index.acquire(path, new DataspaceCacheIndex.Fingerprint("file:/input/" + path, size, 0));
+        index.release(path);
+        // ensures distinct access times
+        Thread.sleep(2);
+    }
+
+    private boolean delete(String path) {
+        deletedFiles.add(path);
+        return true;
+    }
+}
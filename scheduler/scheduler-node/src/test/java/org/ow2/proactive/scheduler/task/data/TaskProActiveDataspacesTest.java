@@ -32,6 +32,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -256,6 +260,22 @@ public class TaskProActiveDataspacesTest extends ProActiveTestClean {
         assertThat(isEnabled).isFalse();
     }
 
+    @Test
+    public void testDeserializedInstanceCanBeClosed() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(new TaskProActiveDataspaces());
+        }
+
+        TaskProActiveDataspaces deserialized;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (TaskProActiveDataspaces) ois.readObject();
+        }
+
+        // the transient state of the cache is initialized again
+        deserialized.close();
+    }
+
     private boolean testIsCreateFolderHierarchySequentiallyEnabled(Optional<String> propertyValue) {
         if (propertyValue.isPresent()) {
             System.setProperty(TaskProActiveDataspaces.PA_NODE_DATASPACE_CREATE_FOLDER_HIERARCHY_SEQUENTIALLY,
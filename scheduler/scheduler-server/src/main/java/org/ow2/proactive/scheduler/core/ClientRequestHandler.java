@@ -26,7 +26,9 @@
 package org.ow2.proactive.scheduler.core;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -36,7 +38,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.UniqueID;
 import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.SchedulerEventListener;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.threading.ReifiedMethodCall;
 
@@ -45,6 +51,12 @@ import org.ow2.proactive.threading.ReifiedMethodCall;
  * ClientRequestHandler is used to delegate event call to client.
  * This class should be used with the ThreadPoolController which handles threads.
  *
+ * The events waiting to be sent to a client are bounded and a progress event of a task replaces
+ * the previous one which has not been sent yet. When a client does not keep up, further progress
+ * events are dropped and counted; any other event would change the state seen by the client, so
+ * it cannot be dropped silently: the client is disconnected instead and has to reconnect to get
+ * a consistent state.
+ *
  * @author The ProActive Team
  * @since ProActive Scheduling 2.0
  */
@@ -59,6 +71,9 @@ public class ClientRequestHandler {
     private static final ExecutorService threadPoolForNetworkCalls = Executors.newFixedThreadPool(THREAD_NUMBER,
                                                                                                   new NamedThreadFactory("ClientEventHandlerPool"));
 
+    /** Maximum number of events waiting to be sent to a client */
+    private static final int QUEUE_SIZE = PASchedulerProperties.SCHEDULER_LISTENERS_QUEUE_SIZE.getValueAsInt();
+
     private static final AtomicInteger requestLeft = new AtomicInteger();
 
     public static void terminate() {
@@ -88,6 +103,18 @@ public class ClientRequestHandler {
     /** Events queue to be stored */
     private final LinkedList<ReifiedMethodCall> eventCallsToStore;
 
+    /** Progress events of the stored queue, which can still be replaced by a newer progress of the same task */
+    private final Map<TaskId, ReifiedMethodCall> progressCallsToStore = new HashMap<>();
+
+    /** Number of progress events dropped since the stored queue was full, guarded by the queue */
+    private long droppedEvents = 0;
+
+    /** True once the client was disconnected because it did not keep up, guarded by the queue */
+    private boolean overflowed = false;
+
+    /** Number of progress events replaced by a newer one, guarded by the queue */
+    private long coalescedEvents = 0;
+
     /** Cross reference to the front-end : used to mark client as dirty */
     private final SchedulerFrontendState frontend;
 
@@ -113,12 +140,76 @@ public class ClientRequestHandler {
      */
     public void addEvent(Method method, Object... args) {
         synchronized (eventCallsToStore) {
-            eventCallsToStore.add(new ReifiedMethodCall(method, args));
+            if (overflowed) {
+                return;
+            }
+            TaskInfo taskInfo = getTaskInfo(args);
+            boolean progress = taskInfo != null &&
+                               ((NotificationData<?>) args[0]).getEventType() == SchedulerEvent.TASK_PROGRESS;
+            if (progress) {
+                ReifiedMethodCall storedProgressCall = progressCallsToStore.get(taskInfo.getTaskId());
+                if (storedProgressCall != null) {
+                    // the client did not receive the previous progress yet, only the latest one matters
+                    storedProgressCall.setArguments(args);
+                    coalescedEvents++;
+                    return;
+                }
+            } else if (taskInfo != null) {
+                // next progress events of this task must be received after this event
+                progressCallsToStore.remove(taskInfo.getTaskId());
+            }
+
+            if (eventCallsToStore.size() >= QUEUE_SIZE) {
+                if (progress) {
+                    if (droppedEvents++ == 0) {
+                        logger.warn("Too many events waiting to be sent to the client " + clientId +
+                                    ", progress events are dropped until it catches up");
+                    }
+                } else {
+                    disconnectOverflowedClient();
+                }
+                return;
+            }
+
+            ReifiedMethodCall methodCall = new ReifiedMethodCall(method, args);
+            eventCallsToStore.add(methodCall);
+            if (progress) {
+                progressCallsToStore.put(taskInfo.getTaskId(), methodCall);
+            }
             requestLeft.incrementAndGet();
         }
         tryStartTask();
     }
 
+    /**
+     * Disconnect the client which does not keep up with the events: dropping a state event would
+     * leave it with a wrong view of the scheduler. Must be called while holding the queue lock.
+     */
+    private void disconnectOverflowedClient() {
+        logger.warn("Too many events waiting to be sent to the client " + clientId +
+                    ", the client is disconnected and must reconnect to get the scheduler state");
+        overflowed = true;
+        int discarded = eventCallsToStore.size();
+        eventCallsToStore.clear();
+        progressCallsToStore.clear();
+        droppedEvents = 0;
+        coalescedEvents = 0;
+        if (requestLeft.addAndGet(-discarded) == 0) {
+            synchronized (requestLeft) {
+                requestLeft.notify();
+            }
+        }
+        frontend.markAsDirty(clientId);
+    }
+
+    private static TaskInfo getTaskInfo(Object[] args) {
+        if (args.length == 1 && args[0] instanceof NotificationData &&
+            ((NotificationData<?>) args[0]).getData() instanceof TaskInfo) {
+            return (TaskInfo) ((NotificationData<?>) args[0]).getData();
+        }
+        return null;
+    }
+
     /**
      * Try to create a task with new events to send, and start it in the thread pool.
      * Can do nothing if some previous events are currently being sent.
@@ -131,6 +222,15 @@ public class ClientRequestHandler {
             if (eventCallsToStore.size() > 0 && !busy.get()) {
                 LinkedList<ReifiedMethodCall> tasks = (LinkedList<ReifiedMethodCall>) eventCallsToStore.clone();
                 eventCallsToStore.clear();
+                progressCallsToStore.clear();
+                if (droppedEvents > 0) {
+                    logger.warn(droppedEvents + " events were dropped for the client " + clientId);
+                    droppedEvents = 0;
+                }
+                if (coalescedEvents > 0 && logger.isDebugEnabled()) {
+                    logger.debug(coalescedEvents + " progress events were merged for the client " + clientId);
+                }
+                coalescedEvents = 0;
                 busy.set(true);
                 threadPoolForNetworkCalls.execute(new TaskRunnable(tasks));
             }
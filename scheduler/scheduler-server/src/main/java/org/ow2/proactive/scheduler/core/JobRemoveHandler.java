@@ -112,7 +112,7 @@ public class JobRemoveHandler implements Callable<Boolean> {
                                     new NotificationData<JobInfo>(SchedulerEvent.JOB_REMOVE_FINISHED,
                                                                   new JobInfoImpl((JobInfoImpl) job.getJobInfo())));
 
-            service.wakeUpSchedulingThread();
+            service.wakeUpSchedulingThread(SchedulingSignal.Reason.JOB_STATE_CHANGED);
         } catch (Exception e) {
             logger.error("Error while removing job " + jobId, e);
             throw e;
@@ -25,13 +25,15 @@
  */
 package org.ow2.proactive.scheduler.core;
 
+import java.lang.reflect.Method;
+
 import org.ow2.proactive.scheduler.job.UserIdentificationImpl;
 
 
 public class ListeningUser {
 
-    /** Associated listener to client */
-    private ClientRequestHandler listener;
+    /** Associated listener to client, events are sent while it can be set or cleared */
+    private volatile ClientRequestHandler listener;
 
     private UserIdentificationImpl user;
 
@@ -76,6 +78,19 @@ public class ListeningUser {
         this.listener = null;
     }
 
+    /**
+     * Send an event to the listener associated to this user, if any
+     *
+     * @param method the listener method to call
+     * @param args the arguments of the event
+     */
+    public void addEvent(Method method, Object... args) {
+        ClientRequestHandler currentListener = listener;
+        if (currentListener != null) {
+            currentListener.addEvent(method, args);
+        }
+    }
+
     public UserIdentificationImpl getUser() {
         return user;
     }
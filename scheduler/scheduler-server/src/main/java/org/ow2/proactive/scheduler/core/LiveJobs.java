@@ -27,8 +27,11 @@ package org.ow2.proactive.scheduler.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -100,6 +103,24 @@ class LiveJobs {
         }
     }
 
+    /**
+     * A task for which a launcher was created, waiting to be marked as started.
+     */
+    static class StartedTask {
+
+        final InternalJob job;
+
+        final InternalTask task;
+
+        final TaskLauncher launcher;
+
+        StartedTask(InternalJob job, InternalTask task, TaskLauncher launcher) {
+            this.job = job;
+            this.task = task;
+            this.launcher = launcher;
+        }
+    }
+
     private final SchedulerDBManager dbManager;
 
     private final SchedulerStateUpdate listener;
@@ -487,41 +508,114 @@ class LiveJobs {
     }
 
     void taskStarted(InternalJob job, InternalTask task, TaskLauncher launcher) {
-        JobData jobData = checkJobAccess(job.getId());
-        if (jobData == null) {
-            throw new IllegalStateException("Job " + job.getId() + " does not exist");
+        if (!canTaskStart(job, task)) {
+            throw new IllegalStateException("Task " + task.getId() + " cannot be started");
         }
-        if (runningTasksData.containsKey(TaskIdWrapper.wrap(task.getId()))) {
-            throw new IllegalStateException("Task is already started");
+        tasksStarted(Collections.singletonList(new StartedTask(job, task, launcher)));
+    }
+
+    /**
+     * Checks that a task can be marked as started: its job is still alive and the task is not already running.
+     * The job of the task must be locked by the caller.
+     */
+    boolean canTaskStart(InternalJob job, InternalTask task) {
+        return checkJobAccess(job.getId()) != null && !runningTasksData.containsKey(TaskIdWrapper.wrap(task.getId()));
+    }
+
+    /**
+     * Marks a batch of tasks as started, the database is updated in a single transaction.
+     * The jobs of all the tasks must be locked by the caller.<br>
+     * A task which cannot be started does not prevent the others from being started, it is returned
+     * so that the caller can stop its launcher and give its nodes back.
+     *
+     * @param startedTasks the tasks whose launchers have been launched
+     * @return the tasks which could not be marked as started
+     */
+    List<StartedTask> tasksStarted(List<StartedTask> startedTasks) {
+        List<StartedTask> acceptedTasks = new ArrayList<>(startedTasks.size());
+        List<StartedTask> rejectedTasks = new ArrayList<>();
+        Set<TaskIdWrapper> batchTaskIds = new HashSet<>();
+        for (StartedTask startedTask : startedTasks) {
+            if (canTaskStart(startedTask.job, startedTask.task) &&
+                batchTaskIds.add(TaskIdWrapper.wrap(startedTask.task.getId()))) {
+                acceptedTasks.add(startedTask);
+            } else {
+                tlogger.warn(startedTask.task.getId(), "cannot be started, its job is gone or it is already running");
+                rejectedTasks.add(startedTask);
+            }
         }
 
-        tlogger.info(task.getId(), "task started " + task.getId());
+        Map<InternalJob, List<InternalTask>> tasksByJob = new LinkedHashMap<>();
+        Set<JobId> jobsStarted = new HashSet<>();
 
-        runningTasksData.put(TaskIdWrapper.wrap(task.getId()),
-                             new RunningTaskData(task, job.getOwner(), job.getCredentials(), launcher));
+        for (StartedTask startedTask : acceptedTasks) {
+            InternalJob job = startedTask.job;
+            InternalTask task = startedTask.task;
 
-        boolean firstTaskStarted;
+            tlogger.info(task.getId(), "task started " + task.getId());
 
-        if (job.getStartTime() < 0) {
-            // if it is the first task of this job
-            job.start();
-            updateJobInSchedulerState(job, SchedulerEvent.JOB_PENDING_TO_RUNNING);
-            jlogger.info(job.getId(), "started");
-            firstTaskStarted = true;
-        } else {
-            firstTaskStarted = false;
+            runningTasksData.put(TaskIdWrapper.wrap(task.getId()),
+                                 new RunningTaskData(task, job.getOwner(), job.getCredentials(), startedTask.launcher));
+
+            if (job.getStartTime() < 0) {
+                // if it is the first task of this job
+                job.start();
+                updateJobInSchedulerState(job, SchedulerEvent.JOB_PENDING_TO_RUNNING);
+                jlogger.info(job.getId(), "started");
+                jobsStarted.add(job.getId());
+            }
+
+            // set the different informations on task
+            job.startTask(task);
+
+            List<InternalTask> jobTasks = tasksByJob.get(job);
+            if (jobTasks == null) {
+                jobTasks = new ArrayList<>();
+                tasksByJob.put(job, jobTasks);
+            }
+            jobTasks.add(task);
         }
 
-        // set the different informations on task
-        job.startTask(task);
-        dbManager.jobTaskStarted(job, task, firstTaskStarted);
+        storeTasksStarted(tasksByJob, jobsStarted);
 
-        listener.taskStateUpdated(job.getOwner(),
-                                  new NotificationData<TaskInfo>(SchedulerEvent.TASK_PENDING_TO_RUNNING,
-                                                                 new TaskInfoImpl((TaskInfoImpl) task.getTaskInfo())));
+        for (StartedTask startedTask : acceptedTasks) {
+            InternalTask task = startedTask.task;
+            listener.taskStateUpdated(startedTask.job.getOwner(),
+                                      new NotificationData<TaskInfo>(SchedulerEvent.TASK_PENDING_TO_RUNNING,
+                                                                     new TaskInfoImpl((TaskInfoImpl) task.getTaskInfo())));
 
-        // fill previous task progress with 0, means task has started
-        task.setProgress(0);
+            // fill previous task progress with 0, means task has started
+            task.setProgress(0);
+        }
+        return rejectedTasks;
+    }
+
+    /**
+     * Stores the start of the tasks in a single transaction, or job by job if it fails. The tasks are
+     * already being launched, so a job whose update cannot be stored keeps its tasks running and gets
+     * its database state updated when they terminate.
+     */
+    private void storeTasksStarted(Map<InternalJob, List<InternalTask>> tasksByJob, Set<JobId> jobsStarted) {
+        try {
+            dbManager.jobTasksStarted(tasksByJob, jobsStarted);
+        } catch (RuntimeException e) {
+            if (tasksByJob.size() == 1) {
+                logger.error("Failed to store the start of the tasks of job " +
+                             tasksByJob.keySet().iterator().next().getId(), e);
+                return;
+            }
+            logger.warn("Failed to store the start of the tasks in a single transaction, storing them job by job", e);
+            for (Map.Entry<InternalJob, List<InternalTask>> jobTasks : tasksByJob.entrySet()) {
+                JobId jobId = jobTasks.getKey().getId();
+                try {
+                    dbManager.jobTasksStarted(Collections.singletonMap(jobTasks.getKey(), jobTasks.getValue()),
+                                              jobsStarted.contains(jobId) ? Collections.singleton(jobId)
+                                                                          : Collections.<JobId> emptySet());
+                } catch (RuntimeException jobFailure) {
+                    logger.error("Failed to store the start of the tasks of job " + jobId, jobFailure);
+                }
+            }
+        }
     }
 
     private TerminationData emptyResult(TaskId taskId) {
@@ -70,6 +70,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import org.apache.log4j.Logger;
+import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.Body;
 import org.objectweb.proactive.InitActive;
 import org.objectweb.proactive.RunActive;
@@ -79,6 +80,7 @@ import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.ProActiveException;
 import org.objectweb.proactive.core.UniqueID;
 import org.objectweb.proactive.core.body.request.Request;
+import org.objectweb.proactive.core.node.NodeException;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.objectweb.proactive.utils.NamedThreadFactory;
 import org.ow2.proactive.authentication.UserData;
@@ -89,6 +91,7 @@ import org.ow2.proactive.db.SortParameter;
 import org.ow2.proactive.policy.ClientsPolicy;
 import org.ow2.proactive.resourcemanager.frontend.RMConnection;
 import org.ow2.proactive.scheduler.authentication.SchedulerAuthentication;
+import org.ow2.proactive.scheduler.common.CursorPage;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.JobFilterCriteria;
 import org.ow2.proactive.scheduler.common.JobSortParameter;
@@ -122,6 +125,7 @@ import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.task.SimpleTaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatesPage;
@@ -132,6 +136,8 @@ import org.ow2.proactive.scheduler.core.account.SchedulerAccountsManager;
 import org.ow2.proactive.scheduler.core.db.RecoveredSchedulerState;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.db.SchedulerStateRecoverHelper;
+import org.ow2.proactive.scheduler.core.db.StoredTaskResultValueProvider;
+import org.ow2.proactive.scheduler.core.db.TaskResultValueStore;
 import org.ow2.proactive.scheduler.core.helpers.JobsMemoryMonitorRunner;
 import org.ow2.proactive.scheduler.core.helpers.TableSizeMonitorRunner;
 import org.ow2.proactive.scheduler.core.jmx.SchedulerJMXHelper;
@@ -316,6 +322,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
             logger.debug("Booting jmx...");
             this.jmxHelper.boot(authentication);
             SynchronizationInternal publicStore = startSynchronizationService();
+            exposeTaskResultValueStore();
 
             RecoveredSchedulerState recoveredState = new SchedulerStateRecoverHelper(dbManager).recover(loadJobPeriod,
                                                                                                         rmProxy);
@@ -341,6 +348,9 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
                                                            policyFullName,
                                                            null,
                                                            publicStore);
+            if (jmxHelper.getSchedulingLoopMBean() != null) {
+                jmxHelper.getSchedulingLoopMBean().setSchedulingSignal(schedulingService.getSchedulingSignal());
+            }
 
             recoveredState.enableLiveLogsForRunningTasks(schedulingService);
             releaseBusyNodesWithNoRunningTask(rmProxy, recoveredState);
@@ -370,6 +380,17 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         }
     }
 
+    /**
+     * Serves the result values kept out of the database from an active object, so that the tasks and clients
+     * holding handles on them can fetch them lazily. This is done before the recovery, which can create such handles.
+     */
+    private void exposeTaskResultValueStore() throws ActiveObjectCreationException, NodeException {
+        TaskResultValueStore store = dbManager.getTaskResultValueStore();
+        if (store != null) {
+            dbManager.setTaskResultValueProvider(PAActiveObject.turnActive(new StoredTaskResultValueProvider(store)));
+        }
+    }
+
     private SynchronizationInternal startSynchronizationService() throws java.io.IOException, ProActiveException {
         // Create and start the Synchronization Service Active Object
         final AOSynchronization privateStore = PAActiveObject.newActive(AOSynchronization.class,
@@ -1103,6 +1124,52 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         return frontendState.getTaskPaginated(JobIdImpl.makeJobId(jobId), offset, limit);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ImmediateService
+    public Page<TaskResult> getTaskResultsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        JobId id = JobIdImpl.makeJobId(jobId);
+
+        // checking permissions
+        frontendState.checkPermissions("getTaskResultsPaginated",
+                                       frontendState.getIdentifiedJob(id),
+                                       YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_TASK_RESULT_OF_THIS_JOB);
+
+        jlogger.debug(id, "trying to get the task results from " + offset + " to " + (offset + limit));
+
+        Page<TaskResult> results = dbManager.loadTaskResultsPage(id, offset, limit);
+        if (results == null) {
+            throw new UnknownJobException(id);
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ImmediateService
+    public Page<TaskLogs> getTaskLogsPaginated(String jobId, int offset, int limit)
+            throws NotConnectedException, UnknownJobException, PermissionException {
+        JobId id = JobIdImpl.makeJobId(jobId);
+
+        // checking permissions
+        frontendState.checkPermissions("getTaskLogsPaginated",
+                                       frontendState.getIdentifiedJob(id),
+                                       YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_TASK_LOGS_OF_THIS_JOB);
+
+        jlogger.debug(id, "trying to get the task logs from " + offset + " to " + (offset + limit));
+
+        Page<TaskLogs> logs = dbManager.loadTaskLogsPage(id, offset, limit);
+        if (logs == null) {
+            throw new UnknownJobException(id);
+        }
+        return logs;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1313,6 +1380,25 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
                                  sortParameters);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ImmediateService
+    public CursorPage<JobInfo> getJobsByCursor(String cursor, int limit, JobFilterCriteria filterCriteria)
+            throws NotConnectedException, PermissionException {
+        UserIdentificationImpl ident = frontendState.checkPermission("getJobsByCursor",
+                                                                     "You don't have permissions to load jobs");
+
+        String user = filterCriteria.isMyJobsOnly() ? ident.getUsername() : null;
+        return dbManager.getJobsByCursor(cursor,
+                                         limit,
+                                         user,
+                                         filterCriteria.isPending(),
+                                         filterCriteria.isRunning(),
+                                         filterCriteria.isFinished());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -36,12 +36,16 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.UniqueID;
 import org.objectweb.proactive.core.mop.MOP;
 import org.objectweb.proactive.core.util.converter.ProActiveMakeDeepCopy;
+import org.objectweb.proactive.utils.NamedThreadFactory;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.permissions.MethodCallPermission;
@@ -207,6 +211,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     /** Job identification management */
     private final Map<JobId, IdentifiedJob> jobs;
 
+    /** Sends the events to the listening users, in the order they are received from the core */
+    private final ExecutorService eventDispatcher;
+
     /** Session timer */
     private final Timer sessionTimer;
 
@@ -224,13 +231,16 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     private SchedulerDBManager dbManager = null;
 
     SchedulerFrontendState(SchedulerStateImpl sState, SchedulerJMXHelper jmxHelper) {
-        this.identifications = new HashMap<>();
-        this.credentials = new HashMap<>();
+        this.identifications = new ConcurrentHashMap<>();
+        // credentials may be null
+        this.credentials = Collections.synchronizedMap(new HashMap<UniqueID, Credentials>());
         this.dirtyList = new HashSet<>();
         this.jmxHelper = jmxHelper;
-        this.jobsMap = new HashMap<>();
-        this.jobs = new HashMap<>();
+        this.jobsMap = new ConcurrentHashMap<>();
+        this.jobs = new ConcurrentHashMap<>();
         this.sessionTimer = new Timer("SessionTimer");
+        this.eventDispatcher = Executors.newSingleThreadExecutor(new NamedThreadFactory("FrontendEventDispatcher",
+                                                                                        true));
         this.sState = sState;
         recover(sState);
     }
@@ -298,18 +308,20 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws SchedulerException
      *             If an error occurred during connection with the front-end.
      */
-    synchronized void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
+    void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
             throws AlreadyConnectedException {
-        if (identifications.containsKey(sourceBodyID)) {
+        if (identifications.putIfAbsent(sourceBodyID, new ListeningUser(identification)) != null) {
             logger.warn("Active object already connected for this user :" + identification.getUsername());
             throw new AlreadyConnectedException("This active object is already connected to the scheduler !");
         }
-        logger.info(identification.getUsername() + " successfully connected !");
-        identifications.put(sourceBodyID, new ListeningUser(identification));
+        // stored once the connection is accepted, not to replace the credentials of the live session
         credentials.put(sourceBodyID, cred);
+        logger.info(identification.getUsername() + " successfully connected !");
         renewUserSession(sourceBodyID, identification);
         // add this new user in the list of connected user
-        sState.getUsers().update(identification);
+        synchronized (sState) {
+            sState.getUsers().update(identification);
+        }
         // send events
         usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, identification));
     }
@@ -325,47 +337,54 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      *            the user on which to renew the session
      */
     private void renewUserSession(final UniqueID id, UserIdentificationImpl identification) {
-        if (identifications.get(id).isListening()) {
+        ListeningUser listeningUser = identifications.get(id);
+        if (listeningUser == null || listeningUser.isListening()) {
             // if this id has a listener, do not renew user session
             return;
         }
         final String userName = identification.getUsername();
-        TimerTask session = identification.getSession();
-        if (session != null) {
-            session.cancel();
-        }
-        identification.setSession(new TimerTask() {
-            @Override
-            public void run() {
-                logger.info("End of session for user " + userName + ", id=" + id);
-                disconnect(id);
+        synchronized (identification) {
+            TimerTask session = identification.getSession();
+            if (session != null) {
+                session.cancel();
             }
-        });
-        sessionTimer.purge();
-        sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+            identification.setSession(new TimerTask() {
+                @Override
+                public void run() {
+                    logger.info("End of session for user " + userName + ", id=" + id);
+                    disconnect(id);
+                }
+            });
+            sessionTimer.purge();
+            sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+        }
     }
 
-    synchronized SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
+    SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
         // checking permissions
         checkPermission("getStatus", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATUS);
         return sState.getStatus();
     }
 
-    synchronized SchedulerState getState() throws NotConnectedException, PermissionException {
+    SchedulerState getState() throws NotConnectedException, PermissionException {
         return getState(false);
     }
 
-    synchronized SchedulerState getStateInternally() {
+    SchedulerState getStateInternally() {
         return sState;
     }
 
-    synchronized SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
+    SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
         // checking permissions
-        checkPermission("getState", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
+        ListeningUser ui = checkPermissionReturningListeningUser("getState",
+                                                                 YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
 
-        ListeningUser ui = identifications.get(PAActiveObject.getContext().getCurrentRequest().getSourceBodyID());
-
-        return myJobsOnly ? sState.filterOnUser(ui.getUser().getUsername()) : sState;
+        if (myJobsOnly) {
+            synchronized (sState) {
+                return sState.filterOnUser(ui.getUser().getUsername());
+            }
+        }
+        return sState;
 
     }
 
@@ -381,7 +400,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
+    void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
             throws PermissionException {
         ui.checkPermission(new HandleOnlyMyJobsPermission(myOnly),
                            ui.getUsername() + " does not have permissions to handle other users jobs (" + errorMessage +
@@ -402,7 +421,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
+    void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
             UserIdentificationImpl ui, String errorMessage) throws PermissionException {
         ui.checkPermission(new HandleJobsWithGenericInformationPermission(genericInformation),
                            ui.getUsername() + " does not have permissions to handle this job (" + errorMessage + ")");
@@ -432,11 +451,8 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             throw new IllegalArgumentException(msg);
         }
 
-        // get the scheduler State
-        SchedulerState currentState = null;
         if (getCurrentState) {
-            // check get state permission is checked in getState method
-            currentState = getState(myEventsOnly);
+            checkPermission("getState", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
         } else {
             // check get state permission
             handleOnlyMyJobsPermission(myEventsOnly, uIdent.getUser(), YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
@@ -450,6 +466,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         uIdent.setListener(new ClientRequestHandler(this, id, sel));
         // cancel timer for this user : session is now managed by events
         uIdent.getUser().getSession().cancel();
+        // get the scheduler State once the listener is set : events are dispatched asynchronously so
+        // the listener may receive events already applied to this state, but it cannot miss one
+        SchedulerState currentState = null;
+        if (getCurrentState) {
+            currentState = getState(myEventsOnly);
+        }
         // return to the user
         return currentState;
     }
@@ -457,8 +479,8 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     synchronized void removeEventListener() throws NotConnectedException, PermissionException {
         // Remove the listener on that user designated by its given UniqueID,
         // then renew its user session as it is no more managed by the listener.
-        UniqueID id = checkAccess();
-        ListeningUser uIdent = identifications.get(id);
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
+        ListeningUser uIdent = getListeningUser(id);
         uIdent.clearListener();
         // recreate the session for this user which is no more managed by
         // listener
@@ -467,14 +489,32 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     private UniqueID checkAccess() throws NotConnectedException {
         UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
-        if (!identifications.containsKey(id)) {
+        getListeningUser(id);
+        return id;
+    }
+
+    /**
+     * Returns the user connected with the given id. As sessions can end concurrently, the user must be
+     * retrieved once instead of checking the access then getting the user.
+     */
+    private ListeningUser getListeningUser(UniqueID id) throws NotConnectedException {
+        ListeningUser listeningUser = identifications.get(id);
+        if (listeningUser == null) {
             logger.info(ACCESS_DENIED);
             throw new NotConnectedException(ACCESS_DENIED);
         }
-        return id;
+        return listeningUser;
     }
 
-    synchronized InternalJob createJob(Job userJob, UserIdentificationImpl ident)
+    private ClientJobState getClientJobState(JobId jobId) throws UnknownJobException {
+        ClientJobState jobState = jobId == null ? null : jobsMap.get(jobId);
+        if (jobState == null) {
+            throw new UnknownJobException(jobId);
+        }
+        return jobState;
+    }
+
+    InternalJob createJob(Job userJob, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
         UniqueID id = checkAccess();
 
@@ -505,12 +545,14 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return job;
     }
 
-    synchronized void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
+    void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
         // put the job inside the frontend management list
         jobs.put(job.getId(), new IdentifiedJob(job.getId(), ident, job.getGenericInformation()));
         // increase number of submit for this user
-        ident.addSubmit();
+        synchronized (ident) {
+            ident.addSubmit();
+        }
         // send update user event
         usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, ident));
         jlogger.info(job.getId(),
@@ -523,11 +565,10 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
+    ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
-
-        ListeningUser ident = identifications.get(id);
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
+        ListeningUser ident = getListeningUser(id);
         // renew session for this user
         renewUserSession(id, ident.getUser());
 
@@ -543,12 +584,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return ident;
     }
 
-    synchronized UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
+    UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
         return checkPermissionReturningListeningUser(methodName, permissionMsg).getUser();
     }
 
-    synchronized void disconnect() throws NotConnectedException, PermissionException {
+    void disconnect() throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
         disconnect(id);
     }
@@ -559,7 +600,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @param id
      *            the uniqueID of the user
      */
-    private synchronized void disconnect(UniqueID id) {
+    private void disconnect(UniqueID id) {
         credentials.remove(id);
         ListeningUser ident = identifications.remove(id);
         if (ident != null) {
@@ -568,18 +609,21 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             // remove this user to the list of connected user if it has not
             // already been removed
             ident.getUser().setToRemove();
-            sState.getUsers().update(ident.getUser());
+            synchronized (sState) {
+                sState.getUsers().update(ident.getUser());
+            }
             // cancel the timer
             ident.getUser().getSession().cancel();
             // log and send events
             String user = ident.getUser().getUsername();
             logger.info("User '" + user + "' has disconnect the scheduler !");
-            dispatchUsersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, ident.getUser()),
-                                 false);
+            NotificationData<UserIdentification> notification = new NotificationData<>(SchedulerEvent.USERS_UPDATE,
+                                                                                        ident.getUser());
+            eventDispatcher.execute(() -> dispatchUsersUpdated(notification, false));
         }
     }
 
-    synchronized boolean isConnected() {
+    boolean isConnected() {
         try {
             checkAccess();
             return true;
@@ -588,15 +632,15 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void renewSession() throws NotConnectedException {
-        UniqueID id = checkAccess();
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+    void renewSession() throws NotConnectedException {
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
     }
 
-    synchronized IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
-        IdentifiedJob ij = jobs.get(jobId);
+    IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
+        IdentifiedJob ij = jobId == null ? null : jobs.get(jobId);
 
         if (ij == null) {
             String msg = "The job represented by this ID '" + jobId + "' is unknown !";
@@ -608,17 +652,17 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     }
 
-    synchronized void checkChangeJobPriority(JobId jobId, JobPriority priority)
+    void checkChangeJobPriority(JobId jobId, JobPriority priority)
             throws NotConnectedException, UnknownJobException, PermissionException, JobAlreadyFinishedException {
 
+        IdentifiedJob identifiedJob = getIdentifiedJob(jobId);
         checkPermissions("changeJobPriority",
-                         getIdentifiedJob(jobId),
+                         identifiedJob,
                          YOU_DO_NOT_HAVE_PERMISSION_TO_CHANGE_THE_PRIORITY_OF_THIS_JOB);
 
-        UserIdentificationImpl ui = identifications.get(PAActiveObject.getContext()
-                                                                      .getCurrentRequest()
-                                                                      .getSourceBodyID())
-                                                   .getUser();
+        UserIdentificationImpl ui = getListeningUser(PAActiveObject.getContext()
+                                                                   .getCurrentRequest()
+                                                                   .getSourceBodyID()).getUser();
 
         try {
             ui.checkPermission(new ChangePriorityPermission(priority.getPriority()),
@@ -628,14 +672,14 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             throw ex;
         }
 
-        if (jobs.get(jobId).isFinished()) {
+        if (identifiedJob.isFinished()) {
             String msg = " is already finished";
             jlogger.info(jobId, msg);
             throw new JobAlreadyFinishedException("Job " + jobId + msg);
         }
     }
 
-    synchronized void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
+    void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
             throws NotConnectedException, UnknownJobException, PermissionException {
         try {
             checkJobOwner(methodName, identifiedJob, errorMessage);
@@ -653,7 +697,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
+    void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
             throws NotConnectedException, UnknownJobException, PermissionException {
         ListeningUser ident = checkPermissionReturningListeningUser(methodName, permissionMsg);
 
@@ -662,27 +706,25 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized Set<TaskId> getJobTasks(JobId jobId) {
+    Set<TaskId> getJobTasks(JobId jobId) {
         JobState jobState = jobsMap.get(jobId);
+        if (jobState == null) {
+            return Collections.emptySet();
+        }
         synchronized (jobState) {
-            if (jobState == null) {
-                return Collections.emptySet();
-            } else {
-                Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
-                for (TaskState task : jobState.getTasks()) {
-                    tasks.add(task.getId());
-                }
-                return tasks;
+            Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
+            for (TaskState task : jobState.getTasks()) {
+                tasks.add(task.getId());
             }
+            return tasks;
         }
     }
 
-    synchronized JobState getJobState(JobId jobId)
-            throws NotConnectedException, UnknownJobException, PermissionException {
+    JobState getJobState(JobId jobId) throws NotConnectedException, UnknownJobException, PermissionException {
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_JOB);
-        ClientJobState jobState = jobsMap.get(jobId);
+        ClientJobState jobState = getClientJobState(jobId);
         ClientJobState jobStateCopy;
         synchronized (jobState) {
             try {
@@ -695,15 +737,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return jobStateCopy;
     }
 
-    synchronized TaskState getTaskState(JobId jobId, TaskId taskId)
+    TaskState getTaskState(JobId jobId, TaskId taskId)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
-        JobState jobState = jobsMap.get(jobId);
+        JobState jobState = getClientJobState(jobId);
         synchronized (jobState) {
             TaskState ts = jobState.getHMTasks().get(taskId);
             if (ts == null) {
@@ -713,16 +752,14 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized TaskState getTaskState(JobId jobId, String taskName)
+    TaskState getTaskState(JobId jobId, String taskName)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
 
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
 
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
+        JobState jobState = getClientJobState(jobId);
         TaskId taskId = null;
         for (TaskId t : getJobTasks(jobId)) {
             if (t.getReadableName().equals(taskName)) {
@@ -732,7 +769,6 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         if (taskId == null) {
             throw new UnknownTaskException(taskName, jobId);
         }
-        JobState jobState = jobsMap.get(jobId);
         synchronized (jobState) {
             TaskState ts = jobState.getHMTasks().get(taskId);
             if (ts == null) {
@@ -742,10 +778,8 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
-        if (jobsMap.get(jobId) == null) {
-            throw new UnknownJobException(jobId);
-        }
+    TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
+        getClientJobState(jobId);
         TaskId taskId = null;
         for (TaskId t : getJobTasks(jobId)) {
             if (t.getReadableName().equals(taskName)) {
@@ -758,10 +792,10 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return taskId;
     }
 
-    synchronized void checkChangePolicy() throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
+    void checkChangePolicy() throws NotConnectedException, PermissionException {
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
 
@@ -774,10 +808,10 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkLinkResourceManager() throws NotConnectedException, PermissionException {
-        UniqueID id = checkAccess();
+    void checkLinkResourceManager() throws NotConnectedException, PermissionException {
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
 
@@ -851,8 +885,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                     // is allowed
                     if ((userId.getUser().getUserEvents() == null) ||
                         userId.getUser().getUserEvents().contains(eventType)) {
-                        userId.getListener().addEvent(eventMethods.get(SCHEDULER_STATE_UPDATED_EVENT_METHOD),
-                                                      eventType);
+                        userId.addEvent(eventMethods.get(SCHEDULER_STATE_UPDATED_EVENT_METHOD), eventType);
                     }
                 }
             }
@@ -885,7 +918,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_SUBMITTED_EVENT_METHOD), job);
+                            listeningUserId.addEvent(eventMethods.get(JOB_SUBMITTED_EVENT_METHOD), job);
                         }
                     }
 
@@ -930,8 +963,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listeningUserId.addEvent(eventMethods.get(JOB_STATE_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -965,8 +997,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_UPDATED_FULL_DATA_EVENT_METHOD),
-                                                                   job);
+                            listeningUserId.addEvent(eventMethods.get(JOB_UPDATED_FULL_DATA_EVENT_METHOD), job);
                         }
                     }
 
@@ -1003,8 +1034,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(TASK_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listeningUserId.addEvent(eventMethods.get(TASK_STATE_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -1039,8 +1069,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() &&
                              userId.getUsername().equals(notification.getData().getUsername()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(USERS_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listeningUserId.addEvent(eventMethods.get(USERS_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -1056,7 +1085,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     @Override
-    public synchronized void schedulerStateUpdated(SchedulerEvent eventType) {
+    public void schedulerStateUpdated(final SchedulerEvent eventType) {
         switch (eventType) {
             case STARTED:
                 sState.setState(SchedulerStatus.STARTED);
@@ -1094,20 +1123,24 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 return;
         }
         // send the event for all case, except default
-        dispatchSchedulerStateUpdated(eventType);
-        this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
+        eventDispatcher.execute(() -> {
+            dispatchSchedulerStateUpdated(eventType);
+            this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
+        });
     }
 
     @Override
-    public synchronized void jobSubmitted(JobState job) {
+    public void jobSubmitted(final JobState job) {
         ClientJobState storedJobState = new ClientJobState(job);
-        jobsMap.put(job.getId(), storedJobState);
-        sState.update(storedJobState);
-        dispatchJobSubmitted(job);
+        synchronized (storedJobState) {
+            jobsMap.put(job.getId(), storedJobState);
+            sState.update(storedJobState);
+            eventDispatcher.execute(() -> dispatchJobSubmitted(job));
+        }
     }
 
     @Override
-    public synchronized void jobStateUpdated(String owner, NotificationData<JobInfo> notification) {
+    public void jobStateUpdated(final String owner, final NotificationData<JobInfo> notification) {
         ClientJobState js = jobsMap.get(notification.getData().getJobId());
         boolean withAttachment = false;
         synchronized (js) {
@@ -1149,19 +1182,19 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                                 notification.getEventType());
                     return;
             }
-            dispatchJobStateUpdated(owner, notification);
+            eventDispatcher.execute(() -> dispatchJobStateUpdated(owner, notification));
             new JobEmailNotification(js, notification, dbManager).checkAndSendAsync(withAttachment);
         }
     }
 
     @Override
-    public synchronized void jobUpdatedFullData(JobState jobstate) {
-        ClientJobState storedJobState = new ClientJobState(jobstate);
-        dispatchJobUpdatedFullData(storedJobState);
+    public void jobUpdatedFullData(JobState jobstate) {
+        final ClientJobState storedJobState = new ClientJobState(jobstate);
+        eventDispatcher.execute(() -> dispatchJobUpdatedFullData(storedJobState));
     }
 
     @Override
-    public synchronized void taskStateUpdated(String owner, NotificationData<TaskInfo> notification) {
+    public void taskStateUpdated(final String owner, final NotificationData<TaskInfo> notification) {
         JobState jobState = jobsMap.get(notification.getData().getJobId());
         synchronized (jobState) {
             jobState.update(notification.getData());
@@ -1173,7 +1206,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 case TASK_SKIPPED:
                 case TASK_REPLICATED:
                 case TASK_IN_ERROR_TO_FINISHED:
-                    dispatchTaskStateUpdated(owner, notification);
+                    eventDispatcher.execute(() -> dispatchTaskStateUpdated(owner, notification));
                     break;
                 case TASK_PROGRESS:
                     // this event can be sent while task is already finished,
@@ -1181,7 +1214,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                     // already finished.
                     // so if task is not finished, send event
                     if (notification.getData().getFinishedTime() <= 0) {
-                        dispatchTaskStateUpdated(owner, notification);
+                        eventDispatcher.execute(() -> dispatchTaskStateUpdated(owner, notification));
                     }
                     break;
                 default:
@@ -1192,10 +1225,10 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     @Override
-    public synchronized void usersUpdated(NotificationData<UserIdentification> notification) {
+    public void usersUpdated(final NotificationData<UserIdentification> notification) {
         switch (notification.getEventType()) {
             case USERS_UPDATE:
-                dispatchUsersUpdated(notification, true);
+                eventDispatcher.execute(() -> dispatchUsersUpdated(notification, true));
                 break;
             default:
                 logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
@@ -1204,18 +1237,18 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     public String getCurrentUser() throws NotConnectedException {
-        UniqueID id = checkAccess();
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
         return ident.getUsername();
     }
 
     public UserData getCurrentUserData() throws NotConnectedException {
-        UniqueID id = checkAccess();
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
         UserData userData = new UserData();
@@ -1224,7 +1257,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return userData;
     }
 
-    synchronized List<SchedulerUserInfo> getUsers() {
+    List<SchedulerUserInfo> getUsers() {
         List<SchedulerUserInfo> users = new ArrayList<>(identifications.size());
         for (ListeningUser listeningUser : identifications.values()) {
             UserIdentificationImpl user = listeningUser.getUser();
@@ -1238,19 +1271,19 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     public Map<String, Object> getSchedulerProperties() throws NotConnectedException {
-        UniqueID id = checkAccess();
+        UniqueID id = PAActiveObject.getContext().getCurrentRequest().getSourceBodyID();
 
-        UserIdentificationImpl ident = identifications.get(id).getUser();
+        UserIdentificationImpl ident = getListeningUser(id).getUser();
         renewUserSession(id, ident);
         return PASchedulerProperties.getPropertiesAsHashMap();
     }
 
-    synchronized TaskStatesPage getTaskPaginated(JobId jobId, int offset, int limit)
+    TaskStatesPage getTaskPaginated(JobId jobId, int offset, int limit)
             throws UnknownJobException, NotConnectedException, PermissionException {
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_JOB);
-        ClientJobState jobState = jobsMap.get(jobId);
+        ClientJobState jobState = getClientJobState(jobId);
         synchronized (jobState) {
             try {
                 final TaskStatesPage tasksPaginated = jobState.getTasksPaginated(offset, limit);
@@ -31,15 +31,19 @@ import java.security.PrivateKey;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
-import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.api.PAFuture;
 import org.objectweb.proactive.core.node.Node;
@@ -68,8 +72,10 @@ import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.policy.Policy;
 import org.ow2.proactive.scheduler.synchronization.SynchronizationWrapper;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.TaskLauncherInitializer;
 import org.ow2.proactive.scheduler.task.containers.ExecutableContainer;
 import org.ow2.proactive.scheduler.task.containers.ScriptExecutableContainer;
+import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
 import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.scheduler.task.internal.TaskRecoveryData;
 import org.ow2.proactive.scheduler.util.JobLogger;
@@ -83,6 +89,7 @@ import org.ow2.proactive.utils.Criteria;
 import org.ow2.proactive.utils.NodeSet;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 
 /**
@@ -112,6 +119,9 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     protected TimeoutThreadPoolExecutor threadPool;
 
+    /** Thread pool used to create the task launchers of a batch of tasks concurrently */
+    protected ExecutorService launcherCreationPool;
+
     protected PrivateKey corePrivateKey;
 
     private TaskTerminateNotification terminateNotification;
@@ -120,6 +130,8 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     private SchedulingMainLoopTimingLogger schedulingMainLoopTimingLogger;
 
+    private boolean firstTasksStarted = false;
+
     public SchedulingMethodImpl(SchedulingService schedulingService) throws Exception {
         this.schedulingService = schedulingService;
         this.checkEligibleTaskDescriptorScript = new CheckEligibleTaskDescriptorScript();
@@ -133,6 +145,8 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
         this.threadPool = TimeoutThreadPoolExecutor.newFixedThreadPool(PASchedulerProperties.SCHEDULER_STARTTASK_THREADNUMBER.getValueAsInt(),
                                                                        new NamedThreadFactory("DoTask_Action"));
+        this.launcherCreationPool = Executors.newFixedThreadPool(PASchedulerProperties.SCHEDULER_STARTTASK_LAUNCHER_THREADNUMBER.getValueAsInt(),
+                                                                 new NamedThreadFactory("TaskLauncher_Creation"));
         this.corePrivateKey = Credentials.getPrivateKey(PASchedulerProperties.getAbsolutePath(PASchedulerProperties.SCHEDULER_AUTH_PRIVKEY_PATH.getValueAsString()));
     }
 
@@ -187,11 +201,23 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
         if (tasksStarted > 0) {
             schedulingMainLoopTimingLogger.printTimingsINFOLevel();
+            logTimeToFirstSchedule();
         }
 
         return tasksStarted;
     }
 
+    private void logTimeToFirstSchedule() {
+        if (!firstTasksStarted) {
+            firstTasksStarted = true;
+            long recoveryStartTime = schedulingService.getRecoveryStartTime();
+            if (recoveryStartTime > 0) {
+                logger.info("First tasks started " + (System.currentTimeMillis() - recoveryStartTime) +
+                            " ms after the recovery of the scheduler state began");
+            }
+        }
+    }
+
     private int startTasks(Policy currentPolicy, Map<JobId, JobDescriptor> jobMap, Map<JobId, JobDescriptor> toUnlock) {
         try {
             List<JobDescriptor> descriptors = new ArrayList<>(jobMap.values());
@@ -206,12 +232,13 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
             schedulingMainLoopTimingLogger.end("getFreeResources");
 
             schedulingMainLoopTimingLogger.start("getOrderedTasks");
-            // ask the policy all the tasks to be schedule according to the jobs list.
-            LinkedList<EligibleTaskDescriptor> fullListOfTaskRetrievedFromPolicy = currentPolicy.getOrderedTasks(descriptors);
+            // ask the policy all the tasks to be schedule according to the jobs list,
+            // they are retrieved on demand while there are free resources
+            Iterator<EligibleTaskDescriptor> orderedTasks = currentPolicy.getOrderedTasksIterator(descriptors);
             schedulingMainLoopTimingLogger.end("getOrderedTasks");
 
             //if there is no task to scheduled, return without starting any task
-            if (fullListOfTaskRetrievedFromPolicy == null || fullListOfTaskRetrievedFromPolicy.isEmpty()) {
+            if (orderedTasks == null || !orderedTasks.hasNext()) {
                 return 0;
             }
 
@@ -219,7 +246,7 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
             toUnlock = unlockResources(toUnlock);
             schedulingMainLoopTimingLogger.end("unlockResources");
 
-            return getNumberOfTaskStarted(currentPolicy, jobMap, freeResources, fullListOfTaskRetrievedFromPolicy);
+            return getNumberOfTaskStarted(currentPolicy, jobMap, freeResources, orderedTasks);
         } finally {
             if (toUnlock != null) {
                 schedulingService.unlockJobsToSchedule(toUnlock.values());
@@ -228,8 +255,8 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     private int getNumberOfTaskStarted(Policy currentPolicy, Map<JobId, JobDescriptor> jobMap,
-            Set<String> freeResources, LinkedList<EligibleTaskDescriptor> fullListOfTaskRetrievedFromPolicy) {
-        return selectAndStartTasks(currentPolicy, jobMap, freeResources, fullListOfTaskRetrievedFromPolicy);
+            Set<String> freeResources, Iterator<EligibleTaskDescriptor> orderedTasks) {
+        return selectAndStartTasks(currentPolicy, jobMap, freeResources, orderedTasks);
 
     }
 
@@ -242,7 +269,8 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     private Set<String> getFreeResources(Policy currentPolicy) {
         RMState rmState = getRMProxiesManager().getRmProxy().getState();
         currentPolicy.setRMState(rmState);
-        Set<String> freeResources = rmState.getFreeNodes();
+        // the state is shared with the RM proxy, the free nodes are updated while tasks are started
+        Set<String> freeResources = new HashSet<>(rmState.getFreeNodes());
         if (logger.isDebugEnabled()) {
             logger.debug("eligible nodes : " + (freeResources.size() < 5 ? freeResources : freeResources.size()));
         }
@@ -259,19 +287,25 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     private int selectAndStartTasks(Policy currentPolicy, Map<JobId, JobDescriptor> jobMap, Set<String> freeResources,
-            LinkedList<EligibleTaskDescriptor> fullListOfTaskRetrievedFromPolicy) {
+            Iterator<EligibleTaskDescriptor> orderedTasks) {
         int numberOfTaskStarted = 0;
 
-        VariableBatchSizeIterator progressiveIterator = new VariableBatchSizeIterator(fullListOfTaskRetrievedFromPolicy);
+        VariableBatchSizeIterator<EligibleTaskDescriptor> progressiveIterator = new VariableBatchSizeIterator<>(orderedTasks);
 
         while (progressiveIterator.hasMoreElements() && !freeResources.isEmpty()) {
 
             LinkedList<EligibleTaskDescriptor> taskRetrievedFromPolicy = new LinkedList<>(progressiveIterator.getNextElements(freeResources.size()));
 
             if (logger.isDebugEnabled()) {
-                loggingEligibleTasksDetails(fullListOfTaskRetrievedFromPolicy, taskRetrievedFromPolicy);
+                loggingEligibleTasksDetails(progressiveIterator, taskRetrievedFromPolicy);
             }
 
+            schedulingMainLoopTimingLogger.start("loadTaskBodies");
+
+            loadTaskBodies(taskRetrievedFromPolicy);
+
+            schedulingMainLoopTimingLogger.end("loadTaskBodies");
+
             schedulingMainLoopTimingLogger.start("updateVariablesForTasksToSchedule");
 
             updateVariablesForTasksToSchedule(taskRetrievedFromPolicy);
@@ -333,80 +367,31 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                 }
 
                 //start selected tasks
-                Node node = null;
-                InternalJob currentJob = null;
-                try {
-                    while (nodeSet != null && !nodeSet.isEmpty()) {
-                        EligibleTaskDescriptor taskDescriptor = tasksToSchedule.removeFirst();
-                        currentJob = ((JobDescriptorImpl) jobMap.get(taskDescriptor.getJobId())).getInternal();
-                        InternalTask internalTask = ((EligibleTaskDescriptorImpl) taskDescriptor).getInternal();
-
-                        if (currentPolicy.isTaskExecutable(nodeSet, taskDescriptor)) {
-                            //create launcher and try to start the task
-                            node = nodeSet.get(0);
-
-                            schedulingMainLoopTimingLogger.start("createExecution");
-
-                            if (createExecution(nodeSet, node, currentJob, internalTask, taskDescriptor)) {
-                                numberOfTaskStarted++;
-                            }
-                            schedulingMainLoopTimingLogger.end("createExecution");
-
-                        }
-
-                        //if every task that should be launched have been removed
-                        if (tasksToSchedule.isEmpty()) {
-                            //get back unused nodes to the RManager
-                            if (!nodeSet.isEmpty()) {
-                                schedulingMainLoopTimingLogger.start("releaseNodes");
-                                releaseNodes(currentJob, nodeSet);
-                                freeResources.addAll(nodeSet.getAllNodesUrls());
-                                schedulingMainLoopTimingLogger.end("releaseNodes");
-                            }
-                            //and leave the loop
-                            break;
-                        }
-                    }
-                } catch (ActiveObjectCreationException e1) {
-                    //Something goes wrong with the active object creation (createLauncher)
-                    logger.warn("An exception occured while creating the task launcher.", e1);
-                    //so try to get back every remaining nodes to the resource manager
-                    try {
-                        releaseNodes(currentJob, nodeSet);
-                        freeResources.addAll(nodeSet.getAllNodesUrls());
-                    } catch (Exception e2) {
-                        logger.info("Unable to get back the nodeSet to the RM", e2);
-                    }
-                    if (--activeObjectCreationRetryTimeNumber == 0) {
+                if (nodeSet != null) {
+                    numberOfTaskStarted += startTasksOnNodes(currentPolicy,
+                                                             jobMap,
+                                                             tasksToSchedule,
+                                                             nodeSet,
+                                                             freeResources);
+                    if (activeObjectCreationRetryTimeNumber <= 0) {
                         break;
                     }
-                } catch (Exception e1) {
-                    //if we are here, it is that something append while launching the current task.
-                    logger.warn("An exception occured while starting task.", e1);
-                    //so try to get back every remaining nodes to the resource manager
-                    try {
-                        releaseNodes(currentJob, nodeSet);
-                        freeResources.addAll(nodeSet.getAllNodesUrls());
-                    } catch (Exception e2) {
-                        logger.info("Unable to get back the nodeSet to the RM", e2);
-                    }
                 }
             }
             if (freeResources.isEmpty()) {
                 break;
             }
-            if (activeObjectCreationRetryTimeNumber == 0) {
+            if (activeObjectCreationRetryTimeNumber <= 0) {
                 break;
             }
         }
         return numberOfTaskStarted;
     }
 
-    private void loggingEligibleTasksDetails(LinkedList<EligibleTaskDescriptor> fullListOfTaskRetrievedFromPolicy,
+    private void loggingEligibleTasksDetails(VariableBatchSizeIterator<EligibleTaskDescriptor> progressiveIterator,
             LinkedList<EligibleTaskDescriptor> taskRetrievedFromPolicy) {
-        logger.debug("full list of eligible tasks: " +
-                     (fullListOfTaskRetrievedFromPolicy.size() < 5 ? fullListOfTaskRetrievedFromPolicy
-                                                                   : fullListOfTaskRetrievedFromPolicy.size()));
+        logger.debug("eligible tasks retrieved from policy: " + progressiveIterator.getRetrievedElements() +
+                     (progressiveIterator.hasMoreElements() ? ", more remaining" : ", none remaining"));
         logger.debug("working list of eligible tasks: " +
                      (taskRetrievedFromPolicy.size() < 5 ? taskRetrievedFromPolicy : taskRetrievedFromPolicy.size()));
     }
@@ -648,12 +633,31 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         }
     }
 
+    /**
+     * Load at once the scripts and dataspace selectors of the recovered tasks which were loaded without them,
+     * instead of one transaction per task when they are first accessed.
+     */
+    private void loadTaskBodies(List<EligibleTaskDescriptor> tasks) {
+        List<InternalTask> internalTasks = new ArrayList<>(tasks.size());
+        for (EligibleTaskDescriptor task : tasks) {
+            internalTasks.add(((EligibleTaskDescriptorImpl) task).getInternal());
+        }
+        try {
+            getDBManager().loadTaskBodies(internalTasks);
+        } catch (Exception e) {
+            // the bodies will be loaded task by task
+            logger.warn("Failed to load the bodies of the tasks to schedule", e);
+        }
+    }
+
     /**
      * Load and initialize the task to be started
      *
      * @param task the task to be initialized
      */
     protected void loadAndInit(InternalTask task) {
+        // scripts and dataspace selectors of recovered tasks are loaded when the tasks become eligible
+        task.loadBody();
         if ((task.getExecutableContainer() == null) ||
             ((ScriptExecutableContainer) task.getExecutableContainer()).getScript() == null) {
             tlogger.debug(task.getId(), "initializing the executable container");
@@ -677,148 +681,378 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     /**
-     * Create launcher and try to start the task.
+     * Start the given tasks on the given node set.<br>
+     * The tasks are first prepared one by one, then the launchers of all the prepared tasks are created
+     * concurrently and the tasks are finally marked as started together.
+     * A failure to start one task gives its nodes back to the resource manager without stopping the others.
+     *
+     * @param currentPolicy the current scheduling policy
+     * @param jobMap the jobs selected to be scheduled
+     * @param tasksToSchedule the compatible tasks to start
+     * @param nodeSet the node set containing every available nodes that can be used for execution
+     * @param freeResources the urls of the free nodes, updated with the nodes given back to the resource manager
+     * @return the number of tasks that have been started
+     */
+    private int startTasksOnNodes(Policy currentPolicy, Map<JobId, JobDescriptor> jobMap,
+            LinkedList<EligibleTaskDescriptor> tasksToSchedule, NodeSet nodeSet, Set<String> freeResources) {
+        List<TaskLaunch> launches = new ArrayList<>(tasksToSchedule.size());
+        try {
+            InternalJob currentJob = null;
+            try {
+                schedulingMainLoopTimingLogger.start("prepareExecution");
+                while (!nodeSet.isEmpty() && !tasksToSchedule.isEmpty()) {
+                    EligibleTaskDescriptor taskDescriptor = tasksToSchedule.removeFirst();
+                    currentJob = ((JobDescriptorImpl) jobMap.get(taskDescriptor.getJobId())).getInternal();
+                    InternalTask internalTask = ((EligibleTaskDescriptorImpl) taskDescriptor).getInternal();
+
+                    if (currentPolicy.isTaskExecutable(nodeSet, taskDescriptor)) {
+                        TaskLaunch launch = prepareExecution(nodeSet, currentJob, internalTask, taskDescriptor);
+                        if (launch != null) {
+                            launches.add(launch);
+                        }
+                    }
+                }
+                schedulingMainLoopTimingLogger.end("prepareExecution");
+
+                //every task that should be launched have been removed, get back unused nodes to the RManager
+                if (!nodeSet.isEmpty()) {
+                    schedulingMainLoopTimingLogger.start("releaseNodes");
+                    releaseNodes(currentJob, nodeSet);
+                    freeResources.addAll(nodeSet.getAllNodesUrls());
+                    schedulingMainLoopTimingLogger.end("releaseNodes");
+                }
+            } catch (Exception e1) {
+                //if we are here, it is that something append while preparing the current task.
+                logger.warn("An exception occured while starting task.", e1);
+                //so try to get back every remaining nodes to the resource manager
+                try {
+                    releaseNodes(currentJob, nodeSet);
+                    freeResources.addAll(nodeSet.getAllNodesUrls());
+                } catch (Exception e2) {
+                    logger.info("Unable to get back the nodeSet to the RM", e2);
+                }
+            }
+
+            if (launches.isEmpty()) {
+                return 0;
+            }
+
+            schedulingMainLoopTimingLogger.start("createExecution");
+            int tasksStarted = createExecutions(launches, freeResources);
+            schedulingMainLoopTimingLogger.end("createExecution");
+            schedulingMainLoopTimingLogger.tasksStarted(tasksStarted);
+            return tasksStarted;
+        } finally {
+            for (TaskLaunch launch : launches) {
+                launch.jobData.unlock();
+            }
+        }
+    }
+
+    /**
+     * Prepare the start of a task: lock its job, start the dataspace application and take the nodes
+     * the task will use from the node set.
      *
      * @param nodeSet the node set containing every available nodes that can be used for execution
-     * @param node the node on which to start the task
      * @param job the job that owns the task to be started
      * @param task the task to be started
      * @param taskDescriptor the descriptor of the task to be started
-     *
+     * @return the prepared launch, holding the job lock, or null if the task cannot be started
      */
-    protected boolean createExecution(NodeSet nodeSet, Node node, InternalJob job, InternalTask task,
-            TaskDescriptor taskDescriptor) throws Exception {
-        TaskLauncher launcher = null;
-        LiveJobs.JobData jobData = null;
+    private TaskLaunch prepareExecution(NodeSet nodeSet, InternalJob job, InternalTask task,
+            TaskDescriptor taskDescriptor) {
+        LiveJobs.JobData jobData = schedulingService.lockJob(job.getId());
+        if (jobData == null) {
+            return null;
+        }
+        boolean prepared = false;
         try {
-            jobData = schedulingService.lockJob(job.getId());
             //enough nodes to be launched at same time for a communicating task
             // task is not paused
-            if (nodeSet.size() >= task.getNumberOfNodesNeeded() && (task.getStatus() != TaskStatus.PAUSED) &&
-                (jobData != null)) {
-                //start dataspace app for this job
-                DataSpaceServiceStarter dsStarter = schedulingService.getInfrastructure().getDataSpaceServiceStarter();
-                job.startDataSpaceApplication(dsStarter.getNamingService(), ImmutableList.of(task));
-                job.setSynchronizationAPI(schedulingService.getSynchronizationAPI());
-
-                NodeSet nodes = new NodeSet();
-                try {
+            if (nodeSet.size() < task.getNumberOfNodesNeeded() || task.getStatus() == TaskStatus.PAUSED) {
+                return null;
+            }
+            //start dataspace app for this job
+            DataSpaceServiceStarter dsStarter = schedulingService.getInfrastructure().getDataSpaceServiceStarter();
+            job.startDataSpaceApplication(dsStarter.getNamingService(), ImmutableList.of(task));
+            job.setSynchronizationAPI(schedulingService.getSynchronizationAPI());
+            // read the job and task state now, the launcher is created without the job lock
+            TaskLauncherInitializer initializer;
+            try {
+                initializer = task.createLauncherInitializer();
+            } catch (Exception e) {
+                logger.warn("An exception occured while preparing the launcher of task " + task.getId(), e);
+                return null;
+            }
 
-                    // create launcher
-                    schedulingMainLoopTimingLogger.start("createLauncher");
+            Node node = nodeSet.remove(0);
 
-                    launcher = task.createLauncher(node);
+            //if topology is enabled and it is a multi task, give every nodes to the multi-nodes task
+            // we will need to update this code once topology will be allowed for single-node task
+            NodeSet nodes = new NodeSet();
+            if (task.isParallel()) {
+                nodes = new NodeSet(nodeSet);
+                nodeSet.clear();
+            }
+            prepared = true;
+            return new TaskLaunch(job, task, taskDescriptor, jobData, initializer, node, nodes);
+        } finally {
+            if (!prepared) {
+                jobData.unlock();
+            }
+        }
+    }
 
-                    schedulingMainLoopTimingLogger.end("createLauncher");
+    /**
+     * Create the launchers of the prepared tasks and try to start them.
+     *
+     * @param launches the prepared tasks
+     * @param freeResources the urls of the free nodes, updated with the nodes given back to the resource manager
+     * @return the number of tasks that have been started
+     */
+    private int createExecutions(List<TaskLaunch> launches, Set<String> freeResources) {
+        // create launchers
+        schedulingMainLoopTimingLogger.start("createLauncher");
+        createLaunchers(launches);
+        schedulingMainLoopTimingLogger.end("createLauncher");
+
+        List<TaskLaunch> deployed = new ArrayList<>(launches.size());
+        for (TaskLaunch launch : launches) {
+            if (launch.launcher == null) {
+                //Something goes wrong with the active object creation (createLauncher)
+                logger.warn("An exception occured while creating the task launcher.", launch.failure);
+                activeObjectCreationRetryTimeNumber--;
+                releaseNodes(launch, freeResources);
+                continue;
+            }
+            activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
+            launch.task.setExecuterInformation(launch.executerInformation);
+            if (!schedulingService.canTaskStart(launch.job, launch.task)) {
+                tlogger.warn(launch.task.getId(), "cannot be started, its job is gone or it is already running");
+                stopLauncher(launch);
+                releaseNodes(launch, freeResources);
+                continue;
+            }
+            try {
+                deploy(launch);
+                deployed.add(launch);
+            } catch (Exception e) {
+                logger.warn("An exception occured while starting task.", e);
+                releaseNodes(launch, freeResources);
+            }
+        }
 
-                    activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
+        if (deployed.isEmpty()) {
+            return 0;
+        }
 
-                    nodeSet.remove(0);
+        // we advertise here that the tasks are started, however
+        // this is not entirely true: the only thing we are sure
+        // about at this point is that we submitted to the thread
+        // pool the actions that will call the "doTask" of the task
+        // launchers. There is thus a small gap here where a task
+        // is seen as started whereas it is not yet started. We
+        // cannot easily move the task started notification because
+        // 1) it makes the job lock acquisition less predictable
+        // (because the TimeDoTaskAction will have to compete with
+        // the SchedulingMethodImpl)
+        // and more importantly 2) the
+        // SchedulingMethodImpl#createExecutions may happen to be
+        // called a second time for a task that is currently being
+        // started by the TimedDoTaskAction.
+        // The tasks are already being launched, so their nodes are only given back when a task is
+        // rejected, after its launcher is stopped.
+        schedulingMainLoopTimingLogger.start("finalizeStarting");
+        List<TaskLaunch> rejected = finalizeStarting(deployed);
+        schedulingMainLoopTimingLogger.end("finalizeStarting");
+        for (TaskLaunch launch : rejected) {
+            stopLauncher(launch);
+            releaseNodes(launch, freeResources);
+        }
+        return deployed.size() - rejected.size();
+    }
 
-                    //if topology is enabled and it is a multi task, give every nodes to the multi-nodes task
-                    // we will need to update this code once topology will be allowed for single-node task
-                    if (task.isParallel()) {
-                        nodes = new NodeSet(nodeSet);
-                        task.getExecuterInformation().addNodes(nodes);
-                        nodeSet.clear();
-                    }
+    /**
+     * Stop the launcher of a task which will not be started.
+     */
+    private void stopLauncher(TaskLaunch launch) {
+        try {
+            launch.launcher.kill();
+        } catch (Exception e) {
+            logger.info("Unable to stop the launcher of task " + launch.task.getId(), e);
+        }
+    }
 
-                    //set nodes in the executable container
-                    task.getExecutableContainer().setNodes(nodes);
+    /**
+     * Create the launchers of the given tasks, concurrently when there are several of them.
+     * A failure is recorded in the launch of the task and does not prevent the other launchers creation.
+     */
+    private void createLaunchers(List<TaskLaunch> launches) {
+        if (launches.size() == 1) {
+            launches.get(0).createLauncher();
+            return;
+        }
+        List<Future<?>> creations = new ArrayList<>(launches.size());
+        for (TaskLaunch launch : launches) {
+            creations.add(launcherCreationPool.submit(launch::createLauncher));
+        }
+        for (int i = 0; i < creations.size(); i++) {
+            try {
+                Uninterruptibles.getUninterruptibly(creations.get(i));
+            } catch (ExecutionException e) {
+                launches.get(i).failure = e.getCause();
+            }
+        }
+    }
 
-                    tlogger.debug(task.getId(), "deploying");
+    /**
+     * Give the nodes of a task which could not be started back to the resource manager.
+     */
+    private void releaseNodes(TaskLaunch launch, Set<String> freeResources) {
+        //free nodeSet for multi-nodes task
+        NodeSet nodes = new NodeSet(launch.nodes);
+        nodes.add(launch.node);
+        try {
+            releaseNodes(launch.job, nodes);
+            freeResources.addAll(nodes.getAllNodesUrls());
+        } catch (Exception e) {
+            logger.info("Unable to get back the nodeSet to the RM", e);
+        }
+    }
 
-                    // Dynamically adjust the start-task-timeout according to the number dependency tasks in a merge.
-                    // above 500 parent tasks, it is worth adjusting.
-                    if (taskDescriptor.getParents().size() > 500) {
-                        dotaskActionTimeout = (int) (taskDescriptor.getParents().size() / 500.0 *
-                                                     PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt());
-                    } else {
-                        // reset the dotaskActionTimeout to its default value otherwise.
-                        dotaskActionTimeout = PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt();
-                    }
+    /**
+     * Submit the action which will start a task whose launcher has been created.
+     *
+     * @param launch the task to start
+     */
+    private void deploy(TaskLaunch launch) throws Exception {
+        InternalTask task = launch.task;
+        TaskDescriptor taskDescriptor = launch.taskDescriptor;
 
-                    schedulingMainLoopTimingLogger.start("areNodesRecoverable");
-                    boolean taskRecoverable = getRMProxiesManager().getRmProxy().areNodesRecoverable(nodes);
-                    schedulingMainLoopTimingLogger.end("areNodesRecoverable");
-
-                    schedulingMainLoopTimingLogger.start("terminateNotificationNodeURL");
-                    String terminateNotificationNodeURL = PAActiveObject.getActiveObjectNode(terminateNotification)
-                                                                        .getNodeInformation()
-                                                                        .getURL();
-                    TaskRecoveryData taskRecoveryData = new TaskRecoveryData(terminateNotificationNodeURL,
-                                                                             taskRecoverable);
-                    schedulingMainLoopTimingLogger.start("terminateNotificationNodeURL");
-
-                    schedulingMainLoopTimingLogger.start("submitWithTimeout");
-
-                    threadPool.submitWithTimeout(new TimedDoTaskAction(job,
-                                                                       taskDescriptor,
-                                                                       launcher,
-                                                                       schedulingService,
-                                                                       terminateNotification,
-                                                                       corePrivateKey,
-                                                                       taskRecoveryData),
-
-                                                 dotaskActionTimeout,
-                                                 TimeUnit.MILLISECONDS);
-
-                    schedulingMainLoopTimingLogger.end("submitWithTimeout");
-
-                    // we advertise here that the task is started, however
-                    // this is not entirely true: the only thing we are sure
-                    // about at this point is that we submitted to the thread
-                    // pool the action that will call the "doTask" of the task
-                    // launcher. There is thus a small gap here where the task
-                    // is seen as started whereas it is not yet started. We
-                    // cannot easily move the task started notification because
-                    // 1) it makes the job lock acquisition less predictable
-                    // (because the TimeDoTaskAction will have to compete with
-                    // the SchedulingMethodImpl)
-                    // and more importantly 2) the
-                    // SchedulingMethodImpl#createExecution may happen to be
-                    // called a second time for the task that is currently being
-                    // started by the TimedDoTaskAction.
-                    schedulingMainLoopTimingLogger.start("finalizeStarting");
-                    finalizeStarting(job, task, node, launcher);
-                    schedulingMainLoopTimingLogger.end("finalizeStarting");
-                    return true;
-                } catch (Exception t) {
-                    try {
-                        //if there was a problem, free nodeSet for multi-nodes task
-                        nodes.add(node);
-                        releaseNodes(job, nodes);
-                    } catch (Throwable ni) {
-                        //miam miam
-                    }
-                    throw t;
-                }
+        if (task.isParallel()) {
+            task.getExecuterInformation().addNodes(launch.nodes);
+        }
 
-            } else {
-                return false;
-            }
-        } finally {
-            if (jobData != null) {
-                jobData.unlock();
-            }
+        //set nodes in the executable container
+        task.getExecutableContainer().setNodes(launch.nodes);
+
+        tlogger.debug(task.getId(), "deploying");
+
+        // Dynamically adjust the start-task-timeout according to the number dependency tasks in a merge.
+        // above 500 parent tasks, it is worth adjusting.
+        if (taskDescriptor.getParents().size() > 500) {
+            dotaskActionTimeout = (int) (taskDescriptor.getParents().size() / 500.0 *
+                                         PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt());
+        } else {
+            // reset the dotaskActionTimeout to its default value otherwise.
+            dotaskActionTimeout = PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt();
         }
 
+        schedulingMainLoopTimingLogger.start("areNodesRecoverable");
+        boolean taskRecoverable = getRMProxiesManager().getRmProxy().areNodesRecoverable(launch.nodes);
+        schedulingMainLoopTimingLogger.end("areNodesRecoverable");
+
+        schedulingMainLoopTimingLogger.start("terminateNotificationNodeURL");
+        String terminateNotificationNodeURL = PAActiveObject.getActiveObjectNode(terminateNotification)
+                                                            .getNodeInformation()
+                                                            .getURL();
+        TaskRecoveryData taskRecoveryData = new TaskRecoveryData(terminateNotificationNodeURL, taskRecoverable);
+        schedulingMainLoopTimingLogger.end("terminateNotificationNodeURL");
+
+        schedulingMainLoopTimingLogger.start("submitWithTimeout");
+
+        threadPool.submitWithTimeout(new TimedDoTaskAction(launch.job,
+                                                           taskDescriptor,
+                                                           launch.launcher,
+                                                           schedulingService,
+                                                           terminateNotification,
+                                                           corePrivateKey,
+                                                           taskRecoveryData),
+
+                                     dotaskActionTimeout,
+                                     TimeUnit.MILLISECONDS);
+
+        schedulingMainLoopTimingLogger.end("submitWithTimeout");
     }
 
     /**
-     * Finalize the start of the task by mark it as started. Also mark the job if it is not already started.
+     * Finalize the start of the tasks by mark them as started. Also mark their jobs if they are not already started.
+     * The tasks are stored in the database in a single transaction.
      *
-     * @param job the job that owns the task to be started
-     * @param task the task to be started
-     * @param node the node on which the task will be started
-     * @param launcher the taskLauncher that has just been launched
+     * @param launches the tasks whose launchers have just been launched
+     * @return the tasks which could not be marked as started
      */
-    void finalizeStarting(InternalJob job, InternalTask task, Node node, TaskLauncher launcher) {
-        tlogger.info(task.getId(),
-                     "started on " + node.getNodeInformation().getVMInformation().getHostName() + "(node: " +
-                                   node.getNodeInformation().getName() + ")");
+    List<TaskLaunch> finalizeStarting(List<TaskLaunch> launches) {
+        List<LiveJobs.StartedTask> startedTasks = new ArrayList<>(launches.size());
+        Map<LiveJobs.StartedTask, TaskLaunch> launchesByTask = new HashMap<>();
+        for (TaskLaunch launch : launches) {
+            tlogger.info(launch.task.getId(),
+                         "started on " + launch.node.getNodeInformation().getVMInformation().getHostName() +
+                                              "(node: " + launch.node.getNodeInformation().getName() + ")");
+            LiveJobs.StartedTask startedTask = new LiveJobs.StartedTask(launch.job, launch.task, launch.launcher);
+            startedTasks.add(startedTask);
+            launchesByTask.put(startedTask, launch);
+        }
 
-        schedulingService.taskStarted(job, task, launcher);
+        List<TaskLaunch> rejected = new ArrayList<>();
+        for (LiveJobs.StartedTask startedTask : schedulingService.tasksStarted(startedTasks)) {
+            rejected.add(launchesByTask.get(startedTask));
+        }
+        return rejected;
+    }
+
+    /**
+     * A task being started, with the lock of its job and the nodes it uses.
+     */
+    static final class TaskLaunch {
+
+        final InternalJob job;
+
+        final InternalTask task;
+
+        final TaskDescriptor taskDescriptor;
+
+        final LiveJobs.JobData jobData;
+
+        /** the initializer of the launcher, prepared while holding the job lock */
+        final TaskLauncherInitializer initializer;
+
+        /** the node on which the task launcher is created */
+        final Node node;
+
+        /** the other nodes used by a multi-nodes task */
+        final NodeSet nodes;
+
+        TaskLauncher launcher;
+
+        /** set on the task by the scheduling thread, once the launcher is created */
+        ExecuterInformation executerInformation;
+
+        Throwable failure;
+
+        TaskLaunch(InternalJob job, InternalTask task, TaskDescriptor taskDescriptor, LiveJobs.JobData jobData,
+                TaskLauncherInitializer initializer, Node node, NodeSet nodes) {
+            this.job = job;
+            this.task = task;
+            this.taskDescriptor = taskDescriptor;
+            this.jobData = jobData;
+            this.initializer = initializer;
+            this.node = node;
+            this.nodes = nodes;
+        }
+
+        /**
+         * Create the launcher from the prepared initializer, without reading the state of the job or the task,
+         * so that it can run on the launcher creation pool.
+         */
+        void createLauncher() {
+            try {
+                launcher = task.createLauncher(initializer, node);
+                executerInformation = new ExecuterInformation(launcher, node);
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
     }
 
     private SchedulerDBManager getDBManager() {
@@ -109,12 +109,17 @@ public class SchedulingService {
 
     private final SchedulingThread schedulingThread;
 
+    private final SchedulingSignal schedulingSignal = new SchedulingSignal();
+
     private Thread pinger;
 
     private Scheduler houseKeepingScheduler;
 
     private SynchronizationInternal synchronizationAPI;
 
+    /** Time at which the recovery of the scheduler state began, -1 if the state was not recovered */
+    private long recoveryStartTime = -1;
+
     /**
      * Url used to store the last url of the RM (used to try to reconnect to the rm when it is down)
      */
@@ -248,7 +253,7 @@ public class SchedulingService {
         logger.info("Scheduler has just been resumed !");
         listener.schedulerStateUpdated(SchedulerEvent.RESUMED);
 
-        wakeUpSchedulingThread();
+        wakeUpSchedulingThread(SchedulingSignal.Reason.SCHEDULER_STATE_CHANGED);
 
         return true;
     }
@@ -452,6 +457,20 @@ public class SchedulingService {
         jobs.taskStarted(job, task, launcher);
     }
 
+    /*
+     * Should be called only by scheduling method impl while it holds the locks of all the jobs
+     */
+    List<LiveJobs.StartedTask> tasksStarted(List<LiveJobs.StartedTask> startedTasks) {
+        return jobs.tasksStarted(startedTasks);
+    }
+
+    /*
+     * Should be called only by scheduling method impl while it holds job lock
+     */
+    boolean canTaskStart(InternalJob job, InternalTask task) {
+        return jobs.canTaskStart(job, task);
+    }
+
     /*
      * Should be called only by scheduling method impl while it holds job lock
      */
@@ -502,7 +521,7 @@ public class SchedulingService {
         try {
             return infrastructure.getClientOperationsThreadPool().submit(() -> {
                 Boolean result = jobs.restartAllInErrorTasks(jobId);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.JOB_STATE_CHANGED);
                 return result;
             }).get();
         } catch (Exception e) {
@@ -514,7 +533,7 @@ public class SchedulingService {
         try {
             return infrastructure.getClientOperationsThreadPool().submit(() -> {
                 Boolean result = jobs.resumeJob(jobId);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.JOB_STATE_CHANGED);
                 return result;
             }).get();
         } catch (Exception e) {
@@ -530,7 +549,7 @@ public class SchedulingService {
             infrastructure.getClientOperationsThreadPool().submit(() -> {
                 jlogger.info(jobId, "request to change the priority to " + priority);
                 jobs.changeJobPriority(jobId, priority);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.PRIORITY_CHANGED);
             }).get();
         } catch (Exception e) {
             throw handleFutureWaitException(e);
@@ -567,7 +586,7 @@ public class SchedulingService {
             } catch (Exception e) {
                 logger.error("Exception occurred, fail to get variables into the cleaning script: ", e);
             }
-            wakeUpSchedulingThread();
+            wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
         });
     }
 
@@ -598,7 +617,7 @@ public class SchedulingService {
                 TerminationData terminationData = jobs.killJob(jobId);
                 boolean jobKilled = terminationData.jobTerminated(jobId);
                 submitTerminationDataHandler(terminationData);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
                 return jobKilled;
             }).get();
 
@@ -628,7 +647,7 @@ public class SchedulingService {
                 TerminationData terminationData = jobs.killTask(jobId, taskName, message);
                 boolean taskKilled = terminationData.taskTerminated(jobId, taskName);
                 submitTerminationDataHandler(terminationData);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
                 return taskKilled;
             }).get();
         } catch (ExecutionException e) {
@@ -655,7 +674,7 @@ public class SchedulingService {
                 TerminationData terminationData = jobs.restartTask(jobId, taskName, restartDelay);
                 boolean taskRestarted = terminationData.taskTerminated(jobId, taskName);
                 submitTerminationDataHandler(terminationData);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
                 return taskRestarted;
             }).get();
         } catch (ExecutionException e) {
@@ -682,7 +701,7 @@ public class SchedulingService {
                 TerminationData terminationData = jobs.finishInErrorTask(jobId, taskName);
                 boolean taskfinished = terminationData.taskTerminated(jobId, taskName);
                 submitTerminationDataHandler(terminationData);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
                 return taskfinished;
             }).get();
         } catch (ExecutionException e) {
@@ -707,7 +726,7 @@ public class SchedulingService {
 
             return infrastructure.getClientOperationsThreadPool().submit(() -> {
                 jobs.restartInErrorTask(jobId, taskName);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.JOB_STATE_CHANGED);
                 return Boolean.TRUE;
             }).get();
         } catch (ExecutionException e) {
@@ -730,7 +749,7 @@ public class SchedulingService {
                 TerminationData terminationData = jobs.preemptTask(jobId, taskName, restartDelay);
                 boolean taskRestarted = terminationData.taskTerminated(jobId, taskName);
                 submitTerminationDataHandler(terminationData);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
                 return taskRestarted;
             }).get();
 
@@ -769,7 +788,7 @@ public class SchedulingService {
             try {
                 TerminationData terminationData = jobs.taskTerminatedWithResult(taskId, (TaskResultImpl) taskResult);
                 terminationData.handleTermination(SchedulingService.this);
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingSignal.Reason.TASK_TERMINATED);
             } catch (Throwable e) {
                 logger.error("Failed to terminate task " + taskId, e);
             }
@@ -915,7 +934,16 @@ public class SchedulingService {
         }
     }
 
+    /**
+     * @return the time in milliseconds at which the recovery of the scheduler state began,
+     * or -1 if the state was not recovered
+     */
+    long getRecoveryStartTime() {
+        return recoveryStartTime;
+    }
+
     private void recover(RecoveredSchedulerState recoveredState) {
+        recoveryStartTime = recoveredState.getRecoveryStartTime();
         List<InternalJob> finishedJobs = recoveredState.getFinishedJobs();
         List<InternalJob> pendingJobs = recoveredState.getPendingJobs();
         List<InternalJob> runningJobs = recoveredState.getRunningJobs();
@@ -1057,12 +1085,12 @@ public class SchedulingService {
         }
     }
 
-    protected void sleepSchedulingThread() throws InterruptedException {
-        schedulingThread.sleepSchedulingThread();
+    protected void wakeUpSchedulingThread(SchedulingSignal.Reason reason) {
+        schedulingSignal.signal(reason);
     }
 
-    protected void wakeUpSchedulingThread() {
-        schedulingThread.wakeUpSchedulingThread();
+    public SchedulingSignal getSchedulingSignal() {
+        return schedulingSignal;
     }
 
     /**
@@ -1097,7 +1125,7 @@ public class SchedulingService {
                 }
             }
 
-            wakeUpSchedulingThread();
+            wakeUpSchedulingThread(SchedulingSignal.Reason.JOB_STATE_CHANGED);
             return longList;
         }
 
@@ -0,0 +1,216 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Coalescing signal which drives the scheduling loop.
+ *
+ * Scheduling events raise the signal with the reason why a new scheduling cycle is needed.
+ * Reasons raised while a cycle is running are merged and consumed by the next cycle, so that a
+ * burst of events triggers a single cycle and no event raised between two cycles is lost.
+ *
+ * The signal also keeps the number of signals per reason and the histogram of the delay
+ * between the first signal and the start of the cycle which handles it.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public final class SchedulingSignal {
+
+    /**
+     * Reasons why the scheduling loop is woken up.
+     */
+    public enum Reason {
+        /** a job was submitted */
+        JOB_SUBMITTED,
+        /** a task was terminated, its nodes are being released */
+        TASK_TERMINATED,
+        /** nodes were given back to the resource manager */
+        NODES_RELEASED,
+        /** the priority of a job changed */
+        PRIORITY_CHANGED,
+        /** a job was resumed, restarted or removed */
+        JOB_STATE_CHANGED,
+        /** the scheduler was resumed */
+        SCHEDULER_STATE_CHANGED
+    }
+
+    /** upper bounds (in milliseconds) of the wake up latency histogram buckets, the last bucket is unbounded */
+    static final long[] LATENCY_BUCKET_BOUNDS = { 1, 10, 100, 1000, 10000 };
+
+    private final EnumSet<Reason> pendingReasons = EnumSet.noneOf(Reason.class);
+
+    private long firstPendingSignalTime;
+
+    private final long[] signalCounts = new long[Reason.values().length];
+
+    private final long[] latencyHistogram = new long[LATENCY_BUCKET_BOUNDS.length + 1];
+
+    private long coalescedSignals;
+
+    private long signaledCycles;
+
+    private long timedOutCycles;
+
+    private long totalLatencyNanos;
+
+    private long maxLatencyNanos;
+
+    /**
+     * Raises the signal for the given reason and wakes up the scheduling loop.
+     */
+    public synchronized void signal(Reason reason) {
+        signalCounts[reason.ordinal()]++;
+        if (pendingReasons.isEmpty()) {
+            firstPendingSignalTime = System.nanoTime();
+            notifyAll();
+        } else {
+            coalescedSignals++;
+        }
+        pendingReasons.add(reason);
+    }
+
+    /**
+     * Waits until the signal is raised or the timeout expires, and consumes the pending reasons.
+     *
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @return the reasons of the signal, empty if the timeout expired
+     */
+    public synchronized Set<Reason> await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long remaining = deadline - System.nanoTime();
+        while (pendingReasons.isEmpty() && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        if (pendingReasons.isEmpty()) {
+            timedOutCycles++;
+        }
+        return consume();
+    }
+
+    /**
+     * Consumes the pending reasons without waiting.
+     *
+     * @return the reasons of the signal, empty if the signal was not raised
+     */
+    public synchronized Set<Reason> poll() {
+        return consume();
+    }
+
+    private Set<Reason> consume() {
+        if (pendingReasons.isEmpty()) {
+            return Collections.emptySet();
+        }
+        long latency = System.nanoTime() - firstPendingSignalTime;
+        signaledCycles++;
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        latencyHistogram[bucketOf(TimeUnit.NANOSECONDS.toMillis(latency))]++;
+        Set<Reason> reasons = EnumSet.copyOf(pendingReasons);
+        pendingReasons.clear();
+        return reasons;
+    }
+
+    private static int bucketOf(long latencyMillis) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS.length; i++) {
+            if (latencyMillis < LATENCY_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS.length;
+    }
+
+    public synchronized long getSignalCount(Reason reason) {
+        return signalCounts[reason.ordinal()];
+    }
+
+    /**
+     * @return number of signals merged into an already pending signal
+     */
+    public synchronized long getCoalescedSignalCount() {
+        return coalescedSignals;
+    }
+
+    /**
+     * @return number of cycles started because the signal was raised
+     */
+    public synchronized long getSignaledCycleCount() {
+        return signaledCycles;
+    }
+
+    /**
+     * @return number of cycles started because the wait timed out
+     */
+    public synchronized long getTimedOutCycleCount() {
+        return timedOutCycles;
+    }
+
+    public synchronized double getMeanLatencyInMilliseconds() {
+        if (signaledCycles == 0) {
+            return 0;
+        }
+        return totalLatencyNanos / (double) signaledCycles / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public synchronized double getMaxLatencyInMilliseconds() {
+        return maxLatencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the number of signaled cycles in each latency bucket, see {@link #getLatencyBucketBounds()}
+     */
+    public synchronized long[] getLatencyHistogram() {
+        return Arrays.copyOf(latencyHistogram, latencyHistogram.length);
+    }
+
+    /**
+     * @return upper bounds in milliseconds of the latency buckets, the last bucket is unbounded
+     */
+    public long[] getLatencyBucketBounds() {
+        return Arrays.copyOf(LATENCY_BUCKET_BOUNDS, LATENCY_BUCKET_BOUNDS.length);
+    }
+
+    /**
+     * Resets all the statistics, pending reasons are kept.
+     */
+    public synchronized void resetStatistics() {
+        Arrays.fill(signalCounts, 0);
+        Arrays.fill(latencyHistogram, 0);
+        coalescedSignals = 0;
+        signaledCycles = 0;
+        timedOutCycles = 0;
+        totalLatencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+
+}
@@ -25,8 +25,8 @@
  */
 package org.ow2.proactive.scheduler.core;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Collections;
+import java.util.Set;
 
 import org.ow2.proactive.scheduler.common.SchedulerStatus;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
@@ -36,18 +36,25 @@ public final class SchedulingThread extends Thread {
 
     private static final int SCHEDULER_TIME_OUT = PASchedulerProperties.SCHEDULER_TIME_OUT.getValueAsInt();
 
+    private static final int SCHEDULER_RETRY_DELAY = PASchedulerProperties.SCHEDULER_NODES_RELEASE_RETRY_DELAY.getValueAsInt();
+
     private final SchedulingMethod schedulingMethod;
 
     private final SchedulingService service;
 
+    private final SchedulingSignal signal;
+
     public SchedulingThread(SchedulingMethod schedulingMethod, SchedulingService service) {
         super("SchedulingThread");
         this.schedulingMethod = schedulingMethod;
         this.service = service;
+        this.signal = service.getSchedulingSignal();
     }
 
     public void run() {
         boolean tasksStarted;
+        Set<SchedulingSignal.Reason> reasons = Collections.emptySet();
+        long retryDelay = 0;
 
         while (!isInterrupted()) {
             try {
@@ -56,8 +63,12 @@ public final class SchedulingThread extends Thread {
                     service.status == SchedulerStatus.STOPPED) {
                     tasksStarted = schedulingMethod.schedule() > 0;
                 }
-                if (!tasksStarted) {
-                    service.sleepSchedulingThread();
+                if (tasksStarted) {
+                    retryDelay = 0;
+                    reasons = signal.poll();
+                } else {
+                    retryDelay = nextRetryDelay(reasons, retryDelay);
+                    reasons = signal.await(retryDelay > 0 ? retryDelay : SCHEDULER_TIME_OUT);
                 }
             } catch (InterruptedException e) {
                 break;
@@ -67,16 +78,22 @@ public final class SchedulingThread extends Thread {
         }
     }
 
-    protected void sleepSchedulingThread() throws InterruptedException {
-        synchronized (this) {
-            this.wait(SCHEDULER_TIME_OUT);
-        }
-    }
-
-    protected void wakeUpSchedulingThread() {
-        synchronized (this) {
-            this.notifyAll();
+    /**
+     * Nodes released by terminated tasks become free asynchronously in the resource manager,
+     * so a cycle which did not start any task after a release is retried with a backoff delay,
+     * doubled after each unproductive retry until it reaches the scheduling loop timeout.
+     *
+     * @return the delay before the next retry, or 0 to wait for the next signal
+     */
+    static long nextRetryDelay(Set<SchedulingSignal.Reason> reasons, long retryDelay) {
+        long delay;
+        if (reasons.contains(SchedulingSignal.Reason.NODES_RELEASED) ||
+            reasons.contains(SchedulingSignal.Reason.TASK_TERMINATED)) {
+            delay = SCHEDULER_RETRY_DELAY;
+        } else {
+            delay = retryDelay * 2;
         }
+        return delay < SCHEDULER_TIME_OUT ? delay : 0;
     }
 
 }
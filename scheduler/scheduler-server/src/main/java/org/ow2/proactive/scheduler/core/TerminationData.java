@@ -268,6 +268,7 @@ final class TerminationData {
         } catch (Throwable t) {
             logger.info("Failed to release nodes for task '" + taskData.getTask().getId() + "'", t);
         }
+        service.wakeUpSchedulingThread(SchedulingSignal.Reason.NODES_RELEASED);
     }
 
     public VariablesMap getStringSerializableMap(SchedulingService service, TaskTerminationData taskToTerminate)
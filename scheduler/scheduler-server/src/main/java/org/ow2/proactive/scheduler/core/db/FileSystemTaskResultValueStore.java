@@ -0,0 +1,121 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.apache.log4j.Logger;
+
+
+/**
+ * Keeps the task result values larger than a threshold in a directory. Each value is
+ * written in a file named after the hash of its content, so that identical values
+ * produced by several tasks are stored once.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class FileSystemTaskResultValueStore implements TaskResultValueStore {
+
+    private static final Logger logger = Logger.getLogger(FileSystemTaskResultValueStore.class);
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final File directory;
+
+    private final int threshold;
+
+    /**
+     * @param directory the directory where the values are stored
+     * @param threshold the size in bytes above which values are stored in the directory
+     */
+    public FileSystemTaskResultValueStore(File directory, int threshold) {
+        this.directory = directory;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean accepts(byte[] serializedValue) {
+        return serializedValue != null && serializedValue.length > threshold;
+    }
+
+    @Override
+    public String store(byte[] serializedValue) throws IOException {
+        String reference = hash(serializedValue);
+        File file = getFile(reference);
+        if (!file.exists()) {
+            Files.createDirectories(directory.toPath());
+            // writing to a temporary file first, so that a value is never read partially written
+            Path temporaryFile = Files.createTempFile(directory.toPath(), reference, ".tmp");
+            try {
+                Files.write(temporaryFile, serializedValue);
+                Files.move(temporaryFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+        return reference;
+    }
+
+    @Override
+    public byte[] load(String reference) throws IOException {
+        return Files.readAllBytes(getFile(reference).toPath());
+    }
+
+    @Override
+    public void remove(String reference) {
+        try {
+            Files.deleteIfExists(getFile(reference).toPath());
+        } catch (IOException e) {
+            logger.warn("Could not remove the task result value " + reference, e);
+        }
+    }
+
+    private File getFile(String reference) {
+        // references are hexadecimal hashes, they cannot point outside the directory
+        if (!reference.matches("[0-9a-f]+")) {
+            throw new IllegalArgumentException("Invalid task result value reference: " + reference);
+        }
+        return new File(directory, reference);
+    }
+
+    private static String hash(byte[] serializedValue) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return DatatypeConverter.printHexBinary(digest.digest(serializedValue)).toLowerCase();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
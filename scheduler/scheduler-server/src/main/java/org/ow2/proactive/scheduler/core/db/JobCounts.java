@@ -0,0 +1,164 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+
+
+/**
+ * Numbers of the jobs which are not removed, by owner and by status. They are counted once
+ * in the database, then kept up to date as jobs are submitted, change status and are removed,
+ * so that listing jobs page by page does not count them again for each page.
+ * <p>
+ * The last known status of the jobs which are not finished is kept, so that applying an
+ * update which was already counted by the database has no effect.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class JobCounts {
+
+    private final Map<String, Map<JobStatus, Long>> counts = new HashMap<>();
+
+    private final Map<Long, JobStatus> notFinishedJobsStatus = new HashMap<>();
+
+    /** not guarded by the instance lock, so that it can be checked inside a transaction without waiting for a load */
+    private volatile boolean loaded = false;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Forgets the counts, they have to be loaded again from the database. Used when updates which
+     * were already counted could not be written. It does not wait for a load in progress.
+     */
+    void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Initializes the counts.
+     *
+     * @param countsByOwnerAndStatus rows of owner, status and number of jobs
+     * @param notFinishedJobsStatus status of the jobs which are not finished, by job id
+     */
+    synchronized void load(List<Object[]> countsByOwnerAndStatus, Map<Long, JobStatus> notFinishedJobsStatus) {
+        counts.clear();
+        for (Object[] row : countsByOwnerAndStatus) {
+            add((String) row[0], (JobStatus) row[1], ((Number) row[2]).longValue());
+        }
+        this.notFinishedJobsStatus.clear();
+        this.notFinishedJobsStatus.putAll(notFinishedJobsStatus);
+        loaded = true;
+    }
+
+    /**
+     * Counts a job with its current status. A job already counted has its status updated.
+     */
+    synchronized void jobSubmitted(long jobId, String owner, JobStatus status) {
+        if (!loaded) {
+            return;
+        }
+        if (notFinishedJobsStatus.containsKey(jobId)) {
+            jobStatusChanged(jobId, owner, status);
+        } else {
+            add(owner, status, 1);
+            if (!SchedulerDBManager.FINISHED_JOB_STATUSES.contains(status)) {
+                notFinishedJobsStatus.put(jobId, status);
+            }
+        }
+    }
+
+    /**
+     * Moves a job to its new status. Jobs which are already finished do not change anymore.
+     */
+    synchronized void jobStatusChanged(long jobId, String owner, JobStatus status) {
+        if (!loaded) {
+            return;
+        }
+        JobStatus previousStatus = notFinishedJobsStatus.get(jobId);
+        if (previousStatus == null) {
+            return;
+        }
+        if (previousStatus != status) {
+            add(owner, previousStatus, -1);
+            add(owner, status, 1);
+        }
+        if (SchedulerDBManager.FINISHED_JOB_STATUSES.contains(status)) {
+            notFinishedJobsStatus.remove(jobId);
+        } else {
+            notFinishedJobsStatus.put(jobId, status);
+        }
+    }
+
+    /**
+     * Stops counting removed jobs.
+     *
+     * @param removedJobs rows of id, owner and status of the removed jobs
+     */
+    synchronized void jobsRemoved(List<Object[]> removedJobs) {
+        if (!loaded) {
+            return;
+        }
+        for (Object[] row : removedJobs) {
+            JobStatus previousStatus = notFinishedJobsStatus.remove(((Number) row[0]).longValue());
+            add((String) row[1], previousStatus != null ? previousStatus : (JobStatus) row[2], -1);
+        }
+    }
+
+    /**
+     * @param owner the owner of the jobs, null for the jobs of all the users
+     * @param statuses the statuses of the jobs
+     * @return the number of jobs of the owner having one of the statuses
+     */
+    synchronized long count(String owner, Set<JobStatus> statuses) {
+        long count = 0;
+        for (Map.Entry<String, Map<JobStatus, Long>> ownerCounts : counts.entrySet()) {
+            if (owner == null || owner.equals(ownerCounts.getKey())) {
+                for (JobStatus status : statuses) {
+                    count += ownerCounts.getValue().getOrDefault(status, 0L);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void add(String owner, JobStatus status, long delta) {
+        Map<JobStatus, Long> ownerCounts = counts.computeIfAbsent(owner, key -> new HashMap<>());
+        long count = Math.max(0, ownerCounts.getOrDefault(status, 0L) + delta);
+        if (count == 0) {
+            ownerCounts.remove(status);
+        } else {
+            ownerCounts.put(status, count);
+        }
+    }
+
+}
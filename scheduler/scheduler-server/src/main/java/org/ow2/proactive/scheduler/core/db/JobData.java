@@ -83,14 +83,19 @@ import com.google.common.collect.Lists;
                 @NamedQuery(name = "checkJobExistence", query = "select id from JobData where id = :id"),
                 @NamedQuery(name = "countJobDataFinished", query = "select count (*) from JobData where status = 3"),
                 @NamedQuery(name = "countJobData", query = "select count (*) from JobData"),
+                @NamedQuery(name = "countJobsByOwnerAndStatus", query = "select owner, status, count(*) from JobData where removedTime = -1 group by owner, status"),
                 @NamedQuery(name = "deleteJobData", query = "delete from JobData where id = :jobId"),
                 @NamedQuery(name = "findUsersWithJobs", query = "select owner, count(owner), max(submittedTime) from JobData group by owner"),
-                @NamedQuery(name = "getJobsNumberWithStatus", query = "select count(*) from JobData where status in (:status) and removedTime = -1"),
                 @NamedQuery(name = "getJobSubmittedTime", query = "select submittedTime from JobData where id = :id"),
-                @NamedQuery(name = "getMeanJobExecutionTime", query = "select avg(finishedTime - startTime) from JobData where startTime > 0 and finishedTime > 0"),
-                @NamedQuery(name = "getMeanJobPendingTime", query = "select avg(startTime - submittedTime) from JobData where startTime > 0 and submittedTime > 0"),
+                @NamedQuery(name = "getJobsExecutionTimeSum", query = "select count(*), sum(finishedTime - startTime) from JobData where startTime > 0 and finishedTime > 0"),
+                @NamedQuery(name = "getJobsPendingTimeSum", query = "select count(*), sum(startTime - submittedTime) from JobData where startTime > 0 and submittedTime > 0"),
+                @NamedQuery(name = "getJobsTasksNumbers", query = "select id, startTime, numberOfPendingTasks, numberOfRunningTasks, numberOfFinishedTasks, totalNumberOfTasks " +
+                                                                  "from JobData where status in (:status) and removedTime = -1"),
                 @NamedQuery(name = "getMeanJobSubmittingPeriod", query = "select count(*), min(submittedTime), max(submittedTime) from JobData"),
-                @NamedQuery(name = "getTotalJobsCount", query = "select count(*) from JobData where removedTime = -1"),
+                @NamedQuery(name = "getNotRemovedJobsTasksNumbers", query = "select sum(numberOfFinishedTasks), sum(totalNumberOfTasks) from JobData where removedTime = -1"),
+                @NamedQuery(name = "getJobsIdAndStatus", query = "select id, status from JobData where status in (:status) and removedTime = -1"),
+                @NamedQuery(name = "getNotRemovedJobsOwnerAndStatus", query = "select id, owner, status, numberOfFinishedTasks, totalNumberOfTasks from JobData " +
+                                                                                      "where id in (:jobIdList) and removedTime = -1"),
                 @NamedQuery(name = "loadInternalJobs", query = "from JobData as job where job.id in (:ids)"),
                 @NamedQuery(name = "loadJobs", query = "select id from JobData where status in (:status) and removedTime = -1"),
                 @NamedQuery(name = "loadJobsWithPeriod", query = "select id from JobData where status in (:status) and removedTime = -1 and submittedTime >= :minSubmittedTime"),
@@ -128,7 +133,9 @@ import com.google.common.collect.Lists;
                                                                        "numberOfRunningTasks = :numberOfRunningTasks, lastUpdatedTime = :lastUpdatedTime where id = :jobId") })
 @Table(name = "JOB_DATA", indexes = { @Index(name = "JOB_DATA_FINISH_TIME", columnList = "FINISH_TIME"),
                                       @Index(name = "JOB_DATA_OWNER", columnList = "OWNER"),
+                                      @Index(name = "JOB_DATA_OWNER_STATUS_ID", columnList = "OWNER,STATUS,ID"),
                                       @Index(name = "JOB_DATA_REMOVE_TIME", columnList = "REMOVE_TIME"),
+                                      @Index(name = "JOB_DATA_REMOVE_TIME_STATUS_ID", columnList = "REMOVE_TIME,STATUS,ID"),
                                       @Index(name = "JOB_DATA_START_TIME", columnList = "START_TIME"),
                                       @Index(name = "JOB_DATA_STATUS", columnList = "STATUS"), })
 public class JobData implements Serializable {
@@ -0,0 +1,281 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+
+
+/**
+ * Statistics of the jobs and of their tasks, as exposed by the runtime data MBean. They are
+ * computed once in the database, then kept up to date as jobs are submitted, progress and are
+ * removed, so that reading them does not scan the jobs or the tasks tables.
+ * <p>
+ * Task numbers are the pending, running, finished and total numbers of tasks of the jobs, as
+ * counted by each job ({@link JobInfo#getNumberOfPendingTasks()} and the other task numbers),
+ * all the tasks of a job which is not started yet being pending. They do not depend on the
+ * status of every task, unlike the numbers previously counted in the tasks table:
+ * <ul>
+ * <li>finished tasks are all the terminated tasks, not only the FINISHED and FAULTY ones: a task
+ * skipped by a control flow action or the task which made its job fail is finished too,</li>
+ * <li>pending tasks are the tasks of the jobs which are not finished that wait to be started,
+ * a task waiting to be restarted after an error being pending again.</li>
+ * </ul>
+ * The last known numbers of the jobs which are not finished are kept, so that applying an
+ * update which was already counted by the database has no effect.
+ * <p>
+ * Mean times and the submitting period include the jobs deleted from the database since the
+ * statistics were loaded.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+class JobsStatistics {
+
+    private static final class JobSnapshot {
+
+        private long startTime;
+
+        private int pendingTasks;
+
+        private int runningTasks;
+
+        private int finishedTasks;
+
+        private int totalTasks;
+
+        private JobSnapshot(long startTime, int pendingTasks, int runningTasks, int finishedTasks, int totalTasks) {
+            this.startTime = startTime;
+            this.pendingTasks = pendingTasks;
+            this.runningTasks = runningTasks;
+            this.finishedTasks = finishedTasks;
+            this.totalTasks = totalTasks;
+        }
+    }
+
+    private final Map<Long, JobSnapshot> notFinishedJobs = new HashMap<>();
+
+    private long pendingTasks;
+
+    private long runningTasks;
+
+    private long finishedTasks;
+
+    private long totalTasks;
+
+    private long submittedJobs;
+
+    private long minSubmittedTime;
+
+    private long maxSubmittedTime;
+
+    private long startedJobs;
+
+    private long pendingTimeSum;
+
+    private long executedJobs;
+
+    private long executionTimeSum;
+
+    /** not guarded by the instance lock, so that it can be checked inside a transaction without waiting for a load */
+    private volatile boolean loaded = false;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Forgets the statistics, they have to be loaded again from the database. Used when updates
+     * which were already counted could not be written. It does not wait for a load in progress.
+     */
+    void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Initializes the statistics.
+     *
+     * @param submissions number, min and max submitted time of the jobs
+     * @param pendingTimes number and sum of the pending times of the started jobs
+     * @param executionTimes number and sum of the execution times of the finished jobs
+     * @param tasks numbers of finished tasks and of tasks of the jobs which are not removed
+     * @param notFinishedJobsTasks rows of id, start time and numbers of pending, running,
+     *        finished and total tasks of the jobs which are not finished
+     */
+    synchronized void load(Object[] submissions, Object[] pendingTimes, Object[] executionTimes, Object[] tasks,
+            List<Object[]> notFinishedJobsTasks) {
+        submittedJobs = longValue(submissions[0]);
+        minSubmittedTime = longValue(submissions[1]);
+        maxSubmittedTime = longValue(submissions[2]);
+        startedJobs = longValue(pendingTimes[0]);
+        pendingTimeSum = longValue(pendingTimes[1]);
+        executedJobs = longValue(executionTimes[0]);
+        executionTimeSum = longValue(executionTimes[1]);
+        finishedTasks = longValue(tasks[0]);
+        totalTasks = longValue(tasks[1]);
+
+        notFinishedJobs.clear();
+        pendingTasks = 0;
+        runningTasks = 0;
+        for (Object[] row : notFinishedJobsTasks) {
+            long startTime = longValue(row[1]);
+            int totalTasks = (int) longValue(row[5]);
+            JobSnapshot job = new JobSnapshot(startTime,
+                                              pendingTasks(startTime, (int) longValue(row[2]), totalTasks),
+                                              (int) longValue(row[3]),
+                                              (int) longValue(row[4]),
+                                              totalTasks);
+            notFinishedJobs.put(longValue(row[0]), job);
+            pendingTasks += job.pendingTasks;
+            runningTasks += job.runningTasks;
+        }
+        loaded = true;
+    }
+
+    /**
+     * Counts a new job. A job already counted is updated.
+     */
+    synchronized void jobSubmitted(long jobId, JobInfo jobInfo) {
+        if (!loaded) {
+            return;
+        }
+        if (!notFinishedJobs.containsKey(jobId)) {
+            long submittedTime = jobInfo.getSubmittedTime();
+            minSubmittedTime = submittedJobs == 0 ? submittedTime : Math.min(minSubmittedTime, submittedTime);
+            maxSubmittedTime = submittedJobs == 0 ? submittedTime : Math.max(maxSubmittedTime, submittedTime);
+            submittedJobs++;
+            notFinishedJobs.put(jobId, new JobSnapshot(0, 0, 0, 0, 0));
+        }
+        jobUpdated(jobId, jobInfo);
+    }
+
+    /**
+     * Updates the statistics with the current state of a job. Jobs which are already finished
+     * do not change anymore.
+     */
+    synchronized void jobUpdated(long jobId, JobInfo jobInfo) {
+        if (!loaded) {
+            return;
+        }
+        JobSnapshot job = notFinishedJobs.get(jobId);
+        if (job == null) {
+            return;
+        }
+        if (job.startTime <= 0 && jobInfo.getStartTime() > 0 && jobInfo.getSubmittedTime() > 0) {
+            startedJobs++;
+            pendingTimeSum += jobInfo.getStartTime() - jobInfo.getSubmittedTime();
+        }
+        finishedTasks += jobInfo.getNumberOfFinishedTasks() - job.finishedTasks;
+        totalTasks += jobInfo.getTotalNumberOfTasks() - job.totalTasks;
+
+        if (SchedulerDBManager.FINISHED_JOB_STATUSES.contains(jobInfo.getStatus())) {
+            // only the tasks of the jobs which are not finished are pending or running
+            pendingTasks -= job.pendingTasks;
+            runningTasks -= job.runningTasks;
+            if (jobInfo.getStartTime() > 0 && jobInfo.getFinishedTime() > 0) {
+                executedJobs++;
+                executionTimeSum += jobInfo.getFinishedTime() - jobInfo.getStartTime();
+            }
+            notFinishedJobs.remove(jobId);
+        } else {
+            int jobPendingTasks = pendingTasks(jobInfo.getStartTime(),
+                                               jobInfo.getNumberOfPendingTasks(),
+                                               jobInfo.getTotalNumberOfTasks());
+            pendingTasks += jobPendingTasks - job.pendingTasks;
+            runningTasks += jobInfo.getNumberOfRunningTasks() - job.runningTasks;
+            job.startTime = jobInfo.getStartTime();
+            job.pendingTasks = jobPendingTasks;
+            job.runningTasks = jobInfo.getNumberOfRunningTasks();
+            job.finishedTasks = jobInfo.getNumberOfFinishedTasks();
+            job.totalTasks = jobInfo.getTotalNumberOfTasks();
+        }
+    }
+
+    /**
+     * Stops counting the tasks of removed jobs.
+     *
+     * @param removedJobs rows of id, owner, status, number of finished tasks and number of
+     *        tasks of the removed jobs
+     */
+    synchronized void jobsRemoved(List<Object[]> removedJobs) {
+        if (!loaded) {
+            return;
+        }
+        for (Object[] row : removedJobs) {
+            JobSnapshot job = notFinishedJobs.remove(longValue(row[0]));
+            if (job != null) {
+                pendingTasks -= job.pendingTasks;
+                runningTasks -= job.runningTasks;
+                finishedTasks -= job.finishedTasks;
+                totalTasks -= job.totalTasks;
+            } else {
+                finishedTasks -= longValue(row[3]);
+                totalTasks -= longValue(row[4]);
+            }
+        }
+    }
+
+    synchronized long getPendingTasksCount() {
+        return Math.max(0, pendingTasks);
+    }
+
+    synchronized long getRunningTasksCount() {
+        return Math.max(0, runningTasks);
+    }
+
+    synchronized long getFinishedTasksCount() {
+        return Math.max(0, finishedTasks);
+    }
+
+    synchronized long getTotalTasksCount() {
+        return Math.max(0, totalTasks);
+    }
+
+    synchronized double getMeanJobPendingTime() {
+        return startedJobs == 0 ? 0.0d : pendingTimeSum / (double) startedJobs;
+    }
+
+    synchronized double getMeanJobExecutionTime() {
+        return executedJobs == 0 ? 0.0d : executionTimeSum / (double) executedJobs;
+    }
+
+    synchronized double getMeanJobSubmittingPeriod() {
+        return submittedJobs < 2 ? 0.0d : (maxSubmittedTime - minSubmittedTime) / (double) (submittedJobs - 1);
+    }
+
+    private static int pendingTasks(long startTime, int pendingTasks, int totalTasks) {
+        // the number of pending tasks of a job is set when it starts
+        return startTime > 0 ? pendingTasks : totalTasks;
+    }
+
+    private static long longValue(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+}
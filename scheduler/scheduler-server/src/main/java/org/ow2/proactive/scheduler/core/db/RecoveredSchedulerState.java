@@ -54,8 +54,16 @@ public class RecoveredSchedulerState {
 
     private final SchedulerStateImpl<ClientJobState> schedulerState;
 
+    private final long recoveryStartTime;
+
     public RecoveredSchedulerState(Vector<InternalJob> pendingJobs, Vector<InternalJob> runningJobs,
             Vector<InternalJob> finishedJobs) {
+        this(pendingJobs, runningJobs, finishedJobs, System.currentTimeMillis());
+    }
+
+    public RecoveredSchedulerState(Vector<InternalJob> pendingJobs, Vector<InternalJob> runningJobs,
+            Vector<InternalJob> finishedJobs, long recoveryStartTime) {
+        this.recoveryStartTime = recoveryStartTime;
         this.pendingJobs = pendingJobs;
         this.runningJobs = runningJobs;
         this.finishedJobs = finishedJobs;
@@ -81,6 +89,13 @@ public class RecoveredSchedulerState {
         return schedulerState;
     }
 
+    /**
+     * @return the time in milliseconds at which the recovery of the scheduler state began
+     */
+    public long getRecoveryStartTime() {
+        return recoveryStartTime;
+    }
+
     private Vector<ClientJobState> convertToClientJobState(List<InternalJob> jobs) {
         Vector<ClientJobState> result = new Vector<>(jobs.size());
         for (InternalJob internalJob : jobs) {
@@ -34,12 +34,20 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -59,11 +67,13 @@ import org.hibernate.service.ServiceRegistry;
 import org.hibernate.transform.DistinctRootEntityResultTransformer;
 import org.hibernate.type.StandardBasicTypes;
 import org.objectweb.proactive.core.config.CentralPAPropertyRepository;
+import org.objectweb.proactive.utils.NamedThreadFactory;
 import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
 import org.ow2.proactive.db.DatabaseManagerException;
 import org.ow2.proactive.db.SessionWork;
 import org.ow2.proactive.db.SortParameter;
 import org.ow2.proactive.db.TransactionHelper;
+import org.ow2.proactive.scheduler.common.CursorPage;
 import org.ow2.proactive.scheduler.common.JobSortParameter;
 import org.ow2.proactive.scheduler.common.Page;
 import org.ow2.proactive.scheduler.common.SortSpecifierContainer;
@@ -74,6 +84,7 @@ import org.ow2.proactive.scheduler.common.job.JobResult;
 import org.ow2.proactive.scheduler.common.job.JobStatus;
 import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatus;
@@ -90,6 +101,8 @@ import org.ow2.proactive.scheduler.job.JobResultImpl;
 import org.ow2.proactive.scheduler.job.SchedulerUserInfo;
 import org.ow2.proactive.scheduler.task.TaskIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.TaskResultValueProvider;
+import org.ow2.proactive.scheduler.task.TaskResultValueReference;
 import org.ow2.proactive.scheduler.task.containers.ExecutableContainer;
 import org.ow2.proactive.scheduler.task.internal.InternalForkedScriptTask;
 import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
@@ -98,8 +111,11 @@ import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.utils.FileToBytesConverter;
 import org.ow2.proactive.utils.ObjectByteConverter;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 
 @SuppressWarnings("JpaQueryApiInspection")
@@ -109,6 +125,14 @@ public class SchedulerDBManager {
 
     private static final int RECOVERY_LOAD_JOBS_BATCH_SIZE = PASchedulerProperties.SCHEDULER_DB_RECOVERY_LOAD_JOBS_BATCH_SIZE.getValueAsInt();
 
+    private static final int RECOVERY_LOAD_JOBS_THREADS = PASchedulerProperties.SCHEDULER_DB_RECOVERY_LOAD_JOBS_THREADS.getValueAsInt();
+
+    /** Maximum number of tasks whose body is loaded by a single query */
+    private static final int TASK_BODIES_BATCH_SIZE = 100;
+
+    /** Maximum number of result value references given to a single query */
+    private static final int RESULT_VALUE_REFERENCES_BATCH_SIZE = 1000;
+
     private static final Logger logger = Logger.getLogger(SchedulerDBManager.class);
 
     public static final Set<JobStatus> FINISHED_JOB_STATUSES = ImmutableSet.of(JobStatus.CANCELED,
@@ -126,6 +150,17 @@ public class SchedulerDBManager {
     public static final Set<JobStatus> NOT_FINISHED_JOB_STATUSES = ImmutableSet.copyOf(Iterables.concat(RUNNING_JOB_STATUSES,
                                                                                                         PENDING_JOB_STATUSES));
 
+    /** Groups of job statuses in the order of the pages read with a cursor, as {@link GroupByStatusSortOrder} */
+    private static final List<Set<JobStatus>> JOB_STATUS_GROUPS = ImmutableList.of(ImmutableSet.of(JobStatus.PENDING),
+                                                                                   ImmutableSet.of(JobStatus.RUNNING,
+                                                                                                   JobStatus.STALLED,
+                                                                                                   JobStatus.PAUSED),
+                                                                                   ImmutableSet.of(JobStatus.IN_ERROR,
+                                                                                                   JobStatus.CANCELED,
+                                                                                                   JobStatus.FAILED,
+                                                                                                   JobStatus.KILLED,
+                                                                                                   JobStatus.FINISHED));
+
     public static final Set<TaskStatus> PENDING_TASKS = ImmutableSet.of(TaskStatus.SUBMITTED,
                                                                         TaskStatus.PENDING,
                                                                         TaskStatus.NOT_STARTED);
@@ -149,6 +184,28 @@ public class SchedulerDBManager {
 
     private final TransactionHelper transactionHelper;
 
+    private final SchedulerDBManagerBuffer updatesBuffer;
+
+    /** Numbers of jobs by owner and status, used as the totals of the job pages */
+    private final JobCounts jobCounts = new JobCounts();
+
+    private final JobsStatistics jobsStatistics = new JobsStatistics();
+
+    /** Store of the result values too large for the database, null if all the values are kept in the database */
+    private final TaskResultValueStore resultValueStore;
+
+    /**
+     * Gives access to the values of the result store to the tasks and clients receiving results. Reads the store
+     * directly until an active object provider, reachable from the nodes, is set.
+     */
+    private volatile TaskResultValueProvider resultValueProvider;
+
+    /**
+     * Shared by the transactions storing result values until they are committed, exclusive when removing the values
+     * which are not referenced anymore: a value is never removed while a reference to it is being committed.
+     */
+    private final ReadWriteLock resultValuesLock = new ReentrantReadWriteLock();
+
     public static SchedulerDBManager createUsingProperties() {
         if (System.getProperty(JAVA_PROPERTYNAME_NODB) != null) {
             return createInMemorySchedulerDBManager();
@@ -206,6 +263,13 @@ public class SchedulerDBManager {
                                                                                   .build();
             sessionFactory = configuration.buildSessionFactory(serviceRegistry);
             transactionHelper = new TransactionHelper(sessionFactory);
+            updatesBuffer = new SchedulerDBManagerBuffer(transactionHelper, () -> {
+                jobCounts.invalidate();
+                jobsStatistics.invalidate();
+            });
+            resultValueStore = createTaskResultValueStore();
+            resultValueProvider = resultValueStore == null ? null
+                                                           : new StoredTaskResultValueProvider(resultValueStore);
 
         } catch (Throwable ex) {
             logger.error("Initial SessionFactory creation failed", ex);
@@ -213,6 +277,35 @@ public class SchedulerDBManager {
         }
     }
 
+    private static TaskResultValueStore createTaskResultValueStore() {
+        String directory = PASchedulerProperties.SCHEDULER_DB_RESULTS_STORE_DIRECTORY.getValueAsString();
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        int threshold = PASchedulerProperties.SCHEDULER_DB_RESULTS_STORE_THRESHOLD.getValueAsInt();
+        return new FileSystemTaskResultValueStore(new File(PASchedulerProperties.getAbsolutePath(directory.trim())),
+                                                  threshold);
+    }
+
+    /**
+     * Returns the store of the result values too large for the database.
+     *
+     * @return the result value store, or null if all the values are kept in the database
+     */
+    public TaskResultValueStore getTaskResultValueStore() {
+        return resultValueStore;
+    }
+
+    /**
+     * Sets the provider put in the handles on stored result values. It must be reachable
+     * from the nodes, the default provider reads the store directly.
+     *
+     * @param resultValueProvider the provider of stored result values
+     */
+    public void setTaskResultValueProvider(TaskResultValueProvider resultValueProvider) {
+        this.resultValueProvider = resultValueProvider;
+    }
+
     public Page<JobInfo> getJobs(final int offset, final int limit, final String user, final boolean pending,
             final boolean running, final boolean finished, final List<SortParameter<JobSortParameter>> sortParameters) {
 
@@ -280,6 +373,88 @@ public class SchedulerDBManager {
         return new Page<>(lJobs, totalNbJobs);
     }
 
+    /**
+     * Returns a page of jobs located by a cursor. Jobs are grouped by status as by
+     * {@link GroupByStatusSortOrder}, then sorted by decreasing id. The cursor holds the group and
+     * the id of the last job of the previous page, so that each group is read from the index
+     * on the status and the id, without scanning the jobs of the previous pages.
+     *
+     * @param cursor the cursor returned with the previous page, null or empty for the first page
+     * @param limit the maximum number of jobs of the page
+     * @param user the owner of the jobs, null for the jobs of all the users
+     * @return the page of jobs, its size being the number of jobs matching the criteria
+     */
+    @SuppressWarnings("unchecked")
+    public CursorPage<JobInfo> getJobsByCursor(final String cursor, final int limit, final String user,
+            final boolean pending, final boolean running, final boolean finished) {
+
+        if (!pending && !running && !finished) {
+            return new CursorPage<>(new ArrayList<JobInfo>(0), 0, null);
+        }
+
+        DBJobDataParameters params = new DBJobDataParameters(-1, limit, user, pending, running, finished, null);
+        int totalNbJobs = getTotalNumberOfJobs(params);
+
+        final int startGroup;
+        final long lastJobId;
+        if (cursor == null || cursor.isEmpty()) {
+            startGroup = 0;
+            lastJobId = -1;
+        } else {
+            String[] groupAndId = cursor.split(":");
+            try {
+                startGroup = Integer.parseInt(groupAndId[0]);
+                lastJobId = Long.parseLong(groupAndId[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid jobs cursor: " + cursor, e);
+            }
+        }
+
+        List<JobInfo> jobs = executeReadOnlyTransaction(session -> {
+            List<JobInfo> page = new ArrayList<>(limit > 0 ? limit : 16);
+            int group = startGroup;
+            for (; group < JOB_STATUS_GROUPS.size() && (limit <= 0 || page.size() < limit); group++) {
+                Set<JobStatus> statuses = Sets.intersection(JOB_STATUS_GROUPS.get(group), params.getStatuses());
+                if (statuses.isEmpty()) {
+                    continue;
+                }
+                Criteria criteria = session.createCriteria(JobData.class);
+                criteria.add(Restrictions.eq("removedTime", -1L));
+                criteria.add(Restrictions.in("status", statuses));
+                if (user != null) {
+                    criteria.add(Restrictions.eq("owner", user));
+                }
+                if (group == startGroup && lastJobId >= 0) {
+                    criteria.add(Restrictions.lt("id", lastJobId));
+                }
+                criteria.addOrder(Order.desc("id"));
+                if (limit > 0) {
+                    criteria.setMaxResults(limit - page.size());
+                }
+                for (JobData jobData : (List<JobData>) criteria.list()) {
+                    page.add(jobData.toJobInfo());
+                }
+            }
+            return page;
+        });
+
+        String nextCursor = null;
+        if (limit > 0 && jobs.size() == limit) {
+            JobInfo lastJob = jobs.get(jobs.size() - 1);
+            nextCursor = getJobStatusGroup(lastJob.getStatus()) + ":" + lastJob.getJobId().longValue();
+        }
+        return new CursorPage<>(jobs, totalNbJobs, nextCursor);
+    }
+
+    private static int getJobStatusGroup(JobStatus status) {
+        for (int group = 0; group < JOB_STATUS_GROUPS.size(); group++) {
+            if (JOB_STATUS_GROUPS.get(group).contains(status)) {
+                return group;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected job status: " + status);
+    }
+
     public Page<TaskState> getTaskStates(final long from, final long to, final String tag, final int offset,
             final int limit, final String user, final boolean pending, final boolean running, final boolean finished,
             SortSpecifierContainer sortParams) {
@@ -326,36 +501,42 @@ public class SchedulerDBManager {
     }
 
     private int getTotalNumberOfJobs(final DBJobDataParameters params) {
+        Set<JobStatus> statuses = params.getStatuses();
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        boolean hasUser = params.getUser() != null && "".compareTo(params.getUser()) != 0;
+        loadJobCountsIfNeeded();
+        long count = jobCounts.count(hasUser ? params.getUser() : null, statuses);
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
 
-        return executeReadOnlyTransaction(session -> {
-
-            Set<JobStatus> statuses = params.getStatuses();
-
-            if (statuses.isEmpty()) {
-                return 0;
-            } else {
-
-                boolean hasUser = params.getUser() != null && "".compareTo(params.getUser()) != 0;
-
-                StringBuilder queryString = new StringBuilder("select count(*) from JobData where removedTime = -1 ");
-
-                if (hasUser) {
-                    queryString.append("and owner = :user ");
-                }
-
-                queryString.append("and status in (:taskStatus) ");
-
-                Query query = session.createQuery(queryString.toString());
-                query.setParameterList("taskStatus", statuses);
-                if (hasUser) {
-                    query.setParameter("user", params.getUser());
-                }
-
-                Long count = (Long) query.uniqueResult();
-
-                return count.intValue();
+    /**
+     * Counts the jobs in the database the first time they are needed, they are then
+     * counted in memory as they change. The pending buffered updates are written first,
+     * since their changes were not counted while the counts were not loaded.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadJobCountsIfNeeded() {
+        // updates of the counts wait for them to be loaded
+        synchronized (jobCounts) {
+            if (jobCounts.isLoaded()) {
+                return;
             }
-        });
+            updatesBuffer.flush();
+            executeReadOnlyTransaction((SessionWork<Void>) session -> {
+                List<Object[]> counts = session.getNamedQuery("countJobsByOwnerAndStatus").list();
+                List<Object[]> notFinishedJobs = session.getNamedQuery("getJobsIdAndStatus")
+                                                        .setParameterList("status", NOT_FINISHED_JOB_STATUSES)
+                                                        .list();
+                Map<Long, JobStatus> notFinishedJobsStatus = new HashMap<>(notFinishedJobs.size());
+                for (Object[] row : notFinishedJobs) {
+                    notFinishedJobsStatus.put((Long) row[0], (JobStatus) row[1]);
+                }
+                jobCounts.load(counts, notFinishedJobsStatus);
+                return null;
+            });
+        }
     }
 
     private Order configureSortOrder(SortParameter<JobSortParameter> param, Property property) {
@@ -392,6 +573,11 @@ public class SchedulerDBManager {
     }
 
     public void close() {
+        try {
+            updatesBuffer.close();
+        } catch (Exception e) {
+            logger.error("Error while writing the buffered database updates", e);
+        }
         try {
             if (sessionFactory != null) {
                 logger.info("Closing session factory");
@@ -407,97 +593,82 @@ public class SchedulerDBManager {
     }
 
     public long getPendingJobsCount() {
-        return getJobsNumberWithStatus(Arrays.asList(JobStatus.PAUSED, JobStatus.PENDING));
+        return getJobsNumberWithStatus(ImmutableSet.of(JobStatus.PAUSED, JobStatus.PENDING));
     }
 
     public long getRunningJobsCount() {
-        return getJobsNumberWithStatus(Arrays.asList(JobStatus.RUNNING, JobStatus.STALLED));
+        return getJobsNumberWithStatus(ImmutableSet.of(JobStatus.RUNNING, JobStatus.STALLED));
     }
 
     public long getTotalJobsCount() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getTotalJobsCount");
-            return (Long) query.uniqueResult();
-        });
+        return getJobsNumberWithStatus(EnumSet.allOf(JobStatus.class));
     }
 
-    private long getJobsNumberWithStatus(final Collection<JobStatus> status) {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getJobsNumberWithStatus").setParameterList("status", status);
-
-            return (Long) query.uniqueResult();
-        });
+    private long getJobsNumberWithStatus(final Set<JobStatus> status) {
+        loadJobCountsIfNeeded();
+        return jobCounts.count(null, status);
     }
 
     public long getFinishedTasksCount() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getFinishedTasksCount")
-                                 .setParameterList("taskStatus", Arrays.asList(TaskStatus.FINISHED, TaskStatus.FAULTY));
-
-            return (Long) query.uniqueResult();
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getFinishedTasksCount();
     }
 
     public long getPendingTasksCount() {
-        return executeReadOnlyTransaction(session -> {
-            Collection<TaskStatus> taskStatus = Arrays.asList(TaskStatus.SUBMITTED,
-                                                              TaskStatus.PAUSED,
-                                                              TaskStatus.PENDING,
-                                                              TaskStatus.WAITING_ON_ERROR,
-                                                              TaskStatus.WAITING_ON_FAILURE);
-            Query query = session.getNamedQuery("getPendingTasksCount")
-                                 .setParameterList("jobStatus", NOT_FINISHED_JOB_STATUSES)
-                                 .setParameterList("taskStatus", taskStatus);
-
-            return (Long) query.uniqueResult();
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getPendingTasksCount();
     }
 
     public long getRunningTasksCount() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getRunningTasksCount")
-                                 .setParameterList("jobStatus", NOT_FINISHED_JOB_STATUSES)
-                                 .setParameterList("taskStatus", Collections.singletonList(TaskStatus.RUNNING));
-
-            return (Long) query.uniqueResult();
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getRunningTasksCount();
     }
 
     public long getTotalTasksCount() {
-        return executeReadOnlyTransaction(session -> {
-            return (Long) session.getNamedQuery("getTotalTasksCount").uniqueResult();
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getTotalTasksCount();
     }
 
     public double getMeanJobPendingTime() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getMeanJobPendingTime");
-            Double result = (Double) query.uniqueResult();
-            return result == null ? 0.0d : result;
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getMeanJobPendingTime();
     }
 
     public double getMeanJobExecutionTime() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getMeanJobExecutionTime");
-            Double result = (Double) query.uniqueResult();
-            return result == null ? 0.0d : result;
-        });
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getMeanJobExecutionTime();
     }
 
     public double getMeanJobSubmittingPeriod() {
-        return executeReadOnlyTransaction(session -> {
-            Query query = session.getNamedQuery("getMeanJobSubmittingPeriod");
-            Object[] result = (Object[]) query.uniqueResult();
-            Long count = (Long) result[0];
-            Long minSubmittedTime = (Long) result[1];
-            Long maxSubmittedTime = (Long) result[2];
-            if (count < 2) {
-                return 0.0d;
-            } else {
-                return (maxSubmittedTime - minSubmittedTime) / (double) (count - 1);
+        loadJobsStatisticsIfNeeded();
+        return jobsStatistics.getMeanJobSubmittingPeriod();
+    }
+
+    /**
+     * Computes the statistics of the jobs in the database the first time they are needed,
+     * they are then updated in memory as the jobs change. The pending buffered updates are
+     * written first, like for the job counts.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadJobsStatisticsIfNeeded() {
+        // updates of the statistics wait for them to be loaded
+        synchronized (jobsStatistics) {
+            if (jobsStatistics.isLoaded()) {
+                return;
             }
-        });
+            updatesBuffer.flush();
+            executeReadOnlyTransaction((SessionWork<Void>) session -> {
+                Object[] submissions = (Object[]) session.getNamedQuery("getMeanJobSubmittingPeriod").uniqueResult();
+                Object[] pendingTimes = (Object[]) session.getNamedQuery("getJobsPendingTimeSum").uniqueResult();
+                Object[] executionTimes = (Object[]) session.getNamedQuery("getJobsExecutionTimeSum").uniqueResult();
+                Object[] tasks = (Object[]) session.getNamedQuery("getNotRemovedJobsTasksNumbers").uniqueResult();
+                List<Object[]> notFinishedJobsTasks = session.getNamedQuery("getJobsTasksNumbers")
+                                                             .setParameterList("status", NOT_FINISHED_JOB_STATUSES)
+                                                             .list();
+                jobsStatistics.load(submissions, pendingTimes, executionTimes, tasks, notFinishedJobsTasks);
+                return null;
+            });
+        }
     }
 
     public long getJobRunningTime(final String jobId) {
@@ -675,12 +846,24 @@ public class SchedulerDBManager {
     }
 
     public void executeHousekeepingInDB(final List<Long> jobIdList, final boolean shouldRemoveFromDb) {
+        List<String> resultValueReferences = shouldRemoveFromDb ? findResultValueReferences(jobIdList)
+                                                                : Collections.<String> emptyList();
+        List<Object[]> removedJobs = executeReadOnlyTransaction(session -> findNotRemovedJobs(session, jobIdList));
         executeReadWriteTransaction(new HousekeepingSessionWork(jobIdList, shouldRemoveFromDb));
+        jobCounts.jobsRemoved(removedJobs);
+        jobsStatistics.jobsRemoved(removedJobs);
+        removeUnreferencedResultValues(resultValueReferences);
     }
 
     public void removeJob(final JobId jobId, final long removedTime, final boolean removeData) {
+        List<String> resultValueReferences = Collections.emptyList();
+        if (removeData) {
+            resultValueReferences = findResultValueReferences(Collections.singletonList(jobId(jobId)));
+        }
+        List<Object[]> removedJobs = new ArrayList<>(1);
         executeReadWriteTransaction((SessionWork<Void>) session -> {
             long id = jobId(jobId);
+            removedJobs.addAll(findNotRemovedJobs(session, Collections.singletonList(id)));
 
             if (removeData) {
                 session.createSQLQuery("delete from TASK_DATA_DEPENDENCIES where JOB_ID = :jobId")
@@ -707,10 +890,42 @@ public class SchedulerDBManager {
             }
             return null;
         });
+        jobCounts.jobsRemoved(removedJobs);
+        jobsStatistics.jobsRemoved(removedJobs);
+        removeUnreferencedResultValues(resultValueReferences);
+    }
+
+    /**
+     * Returns the id, owner, status, number of finished tasks and number of tasks of the given
+     * jobs which are not removed yet, when they are needed to update the job counts and statistics.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findNotRemovedJobs(Session session, List<Long> jobIds) {
+        if ((!jobCounts.isLoaded() && !jobsStatistics.isLoaded()) || jobIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return session.getNamedQuery("getNotRemovedJobsOwnerAndStatus").setParameterList("jobIdList", jobIds).list();
     }
 
+    /**
+     * Updates the job counts and statistics once the changes of the job are committed, or buffered:
+     * buffered updates which are given up make them be loaded again from the database.
+     */
+    private void jobUpdated(InternalJob job) {
+        jobCounts.jobStatusChanged(jobId(job), job.getOwner(), job.getStatus());
+        jobsStatistics.jobUpdated(jobId(job), job.getJobInfo());
+    }
+
+    /**
+     * Loads the jobs which are not finished, by batches loaded concurrently in separate sessions.
+     * When the full state is loaded, the scripts and dataspace selectors of the tasks can be
+     * loaded later, the first time they are accessed.
+     */
     public List<InternalJob> loadNotFinishedJobs(boolean fullState) {
-        return loadJobs(fullState, NOT_FINISHED_JOB_STATUSES, -1);
+        boolean lazyTaskBody = fullState &&
+                               PASchedulerProperties.SCHEDULER_DB_RECOVERY_LAZY_TASK_BODY.getValueAsBoolean();
+        List<Long> ids = loadJobIds(NOT_FINISHED_JOB_STATUSES, -1);
+        return loadInternalJobsConcurrently(fullState, lazyTaskBody, ids);
     }
 
     public List<InternalJob> loadFinishedJobs(boolean fullState, long period) {
@@ -718,6 +933,12 @@ public class SchedulerDBManager {
     }
 
     private List<InternalJob> loadJobs(final boolean fullState, final Collection<JobStatus> status, final long period) {
+        List<Long> ids = loadJobIds(status, period);
+        return executeReadOnlyTransaction(session -> loadInternalJobs(fullState, session, ids));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> loadJobIds(final Collection<JobStatus> status, final long period) {
         return executeReadOnlyTransaction(session -> {
             logger.info("Loading Jobs from database");
 
@@ -735,10 +956,50 @@ public class SchedulerDBManager {
 
             logger.info(ids.size() + " Jobs to fetch from database");
 
-            return loadInternalJobs(fullState, session, ids);
+            return ids;
         });
     }
 
+    /**
+     * Loads the jobs by batches, each batch in its own read only transaction. Up to
+     * {@link #RECOVERY_LOAD_JOBS_THREADS} batches are loaded at the same time.
+     */
+    private List<InternalJob> loadInternalJobsConcurrently(boolean fullState, boolean lazyTaskBody, List<Long> ids) {
+        List<List<Long>> batches = Lists.partition(ids, RECOVERY_LOAD_JOBS_BATCH_SIZE);
+        int threads = Math.min(RECOVERY_LOAD_JOBS_THREADS, batches.size());
+        if (threads <= 1) {
+            return executeReadOnlyTransaction(session -> loadInternalJobs(fullState, lazyTaskBody, session, ids));
+        }
+
+        ExecutorService loadJobsPool = Executors.newFixedThreadPool(threads, new NamedThreadFactory("LoadJobs"));
+        try {
+            List<Future<List<InternalJob>>> loadedBatches = new ArrayList<>(batches.size());
+            for (List<Long> batch : batches) {
+                loadedBatches.add(loadJobsPool.submit(() -> executeReadOnlyTransaction(session -> {
+                    List<InternalJob> jobs = new ArrayList<>(batch.size());
+                    Query jobQuery = session.getNamedQuery("loadInternalJobs");
+                    batchLoadJobs(session, fullState, lazyTaskBody, jobQuery, batch, jobs);
+                    return jobs;
+                })));
+            }
+
+            List<InternalJob> result = new ArrayList<>(ids.size());
+            for (Future<List<InternalJob>> loadedBatch : loadedBatches) {
+                result.addAll(loadedBatch.get());
+                logger.info("Fetched " + result.size() + " internal Jobs");
+            }
+            logger.info(ALL_REQUIRED_JOBS_HAVE_BEEN_FETCHED);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseManagerException("Interrupted while loading jobs", e);
+        } catch (ExecutionException e) {
+            throw new DatabaseManagerException("Failed to load jobs", e.getCause());
+        } finally {
+            loadJobsPool.shutdownNow();
+        }
+    }
+
     public List<InternalJob> loadJobWithTasksIfNotRemoved(final JobId... jobIds) {
         return executeReadOnlyTransaction(session -> {
             Query jobQuery = session.getNamedQuery("loadJobDataIfNotRemoved").setReadOnly(true);
@@ -746,7 +1007,7 @@ public class SchedulerDBManager {
             List<Long> ids = Arrays.stream(jobIds).map(SchedulerDBManager::jobId).collect(Collectors.toList());
 
             List<InternalJob> result = new ArrayList<>(jobIds.length);
-            batchLoadJobs(session, false, jobQuery, ids, result);
+            batchLoadJobs(session, false, false, jobQuery, ids, result);
             return result;
         });
     }
@@ -758,9 +1019,12 @@ public class SchedulerDBManager {
         });
     }
 
+    /**
+     * Loads the tasks of the given jobs, with their scripts and dataspace selectors only if withBody is true.
+     */
     @SuppressWarnings("unchecked")
-    private Map<Long, List<TaskData>> loadJobsTasks(Session session, List<Long> jobIds) {
-        Query tasksQuery = session.getNamedQuery("loadJobsTasks")
+    private Map<Long, List<TaskData>> loadJobsTasks(Session session, List<Long> jobIds, boolean withBody) {
+        Query tasksQuery = session.getNamedQuery(withBody ? "loadJobsTasks" : "loadJobsTasksWithoutBody")
                                   .setParameterList("ids", jobIds)
                                   .setReadOnly(true)
                                   .setResultTransformer(DistinctRootEntityResultTransformer.INSTANCE);
@@ -770,6 +1034,12 @@ public class SchedulerDBManager {
 
     // Executed in a transaction from the caller
     private List<InternalJob> loadInternalJobs(boolean fullState, Session session, List<Long> ids) {
+        return loadInternalJobs(fullState, false, session, ids);
+    }
+
+    // Executed in a transaction from the caller
+    private List<InternalJob> loadInternalJobs(boolean fullState, boolean lazyTaskBody, Session session,
+            List<Long> ids) {
         Query jobQuery = session.getNamedQuery("loadInternalJobs");
 
         List<InternalJob> result = new ArrayList<>(ids.size());
@@ -781,7 +1051,7 @@ public class SchedulerDBManager {
             batchLoadIds.add(id);
             if (batchLoadIds.size() == RECOVERY_LOAD_JOBS_BATCH_SIZE) {
                 logger.info("Loading internal Jobs, batch number " + batchIndex);
-                batchLoadJobs(session, fullState, jobQuery, batchLoadIds, result);
+                batchLoadJobs(session, fullState, lazyTaskBody, jobQuery, batchLoadIds, result);
                 batchLoadIds.clear();
                 session.clear();
                 logger.info("Fetched " + (batchIndex * RECOVERY_LOAD_JOBS_BATCH_SIZE) + " internal Jobs");
@@ -790,7 +1060,7 @@ public class SchedulerDBManager {
         }
 
         if (!batchLoadIds.isEmpty()) {
-            batchLoadJobs(session, fullState, jobQuery, batchLoadIds, result);
+            batchLoadJobs(session, fullState, lazyTaskBody, jobQuery, batchLoadIds, result);
         }
 
         logger.info(ALL_REQUIRED_JOBS_HAVE_BEEN_FETCHED);
@@ -799,23 +1069,26 @@ public class SchedulerDBManager {
     }
 
     // Executed in a transaction from the caller
-    private void batchLoadJobs(Session session, boolean fullState, Query jobQuery, List<Long> ids,
-            Collection<InternalJob> jobs) {
-        Map<Long, List<TaskData>> tasksMap = loadJobsTasks(session, ids);
+    private void batchLoadJobs(Session session, boolean fullState, boolean lazyTaskBody, Query jobQuery,
+            List<Long> ids, Collection<InternalJob> jobs) {
+        Map<Long, List<TaskData>> tasksMap = loadJobsTasks(session, ids, fullState && !lazyTaskBody);
 
         jobQuery.setParameterList("ids", ids);
         List<JobData> jobsList = (List<JobData>) jobQuery.list();
 
         for (JobData jobData : jobsList) {
             InternalJob internalJob = jobData.toInternalJob();
-            internalJob.setTasks(toInternalTasks(fullState, internalJob, tasksMap.get(jobData.getId())));
+            internalJob.setTasks(toInternalTasks(fullState,
+                                                 lazyTaskBody,
+                                                 internalJob,
+                                                 tasksMap.get(jobData.getId())));
 
             jobs.add(internalJob);
         }
     }
 
-    private Collection<InternalTask> toInternalTasks(boolean loadFullState, InternalJob internalJob,
-            List<TaskData> taskRuntimeDataList) {
+    private Collection<InternalTask> toInternalTasks(boolean loadFullState, boolean lazyTaskBody,
+            InternalJob internalJob, List<TaskData> taskRuntimeDataList) {
         Map<DBTaskId, InternalTask> tasks = new HashMap<>(taskRuntimeDataList.size());
 
         try {
@@ -824,29 +1097,14 @@ public class SchedulerDBManager {
                 if (loadFullState) {
                     internalTask.setParallelEnvironment(taskData.getParallelEnvironment());
                     internalTask.setGenericInformation(taskData.getGenericInformation());
-                    for (SelectionScriptData scriptData : taskData.getSelectionScripts()) {
-                        internalTask.addSelectionScript(scriptData.createSelectionScript());
-                    }
-                    if (taskData.getCleanScript() != null) {
-                        internalTask.setCleaningScript(taskData.getCleanScript().createSimpleScript());
-                    }
-                    if (taskData.getPreScript() != null) {
-                        internalTask.setPreScript(taskData.getPreScript().createSimpleScript());
-                    }
-                    if (taskData.getPostScript() != null) {
-                        internalTask.setPostScript(taskData.getPostScript().createSimpleScript());
-                    }
+                    // the flow script is needed to build the job descriptor
                     if (taskData.getFlowScript() != null) {
                         internalTask.setFlowScript(taskData.getFlowScript().createFlowScript());
                     }
-                    for (SelectorData selectorData : taskData.getDataspaceSelectors()) {
-                        if (selectorData.isInput()) {
-                            InputSelector selector = selectorData.createInputSelector();
-                            internalTask.addInputFiles(selector.getInputFiles(), selector.getMode());
-                        } else {
-                            OutputSelector selector = selectorData.createOutputSelector();
-                            internalTask.addOutputFiles(selector.getOutputFiles(), selector.getMode());
-                        }
+                    if (lazyTaskBody) {
+                        internalTask.setBodyLoader(this::loadTaskBody);
+                    } else {
+                        setTaskBody(taskData, internalTask);
                     }
                 }
                 tasks.put(taskData.getId(), internalTask);
@@ -880,6 +1138,90 @@ public class SchedulerDBManager {
         return tasks.values();
     }
 
+    /**
+     * Sets the scripts and dataspace selectors of a task, which take one query each to load.
+     */
+    private static void setTaskBody(TaskData taskData, InternalTask internalTask) throws InvalidScriptException {
+        for (SelectionScriptData scriptData : taskData.getSelectionScripts()) {
+            internalTask.addSelectionScript(scriptData.createSelectionScript());
+        }
+        if (taskData.getCleanScript() != null) {
+            internalTask.setCleaningScript(taskData.getCleanScript().createSimpleScript());
+        }
+        if (taskData.getPreScript() != null) {
+            internalTask.setPreScript(taskData.getPreScript().createSimpleScript());
+        }
+        if (taskData.getPostScript() != null) {
+            internalTask.setPostScript(taskData.getPostScript().createSimpleScript());
+        }
+        for (SelectorData selectorData : taskData.getDataspaceSelectors()) {
+            if (selectorData.isInput()) {
+                InputSelector selector = selectorData.createInputSelector();
+                internalTask.addInputFiles(selector.getInputFiles(), selector.getMode());
+            } else {
+                OutputSelector selector = selectorData.createOutputSelector();
+                internalTask.addOutputFiles(selector.getOutputFiles(), selector.getMode());
+            }
+        }
+    }
+
+    /**
+     * Loads the scripts and dataspace selectors of a task recovered without them.
+     *
+     * @param task the task to complete
+     */
+    public void loadTaskBody(final InternalTask task) {
+        executeReadOnlyTransaction((SessionWork<Void>) session -> {
+            TaskData taskData = queryScriptTaskData(session, task);
+            if (taskData == null) {
+                throw new DatabaseManagerException("Failed to load data for task " + task.getId());
+            }
+            try {
+                setTaskBody(taskData, task);
+            } catch (InvalidScriptException e) {
+                throw new DatabaseManagerException("Failed to initialize loaded script", e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Loads in a single transaction the scripts and dataspace selectors of the given tasks which were
+     * recovered without them, see {@link #loadTaskBody(InternalTask)}.
+     *
+     * @param tasks the tasks to complete, those whose body is already loaded are ignored
+     */
+    @SuppressWarnings("unchecked")
+    public void loadTaskBodies(final Collection<InternalTask> tasks) {
+        final Map<DBTaskId, InternalTask> tasksToLoad = new HashMap<>();
+        for (InternalTask task : tasks) {
+            if (!task.isBodyLoaded()) {
+                tasksToLoad.put(taskId(task), task);
+            }
+        }
+        if (tasksToLoad.isEmpty()) {
+            return;
+        }
+        executeReadOnlyTransaction((SessionWork<Void>) session -> {
+            Query query = session.getNamedQuery("loadTasksBodies")
+                                 .setReadOnly(true)
+                                 .setResultTransformer(DistinctRootEntityResultTransformer.INSTANCE);
+            List<DBTaskId> ids = new ArrayList<>(tasksToLoad.keySet());
+            for (List<DBTaskId> batch : Lists.partition(ids, TASK_BODIES_BATCH_SIZE)) {
+                for (TaskData taskData : (List<TaskData>) query.setParameterList("ids", batch).list()) {
+                    tasksToLoad.get(taskData.getId()).loadBody(task -> {
+                        try {
+                            setTaskBody(taskData, task);
+                        } catch (InvalidScriptException e) {
+                            throw new DatabaseManagerException("Failed to initialize loaded script", e);
+                        }
+                    });
+                }
+            }
+            return null;
+        });
+    }
+
     public void changeJobPriority(final JobId jobId, final JobPriority priority) {
         executeReadWriteTransaction((SessionWork<Void>) session -> {
             long id = jobId(jobId);
@@ -893,49 +1235,36 @@ public class SchedulerDBManager {
     }
 
     public void jobTaskStarted(final InternalJob job, final InternalTask task, final boolean taskStatusToPending) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
-            long jobId = jobId(job);
-
-            JobInfo jobInfo = job.getJobInfo();
-
-            session.getNamedQuery("updateJobDataTaskStarted")
-                   .setParameter("status", jobInfo.getStatus())
-                   .setParameter("startTime", jobInfo.getStartTime())
-                   .setParameter("numberOfPendingTasks", jobInfo.getNumberOfPendingTasks())
-                   .setParameter("numberOfRunningTasks", jobInfo.getNumberOfRunningTasks())
-                   .setParameter("lastUpdatedTime", new Date().getTime())
-                   .setParameter("jobId", jobId)
-                   .executeUpdate();
+        jobTasksStarted(Collections.singletonMap(job, Collections.singletonList(task)),
+                        taskStatusToPending ? Collections.singleton(job.getId()) : Collections.<JobId> emptySet());
+    }
 
-            if (taskStatusToPending) {
-                JobData job1 = session.load(JobData.class, jobId);
-                session.getNamedQuery("updateTaskDataStatusToPending")
-                       .setParameter("taskStatus", TaskStatus.PENDING)
-                       .setParameter("job", job1)
-                       .executeUpdate();
+    /**
+     * Persists the start of several tasks in a single transaction, which is delayed
+     * when the updates buffer is enabled.
+     *
+     * @param startedTasks the started tasks grouped by job
+     * @param jobsStarted the jobs whose first task was started, their tasks are set to pending
+     */
+    public void jobTasksStarted(final Map<InternalJob, List<InternalTask>> startedTasks,
+            final Set<JobId> jobsStarted) {
+        List<SchedulerDBManagerBuffer.Update> updates = new ArrayList<>();
+        for (Map.Entry<InternalJob, List<InternalTask>> startedJobTasks : startedTasks.entrySet()) {
+            InternalJob job = startedJobTasks.getKey();
+            updates.add(SchedulerDBManagerBuffer.jobTasksStarted(job));
+            if (jobsStarted.contains(job.getId())) {
+                updates.add(SchedulerDBManagerBuffer.jobTasksToPending(job));
             }
-
-            DBTaskId taskId = taskId(task);
-
-            TaskInfo taskInfo = task.getTaskInfo();
-
-            ExecuterInformationData executerInfo = new ExecuterInformationData(taskId.getTaskId(),
-                                                                               task.getExecuterInformation());
-
-            session.getNamedQuery("updateTaskDataTaskStarted")
-                   .setParameter("taskStatus", taskInfo.getStatus())
-                   .setParameter("startTime", taskInfo.getStartTime())
-                   .setParameter("finishedTime", taskInfo.getFinishedTime())
-                   .setParameter("executionHostName", taskInfo.getExecutionHostName())
-                   .setParameter("executerInformationData", executerInfo)
-                   .setParameter("taskId", taskId)
-                   .executeUpdate();
-            return null;
-        });
+            for (InternalTask task : startedJobTasks.getValue()) {
+                updates.add(SchedulerDBManagerBuffer.taskStarted(task));
+            }
+        }
+        updatesBuffer.addUpdates(updates);
+        startedTasks.keySet().forEach(this::jobUpdated);
     }
 
     public void taskRestarted(final InternalJob job, final InternalTask task, final TaskResultImpl result) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
+        executeResultStoringTransaction((SessionWork<Void>) session -> {
             long jobId = jobId(job);
 
             JobInfo jobInfo = job.getJobInfo();
@@ -968,12 +1297,13 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     @SuppressWarnings("unchecked")
     public void updateAfterWorkflowTaskFinished(final InternalJob job, final ChangedTasksInfo changesInfo,
             final TaskResultImpl result) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
+        executeResultStoringTransaction((SessionWork<Void>) session -> {
             long jobId = jobId(job);
 
             JobInfo jobInfo = job.getJobInfo();
@@ -1042,6 +1372,7 @@ public class SchedulerDBManager {
 
             return null;
         }, false);
+        jobUpdated(job);
     }
 
     public void updateAfterJobKilled(InternalJob job, Set<TaskId> tasksToUpdate) {
@@ -1132,19 +1463,17 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     public void updateJobAndTasksState(final InternalJob job) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
-
-            for (TaskState task : job.getTasks()) {
-                updateTaskData(task, session);
-            }
-
-            updateJobState(job, session);
-
-            return null;
-        });
+        List<SchedulerDBManagerBuffer.Update> updates = new ArrayList<>();
+        for (TaskState task : job.getTasks()) {
+            updates.add(SchedulerDBManagerBuffer.taskState(task));
+        }
+        updates.add(SchedulerDBManagerBuffer.jobState(job));
+        updatesBuffer.addUpdates(updates);
+        jobUpdated(job);
     }
 
     public void pauseJobAndTasks(final InternalJob job) {
@@ -1155,6 +1484,7 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     public void updateJobAndRestartAllInErrorTasks(InternalJob job) {
@@ -1165,6 +1495,7 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     private void restartAllInErrorTasks(InternalJob job, Session session) {
@@ -1183,6 +1514,7 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     private void unpauseTasks(InternalJob job, Session session) {
@@ -1195,62 +1527,22 @@ public class SchedulerDBManager {
     }
 
     private void updateJobState(InternalJob job, Session session) {
-        JobInfo jobInfo = job.getJobInfo();
-
-        session.getNamedQuery("updateJobAndTasksState")
-               .setParameter("status", jobInfo.getStatus())
-               .setParameter("numberOfFailedTasks", jobInfo.getNumberOfFailedTasks())
-               .setParameter("numberOfFaultyTasks", jobInfo.getNumberOfFaultyTasks())
-               .setParameter("numberOfInErrorTasks", jobInfo.getNumberOfInErrorTasks())
-               .setParameter("inErrorTime", jobInfo.getInErrorTime())
-               .setParameter("lastUpdatedTime", new Date().getTime())
-               .setParameter("jobId", jobId(job))
-               .executeUpdate();
+        SchedulerDBManagerBuffer.jobState(job).apply(session);
     }
 
     public void updateJobAndTaskState(final InternalJob job, final InternalTask task) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
-
-            updateTaskData(task, session);
-
-            updateJobState(job, session);
-
-            return null;
-        });
+        updatesBuffer.addUpdates(Arrays.asList(SchedulerDBManagerBuffer.taskState(task),
+                                               SchedulerDBManagerBuffer.jobState(job)));
+        jobUpdated(job);
     }
 
     public void updateTaskSchedulingTime(final InternalJob job, final long scheduledTime) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
-
-            for (TaskState task : job.getTasks()) {
-                updateScheduledTime(job.getId().longValue(), task.getId().longValue(), scheduledTime);
-            }
-
-            return null;
-        });
+        SchedulerDBManagerBuffer.Update update = SchedulerDBManagerBuffer.jobTasksScheduledTime(job, scheduledTime);
+        updatesBuffer.addUpdates(Collections.singletonList(update));
     }
 
     public void updateTaskState(final TaskState task) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
-            updateTaskData(task, session);
-
-            return null;
-        });
-    }
-
-    private int updateTaskData(final TaskState task, Session session) {
-
-        Query taskUpdateQuery = session.getNamedQuery("updateTaskData");
-
-        TaskInfo taskInfo = task.getTaskInfo();
-
-        return taskUpdateQuery.setParameter("taskStatus", taskInfo.getStatus())
-                              .setParameter("numberOfExecutionLeft", taskInfo.getNumberOfExecutionLeft())
-                              .setParameter("numberOfExecutionOnFailureLeft",
-                                            taskInfo.getNumberOfExecutionOnFailureLeft())
-                              .setParameter("inErrorTime", taskInfo.getInErrorTime())
-                              .setParameter("taskId", taskId(task.getId()))
-                              .executeUpdate();
+        updatesBuffer.addUpdates(Collections.singletonList(SchedulerDBManagerBuffer.taskState(task)));
     }
 
     public void updateStartTime(long jobId, long taskId, long newStartTime) {
@@ -1288,7 +1580,7 @@ public class SchedulerDBManager {
 
     private void updateAfterTaskFinished(final InternalJob job, final InternalTask finishedTask,
             final TaskResultImpl result, final Set<TaskId> tasksToUpdate) {
-        executeReadWriteTransaction((SessionWork<Void>) session -> {
+        executeResultStoringTransaction((SessionWork<Void>) session -> {
             long jobId = jobId(job);
 
             JobInfo jobInfo = job.getJobInfo();
@@ -1343,17 +1635,95 @@ public class SchedulerDBManager {
 
             return null;
         });
+        jobUpdated(job);
     }
 
     private TaskResultData saveTaskResult(TaskData.DBTaskId taskId, TaskResultImpl result, Session session) {
         TaskData taskRuntimeData = session.load(TaskData.class, taskId);
 
         TaskResultData resultData = TaskResultData.createTaskResultData(taskRuntimeData, result);
+        storeResultValueOutOfDatabase(resultData, result);
         session.save(resultData);
 
         return resultData;
     }
 
+    private void storeResultValueOutOfDatabase(TaskResultData resultData, TaskResultImpl result) {
+        byte[] serializedValue = resultData.getSerializedValue();
+        if (resultValueStore == null || !resultValueStore.accepts(serializedValue)) {
+            return;
+        }
+        try {
+            String reference = resultValueStore.store(serializedValue);
+            resultData.setSerializedValue(null);
+            resultData.setSerializedValueReference(reference);
+            // the result kept in memory does not need to hold the value anymore
+            result.setValueReference(new TaskResultValueReference(reference, resultValueProvider));
+        } catch (IOException e) {
+            logger.warn("Could not store the result of the task " + result.getTaskId() +
+                        " out of the database, keeping it in the database", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> findResultValueReferences(List<Long> jobIds) {
+        if (resultValueStore == null || jobIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return executeReadOnlyTransaction(session -> {
+            Query query = session.getNamedQuery("findTaskResultValueReferencesOfJobs");
+            return (List<String>) query.setParameterList("jobIdList", jobIds).list();
+        });
+    }
+
+    /**
+     * Removes from the result store the values which are not referenced anymore,
+     * identical values of several tasks being stored once.
+     */
+    @SuppressWarnings("unchecked")
+    private void removeUnreferencedResultValues(List<String> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        resultValuesLock.writeLock().lock();
+        try {
+            Set<String> referenced = executeReadOnlyTransaction(session -> {
+                Set<String> answer = new HashSet<>();
+                Query query = session.getNamedQuery("findReferencedTaskResultValues");
+                for (List<String> batch : Lists.partition(references, RESULT_VALUE_REFERENCES_BATCH_SIZE)) {
+                    answer.addAll((List<String>) query.setParameterList("references", batch).list());
+                }
+                return answer;
+            });
+            for (String reference : references) {
+                if (!referenced.contains(reference)) {
+                    resultValueStore.remove(reference);
+                }
+            }
+        } finally {
+            resultValuesLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Executes a transaction which can store result values in the result store, see {@link #resultValuesLock}
+     */
+    private <T> T executeResultStoringTransaction(SessionWork<T> sessionWork) {
+        return executeResultStoringTransaction(sessionWork, true);
+    }
+
+    private <T> T executeResultStoringTransaction(SessionWork<T> sessionWork, boolean readOnlyEntities) {
+        if (resultValueStore == null) {
+            return executeReadWriteTransaction(sessionWork, readOnlyEntities);
+        }
+        resultValuesLock.readLock().lock();
+        try {
+            return executeReadWriteTransaction(sessionWork, readOnlyEntities);
+        } finally {
+            resultValuesLock.readLock().unlock();
+        }
+    }
+
     public void jobSetToBeRemoved(final JobId jobId) {
         executeReadWriteTransaction((SessionWork<Void>) session -> {
             long id = jobId(jobId);
@@ -1417,6 +1787,83 @@ public class SchedulerDBManager {
 
     }
 
+    /**
+     * Loads the last results of a page of the tasks of a job, the tasks being ordered by id.
+     * Tasks without result are skipped, so a page can contain fewer results than its limit.
+     *
+     * @param jobId the id of the job
+     * @param offset the index of the first task of the page
+     * @param limit the maximum number of tasks of the page
+     * @return the results of the page, sized with the total number of tasks of the job, or null
+     *         if the job does not exist
+     */
+    public Page<TaskResult> loadTaskResultsPage(final JobId jobId, final int offset, final int limit) {
+        return loadLastTaskResultsPage(jobId, offset, limit, "loadTasksResults", (taskId, resultData) -> {
+            return ((TaskResultData) resultData).toTaskResult(taskId, resultValueProvider);
+        });
+    }
+
+    /**
+     * Loads the logs of the last results of a page of the tasks of a job, the tasks being ordered by id.
+     * Only the logs are read from the database, not the values of the results.
+     * Tasks without result are skipped, so a page can contain fewer logs than its limit.
+     *
+     * @param jobId the id of the job
+     * @param offset the index of the first task of the page
+     * @param limit the maximum number of tasks of the page
+     * @return the logs of the page, sized with the total number of tasks of the job, or null
+     *         if the job does not exist
+     */
+    public Page<TaskLogs> loadTaskLogsPage(final JobId jobId, final int offset, final int limit) {
+        return loadLastTaskResultsPage(jobId, offset, limit, "loadTasksLogs", (taskId, logs) -> (TaskLogs) logs);
+    }
+
+    /**
+     * Runs the given query, whose rows are made of a result field, a task id and a task name ordered
+     * by task then by descending result time, on a page of the tasks of a job and keeps the first
+     * row of each task, unless its result field is null.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Page<T> loadLastTaskResultsPage(final JobId jobId, final int offset, final int limit,
+            final String queryName, final BiFunction<TaskId, Object, T> toElement) {
+        return executeReadOnlyTransaction(session -> {
+            JobData job = session.get(JobData.class, jobId(jobId));
+
+            if (job == null) {
+                return null;
+            }
+
+            List<DBTaskId> dbTaskIds = session.getNamedQuery("findTaskIdsOfJob")
+                                              .setParameter("job", job)
+                                              .setFirstResult(offset)
+                                              .setMaxResults(limit)
+                                              .list();
+
+            List<T> elements = new ArrayList<>(dbTaskIds.size());
+            if (!dbTaskIds.isEmpty()) {
+                List<Object[]> resultList = session.getNamedQuery(queryName)
+                                                   .setParameterList("tasksIds", dbTaskIds)
+                                                   .list();
+                DBTaskId currentTaskId = null;
+                for (Object[] result : resultList) {
+                    DBTaskId dbTaskId = (DBTaskId) result[1];
+                    String taskName = (String) result[2];
+
+                    // results are ordered by task then by descending time, keep the last result of each task
+                    if (!dbTaskId.equals(currentTaskId)) {
+                        TaskId taskId = TaskIdImpl.createTaskId(jobId, taskName, dbTaskId.getTaskId());
+                        if (result[0] != null) {
+                            elements.add(toElement.apply(taskId, result[0]));
+                        }
+                        currentTaskId = dbTaskId;
+                    }
+                }
+            }
+
+            return new Page<>(elements, job.getTotalNumberOfTasks());
+        });
+    }
+
     public JobResult loadJobResult(final JobId jobId) {
         return executeReadOnlyTransaction((SessionWork<JobResult>) session -> {
             long id = jobId(jobId);
@@ -1462,7 +1909,7 @@ public class SchedulerDBManager {
             boolean nextTask = !dbTaskId.equals(currentTaskId);
             if (nextTask) {
                 TaskId taskId = TaskIdImpl.createTaskId(jobId, taskName, dbTaskId.getTaskId());
-                jobResult.addTaskResult(taskName, resultData.toTaskResult(taskId), preciousResult);
+                jobResult.addTaskResult(taskName, resultData.toTaskResult(taskId, resultValueProvider), preciousResult);
                 currentTaskId = dbTaskId;
             }
 
@@ -1556,7 +2003,7 @@ public class SchedulerDBManager {
         if (results.isEmpty()) {
             return null;
         } else {
-            return results.get(0).toTaskResult(taskId);
+            return results.get(0).toTaskResult(taskId, resultValueProvider);
         }
     }
 
@@ -1568,7 +2015,7 @@ public class SchedulerDBManager {
         Query query = session.getNamedQuery("loadTasksResultByTaskAsc").setParameter("task", task);
 
         return ((List<TaskResultData>) query.list()).stream()
-                                                    .map(resultData -> resultData.toTaskResult(taskId))
+                                                    .map(data -> data.toTaskResult(taskId, resultValueProvider))
                                                     .collect(Collectors.toList());
     }
 
@@ -1604,6 +2051,8 @@ public class SchedulerDBManager {
 
             return jobRuntimeData;
         });
+        jobCounts.jobSubmitted(jobId(job), job.getOwner(), job.getStatus());
+        jobsStatistics.jobSubmitted(jobId(job), job.getJobInfo());
     }
 
     private TaskData getTaskReference(Session session, InternalTask task) {
@@ -1712,11 +2161,11 @@ public class SchedulerDBManager {
     }
 
     public <T> T executeReadWriteTransaction(SessionWork<T> sessionWork) {
-        return transactionHelper.executeReadWriteTransaction(sessionWork);
+        return updatesBuffer.executeReadWriteTransaction(sessionWork, true);
     }
 
     private <T> T executeReadWriteTransaction(SessionWork<T> sessionWork, boolean readOnlyEntities) {
-        return transactionHelper.executeReadWriteTransaction(sessionWork, readOnlyEntities);
+        return updatesBuffer.executeReadWriteTransaction(sessionWork, readOnlyEntities);
     }
 
     public <T> T executeReadOnlyTransaction(SessionWork<T> sessionWork) {
@@ -1727,7 +2176,7 @@ public class SchedulerDBManager {
         return taskId(task.getId());
     }
 
-    private static TaskData.DBTaskId taskId(TaskId taskId) {
+    static TaskData.DBTaskId taskId(TaskId taskId) {
         TaskData.DBTaskId id = new TaskData.DBTaskId();
         id.setJobId(jobId(taskId.getJobId()));
         id.setTaskId(taskId.longValue());
@@ -1853,6 +2302,13 @@ public class SchedulerDBManager {
         });
     }
 
+    /**
+     * @return the buffer of the task and job state updates
+     */
+    public SchedulerDBManagerBuffer getUpdatesBuffer() {
+        return updatesBuffer;
+    }
+
     public TransactionHelper getTransactionHelper() {
         return transactionHelper;
     }
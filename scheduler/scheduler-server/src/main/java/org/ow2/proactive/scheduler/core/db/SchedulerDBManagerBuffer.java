@@ -0,0 +1,737 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.db.SessionWork;
+import org.ow2.proactive.db.TransactionHelper;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.common.task.TaskState;
+import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.core.db.TaskData.DBTaskId;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+
+
+/**
+ * Write-behind buffer for the task and job state transitions persisted by the {@link SchedulerDBManager}.
+ * <p>
+ * When {@link PASchedulerProperties#SCHEDULER_DB_TASK_UPDATES_DELAY} is greater than 0, state updates are
+ * not written in their own transaction. They are queued and merged per task and per job (a newer update of
+ * the same kind replaces the previous one), then written together in a single transaction once the delay
+ * has elapsed or once {@link PASchedulerProperties#SCHEDULER_DB_TASK_UPDATES_MAX_BUFFERED} updates are pending.
+ * <p>
+ * Every other read-write transaction of the database manager is a barrier: the pending updates are applied
+ * first, in the same transaction. Operations which need durability, such as a job submission or a task
+ * result, are thus never reordered with the buffered updates. Read-only transactions do not wait for the
+ * pending updates.
+ * <p>
+ * Updates which cannot be written are put back in the buffer and written again with the next batch. They are
+ * only given up, and counted as dropped, after {@link #MAX_WRITE_ATTEMPTS} failed attempts. The listener of
+ * the dropped updates is then notified.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class SchedulerDBManagerBuffer {
+
+    private static final Logger logger = Logger.getLogger(SchedulerDBManagerBuffer.class);
+
+    /** Number of times an update is written before it is given up */
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final TransactionHelper transactionHelper;
+
+    private final int delay;
+
+    private final int maximumBufferedUpdates;
+
+    private final ScheduledExecutorService flushExecutor;
+
+    private final Runnable droppedUpdatesListener;
+
+    private final Lock pendingUpdatesLock = new ReentrantLock();
+
+    /**
+     * The pending updates in the order they have to be applied. A newer update of the same kind
+     * for the same task or job replaces the previous one and moves at the end.
+     */
+    private LinkedHashMap<UpdateKey, Update> pendingUpdates = new LinkedHashMap<>();
+
+    private long oldestPendingUpdateTime;
+
+    private boolean flushScheduled = false;
+
+    private boolean flushInProgress = false;
+
+    /**
+     * Held while pending updates are written, so that the transactions
+     * waiting for them are committed after them.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    // statistics, guarded by pendingUpdatesLock
+
+    private long numberOfFlushes;
+
+    private long numberOfFlushedUpdates;
+
+    private long numberOfMergedUpdates;
+
+    private long numberOfDroppedUpdates;
+
+    private long maxBatchSize;
+
+    private long totalFlushTime;
+
+    private long maxFlushTime;
+
+    private long totalUpdateDelay;
+
+    private long maxUpdateDelay;
+
+    SchedulerDBManagerBuffer(TransactionHelper transactionHelper, Runnable droppedUpdatesListener) {
+        this(transactionHelper,
+             PASchedulerProperties.SCHEDULER_DB_TASK_UPDATES_DELAY.getValueAsInt(),
+             PASchedulerProperties.SCHEDULER_DB_TASK_UPDATES_MAX_BUFFERED.getValueAsInt(),
+             droppedUpdatesListener);
+    }
+
+    SchedulerDBManagerBuffer(TransactionHelper transactionHelper, int delay, int maximumBufferedUpdates) {
+        this(transactionHelper, delay, maximumBufferedUpdates, () -> {
+        });
+    }
+
+    /**
+     * @param droppedUpdatesListener called when updates are given up, so that the state derived from them
+     *            in memory can be computed again from the database
+     */
+    SchedulerDBManagerBuffer(TransactionHelper transactionHelper, int delay, int maximumBufferedUpdates,
+            Runnable droppedUpdatesListener) {
+        this.transactionHelper = transactionHelper;
+        this.droppedUpdatesListener = droppedUpdatesListener;
+        this.delay = Math.max(delay, 0);
+        this.maximumBufferedUpdates = Math.max(maximumBufferedUpdates, 1);
+        if (this.delay > 0) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("DB_Updates_Flush", true));
+        } else {
+            flushExecutor = null;
+        }
+    }
+
+    /**
+     * @return true if the state updates are delayed, false if they are written synchronously
+     */
+    public boolean isEnabled() {
+        return delay > 0;
+    }
+
+    /**
+     * Writes the given updates in a single transaction, after the configured delay when the buffer is enabled,
+     * synchronously otherwise.
+     */
+    void addUpdates(final List<Update> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        if (!isEnabled()) {
+            transactionHelper.executeReadWriteTransaction((SessionWork<Void>) session -> {
+                applyUpdates(updates, session);
+                return null;
+            });
+            return;
+        }
+        boolean flushNow = false;
+        pendingUpdatesLock.lock();
+        try {
+            if (pendingUpdates.isEmpty()) {
+                oldestPendingUpdateTime = System.currentTimeMillis();
+            }
+            for (Update update : updates) {
+                if (pendingUpdates.remove(update.key) != null) {
+                    numberOfMergedUpdates++;
+                }
+                pendingUpdates.put(update.key, update);
+            }
+            if (pendingUpdates.size() >= maximumBufferedUpdates) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                flushExecutor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+        if (flushNow) {
+            logger.debug("Maximum number of buffered updates reached, flushing them");
+            flush();
+        }
+    }
+
+    /**
+     * Writes all the pending updates and waits for their commit.
+     */
+    public void flush() {
+        executeReadWriteTransaction(null, true);
+    }
+
+    /**
+     * Executes the given work in a read-write transaction, once all the pending updates are written.
+     * The pending updates are written in the same transaction when possible.
+     *
+     * @param sessionWork the work to execute, null to only write the pending updates
+     * @param readOnlyEntities whether the entities loaded by the work are read-only
+     * @return the result of the work
+     */
+    <T> T executeReadWriteTransaction(final SessionWork<T> sessionWork, boolean readOnlyEntities) {
+        if (!hasPendingUpdates()) {
+            return executeWork(sessionWork, readOnlyEntities);
+        }
+        flushLock.lock();
+        try {
+            final List<Update> updates = takePendingUpdates();
+            if (!updates.isEmpty()) {
+                if (sessionWork != null) {
+                    try {
+                        long flushStart = System.currentTimeMillis();
+                        T result = transactionHelper.executeReadWriteTransaction(session -> {
+                            applyUpdates(updates, session);
+                            return sessionWork.doInTransaction(session);
+                        }, readOnlyEntities);
+                        recordFlush(updates.size(), flushStart);
+                        return result;
+                    } catch (RuntimeException e) {
+                        if (writeUpdates(updates)) {
+                            // the updates alone are fine, the work failed on its own
+                            throw e;
+                        }
+                    }
+                } else {
+                    writeUpdates(updates);
+                }
+            }
+            return executeWork(sessionWork, readOnlyEntities);
+        } finally {
+            pendingUpdatesLock.lock();
+            try {
+                flushInProgress = false;
+            } finally {
+                pendingUpdatesLock.unlock();
+            }
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending updates and stops the background flushes.
+     */
+    void close() {
+        if (flushExecutor != null) {
+            flush();
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    private <T> T executeWork(SessionWork<T> sessionWork, boolean readOnlyEntities) {
+        if (sessionWork == null) {
+            return null;
+        }
+        return transactionHelper.executeReadWriteTransaction(sessionWork, readOnlyEntities);
+    }
+
+    /**
+     * Writes the given updates in their own transaction. If it fails, the updates are written one by one
+     * and those which still fail are put back in the buffer.
+     *
+     * @return true if all the updates were written
+     */
+    private boolean writeUpdates(final List<Update> updates) {
+        long flushStart = System.currentTimeMillis();
+        try {
+            writeInTransaction(updates);
+            recordFlush(updates.size(), flushStart);
+            return true;
+        } catch (RuntimeException e) {
+            if (updates.size() == 1) {
+                handleFailedUpdates(updates, e);
+                return false;
+            }
+            logger.warn("Buffered database updates could not be written together, writing them one by one", e);
+        }
+        List<Update> failedUpdates = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Update update : updates) {
+            try {
+                writeInTransaction(Collections.singletonList(update));
+            } catch (RuntimeException e) {
+                failedUpdates.add(update);
+                failure = e;
+            }
+        }
+        if (failedUpdates.size() < updates.size()) {
+            recordFlush(updates.size() - failedUpdates.size(), flushStart);
+        }
+        if (failure != null) {
+            handleFailedUpdates(failedUpdates, failure);
+            return false;
+        }
+        return true;
+    }
+
+    private void writeInTransaction(final List<Update> updates) {
+        transactionHelper.executeReadWriteTransaction((SessionWork<Void>) session -> {
+            applyUpdates(updates, session);
+            return null;
+        });
+    }
+
+    private void handleFailedUpdates(List<Update> failedUpdates, RuntimeException failure) {
+        int dropped = putBackUpdates(failedUpdates);
+        if (dropped > 0) {
+            logger.error("Buffered database updates could not be written, " + dropped + " updates are lost after " +
+                         MAX_WRITE_ATTEMPTS + " attempts", failure);
+            droppedUpdatesListener.run();
+        } else {
+            logger.warn("Buffered database updates could not be written, they will be written again", failure);
+        }
+    }
+
+    /**
+     * Puts updates which could not be written back at the head of the buffer, unless they have been
+     * replaced by newer updates in the meantime or they have failed too many times.
+     *
+     * @return the number of updates given up
+     */
+    private int putBackUpdates(List<Update> updates) {
+        pendingUpdatesLock.lock();
+        try {
+            int dropped = 0;
+            LinkedHashMap<UpdateKey, Update> retriedUpdates = new LinkedHashMap<>();
+            for (Update update : updates) {
+                if (++update.failedWrites >= MAX_WRITE_ATTEMPTS) {
+                    dropped++;
+                } else if (!pendingUpdates.containsKey(update.key)) {
+                    retriedUpdates.put(update.key, update);
+                }
+            }
+            numberOfDroppedUpdates += dropped;
+            if (!retriedUpdates.isEmpty()) {
+                if (pendingUpdates.isEmpty()) {
+                    oldestPendingUpdateTime = System.currentTimeMillis();
+                }
+                retriedUpdates.putAll(pendingUpdates);
+                pendingUpdates = retriedUpdates;
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    flushExecutor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+            return dropped;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    private static void applyUpdates(List<Update> updates, Session session) {
+        for (Update update : updates) {
+            update.apply(session);
+        }
+    }
+
+    private boolean hasPendingUpdates() {
+        if (!isEnabled()) {
+            return false;
+        }
+        pendingUpdatesLock.lock();
+        try {
+            return !pendingUpdates.isEmpty() || flushInProgress;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    private List<Update> takePendingUpdates() {
+        pendingUpdatesLock.lock();
+        try {
+            List<Update> updates = new ArrayList<>(pendingUpdates.values());
+            if (!updates.isEmpty()) {
+                long updateDelay = System.currentTimeMillis() - oldestPendingUpdateTime;
+                totalUpdateDelay += updateDelay;
+                maxUpdateDelay = Math.max(maxUpdateDelay, updateDelay);
+                pendingUpdates = new LinkedHashMap<>();
+                flushInProgress = true;
+            }
+            flushScheduled = false;
+            return updates;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    private void recordFlush(int batchSize, long flushStart) {
+        long flushTime = System.currentTimeMillis() - flushStart;
+        pendingUpdatesLock.lock();
+        try {
+            numberOfFlushes++;
+            numberOfFlushedUpdates += batchSize;
+            maxBatchSize = Math.max(maxBatchSize, batchSize);
+            totalFlushTime += flushTime;
+            maxFlushTime = Math.max(maxFlushTime, flushTime);
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Wrote " + batchSize + " buffered updates in " + flushTime + " ms");
+        }
+    }
+
+    public int getPendingUpdates() {
+        pendingUpdatesLock.lock();
+        try {
+            return pendingUpdates.size();
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public long getNumberOfFlushes() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfFlushes;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public long getNumberOfFlushedUpdates() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfFlushedUpdates;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public long getNumberOfMergedUpdates() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfMergedUpdates;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public long getNumberOfDroppedUpdates() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfDroppedUpdates;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public double getMeanBatchSize() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfFlushes == 0 ? 0 : (double) numberOfFlushedUpdates / numberOfFlushes;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    public long getMaxBatchSize() {
+        pendingUpdatesLock.lock();
+        try {
+            return maxBatchSize;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    /**
+     * @return the mean time spent writing a batch of updates, in milliseconds
+     */
+    public double getMeanFlushTime() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfFlushes == 0 ? 0 : (double) totalFlushTime / numberOfFlushes;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum time spent writing a batch of updates, in milliseconds
+     */
+    public long getMaxFlushTime() {
+        pendingUpdatesLock.lock();
+        try {
+            return maxFlushTime;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    /**
+     * @return the mean time the oldest update of a batch has waited before being written, in milliseconds
+     */
+    public double getMeanUpdateDelay() {
+        pendingUpdatesLock.lock();
+        try {
+            return numberOfFlushes == 0 ? 0 : (double) totalUpdateDelay / numberOfFlushes;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum time the oldest update of a batch has waited before being written, in milliseconds
+     */
+    public long getMaxUpdateDelay() {
+        pendingUpdatesLock.lock();
+        try {
+            return maxUpdateDelay;
+        } finally {
+            pendingUpdatesLock.unlock();
+        }
+    }
+
+    ////// Updates //////
+
+    /**
+     * Updates the job counters after some of its tasks have been started.
+     */
+    static Update jobTasksStarted(InternalJob job) {
+        final long jobId = job.getId().longValue();
+        JobInfo jobInfo = job.getJobInfo();
+        final JobStatus status = jobInfo.getStatus();
+        final long startTime = jobInfo.getStartTime();
+        final int numberOfPendingTasks = jobInfo.getNumberOfPendingTasks();
+        final int numberOfRunningTasks = jobInfo.getNumberOfRunningTasks();
+        final long lastUpdatedTime = new Date().getTime();
+        return new Update(UpdateKind.JOB_TASKS_STARTED, jobId, 0) {
+            @Override
+            void apply(Session session) {
+                session.getNamedQuery("updateJobDataTaskStarted")
+                       .setParameter("status", status)
+                       .setParameter("startTime", startTime)
+                       .setParameter("numberOfPendingTasks", numberOfPendingTasks)
+                       .setParameter("numberOfRunningTasks", numberOfRunningTasks)
+                       .setParameter("lastUpdatedTime", lastUpdatedTime)
+                       .setParameter("jobId", jobId)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Sets all the tasks of a job to pending, when its first task is started.
+     */
+    static Update jobTasksToPending(InternalJob job) {
+        final long jobId = job.getId().longValue();
+        return new Update(UpdateKind.JOB_TASKS_TO_PENDING, jobId, 0) {
+            @Override
+            void apply(Session session) {
+                JobData jobData = session.load(JobData.class, jobId);
+                session.getNamedQuery("updateTaskDataStatusToPending")
+                       .setParameter("taskStatus", TaskStatus.PENDING)
+                       .setParameter("job", jobData)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Updates the status and the counters of a job.
+     */
+    static Update jobState(InternalJob job) {
+        final long jobId = job.getId().longValue();
+        JobInfo jobInfo = job.getJobInfo();
+        final JobStatus status = jobInfo.getStatus();
+        final int numberOfFailedTasks = jobInfo.getNumberOfFailedTasks();
+        final int numberOfFaultyTasks = jobInfo.getNumberOfFaultyTasks();
+        final int numberOfInErrorTasks = jobInfo.getNumberOfInErrorTasks();
+        final long inErrorTime = jobInfo.getInErrorTime();
+        final long lastUpdatedTime = new Date().getTime();
+        return new Update(UpdateKind.JOB_STATE, jobId, 0) {
+            @Override
+            void apply(Session session) {
+                session.getNamedQuery("updateJobAndTasksState")
+                       .setParameter("status", status)
+                       .setParameter("numberOfFailedTasks", numberOfFailedTasks)
+                       .setParameter("numberOfFaultyTasks", numberOfFaultyTasks)
+                       .setParameter("numberOfInErrorTasks", numberOfInErrorTasks)
+                       .setParameter("inErrorTime", inErrorTime)
+                       .setParameter("lastUpdatedTime", lastUpdatedTime)
+                       .setParameter("jobId", jobId)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Sets the scheduled time of all the tasks of a job.
+     */
+    static Update jobTasksScheduledTime(InternalJob job, final long scheduledTime) {
+        final long jobId = job.getId().longValue();
+        return new Update(UpdateKind.JOB_TASKS_SCHEDULED_TIME, jobId, 0) {
+            @Override
+            void apply(Session session) {
+                session.getNamedQuery("updateTaskDataScheduledTime")
+                       .setParameter("scheduledTime", scheduledTime)
+                       .setParameter("jobId", jobId)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Updates a task which has just been started.
+     */
+    static Update taskStarted(InternalTask task) {
+        final DBTaskId taskId = SchedulerDBManager.taskId(task.getId());
+        TaskInfo taskInfo = task.getTaskInfo();
+        final TaskStatus status = taskInfo.getStatus();
+        final long startTime = taskInfo.getStartTime();
+        final long finishedTime = taskInfo.getFinishedTime();
+        final String executionHostName = taskInfo.getExecutionHostName();
+        final ExecuterInformationData executerInfo = new ExecuterInformationData(taskId.getTaskId(),
+                                                                                 task.getExecuterInformation());
+        return new Update(UpdateKind.TASK_STARTED, taskId.getJobId(), taskId.getTaskId()) {
+            @Override
+            void apply(Session session) {
+                session.getNamedQuery("updateTaskDataTaskStarted")
+                       .setParameter("taskStatus", status)
+                       .setParameter("startTime", startTime)
+                       .setParameter("finishedTime", finishedTime)
+                       .setParameter("executionHostName", executionHostName)
+                       .setParameter("executerInformationData", executerInfo)
+                       .setParameter("taskId", taskId)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    /**
+     * Updates the status and the execution counters of a task.
+     */
+    static Update taskState(TaskState task) {
+        final DBTaskId taskId = SchedulerDBManager.taskId(task.getId());
+        TaskInfo taskInfo = task.getTaskInfo();
+        final TaskStatus status = taskInfo.getStatus();
+        final int numberOfExecutionLeft = taskInfo.getNumberOfExecutionLeft();
+        final int numberOfExecutionOnFailureLeft = taskInfo.getNumberOfExecutionOnFailureLeft();
+        final long inErrorTime = taskInfo.getInErrorTime();
+        return new Update(UpdateKind.TASK_STATE, taskId.getJobId(), taskId.getTaskId()) {
+            @Override
+            void apply(Session session) {
+                session.getNamedQuery("updateTaskData")
+                       .setParameter("taskStatus", status)
+                       .setParameter("numberOfExecutionLeft", numberOfExecutionLeft)
+                       .setParameter("numberOfExecutionOnFailureLeft", numberOfExecutionOnFailureLeft)
+                       .setParameter("inErrorTime", inErrorTime)
+                       .setParameter("taskId", taskId)
+                       .executeUpdate();
+            }
+        };
+    }
+
+    enum UpdateKind {
+        JOB_TASKS_STARTED,
+        JOB_TASKS_TO_PENDING,
+        JOB_STATE,
+        JOB_TASKS_SCHEDULED_TIME,
+        TASK_STARTED,
+        TASK_STATE
+    }
+
+    /**
+     * An update of a job or a task. The values to write are captured when the update is created.
+     */
+    abstract static class Update {
+
+        final UpdateKey key;
+
+        /** number of failed attempts to write this update, guarded by pendingUpdatesLock */
+        int failedWrites;
+
+        Update(UpdateKind kind, long jobId, long taskId) {
+            this.key = new UpdateKey(kind, jobId, taskId);
+        }
+
+        abstract void apply(Session session);
+    }
+
+    static final class UpdateKey {
+
+        private final UpdateKind kind;
+
+        private final long jobId;
+
+        private final long taskId;
+
+        UpdateKey(UpdateKind kind, long jobId, long taskId) {
+            this.kind = kind;
+            this.jobId = jobId;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            UpdateKey that = (UpdateKey) o;
+            return kind == that.kind && jobId == that.jobId && taskId == that.taskId;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = kind.hashCode();
+            result = 31 * result + (int) (jobId ^ (jobId >>> 32));
+            result = 31 * result + (int) (taskId ^ (taskId >>> 32));
+            return result;
+        }
+    }
+}
@@ -70,6 +70,8 @@ public class SchedulerStateRecoverHelper {
     }
 
     public RecoveredSchedulerState recover(long loadJobPeriod, RMProxy rmProxy) {
+        long recoveryStartTime = System.currentTimeMillis();
+
         List<InternalJob> notFinishedJobs = dbManager.loadNotFinishedJobs(true);
 
         Vector<InternalJob> pendingJobs = new Vector<>();
@@ -134,7 +136,9 @@ public class SchedulerStateRecoverHelper {
         logger.info("[Recovering counters] " + " Pending: " + pendingJobs.size() + " Running: " + runningJobs.size() +
                     " Finished: " + finishedJobs.size());
 
-        return new RecoveredSchedulerState(pendingJobs, runningJobs, finishedJobs);
+        logger.info("Scheduler state recovered in " + (System.currentTimeMillis() - recoveryStartTime) + " ms");
+
+        return new RecoveredSchedulerState(pendingJobs, runningJobs, finishedJobs, recoveryStartTime);
     }
 
     private void applyJobUpdates(List<InternalJob> notFinishedJobs) {
@@ -0,0 +1,59 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.io.IOException;
+
+import org.objectweb.proactive.annotation.ImmediateService;
+import org.objectweb.proactive.extensions.annotation.ActiveObject;
+import org.ow2.proactive.scheduler.task.TaskResultValueProvider;
+
+
+/**
+ * Serves the values kept in a {@link TaskResultValueStore} to the tasks and clients
+ * which received handles on them. Values are served concurrently.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+@ActiveObject
+public class StoredTaskResultValueProvider implements TaskResultValueProvider {
+
+    private TaskResultValueStore store;
+
+    public StoredTaskResultValueProvider() {
+    }
+
+    public StoredTaskResultValueProvider(TaskResultValueStore store) {
+        this.store = store;
+    }
+
+    @Override
+    @ImmediateService
+    public byte[] getSerializedValue(String reference) throws IOException {
+        return store.load(reference);
+    }
+
+}
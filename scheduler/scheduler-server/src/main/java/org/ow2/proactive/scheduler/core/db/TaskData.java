@@ -103,16 +103,12 @@ import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
 @NamedQueries({ @NamedQuery(name = "deleteTaskDataInBulk", query = "delete from TaskData where jobData.id in :jobIdList"),
                 @NamedQuery(name = "countTaskData", query = "select count (*) from TaskData"),
                 @NamedQuery(name = "countTaskDataNotFinished", query = "select count (*) from TaskData where taskStatus <> org.ow2.proactive.scheduler.common.task.TaskStatus.FINISHED"),
-                @NamedQuery(name = "getFinishedTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) and task.jobData.removedTime = -1"),
                 @NamedQuery(name = "getMeanTaskPendingTime", query = "select avg(startTime - :jobSubmittedTime) from TaskData task where task.jobData.id = :id and task.startTime > 0"),
                 @NamedQuery(name = "getMeanTaskRunningTime", query = "select avg(task.finishedTime - task.startTime) from TaskData task where task.startTime > 0 and task.finishedTime > 0 and task.jobData.id = :id"),
-                @NamedQuery(name = "getPendingTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) and task.jobData.status in (:jobStatus) and task.jobData.removedTime = -1"),
-                @NamedQuery(name = "getRunningTasksCount", query = "select count(*) from TaskData task where taskStatus in (:taskStatus) " +
-                                                                   "and task.jobData.status in (:jobStatus) and task.jobData.removedTime = -1"),
                 @NamedQuery(name = "findTaskData", query = "from TaskData where id in (:ids)"),
                 @NamedQuery(name = "findTaskDataById", query = "from TaskData td where td.id = :taskId"),
+                @NamedQuery(name = "findTaskIdsOfJob", query = "select id from TaskData where jobData = :job order by id.taskId"),
                 @NamedQuery(name = "getTotalNumberOfHostsUsed", query = "select count(distinct executionHostName) from TaskData task where task.jobData.id = :id"),
-                @NamedQuery(name = "getTotalTasksCount", query = "select count(*) from TaskData task where task.jobData.removedTime = -1"),
                 @NamedQuery(name = "loadJobsTasks", query = "from TaskData as task " +
                                                             "left outer join fetch task.dependentTasks " +
                                                             "left outer join fetch task.variables " +
@@ -120,6 +116,18 @@ import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
                                                             "left outer join fetch task.dataspaceSelectors  " +
                                                             "left outer join fetch task.envModifiers  " +
                                                             "where task.id.jobId in (:ids)"),
+                @NamedQuery(name = "loadJobsTasksWithoutBody", query = "from TaskData as task " +
+                                                                       "left outer join fetch task.dependentTasks " +
+                                                                       "left outer join fetch task.variables " +
+                                                                       "left outer join fetch task.envModifiers  " +
+                                                                       "where task.id.jobId in (:ids)"),
+                @NamedQuery(name = "loadTasksBodies", query = "from TaskData as task " +
+                                                              "left outer join fetch task.selectionScripts " +
+                                                              "left outer join fetch task.dataspaceSelectors " +
+                                                              "left outer join fetch task.preScript " +
+                                                              "left outer join fetch task.postScript " +
+                                                              "left outer join fetch task.cleanScript " +
+                                                              "where task.id in (:ids)"),
                 @NamedQuery(name = "readAccountTasks", query = "select count(*), sum(task.finishedTime) - sum(task.startTime) from TaskData task " +
                                                                "where task.finishedTime > 0 and task.jobData.owner = :username"),
                 @NamedQuery(name = "updateTaskData", query = "update TaskData task set task.taskStatus = :taskStatus, " +
@@ -158,6 +166,8 @@ import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
                                                                              "cleanScript = null  where id.jobId in :jobIdList"),
                 @NamedQuery(name = "updateTaskDataStatusToPending", query = "update TaskData task set task.taskStatus = :taskStatus " +
                                                                             "where task.jobData = :job"),
+                @NamedQuery(name = "updateTaskDataScheduledTime", query = "update TaskData task set task.scheduledTime = :scheduledTime " +
+                                                                          "where task.id.jobId = :jobId"),
                 @NamedQuery(name = "updateTaskDataTaskRestarted", query = "update TaskData set taskStatus = :taskStatus, " +
                                                                           "numberOfExecutionLeft = :numberOfExecutionLeft," +
                                                                           "numberOfExecutionOnFailureLeft = :numberOfExecutionOnFailureLeft" +
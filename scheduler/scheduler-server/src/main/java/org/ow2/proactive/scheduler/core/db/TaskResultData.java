@@ -38,6 +38,8 @@ import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
+import org.ow2.proactive.scheduler.task.TaskResultValueProvider;
+import org.ow2.proactive.scheduler.task.TaskResultValueReference;
 
 
 @Entity
@@ -49,7 +51,11 @@ import org.ow2.proactive.scheduler.task.TaskResultImpl;
                 @NamedQuery(name = "loadTasksResultByTaskAsc", query = "from TaskResultData result where result.taskRuntimeData = :task order by result.resultTime"),
                 @NamedQuery(name = "loadTasksResults", query = "select taskResult, " + "task.id, " + "task.taskName, " +
                                                                "task.preciousResult from TaskResultData as taskResult join taskResult.taskRuntimeData as task " + "where task.id in (:tasksIds) order by task.id, taskResult.resultTime desc"),
-                @NamedQuery(name = "countTaskResultData", query = "select count (*) from TaskResultData") })
+                @NamedQuery(name = "loadTasksLogs", query = "select taskResult.logs, task.id, task.taskName from TaskResultData as taskResult join taskResult.taskRuntimeData as task " +
+                                                            "where task.id in (:tasksIds) order by task.id, taskResult.resultTime desc"),
+                @NamedQuery(name = "countTaskResultData", query = "select count (*) from TaskResultData"),
+                @NamedQuery(name = "findTaskResultValueReferencesOfJobs", query = "select distinct serializedValueReference from TaskResultData where taskRuntimeData.jobData.id in :jobIdList and serializedValueReference is not null"),
+                @NamedQuery(name = "findReferencedTaskResultValues", query = "select distinct serializedValueReference from TaskResultData where serializedValueReference in (:references)") })
 @Table(name = "TASK_RESULT_DATA", indexes = { @Index(name = "TASK_RESULT_DATA_RUNTIME_DATA", columnList = "JOB_ID,TASK_ID") })
 public class TaskResultData {
 
@@ -61,6 +67,8 @@ public class TaskResultData {
 
     private byte[] serializedValue;
 
+    private String serializedValueReference;
+
     private byte[] serializedException;
 
     private Boolean isRaw;
@@ -75,7 +83,7 @@ public class TaskResultData {
 
     private Map<String, String> metadata;
 
-    TaskResultImpl toTaskResult(TaskId taskId) {
+    TaskResultImpl toTaskResult(TaskId taskId, TaskResultValueProvider valueProvider) {
 
         TaskResultImpl result = new TaskResultImpl(taskId,
                                                    getSerializedValue(),
@@ -85,6 +93,9 @@ public class TaskResultData {
                                                    getPropagatedVariables(),
                                                    isRaw());
 
+        if (getSerializedValueReference() != null) {
+            result.setValueReference(new TaskResultValueReference(getSerializedValueReference(), valueProvider));
+        }
         result.setPreviewerClassName(getPreviewerClassName());
         FlowActionData actionData = getFlowAction();
         if (actionData != null) {
@@ -107,7 +118,13 @@ public class TaskResultData {
         resultData.setMetadata(result.getMetadata());
         resultData.setPropagatedVariables(result.getPropagatedVariables());
         resultData.setSerializedException(result.getSerializedException());
-        resultData.setSerializedValue(result.getSerializedValue());
+        TaskResultValueReference valueReference = result.getValueReference();
+        if (valueReference != null) {
+            // the value is already in the result store
+            resultData.setSerializedValueReference(valueReference.getReference());
+        } else {
+            resultData.setSerializedValue(result.getSerializedValue());
+        }
         resultData.setResultTime(System.currentTimeMillis());
         resultData.setRaw(result.isRaw());
 
@@ -186,6 +203,15 @@ public class TaskResultData {
         this.serializedValue = serializedValue;
     }
 
+    @Column(name = "RESULT_VALUE_REFERENCE", length = 128)
+    public String getSerializedValueReference() {
+        return serializedValueReference;
+    }
+
+    public void setSerializedValueReference(String serializedValueReference) {
+        this.serializedValueReference = serializedValueReference;
+    }
+
     @Lob
     @Column(name = "RESULT_EXCEPTION", length = Integer.MAX_VALUE)
     public byte[] getSerializedException() {
@@ -0,0 +1,74 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+
+/**
+ * Stores the serialized values of task results which are too large to be kept
+ * in the database. The database then only holds the reference returned by
+ * {@link #store(byte[])}.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public interface TaskResultValueStore extends Serializable {
+
+    /**
+     * Tells whether a value should be kept in this store rather than in the database.
+     *
+     * @param serializedValue the serialized value of a task result
+     * @return true if the value must be stored in this store
+     */
+    boolean accepts(byte[] serializedValue);
+
+    /**
+     * Stores a value.
+     *
+     * @param serializedValue the serialized value of a task result
+     * @return the reference of the value in this store
+     * @throws IOException if the value cannot be stored
+     */
+    String store(byte[] serializedValue) throws IOException;
+
+    /**
+     * Loads a value.
+     *
+     * @param reference the reference returned when the value was stored
+     * @return the serialized value
+     * @throws IOException if the value cannot be read
+     */
+    byte[] load(String reference) throws IOException;
+
+    /**
+     * Removes a value which is not referenced by any task result anymore.
+     *
+     * @param reference the reference returned when the value was stored
+     */
+    void remove(String reference);
+
+}
@@ -25,25 +25,35 @@
  */
 package org.ow2.proactive.scheduler.core.helpers;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 
 public class VariableBatchSizeIterator<T> {
-    final private List<T> rawList;
+    final private Iterator<T> iterator;
 
     private int offset;
 
     public VariableBatchSizeIterator(List<T> list) {
-        this.rawList = list;
+        this(list.iterator());
+    }
+
+    /**
+     * Elements are retrieved from the given iterator only when they are requested,
+     * so that they can be computed on demand.
+     */
+    public VariableBatchSizeIterator(Iterator<T> iterator) {
+        this.iterator = iterator;
         this.offset = 0;
     }
 
     public boolean hasMoreElements() {
-        return offset < rawList.size();
+        return iterator.hasNext();
     }
 
     /**
-     * Get a view with up to the 'limit' next elements in the list, since the last call to this method
+     * Get a list with up to the 'limit' next elements, since the last call to this method
      * @param limit
      * @return
      */
@@ -51,9 +61,18 @@ public class VariableBatchSizeIterator<T> {
         if (limit < 0) {
             throw new IllegalArgumentException("limit cannot be negative. Given: " + limit);
         }
-        int upperIndexExclusive = Math.min(rawList.size(), offset + limit);
-        List<T> subList = rawList.subList(offset, upperIndexExclusive);
-        offset = upperIndexExclusive;
-        return subList;
+        List<T> nextElements = new ArrayList<>(Math.min(limit, 64));
+        while (nextElements.size() < limit && iterator.hasNext()) {
+            nextElements.add(iterator.next());
+        }
+        offset += nextElements.size();
+        return nextElements;
+    }
+
+    /**
+     * @return the number of elements retrieved so far
+     */
+    public int getRetrievedElements() {
+        return offset;
     }
 }
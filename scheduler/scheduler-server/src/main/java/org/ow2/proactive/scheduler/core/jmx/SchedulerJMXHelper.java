@@ -38,10 +38,14 @@ import org.ow2.proactive.jmx.RRDDataStore;
 import org.ow2.proactive.scheduler.core.account.SchedulerAccountsManager;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.jmx.mbean.AllAccountsMBeanImpl;
+import org.ow2.proactive.scheduler.core.jmx.mbean.DatabaseUpdatesMBeanImpl;
+import org.ow2.proactive.scheduler.core.jmx.mbean.JobLogsMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.ManagementMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.MyAccountMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.RuntimeDataMBeanImpl;
+import org.ow2.proactive.scheduler.core.jmx.mbean.SchedulingLoopMBeanImpl;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.util.ServerJobAndTaskLogs;
 
 
 /**
@@ -62,6 +66,12 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
 
     public static final String MANAGEMENT_MBEAN_NAME = "ProActiveScheduler:name=Management";
 
+    public static final String SCHEDULINGLOOP_MBEAN_NAME = "ProActiveScheduler:name=SchedulingLoop";
+
+    public static final String DATABASEUPDATES_MBEAN_NAME = "ProActiveScheduler:name=DatabaseUpdates";
+
+    public static final String JOBLOGS_MBEAN_NAME = "ProActiveScheduler:name=JobLogs";
+
     /** The single instance of this class */
     private static SchedulerJMXHelper instance;
 
@@ -71,6 +81,9 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
     /** The Scheduler Runtime MBean */
     private RuntimeDataMBeanImpl schedulerRuntimeMBean;
 
+    /** The Scheduling loop MBean */
+    private SchedulingLoopMBeanImpl schedulingLoopMBean;
+
     private final SchedulerDBManager dbManager;
 
     /**
@@ -155,6 +168,33 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
         } catch (Exception e) {
             LOGGER.error("Unable to register the ManagementMBean", e);
         }
+
+        // Register the SchedulingLoop MBean into the MBean server
+        try {
+            this.schedulingLoopMBean = new SchedulingLoopMBeanImpl();
+            final ObjectName name = new ObjectName(SCHEDULINGLOOP_MBEAN_NAME);
+            mbs.registerMBean(this.schedulingLoopMBean, name);
+        } catch (Exception e) {
+            LOGGER.error("Unable to register the SchedulingLoopMBean", e);
+        }
+
+        // Register the DatabaseUpdates MBean into the MBean server
+        try {
+            final DatabaseUpdatesMBeanImpl updatesMBean = new DatabaseUpdatesMBeanImpl(dbManager.getUpdatesBuffer());
+            final ObjectName name = new ObjectName(DATABASEUPDATES_MBEAN_NAME);
+            mbs.registerMBean(updatesMBean, name);
+        } catch (Exception e) {
+            LOGGER.error("Unable to register the DatabaseUpdatesMBean", e);
+        }
+
+        // Register the JobLogs MBean into the MBean server
+        try {
+            final JobLogsMBeanImpl jobLogsMBean = new JobLogsMBeanImpl(ServerJobAndTaskLogs.getInstance());
+            final ObjectName name = new ObjectName(JOBLOGS_MBEAN_NAME);
+            mbs.registerMBean(jobLogsMBean, name);
+        } catch (Exception e) {
+            LOGGER.error("Unable to register the JobLogsMBean", e);
+        }
     }
 
     /**
@@ -176,4 +216,8 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
     public RuntimeDataMBeanImpl getSchedulerRuntimeMBean() {
         return this.schedulerRuntimeMBean;
     }
+
+    public SchedulingLoopMBeanImpl getSchedulingLoopMBean() {
+        return this.schedulingLoopMBean;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+/**
+ * MBean interface exposing the delayed task and job state updates of the scheduler database.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public interface DatabaseUpdatesMBean {
+
+    /**
+     * Returns true if the state updates are delayed, false if they are written synchronously.
+     * @return true if the state updates are delayed
+     */
+    boolean isDelayed();
+
+    /**
+     * Returns the number of state updates waiting to be written.
+     * @return the number of pending updates
+     */
+    int getPendingUpdates();
+
+    /**
+     * Returns the number of transactions used to write delayed updates.
+     * @return the number of flushes
+     */
+    long getFlushes();
+
+    /**
+     * Returns the number of delayed updates written to the database.
+     * @return the number of written updates
+     */
+    long getFlushedUpdates();
+
+    /**
+     * Returns the number of delayed updates replaced by a newer update of the same task or job.
+     * @return the number of merged updates
+     */
+    long getMergedUpdates();
+
+    /**
+     * Returns the number of delayed updates given up after failing to be written several times.
+     * @return the number of lost updates
+     */
+    long getDroppedUpdates();
+
+    /**
+     * Returns the mean number of updates written in one transaction.
+     * @return the mean batch size
+     */
+    double getMeanBatchSize();
+
+    /**
+     * Returns the maximum number of updates written in one transaction.
+     * @return the maximum batch size
+     */
+    long getMaxBatchSize();
+
+    /**
+     * Returns the mean time spent writing a batch of updates.
+     * @return the mean flush time in milliseconds
+     */
+    double getMeanFlushTimeInMilliseconds();
+
+    /**
+     * Returns the maximum time spent writing a batch of updates.
+     * @return the maximum flush time in milliseconds
+     */
+    long getMaxFlushTimeInMilliseconds();
+
+    /**
+     * Returns the mean time the oldest update of a batch has waited before being written.
+     * @return the mean update delay in milliseconds
+     */
+    double getMeanUpdateDelayInMilliseconds();
+
+    /**
+     * Returns the maximum time the oldest update of a batch has waited before being written.
+     * @return the maximum update delay in milliseconds
+     */
+    long getMaxUpdateDelayInMilliseconds();
+
+    /**
+     * Writes the pending updates now.
+     */
+    void flush();
+}
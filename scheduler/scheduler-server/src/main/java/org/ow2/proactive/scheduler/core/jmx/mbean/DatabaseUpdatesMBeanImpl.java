@@ -0,0 +1,100 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManagerBuffer;
+
+
+/**
+ * Implementation of the DatabaseUpdatesMBean interface.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public final class DatabaseUpdatesMBeanImpl extends StandardMBean implements DatabaseUpdatesMBean {
+
+    private final SchedulerDBManagerBuffer buffer;
+
+    public DatabaseUpdatesMBeanImpl(SchedulerDBManagerBuffer buffer) throws NotCompliantMBeanException {
+        super(DatabaseUpdatesMBean.class);
+        this.buffer = buffer;
+    }
+
+    public boolean isDelayed() {
+        return buffer.isEnabled();
+    }
+
+    public int getPendingUpdates() {
+        return buffer.getPendingUpdates();
+    }
+
+    public long getFlushes() {
+        return buffer.getNumberOfFlushes();
+    }
+
+    public long getFlushedUpdates() {
+        return buffer.getNumberOfFlushedUpdates();
+    }
+
+    public long getMergedUpdates() {
+        return buffer.getNumberOfMergedUpdates();
+    }
+
+    public long getDroppedUpdates() {
+        return buffer.getNumberOfDroppedUpdates();
+    }
+
+    public double getMeanBatchSize() {
+        return buffer.getMeanBatchSize();
+    }
+
+    public long getMaxBatchSize() {
+        return buffer.getMaxBatchSize();
+    }
+
+    public double getMeanFlushTimeInMilliseconds() {
+        return buffer.getMeanFlushTime();
+    }
+
+    public long getMaxFlushTimeInMilliseconds() {
+        return buffer.getMaxFlushTime();
+    }
+
+    public double getMeanUpdateDelayInMilliseconds() {
+        return buffer.getMeanUpdateDelay();
+    }
+
+    public long getMaxUpdateDelayInMilliseconds() {
+        return buffer.getMaxUpdateDelay();
+    }
+
+    public void flush() {
+        buffer.flush();
+    }
+}
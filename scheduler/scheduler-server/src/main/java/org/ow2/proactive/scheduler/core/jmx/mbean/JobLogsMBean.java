@@ -0,0 +1,59 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+/**
+ * MBean interface exposing the writing of the job and task logs kept by the scheduler.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public interface JobLogsMBean {
+
+    /**
+     * Returns true if the logs are written from a background thread, false if each event is written synchronously.
+     * @return true if the logs are written asynchronously
+     */
+    boolean isAsynchronous();
+
+    /**
+     * Returns the number of log events waiting to be written.
+     * @return the number of queued events
+     */
+    int getQueuedEvents();
+
+    /**
+     * Returns the number of log events written from the background thread.
+     * @return the number of written events
+     */
+    long getWrittenEvents();
+
+    /**
+     * Returns the number of log events which could not be written from the background thread.
+     * @return the number of dropped events
+     */
+    long getDroppedEvents();
+}
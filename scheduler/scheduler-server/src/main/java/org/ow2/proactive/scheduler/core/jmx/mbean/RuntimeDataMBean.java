@@ -87,7 +87,11 @@ public interface RuntimeDataMBean {
     int getTotalTasksCount();
 
     /**
-     * Returns the number of pending Tasks of the scheduler.
+     * Returns the number of pending Tasks of the scheduler, which are the tasks of the jobs not finished
+     * that wait to be started.
+     * <p>
+     * Changed in ProActive Scheduling 8.4: the number is taken from the pending tasks counter of each job
+     * instead of the status of each task.
      *
      * @return The number of pending Tasks of the scheduler.
      */
@@ -101,7 +105,11 @@ public interface RuntimeDataMBean {
     int getRunningTasksCount();
 
     /**
-     * Returns the number of finished Tasks of the scheduler.
+     * Returns the number of finished Tasks of the scheduler, which are all the terminated tasks,
+     * including the tasks skipped by a control flow action and the task which made its job fail.
+     * <p>
+     * Changed in ProActive Scheduling 8.4: only the tasks whose status was FINISHED or FAULTY were counted
+     * before, the number is now taken from the finished tasks counter of each job.
      *
      * @return The number of finished Tasks of the scheduler.
      */
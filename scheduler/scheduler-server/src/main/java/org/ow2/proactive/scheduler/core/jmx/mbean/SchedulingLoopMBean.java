@@ -0,0 +1,119 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+/**
+ * MBean interface exposing the activity of the scheduling loop.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public interface SchedulingLoopMBean {
+
+    /**
+     * Returns the number of wake up signals raised because a job was submitted.
+     * @return the number of signals
+     */
+    long getJobSubmittedSignals();
+
+    /**
+     * Returns the number of wake up signals raised because a task was terminated.
+     * @return the number of signals
+     */
+    long getTaskTerminatedSignals();
+
+    /**
+     * Returns the number of wake up signals raised because nodes were released.
+     * @return the number of signals
+     */
+    long getNodesReleasedSignals();
+
+    /**
+     * Returns the number of wake up signals raised because a job priority changed.
+     * @return the number of signals
+     */
+    long getPriorityChangedSignals();
+
+    /**
+     * Returns the number of wake up signals raised because a job was resumed, restarted or removed.
+     * @return the number of signals
+     */
+    long getJobStateChangedSignals();
+
+    /**
+     * Returns the number of wake up signals raised because the scheduler was resumed.
+     * @return the number of signals
+     */
+    long getSchedulerStateChangedSignals();
+
+    /**
+     * Returns the number of signals merged into an already pending signal.
+     * @return the number of coalesced signals
+     */
+    long getCoalescedSignals();
+
+    /**
+     * Returns the number of scheduling cycles started by a signal.
+     * @return the number of cycles
+     */
+    long getSignaledCycles();
+
+    /**
+     * Returns the number of scheduling cycles started because the loop timeout expired.
+     * @return the number of cycles
+     */
+    long getTimedOutCycles();
+
+    /**
+     * Returns the mean delay between a signal and the start of the scheduling cycle handling it.
+     * @return the mean latency in milliseconds
+     */
+    double getMeanWakeUpLatencyInMilliseconds();
+
+    /**
+     * Returns the maximum delay between a signal and the start of the scheduling cycle handling it.
+     * @return the maximum latency in milliseconds
+     */
+    double getMaxWakeUpLatencyInMilliseconds();
+
+    /**
+     * Returns the number of signaled cycles in each latency bucket.
+     * @return the latency histogram
+     * @see #getWakeUpLatencyBucketBounds()
+     */
+    long[] getWakeUpLatencyHistogram();
+
+    /**
+     * Returns the upper bounds in milliseconds of the latency buckets, the last bucket is unbounded.
+     * @return the bucket bounds
+     */
+    long[] getWakeUpLatencyBucketBounds();
+
+    /**
+     * Resets the scheduling loop statistics.
+     */
+    void resetStatistics();
+}
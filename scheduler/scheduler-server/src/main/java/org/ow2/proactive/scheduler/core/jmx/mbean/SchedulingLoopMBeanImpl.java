@@ -0,0 +1,123 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.ow2.proactive.scheduler.core.SchedulingSignal;
+
+
+/**
+ * Implementation of the SchedulingLoopMBean interface.
+ *
+ * @author The ProActive Team
+ * @since ProActive Scheduling 8.4
+ */
+public final class SchedulingLoopMBeanImpl extends StandardMBean implements SchedulingLoopMBean {
+
+    /** The signal of the scheduling loop, set once the scheduling service is started */
+    private volatile SchedulingSignal signal;
+
+    public SchedulingLoopMBeanImpl() throws NotCompliantMBeanException {
+        super(SchedulingLoopMBean.class);
+    }
+
+    public void setSchedulingSignal(SchedulingSignal signal) {
+        this.signal = signal;
+    }
+
+    private long getSignals(SchedulingSignal.Reason reason) {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getSignalCount(reason);
+    }
+
+    public long getJobSubmittedSignals() {
+        return getSignals(SchedulingSignal.Reason.JOB_SUBMITTED);
+    }
+
+    public long getTaskTerminatedSignals() {
+        return getSignals(SchedulingSignal.Reason.TASK_TERMINATED);
+    }
+
+    public long getNodesReleasedSignals() {
+        return getSignals(SchedulingSignal.Reason.NODES_RELEASED);
+    }
+
+    public long getPriorityChangedSignals() {
+        return getSignals(SchedulingSignal.Reason.PRIORITY_CHANGED);
+    }
+
+    public long getJobStateChangedSignals() {
+        return getSignals(SchedulingSignal.Reason.JOB_STATE_CHANGED);
+    }
+
+    public long getSchedulerStateChangedSignals() {
+        return getSignals(SchedulingSignal.Reason.SCHEDULER_STATE_CHANGED);
+    }
+
+    public long getCoalescedSignals() {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getCoalescedSignalCount();
+    }
+
+    public long getSignaledCycles() {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getSignaledCycleCount();
+    }
+
+    public long getTimedOutCycles() {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getTimedOutCycleCount();
+    }
+
+    public double getMeanWakeUpLatencyInMilliseconds() {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getMeanLatencyInMilliseconds();
+    }
+
+    public double getMaxWakeUpLatencyInMilliseconds() {
+        SchedulingSignal current = this.signal;
+        return current == null ? 0 : current.getMaxLatencyInMilliseconds();
+    }
+
+    public long[] getWakeUpLatencyHistogram() {
+        SchedulingSignal current = this.signal;
+        return current == null ? new long[0] : current.getLatencyHistogram();
+    }
+
+    public long[] getWakeUpLatencyBucketBounds() {
+        SchedulingSignal current = this.signal;
+        return current == null ? new long[0] : current.getLatencyBucketBounds();
+    }
+
+    public void resetStatistics() {
+        SchedulingSignal current = this.signal;
+        if (current != null) {
+            current.resetStatistics();
+        }
+    }
+}
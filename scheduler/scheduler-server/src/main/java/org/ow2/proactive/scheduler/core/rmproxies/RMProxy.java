@@ -62,6 +62,9 @@ public class RMProxy {
 
     private Credentials creds;
 
+    /** last state received from the RM, only the changes since its version are requested */
+    private RMState lastState;
+
     RMProxy(URI rmURL, Credentials creds) throws RMException, RMProxyCreationException {
         this.rmURL = rmURL;
         this.creds = creds;
@@ -71,6 +74,7 @@ public class RMProxy {
     public synchronized void init() throws RMException, RMProxyCreationException {
         RMAuthentication auth = RMConnection.join(rmURL.toString());
         proxyActiveObject = RMProxyActiveObject.createAOProxy(auth, creds);
+        lastState = null;
         currentRMConnection = new RMProxiesManager.Connection(rmURL, auth);
     }
 
@@ -93,11 +97,16 @@ public class RMProxy {
         return proxyActiveObject.isActive();
     }
 
-    public RMState getState() {
+    public synchronized RMState getState() {
         if (proxyActiveObject == null) {
             throw new RuntimeException("Proxy is not initialized");
         }
-        return proxyActiveObject.getState();
+        if (lastState == null || lastState.getVersion() < 0) {
+            lastState = proxyActiveObject.getState();
+        } else {
+            lastState = proxyActiveObject.getStateSince(lastState.getVersion()).applyTo(lastState);
+        }
+        return lastState;
     }
 
     public void rebind(URI rmURI) throws RMException, RMProxyCreationException {
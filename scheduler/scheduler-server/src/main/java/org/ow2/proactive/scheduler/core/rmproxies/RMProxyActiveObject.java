@@ -46,6 +46,7 @@ import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthentication;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
 import org.ow2.proactive.scheduler.common.task.TaskId;
@@ -123,6 +124,11 @@ public class RMProxyActiveObject {
         return rm.getState();
     }
 
+    @ImmediateService
+    public RMStateDelta getStateSince(long version) {
+        return rm.getStateSince(version);
+    }
+
     @ImmediateService
     public NodeSet getNodes(Criteria criteria) {
         return rm.getNodes(criteria);
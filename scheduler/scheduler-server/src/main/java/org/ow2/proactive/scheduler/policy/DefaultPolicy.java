@@ -25,14 +25,22 @@
  */
 package org.ow2.proactive.scheduler.policy;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
 
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
@@ -44,12 +52,29 @@ import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
  * 	<li>Implementation of the policy using FIFO priority ordering.</li>
  * 	<li>Relies on Job IDs for FIFO.</li>
  * </ul>
+ * <p>
+ * The jobs are kept sorted from one scheduling loop to the next, only the jobs which were added or whose
+ * priority changed are moved. The eligible tasks are then read job by job, only when the scheduling loop
+ * retrieves them from {@link #getOrderedTasksIterator(List)}.
+ * Subclasses customize the order with {@link #getJobOrderValue(JobDescriptorImpl)} and filter the tasks
+ * with {@link #isTaskSchedulable(JobDescriptorImpl, EligibleTaskDescriptor, Date)}.
  *
  * @author The ProActive Team
  * @since ProActive Scheduling 2.1
  */
 public class DefaultPolicy extends Policy {
 
+    /** Jobs given to the last call, sorted in scheduling order */
+    private transient TreeSet<SortedJob> sortedJobs;
+
+    /** Jobs given to the last call, by id */
+    private transient Map<JobId, SortedJob> sortedJobsById;
+
+    private transient long updateNumber = 0;
+
+    /** Null until checked, true if a subclass overrides getOrderedTasks without using the sorted jobs */
+    private transient Boolean orderedTasksOverridden;
+
     /**
      * {@inheritDoc}
      * Override reload to avoid reading config file
@@ -69,19 +94,212 @@ public class DefaultPolicy extends Policy {
     public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
         LinkedList<EligibleTaskDescriptor> toReturn = new LinkedList<>();
 
-        Collections.sort(jobs, FIFO_BY_PRIORITY_COMPARATOR);
-
         //add all sorted tasks to list of tasks
-        for (JobDescriptor jd : jobs) {
-            Collection<TaskDescriptor> tasks = jd.getEligibleTasks();
-            Collection<EligibleTaskDescriptor> eligibleTasks = (Collection) tasks;
-            toReturn.addAll(eligibleTasks);
+        Iterator<EligibleTaskDescriptor> sortedTasks = getSortedTasks(jobs);
+        while (sortedTasks.hasNext()) {
+            toReturn.add(sortedTasks.next());
         }
 
         //return sorted list of tasks
         return toReturn;
     }
 
+    /**
+     * This method return the tasks using FIFO policy according to the jobs priorities, without building
+     * the list of every eligible task.
+     *
+     * If a subclass overrides {@link #getOrderedTasks(List)}, its list is used instead.
+     *
+     * @see org.ow2.proactive.scheduler.policy.Policy#getOrderedTasksIterator(java.util.List)
+     */
+    @Override
+    public Iterator<EligibleTaskDescriptor> getOrderedTasksIterator(List<JobDescriptor> jobs) {
+        if (isOrderedTasksOverridden()) {
+            return super.getOrderedTasksIterator(jobs);
+        }
+        return getSortedTasks(jobs);
+    }
+
+    /**
+     * Return the value used to order jobs of the same priority, the jobs with the smallest values
+     * are scheduled first. Jobs with the same priority and value are ordered by id.
+     *
+     * @param job a job to schedule
+     * @return 0, subclasses can override it to order jobs of the same priority differently.
+     */
+    protected long getJobOrderValue(JobDescriptorImpl job) {
+        return 0;
+    }
+
+    /**
+     * Return true if the given eligible task can be scheduled in the current scheduling loop.
+     *
+     * @param job the job of the task
+     * @param task an eligible task
+     * @param now the time of the current scheduling loop
+     * @return true, subclasses can override it to delay some tasks.
+     */
+    protected boolean isTaskSchedulable(JobDescriptorImpl job, EligibleTaskDescriptor task, Date now) {
+        return true;
+    }
+
+    private boolean isOrderedTasksOverridden() {
+        if (orderedTasksOverridden == null) {
+            try {
+                orderedTasksOverridden = getClass().getMethod("getOrderedTasks", List.class)
+                                                   .getDeclaringClass() != DefaultPolicy.class;
+            } catch (NoSuchMethodException e) {
+                orderedTasksOverridden = true;
+            }
+        }
+        return orderedTasksOverridden;
+    }
+
+    private Iterator<EligibleTaskDescriptor> getSortedTasks(List<JobDescriptor> jobs) {
+        updateSortedJobs(jobs);
+        return new SortedTasksIterator(new ArrayList<>(sortedJobs), new Date());
+    }
+
+    /**
+     * Return the given jobs in the order of this policy. The jobs are kept sorted from one call to the next,
+     * so only the jobs which were added or whose order changed are moved.
+     *
+     * @param jobs the list of pending or running job descriptors.
+     * @return the jobs sorted in scheduling order.
+     */
+    protected List<JobDescriptorImpl> getSortedJobs(List<JobDescriptor> jobs) {
+        updateSortedJobs(jobs);
+        List<JobDescriptorImpl> result = new ArrayList<>(sortedJobs.size());
+        for (SortedJob sortedJob : sortedJobs) {
+            result.add(sortedJob.job);
+        }
+        return result;
+    }
+
+    /*
+     * Moves the jobs whose order changed since the last call, and forgets the jobs which are not given anymore.
+     */
+    private void updateSortedJobs(List<JobDescriptor> jobs) {
+        if (sortedJobs == null) {
+            sortedJobs = new TreeSet<>();
+            sortedJobsById = new HashMap<>();
+        }
+        updateNumber++;
+        for (JobDescriptor jobDescriptor : jobs) {
+            JobDescriptorImpl job = (JobDescriptorImpl) jobDescriptor;
+            JobPriority priority = job.getInternal().getPriority();
+            long orderValue = getJobOrderValue(job);
+            SortedJob sortedJob = sortedJobsById.get(job.getJobId());
+            if (sortedJob == null) {
+                sortedJob = new SortedJob(job.getJobId(), priority, orderValue);
+                sortedJobsById.put(job.getJobId(), sortedJob);
+                sortedJobs.add(sortedJob);
+            } else if (sortedJob.priority != priority || sortedJob.orderValue != orderValue) {
+                sortedJobs.remove(sortedJob);
+                sortedJob.priority = priority;
+                sortedJob.orderValue = orderValue;
+                sortedJobs.add(sortedJob);
+            }
+            sortedJob.job = job;
+            sortedJob.updateNumber = updateNumber;
+        }
+        if (sortedJobsById.size() > jobs.size()) {
+            Iterator<SortedJob> iterator = sortedJobsById.values().iterator();
+            while (iterator.hasNext()) {
+                SortedJob sortedJob = iterator.next();
+                if (sortedJob.updateNumber != updateNumber) {
+                    iterator.remove();
+                    sortedJobs.remove(sortedJob);
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates over the eligible tasks of the sorted jobs, the tasks of a job are read when the
+     * previous jobs have no more tasks.
+     */
+    private class SortedTasksIterator implements Iterator<EligibleTaskDescriptor> {
+
+        private final Iterator<SortedJob> jobs;
+
+        private final Date now;
+
+        private JobDescriptorImpl currentJob;
+
+        private Iterator<EligibleTaskDescriptor> currentTasks = Collections.emptyIterator();
+
+        private EligibleTaskDescriptor next;
+
+        private SortedTasksIterator(List<SortedJob> jobs, Date now) {
+            this.jobs = jobs.iterator();
+            this.now = now;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (currentTasks.hasNext()) {
+                    EligibleTaskDescriptor task = currentTasks.next();
+                    if (isTaskSchedulable(currentJob, task, now)) {
+                        next = task;
+                    }
+                } else if (jobs.hasNext()) {
+                    currentJob = jobs.next().job;
+                    Collection<TaskDescriptor> tasks = currentJob.getEligibleTasks();
+                    Collection<EligibleTaskDescriptor> eligibleTasks = (Collection) tasks;
+                    currentTasks = eligibleTasks.iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public EligibleTaskDescriptor next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EligibleTaskDescriptor task = next;
+            next = null;
+            return task;
+        }
+    }
+
+    /**
+     * A job and the order it had when it was sorted.
+     */
+    private static class SortedJob implements Comparable<SortedJob> {
+
+        private final JobId jobId;
+
+        private JobPriority priority;
+
+        private long orderValue;
+
+        private JobDescriptorImpl job;
+
+        private long updateNumber;
+
+        private SortedJob(JobId jobId, JobPriority priority, long orderValue) {
+            this.jobId = jobId;
+            this.priority = priority;
+            this.orderValue = orderValue;
+        }
+
+        @Override
+        public int compareTo(SortedJob other) {
+            if (priority != other.priority) {
+                return other.priority.compareTo(priority);
+            }
+            if (orderValue != other.orderValue) {
+                return Long.compare(orderValue, other.orderValue);
+            }
+            return jobId.compareTo(other.jobId);
+        }
+    }
+
     public static final Comparator<JobDescriptor> FIFO_BY_PRIORITY_COMPARATOR = new Comparator<JobDescriptor>() {
         @Override
         public int compare(JobDescriptor job1, JobDescriptor job2) {
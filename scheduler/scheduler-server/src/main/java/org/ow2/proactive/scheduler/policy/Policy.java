@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
@@ -90,6 +92,25 @@ public abstract class Policy implements Serializable {
      */
     public abstract LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs);
 
+    /**
+     * Return the tasks that have to be scheduled, in the desired scheduling order.
+     * The scheduling loop retrieves the tasks from the returned iterator only while there are free resources,
+     * so a policy can override this method to compute the order on demand instead of building the whole list.
+     * <p>
+     * The default implementation iterates over the list returned by {@link #getOrderedTasks(List)}.
+     *
+     * @param jobs the list of pending or running job descriptors.
+     * @return an iterator over every task that is ready to be scheduled.
+     * @since ProActive Scheduling 8.4
+     */
+    public Iterator<EligibleTaskDescriptor> getOrderedTasksIterator(List<JobDescriptor> jobs) {
+        LinkedList<EligibleTaskDescriptor> orderedTasks = getOrderedTasks(jobs);
+        if (orderedTasks == null) {
+            return Collections.emptyIterator();
+        }
+        return orderedTasks.iterator();
+    }
+
     /**
      * After the selection process, overriding this method allows to do some filtering on the task scheduled
      * This is useful, for example, when stateless selection scripts cannot completely determine if a node is eligible for execution.
@@ -0,0 +1,191 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.core.node.Node;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.utils.NodeSet;
+
+
+/**
+ * Base class of the policies which book an amount of a resource of the node host for the tasks
+ * which declare it with a generic information.
+ *
+ * The amount available on a host is computed from the resources snapshot reported by the nodes
+ * and kept in the {@link RMState}, so no remote call is done on the scheduling thread in the
+ * usual case. The amounts booked by the tasks are held in memory: a booking is released when
+ * its node is seen free again in a later resource manager state.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public abstract class ResourceReservationPolicy extends ExtendedSchedulerPolicy {
+
+    private static final Logger logger = Logger.getLogger(ResourceReservationPolicy.class);
+
+    private final String genericInformationName;
+
+    /** amounts booked by the tasks started by this policy, by node url */
+    private final Map<String, Reservation> reservations = new HashMap<>();
+
+    private RMState lastSeenState;
+
+    protected ResourceReservationPolicy(String genericInformationName) {
+        this.genericInformationName = genericInformationName;
+    }
+
+    /**
+     * Returns the amount of the resource available on the host of the node, before removing the
+     * amounts booked by this policy.
+     *
+     * @param node the node selected for the task
+     * @param resources the last resources snapshot of the node, null if not available
+     * @return the available amount, or a negative value if it cannot be known
+     * @throws Exception if the amount cannot be retrieved from the node
+     */
+    protected abstract double getAvailableAmount(Node node, NodeHeartbeat resources) throws Exception;
+
+    /**
+     * Tells whether the amount returned by {@link #getAvailableAmount(Node, NodeHeartbeat)} is measured
+     * on the host and thus already accounts for the tasks which were running when the resources snapshot
+     * was taken. In that case only the amounts booked since the last snapshot of the node are removed.
+     *
+     * @return false by default, the booked amounts are always removed
+     */
+    protected boolean isReservedAmountMeasured() {
+        return false;
+    }
+
+    @Override
+    public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
+        String neededAmount = ((EligibleTaskDescriptorImpl) task).getInternal()
+                                                                 .getRuntimeGenericInformation()
+                                                                 .get(genericInformationName);
+        if (neededAmount == null) {
+            return true;
+        }
+        try {
+            return canRunTaskOnNode(selectedNodes.get(0), task, Double.parseDouble(neededAmount));
+        } catch (NumberFormatException nfe) {
+            logger.error(genericInformationName + " : " + neededAmount + " is not a number");
+            throw new RuntimeException(nfe);
+        }
+    }
+
+    /**
+     * @return the amount booked by the tasks started by this policy on the host of the given node
+     * which is not already part of the resources snapshot of the node
+     */
+    protected double getReservedAmount(String nodeUrl, String hostName, NodeHeartbeat resources) {
+        double reserved = 0;
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.hostName.equals(hostName) && !isMeasured(reservation, nodeUrl, resources)) {
+                reserved += reservation.amount;
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * A booking is measured once the node has reported a snapshot different from the one it had
+     * when the booking was made.
+     */
+    private boolean isMeasured(Reservation reservation, String nodeUrl, NodeHeartbeat resources) {
+        if (!isReservedAmountMeasured() || resources == null || reservation.bookedState == null) {
+            return false;
+        }
+        NodeHeartbeat bookedResources = reservation.bookedState.getNodeResources(nodeUrl);
+        return bookedResources != null && !bookedResources.equals(resources);
+    }
+
+    private boolean canRunTaskOnNode(Node node, EligibleTaskDescriptor task, double neededAmount) {
+        RMState state = this.RMState;
+        releaseFinishedReservations(state);
+        String nodeUrl = node.getNodeInformation().getURL();
+        String hostName = node.getNodeInformation().getVMInformation().getHostName();
+        NodeHeartbeat resources = state == null ? null : state.getNodeResources(nodeUrl);
+        double freeAmount;
+        try {
+            freeAmount = getAvailableAmount(node, resources);
+        } catch (Exception e) {
+            logger.error("Error while computing the available " + genericInformationName + " of " + nodeUrl);
+            throw new RuntimeException(e);
+        }
+        if (freeAmount < 0) {
+            logger.debug("Available " + genericInformationName + " of " + nodeUrl + " is unknown");
+            return true;
+        }
+        freeAmount -= getReservedAmount(nodeUrl, hostName, resources);
+        logger.debug("Available " + genericInformationName + " for node (" + nodeUrl + ") : " + freeAmount +
+                     " , needed : " + neededAmount);
+        if (freeAmount >= neededAmount) {
+            logger.debug("Task " + ((EligibleTaskDescriptorImpl) task).getInternal().getName() +
+                         " can execute on " + nodeUrl);
+            reservations.put(nodeUrl, new Reservation(hostName, neededAmount, state));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The nodes booked while a previous state was current are busy in the states retrieved
+     * afterwards, until their task is finished.
+     */
+    private void releaseFinishedReservations(RMState state) {
+        if (state == null || state == lastSeenState) {
+            return;
+        }
+        lastSeenState = state;
+        Set<String> freeNodes = state.getFreeNodes();
+        Set<String> allNodes = state.getAllNodes();
+        reservations.entrySet()
+                    .removeIf(entry -> entry.getValue().bookedState != state &&
+                                       (freeNodes.contains(entry.getKey()) || !allNodes.contains(entry.getKey())));
+    }
+
+    private static final class Reservation {
+
+        private final String hostName;
+
+        private final double amount;
+
+        private final RMState bookedState;
+
+        private Reservation(String hostName, double amount, RMState bookedState) {
+            this.hostName = hostName;
+            this.amount = amount;
+            this.bookedState = bookedState;
+        }
+    }
+
+}
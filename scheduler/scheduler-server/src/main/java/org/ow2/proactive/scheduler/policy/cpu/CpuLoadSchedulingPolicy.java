@@ -0,0 +1,68 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.cpu;
+
+import org.objectweb.proactive.core.node.Node;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.scheduler.policy.ResourceReservationPolicy;
+
+
+/**
+ * This Policy is designed to avoid overloading the processors of a node machine.
+ * When the task contains the generic information ALLOC_CPU_CORES, this policy will return false
+ * if the node machine does not have this number of idle processors, i.e. its number of processors
+ * minus its system load average and the processors booked by the tasks started by this policy,
+ * or true otherwise (in this last case the processors are booked until the node is free again).
+ *
+ * The load of the node machine is read from the resources reported by the node to the resource manager.
+ * As this load already includes the tasks which were running when it was measured, only the processors
+ * booked since the last report of the node are subtracted from it.
+ * Tasks are accepted on the nodes which did not report their load.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class CpuLoadSchedulingPolicy extends ResourceReservationPolicy {
+
+    public static final String CPU_VARIABLE_NAME = "ALLOC_CPU_CORES";
+
+    public CpuLoadSchedulingPolicy() {
+        super(CPU_VARIABLE_NAME);
+    }
+
+    @Override
+    protected double getAvailableAmount(Node node, NodeHeartbeat resources) {
+        if (resources == null || resources.getLoadPerProcessor() < 0) {
+            return -1;
+        }
+        return Math.max(resources.getAvailableProcessors() - resources.getSystemLoadAverage(), 0);
+    }
+
+    @Override
+    protected boolean isReservedAmountMeasured() {
+        return true;
+    }
+
+}
@@ -25,14 +25,8 @@
  */
 package org.ow2.proactive.scheduler.policy.edf;
 
-import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.stream.Collectors;
 
-import org.ow2.proactive.scheduler.common.JobDescriptor;
-import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
 import org.ow2.proactive.scheduler.job.InternalJob;
@@ -53,29 +47,21 @@ public class EDFPolicy extends ExtendedSchedulerPolicy {
 
     private static final Date MAXIMUM_DATE = new Date(Long.MAX_VALUE);
 
+    /**
+     * Jobs of the same priority are sorted by deadline
+     */
     @Override
-    public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
-        return jobs.stream()
-                   .sorted(FIFO_BY_PRIORITY_AND_DEADLINE_COMPARATOR)
-                   .flatMap(jobDescriptor -> jobDescriptor.getEligibleTasks().stream())
-                   .map(taskDescriptors -> (EligibleTaskDescriptor) taskDescriptors)
-                   .collect(Collectors.toCollection(LinkedList::new));
+    protected long getJobOrderValue(JobDescriptorImpl job) {
+        return getDeadLineFromJob(job.getInternal()).getTime();
     }
 
     /**
-     * Compare by priority, then by deadline
+     * Tasks are not delayed by their start date
      */
-    private static final Comparator<JobDescriptor> FIFO_BY_PRIORITY_AND_DEADLINE_COMPARATOR = (job1, job2) -> {
-        final InternalJob internalJob1 = ((JobDescriptorImpl) job1).getInternal();
-        final InternalJob internalJob2 = ((JobDescriptorImpl) job2).getInternal();
-        JobPriority job1Priority = internalJob1.getPriority();
-        JobPriority job2Priority = internalJob2.getPriority();
-        if (job1Priority.equals(job2Priority)) {
-            return getDeadLineFromJob(internalJob1).compareTo(getDeadLineFromJob(internalJob2));
-        } else {
-            return job2Priority.compareTo(job1Priority);
-        }
-    };
+    @Override
+    protected boolean isTaskSchedulable(JobDescriptorImpl job, EligibleTaskDescriptor task, Date now) {
+        return true;
+    }
 
     /**
      *
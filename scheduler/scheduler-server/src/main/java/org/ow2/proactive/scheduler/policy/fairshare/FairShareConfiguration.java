@@ -0,0 +1,139 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.fairshare;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.log4j.Logger;
+
+
+/**
+ * Weights of the users and groups of the {@link FairSharePolicy}, read from a properties file:
+ * <ul>
+ *     <li>{@code user.<name>.weight}: weight of a user, 1 by default</li>
+ *     <li>{@code group.<name>.users}: comma separated names of the users of a group</li>
+ *     <li>{@code group.<name>.weight}: weight of a group, 1 by default</li>
+ *     <li>{@code usage.halflife.minutes}: half-life of the usage history, 60 by default</li>
+ * </ul>
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class FairShareConfiguration {
+
+    private static final Logger logger = Logger.getLogger(FairShareConfiguration.class);
+
+    static final String USER_PREFIX = "user.";
+
+    static final String GROUP_PREFIX = "group.";
+
+    static final String WEIGHT_SUFFIX = ".weight";
+
+    static final String USERS_SUFFIX = ".users";
+
+    static final String HALF_LIFE_PROPERTY = "usage.halflife.minutes";
+
+    private static final double DEFAULT_WEIGHT = 1;
+
+    private static final double DEFAULT_HALF_LIFE_MINUTES = 60;
+
+    private final Map<String, Double> userWeights = new HashMap<>();
+
+    private final Map<String, Double> groupWeights = new HashMap<>();
+
+    private final Map<String, String> userGroups = new HashMap<>();
+
+    private final double halfLifeSeconds;
+
+    public FairShareConfiguration(Properties properties) {
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name).trim();
+            if (name.startsWith(USER_PREFIX) && name.endsWith(WEIGHT_SUFFIX)) {
+                userWeights.put(name.substring(USER_PREFIX.length(), name.length() - WEIGHT_SUFFIX.length()),
+                                parseWeight(name, value));
+            } else if (name.startsWith(GROUP_PREFIX) && name.endsWith(WEIGHT_SUFFIX)) {
+                groupWeights.put(name.substring(GROUP_PREFIX.length(), name.length() - WEIGHT_SUFFIX.length()),
+                                 parseWeight(name, value));
+            } else if (name.startsWith(GROUP_PREFIX) && name.endsWith(USERS_SUFFIX)) {
+                String group = name.substring(GROUP_PREFIX.length(), name.length() - USERS_SUFFIX.length());
+                for (String user : value.split(",")) {
+                    if (!user.trim().isEmpty()) {
+                        userGroups.put(user.trim(), group);
+                    }
+                }
+            }
+        }
+        double halfLifeMinutes = DEFAULT_HALF_LIFE_MINUTES;
+        String halfLife = properties.getProperty(HALF_LIFE_PROPERTY);
+        if (halfLife != null) {
+            halfLifeMinutes = parseWeight(HALF_LIFE_PROPERTY, halfLife.trim());
+        }
+        this.halfLifeSeconds = halfLifeMinutes * 60;
+    }
+
+    /**
+     * @return the weight of the given user, inside its group if it belongs to one
+     */
+    public double getUserWeight(String user) {
+        return userWeights.getOrDefault(user, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * @return the weight of the given group
+     */
+    public double getGroupWeight(String group) {
+        return groupWeights.getOrDefault(group, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * @return the group of the given user, or null if the user does not belong to any group
+     */
+    public String getGroup(String user) {
+        return userGroups.get(user);
+    }
+
+    /**
+     * @return the time in seconds after which the usage of a user is halved
+     */
+    public double getHalfLifeSeconds() {
+        return halfLifeSeconds;
+    }
+
+    private static double parseWeight(String name, String value) {
+        try {
+            double weight = Double.parseDouble(value);
+            if (weight > 0) {
+                return weight;
+            }
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        logger.warn("Invalid value for " + name + ": " + value + ", it must be a positive number");
+        return name.equals(HALF_LIFE_PROPERTY) ? DEFAULT_HALF_LIFE_MINUTES : DEFAULT_WEIGHT;
+    }
+
+}
@@ -0,0 +1,359 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.fairshare;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.policy.ExtendedSchedulerPolicy;
+import org.ow2.proactive.utils.FileUtils;
+
+
+/**
+ * Fair share policy, which shares the nodes between the users and groups according to their weights.
+ *
+ * Each user is charged with its number of running tasks plus the average number of nodes it used
+ * in the recent past, an in-memory usage history which decays with a configurable half-life.
+ * The share of a group is the number of alive nodes of the resource manager multiplied by the weight
+ * of the group divided by the weights of the groups which have tasks to schedule, and the share of a
+ * user is the share of its group divided in the same way between the users of the group.
+ *
+ * The next task is always taken from the group, then from the user of this group, whose consumption
+ * is the smallest compared to its share. The tasks of a user are taken in the order of
+ * {@link ExtendedSchedulerPolicy}. Groups and users are kept sorted so that each task is chosen in
+ * O(log groups + log users).
+ *
+ * The weights are read from the file given by
+ * {@link PASchedulerProperties#FAIR_SHARE_SCHEDULING_POLICY_CONFIGURATION}, see {@link FairShareConfiguration}.
+ *
+ * @since ProActive Scheduling 8.4
+ */
+public class FairSharePolicy extends ExtendedSchedulerPolicy {
+
+    private static final Logger logger = Logger.getLogger(FairSharePolicy.class);
+
+    /** users whose usage is below this value and who have no running task are forgotten */
+    private static final double FORGOTTEN_USAGE = 1;
+
+    private FairShareConfiguration configuration = new FairShareConfiguration(new Properties());
+
+    /** usage of the users, by user name */
+    private final Map<String, UserUsage> usages = new HashMap<>();
+
+    private long lastUpdateTime = -1;
+
+    /**
+     * {@inheritDoc}
+     * Reads the weights of the users and groups.
+     */
+    @Override
+    public boolean reloadConfig() {
+        String path = PASchedulerProperties.FAIR_SHARE_SCHEDULING_POLICY_CONFIGURATION.getValueAsStringOrNull();
+        if (path == null || path.isEmpty()) {
+            configuration = new FairShareConfiguration(new Properties());
+        } else {
+            String absolutePath = PASchedulerProperties.getAbsolutePath(path);
+            configuration = new FairShareConfiguration(FileUtils.resolvePropertiesFile(absolutePath));
+        }
+        return true;
+    }
+
+    void setConfiguration(FairShareConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
+        LinkedList<EligibleTaskDescriptor> toReturn = new LinkedList<>();
+        Iterator<EligibleTaskDescriptor> tasks = getOrderedTasksIterator(jobs);
+        while (tasks.hasNext()) {
+            toReturn.add(tasks.next());
+        }
+        return toReturn;
+    }
+
+    @Override
+    public Iterator<EligibleTaskDescriptor> getOrderedTasksIterator(List<JobDescriptor> jobs) {
+        Map<String, List<JobDescriptorImpl>> jobsByUser = new LinkedHashMap<>();
+        Map<String, Integer> runningTasks = new HashMap<>();
+        for (JobDescriptorImpl job : getSortedJobs(jobs)) {
+            String owner = job.getInternal().getOwner();
+            jobsByUser.computeIfAbsent(owner, k -> new ArrayList<>()).add(job);
+            runningTasks.merge(owner, job.getInternal().getNumberOfRunningTasks(), Integer::sum);
+        }
+        long now = System.currentTimeMillis();
+        updateUsages(runningTasks, now);
+        return new FairShareTasksIterator(jobsByUser, new Date(now));
+    }
+
+    /**
+     * Returns the consumption of a user: its number of running tasks plus the average number of nodes
+     * it used during the last half-life.
+     */
+    double getConsumption(String user) {
+        UserUsage usage = usages.get(user);
+        if (usage == null) {
+            return 0;
+        }
+        return usage.runningTasks + usage.usage * Math.log(2) / configuration.getHalfLifeSeconds();
+    }
+
+    /*
+     * Charges the users with the tasks they ran since the last call, and decays the older usage.
+     */
+    void updateUsages(Map<String, Integer> runningTasks, long now) {
+        double elapsedSeconds = lastUpdateTime < 0 ? 0 : Math.max(now - lastUpdateTime, 0) / 1000.0;
+        double decay = Math.pow(0.5, elapsedSeconds / configuration.getHalfLifeSeconds());
+        lastUpdateTime = now;
+        Iterator<UserUsage> iterator = usages.values().iterator();
+        while (iterator.hasNext()) {
+            UserUsage usage = iterator.next();
+            usage.usage = usage.usage * decay + usage.runningTasks * elapsedSeconds;
+            usage.runningTasks = runningTasks.getOrDefault(usage.user, 0);
+            if (usage.runningTasks == 0 && usage.usage < FORGOTTEN_USAGE) {
+                iterator.remove();
+            }
+        }
+        for (Map.Entry<String, Integer> entry : runningTasks.entrySet()) {
+            if (entry.getValue() > 0) {
+                usages.computeIfAbsent(entry.getKey(), UserUsage::new).runningTasks = entry.getValue();
+            }
+        }
+    }
+
+    private String getGroupKey(String user) {
+        String group = configuration.getGroup(user);
+        return group != null ? "group:" + group : "user:" + user;
+    }
+
+    private double getGroupWeight(String user) {
+        String group = configuration.getGroup(user);
+        return group != null ? configuration.getGroupWeight(group) : configuration.getUserWeight(user);
+    }
+
+    /**
+     * Iterates over the eligible tasks, giving the next task to the group and the user which
+     * consumed the smallest part of their share.
+     */
+    private class FairShareTasksIterator implements Iterator<EligibleTaskDescriptor> {
+
+        private final TreeSet<GroupShare> groups = new TreeSet<>();
+
+        private final Date now;
+
+        private EligibleTaskDescriptor next;
+
+        private FairShareTasksIterator(Map<String, List<JobDescriptorImpl>> jobsByUser, Date now) {
+            this.now = now;
+            Map<String, GroupShare> groupsByKey = new HashMap<>();
+            for (Map.Entry<String, List<JobDescriptorImpl>> entry : jobsByUser.entrySet()) {
+                String user = entry.getKey();
+                GroupShare group = groupsByKey.computeIfAbsent(getGroupKey(user),
+                                                               key -> new GroupShare(key, getGroupWeight(user)));
+                group.users.add(new UserShare(user, entry.getValue()));
+            }
+            // the members of a group which have no task to schedule still count in its consumption
+            for (UserUsage usage : usages.values()) {
+                GroupShare group = groupsByKey.get(getGroupKey(usage.user));
+                if (group != null) {
+                    group.consumption += getConsumption(usage.user);
+                }
+            }
+            double capacity = RMState == null ? 1 : Math.max(RMState.getTotalAliveNodesNumber(), 1);
+            double groupsWeight = 0;
+            for (GroupShare group : groupsByKey.values()) {
+                groupsWeight += group.weight;
+            }
+            for (GroupShare group : groupsByKey.values()) {
+                group.setShare(capacity * group.weight / groupsWeight);
+                groups.add(group);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                GroupShare group = groups.pollFirst();
+                if (group == null) {
+                    return false;
+                }
+                UserShare user = group.users.pollFirst();
+                next = user.nextTask(now);
+                if (next != null) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Task " + next.getTaskId() + " given to " + user.name + " (" + user.consumption +
+                                     " / " + user.share + ") of " + group.name + " (" + group.consumption + " / " +
+                                     group.share + ")");
+                    }
+                    // charges the task until the next scheduling loop counts it as running
+                    user.consumption++;
+                    group.consumption++;
+                    group.users.add(user);
+                }
+                if (!group.users.isEmpty()) {
+                    groups.add(group);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public EligibleTaskDescriptor next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EligibleTaskDescriptor task = next;
+            next = null;
+            return task;
+        }
+    }
+
+    /**
+     * Share of a group or a user, ordered by consumption compared to the share.
+     * The consumption must only be changed while the share is not in a sorted set.
+     */
+    private abstract static class Share implements Comparable<Share> {
+
+        final String name;
+
+        final double weight;
+
+        double consumption;
+
+        double share;
+
+        Share(String name, double weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        double getRatio() {
+            return consumption / share;
+        }
+
+        @Override
+        public int compareTo(Share other) {
+            int result = Double.compare(getRatio(), other.getRatio());
+            if (result != 0) {
+                return result;
+            }
+            return name.compareTo(other.name);
+        }
+    }
+
+    private class GroupShare extends Share {
+
+        private final TreeSet<UserShare> users = new TreeSet<>();
+
+        private GroupShare(String key, double weight) {
+            super(key, weight);
+        }
+
+        private void setShare(double share) {
+            this.share = share;
+            List<UserShare> members = new ArrayList<>(users);
+            users.clear();
+            double usersWeight = 0;
+            for (UserShare user : members) {
+                usersWeight += user.weight;
+            }
+            for (UserShare user : members) {
+                user.share = share * user.weight / usersWeight;
+                users.add(user);
+            }
+        }
+    }
+
+    private class UserShare extends Share {
+
+        private final Iterator<JobDescriptorImpl> jobs;
+
+        private JobDescriptorImpl currentJob;
+
+        private Iterator<EligibleTaskDescriptor> currentTasks = Collections.emptyIterator();
+
+        private UserShare(String user, List<JobDescriptorImpl> jobs) {
+            super(user, configuration.getUserWeight(user));
+            this.jobs = jobs.iterator();
+            this.consumption = getConsumption(user);
+            // not sorted until the share is known
+            this.share = 1;
+        }
+
+        private EligibleTaskDescriptor nextTask(Date now) {
+            while (true) {
+                if (currentTasks.hasNext()) {
+                    EligibleTaskDescriptor task = currentTasks.next();
+                    if (isTaskSchedulable(currentJob, task, now)) {
+                        return task;
+                    }
+                } else if (jobs.hasNext()) {
+                    currentJob = jobs.next();
+                    Collection<TaskDescriptor> tasks = currentJob.getEligibleTasks();
+                    Collection<EligibleTaskDescriptor> eligibleTasks = (Collection) tasks;
+                    currentTasks = eligibleTasks.iterator();
+                } else {
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Usage history of a user.
+     */
+    private static class UserUsage {
+
+        private final String user;
+
+        /** decayed number of node seconds used */
+        private double usage;
+
+        private int runningTasks;
+
+        private UserUsage(String user) {
+            this.user = user;
+        }
+    }
+
+}
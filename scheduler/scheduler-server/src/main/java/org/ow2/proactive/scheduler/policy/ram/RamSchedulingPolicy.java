@@ -30,10 +30,8 @@ import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
-import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
-import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
-import org.ow2.proactive.scheduler.policy.ExtendedSchedulerPolicy;
-import org.ow2.proactive.utils.NodeSet;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.scheduler.policy.ResourceReservationPolicy;
 
 
 /**
@@ -41,58 +39,33 @@ import org.ow2.proactive.utils.NodeSet;
  * This Policy is designed to handle preallocation of RAM into a node machine. 
  * When the task contains the generic information ALLOC_RAM_GIGABYTES, 
  * this policy will return false if there is not enough RAM available 
- * or true if there is RAM available (in this last case it will set the ALLOC_RAM_GIGABYTES property at node level to book the RAM in the node machine)
+ * or true if there is RAM available (in this last case the RAM is booked in the node machine
+ * until the node is free again)
  * 
- * It's important to set the ALLOC_RAM_GIGABYTES task property to 0 in the clean script to release the preallocation. For example for a groovy clean script :
- * org.objectweb.proactive.api.PAActiveObject.getNode().setProperty("ALLOC_RAM_GIGABYTES","0");
+ * The RAM of the node machine is read from the resources reported by the node to the resource manager.
+ * If the node did not report it, it is computed on the node by a {@link RamCompute} active object,
+ * which also subtracts the ALLOC_RAM_GIGABYTES property set at node level by other means.
  *
  */
-public class RamSchedulingPolicy extends ExtendedSchedulerPolicy {
+public class RamSchedulingPolicy extends ResourceReservationPolicy {
 
     private static final Logger logger = Logger.getLogger(RamSchedulingPolicy.class);
 
     public static final String RAM_VARIABLE_NAME = "ALLOC_RAM_GIGABYTES";
 
-    @Override
-    public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
-
-        logger.debug("Selected Nodes: " + selectedNodes);
-
-        logger.debug("Analysing task: " + ((EligibleTaskDescriptorImpl) task).getInternal().getName());
-        String allocRam = ((EligibleTaskDescriptorImpl) task).getInternal()
-                                                             .getRuntimeGenericInformation()
-                                                             .get(RAM_VARIABLE_NAME);
-
-        if (allocRam != null) {
-            try {
-                return canRunTaskOnNode(selectedNodes, task, Double.parseDouble(allocRam));
-            } catch (NumberFormatException nfe) {
-                logger.error("allocRam : " + allocRam + " is not a number");
-                throw new RuntimeException(nfe);
-            }
-        } else {
-            return true;
-        }
+    private static final long GIGABYTE = (1024L * 1024L * 1024L);
 
+    public RamSchedulingPolicy() {
+        super(RAM_VARIABLE_NAME);
     }
 
-    private boolean canRunTaskOnNode(NodeSet selectedNodes, EligibleTaskDescriptor task, double neededRam) {
-        Node n = selectedNodes.get(0);
-        try {
-            double freeRam = getFreeRamFromNode(n);
-            logger.debug("Free Ram for node (" + n.getNodeInformation().getName() + ") : " + freeRam +
-                         " , neededRam : " + neededRam);
-            if (freeRam >= neededRam) {
-                logger.debug("Task " + ((EligibleTaskDescriptorImpl) task).getInternal().getName() +
-                             " can execute on " + n);
-                n.setProperty(RAM_VARIABLE_NAME, "" + neededRam);
-                return true;
-            }
-        } catch (Exception e) {
-            logger.error("Error while setting the property " + RAM_VARIABLE_NAME);
-            throw new RuntimeException(e);
+    @Override
+    protected double getAvailableAmount(Node node, NodeHeartbeat resources)
+            throws ActiveObjectCreationException, NodeException {
+        if (resources != null && resources.getTotalMemory() >= 0) {
+            return ((double) resources.getTotalMemory()) / GIGABYTE;
         }
-        return false;
+        return getFreeRamFromNode(node);
     }
 
     private double getFreeRamFromNode(Node n) throws ActiveObjectCreationException, NodeException {
@@ -30,9 +30,12 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -42,10 +45,13 @@ import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.objectweb.proactive.Body;
 import org.objectweb.proactive.EndActive;
 import org.objectweb.proactive.InitActive;
@@ -56,9 +62,11 @@ import org.objectweb.proactive.core.mop.MethodCallExecutionFailedException;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.objectweb.proactive.utils.StackTraceUtil;
 import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.util.TaskLogger;
 
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import jdbm.PrimaryHashMap;
 import jdbm.RecordManager;
 import jdbm.RecordManagerFactory;
@@ -73,6 +81,12 @@ import jdbm.RecordManagerFactory;
  *
  * Internally, HashMap are used to implement Channels. Channels are persisted thanks to <a href="https://code.google.com/archive/p/jdbm2/">JDBM2</a>
  *
+ * Persistent channels are stored key by key, so that modifying one key only writes this key to the database.
+ * Each modification is committed before replying. Grouping modifications in a single commit while other requests are
+ * waiting to be served can be enabled, at the cost of losing acknowledged modifications if the scheduler crashes.
+ *
+ * Closures are compiled once and kept in a bounded cache, indexed by their source code.
+ *
  * A custom {@link RunActive#runActivity(Body) runActivity} is implemented to handle wait Methods.
  * @author ActiveEon Team
  * @since 26/03/2018
@@ -103,14 +117,38 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
     /** Name of the JDBM Database file used by this service */
     private static final String DEFAULT_STORE_SESSION_NAME = "SchedulerStore";
 
-    /** Schema used inside the JDBM database */
+    /** Schema used inside the JDBM database by previous versions, where each channel was stored as a single record */
     private static final String STATUS_RECORD_NAME = "STORE";
 
+    /** Schema used inside the JDBM database to store the names of the persistent channels */
+    private static final String CHANNELS_RECORD_NAME = "CHANNELS";
+
+    /** Schema used inside the JDBM database to store the entries of the persistent channels */
+    private static final String ENTRIES_RECORD_NAME = "ENTRIES";
+
     /** HashMap storing the in-memory channels */
     private HashMap<String, Channel> inMemoryChannels;
 
-    /** JDBM map storing the persistent channels */
-    private PrimaryHashMap<String, Channel> persistedChannels;
+    /** HashMap storing the persistent channels, loaded from the database at startup */
+    private HashMap<String, Channel> persistedChannels = new HashMap<>();
+
+    /** JDBM map storing the names of the persistent channels */
+    private PrimaryHashMap<String, Boolean> persistedChannelNames;
+
+    /** JDBM map storing the entries of all persistent channels, see {@link #entryKey(String, String)} */
+    private PrimaryHashMap<String, Serializable> persistedEntries;
+
+    /** Persistent channels modified since the last commit */
+    private Set<String> modifiedChannels = new HashSet<>();
+
+    /** Number of modifications of persistent channels since the last commit */
+    private int uncommittedOperations = 0;
+
+    /** Maximum number of modifications grouped in a single commit */
+    private int maxUncommittedOperations = 1;
+
+    /** Compiled closures, indexed by their source code */
+    private Map<String, Class<? extends Script>> compiledClosures;
 
     /** Queue used to memorize and handle wait requests to the active object */
     private Queue<TimedOutRequest> waitUntilQueue = new ArrayDeque<>();
@@ -121,6 +159,8 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
 
     private RecordManager recordManager;
 
+    private Service service;
+
     private boolean isStarted = false;
 
     @java.lang.SuppressWarnings("unused")
@@ -133,13 +173,21 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
         initializeGroovyCompiler();
         initializeStatusFile(statusFileDirectoryPath);
         inMemoryChannels = new HashMap<>();
-
+        int maxOperations = PASchedulerProperties.SCHEDULER_SYNCHRONIZATION_DATABASE_COMMIT_MAX_OPERATIONS.getValueAsInt();
+        maxUncommittedOperations = Math.max(1, maxOperations);
     }
 
     private void initializeGroovyCompiler() {
         CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
         compilerConfiguration.setTargetBytecode(CompilerConfiguration.JDK8);
         shell = new GroovyShell(this.getClass().getClassLoader(), compilerConfiguration);
+        final int cacheSize = PASchedulerProperties.SCHEDULER_SYNCHRONIZATION_CLOSURE_CACHE_SIZE.getValueAsInt();
+        compiledClosures = new LinkedHashMap<String, Class<? extends Script>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Class<? extends Script>> eldest) {
+                return size() > cacheSize;
+            }
+        };
     }
 
     private void initializeStatusFile(String statusFileDirectoryPath) {
@@ -171,8 +219,11 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
         try {
             logger.info("Loading Record Manager from file : " + statusFile);
             recordManager = RecordManagerFactory.createRecordManager(statusFile.getCanonicalPath());
-            persistedChannels = recordManager.hashMap(STATUS_RECORD_NAME);
-            // While printing the content of persistedChannels, InvalidClassException or jdbm Error can be triggered
+            persistedChannelNames = recordManager.hashMap(CHANNELS_RECORD_NAME);
+            persistedEntries = recordManager.hashMap(ENTRIES_RECORD_NAME);
+            // While loading the persisted channels, InvalidClassException or jdbm Error can be triggered
+            loadPersistedChannels();
+            migrateLegacyChannels();
             logger.info("Content of persisted store : " + persistedChannels);
 
             recordManager.commit();
@@ -198,6 +249,60 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
         return isStarted;
     }
 
+    private void loadPersistedChannels() {
+        persistedChannels = new HashMap<>();
+        modifiedChannels.clear();
+        uncommittedOperations = 0;
+        for (String name : persistedChannelNames.keySet()) {
+            persistedChannels.put(name, new Channel());
+        }
+        for (Map.Entry<String, Serializable> entry : persistedEntries.entrySet()) {
+            String entryKey = entry.getKey();
+            int separator = entryKey.indexOf(':');
+            int nameEnd = separator + 1 + Integer.parseInt(entryKey.substring(0, separator));
+            Channel channel = persistedChannels.get(entryKey.substring(separator + 1, nameEnd));
+            if (channel != null) {
+                Serializable value = entry.getValue();
+                channel.load(entryKey.substring(nameEnd), value == NullValue.INSTANCE ? null : value);
+            }
+        }
+    }
+
+    /**
+     * Convert the channels stored as a single record by previous versions to the key by key layout
+     */
+    private void migrateLegacyChannels() {
+        PrimaryHashMap<String, Channel> legacyChannels = recordManager.hashMap(STATUS_RECORD_NAME);
+        if (legacyChannels.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Channel> legacyChannel : legacyChannels.entrySet()) {
+            String name = legacyChannel.getKey();
+            Channel channel = new Channel();
+            persistedChannels.put(name, channel);
+            persistedChannelNames.put(name, Boolean.TRUE);
+            for (Map.Entry<String, Serializable> entry : legacyChannel.getValue().entrySet()) {
+                channel.load(entry.getKey(), entry.getValue());
+                persistedEntries.put(entryKey(name, entry.getKey()), persistedValue(entry.getValue()));
+            }
+        }
+        logger.info("Converted " + legacyChannels.size() + " persistent channels to the key by key layout");
+        legacyChannels.clear();
+    }
+
+    /**
+     * Key of a channel entry inside the JDBM entries map: the channel name is prefixed by its length so
+     * that any channel name or key can be used
+     */
+    private static String entryKey(String channel, String key) {
+        return channel.length() + ":" + channel + key;
+    }
+
+    private static Serializable persistedValue(Serializable value) {
+        // JDBM does not accept null values
+        return value == null ? NullValue.INSTANCE : value;
+    }
+
     private void cleanDataBase() {
         close();
         logger.info("Cleaning database");
@@ -224,6 +329,11 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
     public boolean close() {
         inMemoryChannels.clear();
         if (recordManager != null) {
+            try {
+                commit();
+            } catch (IOException e) {
+                logger.warn("Error when committing channels before closing Record Manager", e);
+            }
             try {
                 logger.info("Closing Record Manager");
                 recordManager.close();
@@ -253,11 +363,11 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
             Channel newChannel = new Channel();
             if (isPersistent) {
                 persistedChannels.put(name, newChannel);
+                persistedChannelNames.put(name, Boolean.TRUE);
                 logWithContextAndPersist(taskid,
-                                         null,
+                                         name,
                                          "Created new persistent channel " + QUOTE + name + QUOTE,
                                          Level.INFO);
-                recordManager.commit();
             } else {
                 inMemoryChannels.put(name, newChannel);
                 logWithContextAndPersist(taskid,
@@ -275,12 +385,19 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
     public boolean deleteChannel(String originator, TaskId taskid, String name) throws IOException {
         try {
             if (persistedChannels.containsKey(name)) {
-                persistedChannels.remove(name);
-                logWithContextAndPersist(taskid,
-                                         null,
-                                         "Deleted persistent channel " + QUOTE + name + QUOTE,
-                                         Level.INFO);
-                recordManager.commit();
+                Channel deletedChannel = persistedChannels.remove(name);
+                for (String key : deletedChannel.keySet()) {
+                    persistedEntries.remove(entryKey(name, key));
+                }
+                // keys removed since the last commit may still be stored
+                for (String key : deletedChannel.drainModifiedKeys()) {
+                    persistedEntries.remove(entryKey(name, key));
+                }
+                persistedChannelNames.remove(name);
+                modifiedChannels.remove(name);
+                logWithContext(taskid, null, "Deleted persistent channel " + QUOTE + name + QUOTE, null, Level.INFO);
+                uncommittedOperations++;
+                commitIfNeeded();
                 return true;
             } else if (inMemoryChannels.containsKey(name)) {
                 inMemoryChannels.remove(name);
@@ -310,20 +427,54 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
     }
 
     /**
-     * Commits pending operations on the given channel
+     * Records a modification of the given channel, then commits pending modifications if needed
      * @param channel channel name
      * @throws IOException if an error occurs when persisting channel
      */
     private void commitIfNeeded(String channel) throws IOException {
         if (persistedChannels.containsKey(channel)) {
-            // Record Manager mark as dirty (uncommited) entries which have be modified via a put call
-            // Thus, such operation as persistedChannels.get(channel).dosomething() will not be committed
-            // by the following trick, we mark the entry as dirty and commit
-            persistedChannels.put(channel, persistedChannels.get(channel));
-            recordManager.commit();
+            modifiedChannels.add(channel);
+            uncommittedOperations++;
+            commitIfNeeded();
         }
     }
 
+    /**
+     * Commits pending modifications. When grouped commits are enabled (maximum number of grouped modifications
+     * greater than 1), the commit is postponed while other requests are waiting to be served and the maximum is not
+     * reached: it is then done by one of the next requests, or before waiting for new requests. The caller may thus
+     * get its reply before its modification is durable.
+     * @throws IOException if an error occurs when persisting channels
+     */
+    private void commitIfNeeded() throws IOException {
+        if (service == null || !service.hasRequestToServe() || uncommittedOperations >= maxUncommittedOperations) {
+            commit();
+        }
+    }
+
+    /**
+     * Writes the keys of the persistent channels modified since the last commit, then commits
+     * @throws IOException if an error occurs when persisting channels
+     */
+    private void commit() throws IOException {
+        if (uncommittedOperations == 0) {
+            return;
+        }
+        for (String name : modifiedChannels) {
+            Channel channel = persistedChannels.get(name);
+            for (String key : channel.drainModifiedKeys()) {
+                if (channel.containsKey(key)) {
+                    persistedEntries.put(entryKey(name, key), persistedValue(channel.get(key)));
+                } else {
+                    persistedEntries.remove(entryKey(name, key));
+                }
+            }
+        }
+        modifiedChannels.clear();
+        uncommittedOperations = 0;
+        recordManager.commit();
+    }
+
     @Override
     public boolean containsKey(String originator, TaskId taskid, String channel, String key)
             throws InvalidChannelException {
@@ -416,7 +567,13 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
             throws CompilationException, ClosureEvaluationException, InvalidChannelException {
         try {
             Channel chosenChannel = getChannel(channel);
+            // values may be modified in place, persistent entries are compared to find the modified ones
+            boolean persistent = persistedChannels.containsKey(channel);
+            Map<String, byte[]> serializedValues = persistent ? chosenChannel.serializedValues() : null;
             chosenChannel.forEach(evaluateClosure(action, BiConsumer.class));
+            if (serializedValues != null) {
+                chosenChannel.markModifiedSince(serializedValues);
+            }
             logWithContextAndPersist(taskid, channel, "Run forEach, new content is: " + chosenChannel, Level.DEBUG);
         } catch (InvalidChannelException | CompilationException e) {
             throw e;
@@ -818,7 +975,7 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
 
     @Override
     public void runActivity(Body body) {
-        Service service = new Service(body);
+        service = new Service(body);
         while (body.isActive()) {
             try {
 
@@ -836,6 +993,7 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
                     service.serve(request);
                 }
                 unblockWaitMethods(service, requestWithWaitTime.getWaitTime());
+                commitBeforeWaiting();
 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -843,6 +1001,19 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
         }
     }
 
+    /**
+     * Commits modifications grouped by previous requests, if no other request is waiting to be served
+     */
+    private void commitBeforeWaiting() {
+        if (uncommittedOperations > 0 && !service.hasRequestToServe()) {
+            try {
+                commit();
+            } catch (IOException e) {
+                logger.error("Error when persisting channels content", e);
+            }
+        }
+    }
+
     /**
      * Wait for a new request in the request queue, until a request is found or until a timeout based on the pending wait request queue
      * @param service active object service
@@ -917,8 +1088,15 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
 
     @SuppressWarnings("unchecked")
     private <T> T evaluateClosure(String closureDefinition, Class<T> type) throws CompilationException {
+        String scriptText = closureDefinition + " as " + type.getCanonicalName();
         try {
-            return (T) shell.evaluate(closureDefinition + " as " + type.getCanonicalName());
+            Class<? extends Script> scriptClass = compiledClosures.get(scriptText);
+            if (scriptClass == null) {
+                scriptClass = shell.parse(scriptText).getClass();
+                compiledClosures.put(scriptText, scriptClass);
+            }
+            // a new script instance is run for each evaluation, as GroovyShell.evaluate did
+            return (T) InvokerHelper.createScript(scriptClass, shell.getContext()).run();
         } catch (CompilationFailedException e) {
             // CompilationFailedException contains instances which are not serializable
             throw new CompilationException(StackTraceUtil.getStackTrace(e));
@@ -977,8 +1155,156 @@ public class AOSynchronization implements RunActive, InitActive, EndActive, Sync
         close();
     }
 
+    /**
+     * A channel keeps track of the keys modified since the last commit, so that only these keys are persisted
+     */
     public static class Channel extends HashMap<String, Serializable> {
         private static final long serialVersionUID = 1L;
+
+        private transient Set<String> modifiedKeys;
+
+        private Set<String> modifiedKeys() {
+            if (modifiedKeys == null) {
+                modifiedKeys = new HashSet<>();
+            }
+            return modifiedKeys;
+        }
+
+        void load(String key, Serializable value) {
+            super.put(key, value);
+        }
+
+        void markAllModified() {
+            modifiedKeys().addAll(keySet());
+        }
+
+        Map<String, byte[]> serializedValues() {
+            Map<String, byte[]> answer = new HashMap<>(size());
+            for (Map.Entry<String, Serializable> entry : entrySet()) {
+                answer.put(entry.getKey(), serialize(entry.getValue()));
+            }
+            return answer;
+        }
+
+        /**
+         * Marks the keys whose values differ from the given serialized values
+         */
+        void markModifiedSince(Map<String, byte[]> serializedValues) {
+            for (Map.Entry<String, Serializable> entry : entrySet()) {
+                byte[] previous = serializedValues.get(entry.getKey());
+                byte[] current = serialize(entry.getValue());
+                if (previous == null || current == null || !Arrays.equals(previous, current)) {
+                    modifiedKeys().add(entry.getKey());
+                }
+            }
+        }
+
+        private static byte[] serialize(Serializable value) {
+            try {
+                return SerializationUtils.serialize(value);
+            } catch (SerializationException e) {
+                // the value will be written, which reports the error
+                return null;
+            }
+        }
+
+        Set<String> drainModifiedKeys() {
+            Set<String> answer = modifiedKeys();
+            modifiedKeys = null;
+            return answer;
+        }
+
+        @Override
+        public Serializable put(String key, Serializable value) {
+            modifiedKeys().add(key);
+            return super.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends Serializable> m) {
+            modifiedKeys().addAll(m.keySet());
+            super.putAll(m);
+        }
+
+        @Override
+        public Serializable remove(Object key) {
+            if (key instanceof String) {
+                modifiedKeys().add((String) key);
+            }
+            return super.remove(key);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            if (key instanceof String) {
+                modifiedKeys().add((String) key);
+            }
+            return super.remove(key, value);
+        }
+
+        @Override
+        public void clear() {
+            markAllModified();
+            super.clear();
+        }
+
+        @Override
+        public Serializable putIfAbsent(String key, Serializable value) {
+            modifiedKeys().add(key);
+            return super.putIfAbsent(key, value);
+        }
+
+        @Override
+        public boolean replace(String key, Serializable oldValue, Serializable newValue) {
+            modifiedKeys().add(key);
+            return super.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public Serializable replace(String key, Serializable value) {
+            modifiedKeys().add(key);
+            return super.replace(key, value);
+        }
+
+        @Override
+        public Serializable computeIfAbsent(String key, Function<? super String, ? extends Serializable> function) {
+            modifiedKeys().add(key);
+            return super.computeIfAbsent(key, function);
+        }
+
+        @Override
+        public Serializable computeIfPresent(String key,
+                BiFunction<? super String, ? super Serializable, ? extends Serializable> function) {
+            modifiedKeys().add(key);
+            return super.computeIfPresent(key, function);
+        }
+
+        @Override
+        public Serializable compute(String key,
+                BiFunction<? super String, ? super Serializable, ? extends Serializable> function) {
+            modifiedKeys().add(key);
+            return super.compute(key, function);
+        }
+
+        @Override
+        public Serializable merge(String key, Serializable value,
+                BiFunction<? super Serializable, ? super Serializable, ? extends Serializable> function) {
+            modifiedKeys().add(key);
+            return super.merge(key, value, function);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super Serializable, ? extends Serializable> function) {
+            markAllModified();
+            super.replaceAll(function);
+        }
+    }
+
+    /**
+     * Stored in the database in place of null values
+     */
+    private enum NullValue {
+        INSTANCE
     }
 
     private static final class NewRequestWithWaitTime {
@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -56,6 +57,8 @@ import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatus;
+import org.ow2.proactive.scheduler.common.task.dataspaces.InputSelector;
+import org.ow2.proactive.scheduler.common.task.dataspaces.OutputSelector;
 import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
 import org.ow2.proactive.scheduler.common.task.flow.FlowActionType;
 import org.ow2.proactive.scheduler.common.task.flow.FlowBlock;
@@ -72,6 +75,7 @@ import org.ow2.proactive.scheduler.task.TaskLauncherInitializer;
 import org.ow2.proactive.scheduler.task.containers.ExecutableContainer;
 import org.ow2.proactive.scheduler.util.TaskLogger;
 import org.ow2.proactive.scripting.Script;
+import org.ow2.proactive.scripting.SelectionScript;
 import org.ow2.proactive.utils.NodeSet;
 
 
@@ -165,6 +169,10 @@ public abstract class InternalTask extends TaskState {
     @XmlTransient
     private transient Map<String, Serializable> updatedVariables;
 
+    /** Loads the scripts and dataspace selectors of a recovered task, null once they are loaded */
+    @XmlTransient
+    private transient volatile Consumer<InternalTask> bodyLoader = null;
+
     protected InternalTask(InternalJob internalJob) {
         this.internalJob = internalJob;
     }
@@ -203,6 +211,9 @@ public abstract class InternalTask extends TaskState {
          * contain references to the @Id fields mentionned above. They need to be reset too.
          */
 
+        // the replica is a copy of the fields, they must hold the whole task
+        loadBody();
+
         InternalTask replicatedTask = null;
         // SCHEDULING-1373 remains, but not replicating the container make the core hangs,
         // while replicating it "only" loses tasks args in db...
@@ -497,6 +508,88 @@ public abstract class InternalTask extends TaskState {
         return true;
     }
 
+    /**
+     * Sets the loader of the scripts and dataspace selectors of this task, which are then
+     * loaded the first time they are accessed instead of with the task.
+     *
+     * @param bodyLoader the loader of the body of this task
+     */
+    public void setBodyLoader(Consumer<InternalTask> bodyLoader) {
+        this.bodyLoader = bodyLoader;
+    }
+
+    /**
+     * @return true unless the scripts and dataspace selectors of this task still have to be loaded
+     */
+    public boolean isBodyLoaded() {
+        return bodyLoader == null;
+    }
+
+    /**
+     * Loads the scripts and dataspace selectors of this task if they were not loaded with it.
+     */
+    public void loadBody() {
+        Consumer<InternalTask> loader = bodyLoader;
+        if (loader != null) {
+            loadBody(loader);
+        }
+    }
+
+    /**
+     * Loads the scripts and dataspace selectors of this task with the given loader instead of its own,
+     * if they were not loaded with it. Used to load the bodies of several tasks at once.
+     *
+     * @param loader the loader of the body of this task
+     */
+    public synchronized void loadBody(Consumer<InternalTask> loader) {
+        if (bodyLoader != null) {
+            loader.accept(this);
+            bodyLoader = null;
+        }
+    }
+
+    @Override
+    public List<SelectionScript> getSelectionScripts() {
+        loadBody();
+        return super.getSelectionScripts();
+    }
+
+    @Override
+    public Script<?> getPreScript() {
+        loadBody();
+        return super.getPreScript();
+    }
+
+    @Override
+    public Script<?> getPostScript() {
+        loadBody();
+        return super.getPostScript();
+    }
+
+    @Override
+    public Script<?> getCleaningScript() {
+        loadBody();
+        return super.getCleaningScript();
+    }
+
+    @Override
+    public List<InputSelector> getInputFilesList() {
+        loadBody();
+        return super.getInputFilesList();
+    }
+
+    @Override
+    public List<OutputSelector> getOutputFilesList() {
+        loadBody();
+        return super.getOutputFilesList();
+    }
+
+    @Override
+    public String display() {
+        loadBody();
+        return super.display();
+    }
+
     public void setExecutableContainer(ExecutableContainer e) {
         this.executableContainer = e;
     }
@@ -507,7 +600,32 @@ public abstract class InternalTask extends TaskState {
      * @param node the node on which to create the launcher.
      * @return the created launcher as an activeObject.
      */
-    public abstract TaskLauncher createLauncher(Node node) throws ActiveObjectCreationException, NodeException;
+    public TaskLauncher createLauncher(Node node) throws ActiveObjectCreationException, NodeException {
+        TaskLauncher launcher = createLauncher(createLauncherInitializer(), node);
+        setExecuterInformation(new ExecuterInformation(launcher, node));
+        return launcher;
+    }
+
+    /**
+     * Create the launcher for this taskDescriptor from an initializer prepared beforehand.<br>
+     * Unlike {@link #createLauncher(Node)}, this method neither reads nor modifies the state of the task and
+     * its job, so it can be called without holding the job lock.
+     *
+     * @param initializer the initializer of the launcher, see {@link #createLauncherInitializer()}
+     * @param node the node on which to create the launcher.
+     * @return the created launcher as an activeObject.
+     */
+    public abstract TaskLauncher createLauncher(TaskLauncherInitializer initializer, Node node)
+            throws ActiveObjectCreationException, NodeException;
+
+    /**
+     * Prepare the initializer of the launcher of this task, from the current state of the task and its job.
+     *
+     * @return the initializer to give to {@link #createLauncher(TaskLauncherInitializer, Node)}
+     */
+    public TaskLauncherInitializer createLauncherInitializer() {
+        return getDefaultTaskLauncherInitializer();
+    }
 
     /**
      * Return true if this task can handle parent results arguments in its executable
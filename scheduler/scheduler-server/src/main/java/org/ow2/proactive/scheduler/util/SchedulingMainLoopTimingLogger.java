@@ -25,6 +25,7 @@
  */
 package org.ow2.proactive.scheduler.util;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -40,9 +41,14 @@ public class SchedulingMainLoopTimingLogger {
 
     private final Logger logger;
 
+    private final long loopStartTime;
+
+    private int tasksStarted;
+
     public SchedulingMainLoopTimingLogger(Logger logger) {
         this.logger = logger;
         this.allTimings = Maps.newLinkedHashMap();
+        this.loopStartTime = System.currentTimeMillis();
     }
 
     public void start(String nameOfTiming) {
@@ -54,17 +60,34 @@ public class SchedulingMainLoopTimingLogger {
         allTimings.getOrDefault(nameOfTiming, new TimingModel()).end();
     }
 
+    /**
+     * Adds the given number of tasks to the tasks started during this scheduling loop.
+     */
+    public void tasksStarted(int numberOfTasks) {
+        tasksStarted += numberOfTasks;
+    }
+
     public void printTimingsINFOLevel() {
         List<String> loggingStrings = allTimings.entrySet()
                                                 .stream()
                                                 .map(timing -> timing.getValue().getLoggingString(timing.getKey()))
-                                                .collect(Collectors.toList());
+                                                .collect(Collectors.toCollection(ArrayList::new));
+        if (tasksStarted > 0) {
+            loggingStrings.add(getThroughputLoggingString(System.currentTimeMillis() - loopStartTime));
+        }
         if (!loggingStrings.isEmpty()) {
             logger.info("SchedulingMainLoopTiming::" + System.getProperty("line.separator") +
                         String.join(System.getProperty("line.separator"), loggingStrings));
         }
     }
 
+    String getThroughputLoggingString(long loopDuration) {
+        // avoid a division by zero for very fast loops
+        long tasksPerSecond = tasksStarted * 1000L / Math.max(loopDuration, 1);
+        return "Started:" + tasksStarted + ";Total:" + loopDuration + "ms;Throughput:" + tasksPerSecond +
+               "tasks/s;startedTasks";
+    }
+
 }
 
 class TimingModel {
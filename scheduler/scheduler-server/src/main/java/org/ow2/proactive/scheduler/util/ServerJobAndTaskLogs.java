@@ -27,7 +27,9 @@ package org.ow2.proactive.scheduler.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.log4j.Logger;
@@ -49,6 +51,8 @@ public class ServerJobAndTaskLogs {
 
     private SchedulerSpacesSupport spacesSupport = null;
 
+    private final List<FileAppender> appenders = new CopyOnWriteArrayList<>();
+
     public static ServerJobAndTaskLogs getInstance() {
         return LazyHolder.INSTANCE;
     }
@@ -180,7 +184,54 @@ public class ServerJobAndTaskLogs {
         return PASchedulerProperties.SCHEDULER_DB_HIBERNATE_DROPDB.getValueAsBoolean();
     }
 
+    /**
+     * @return the number of job and task log events waiting to be written
+     */
+    public int getQueuedLogEvents() {
+        int queued = 0;
+        for (FileAppender appender : appenders) {
+            queued += appender.getQueueDepth();
+        }
+        return queued;
+    }
+
+    /**
+     * @return the number of job and task log events which could not be written asynchronously
+     */
+    public long getDroppedLogEvents() {
+        long dropped = 0;
+        for (FileAppender appender : appenders) {
+            dropped += appender.getDroppedEvents();
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the number of job and task log events written asynchronously
+     */
+    public long getWrittenLogEvents() {
+        long written = 0;
+        for (FileAppender appender : appenders) {
+            written += appender.getWrittenEvents();
+        }
+        return written;
+    }
+
+    /**
+     * @return true if the job and task logs are written from a background thread
+     */
+    public boolean isAsynchronous() {
+        return PASchedulerProperties.SCHEDULER_JOB_LOGS_ASYNCHRONOUS.getValueAsBoolean();
+    }
+
+    private void flushAppenders() {
+        for (FileAppender appender : appenders) {
+            appender.flush();
+        }
+    }
+
     private String readLog(String filename) {
+        flushAppenders();
         String result = null;
         for (String suffix : new String[] { ".1", "" }) {
             String contents = readFile(new File(getLogsLocation(), filename + suffix));
@@ -216,6 +267,7 @@ public class ServerJobAndTaskLogs {
         Logger jobLogger = Logger.getLogger(cls);
         FileAppender appender = createFileAppender();
         jobLogger.addAppender(appender);
+        appenders.add(appender);
     }
 
     private FileAppender createFileAppender() {
@@ -224,6 +276,8 @@ public class ServerJobAndTaskLogs {
             appender.setMaxFileSize(PASchedulerProperties.SCHEDULER_JOB_LOGS_MAX_SIZE.getValueAsString());
         }
         appender.setFilesLocation(getLogsLocation());
+        appender.setAsynchronous(PASchedulerProperties.SCHEDULER_JOB_LOGS_ASYNCHRONOUS.getValueAsBoolean());
+        appender.setMaxOpenFiles(PASchedulerProperties.SCHEDULER_JOB_LOGS_MAX_OPEN_FILES.getValueAsInt());
         return appender;
     }
 
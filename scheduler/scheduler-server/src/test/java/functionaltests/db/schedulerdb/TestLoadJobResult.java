@@ -33,11 +33,15 @@ import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.ow2.proactive.scheduler.common.Page;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobResult;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
 import org.ow2.proactive.scheduler.common.task.JavaTask;
+import org.ow2.proactive.scheduler.common.task.SimpleTaskLogs;
+import org.ow2.proactive.scheduler.common.task.TaskLogs;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
@@ -69,6 +73,67 @@ public class TestLoadJobResult extends BaseSchedulerDBTest {
         Assert.assertEquals(1, result.getJobInfo().getTotalNumberOfTasks());
     }
 
+    @Test
+    public void testLoadTaskResultsPage() throws Throwable {
+        TaskFlowJob jobDef = new TaskFlowJob();
+        for (int i = 1; i <= 3; i++) {
+            jobDef.addTask(createDefaultTask("task" + i));
+        }
+
+        InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+        InternalTask task1 = job.getTask("task1");
+        InternalTask task3 = job.getTask("task3");
+
+        dbManager.updateAfterTaskFinished(job, task1, new TaskResultImpl(null, new TestResult(0, "1_1"), null, 0));
+        dbManager.updateAfterTaskFinished(job, task1, new TaskResultImpl(null, new TestResult(0, "1_2"), null, 0));
+        dbManager.updateAfterTaskFinished(job, task3, new TaskResultImpl(null, new TestResult(0, "3_1"), null, 0));
+
+        Page<TaskResult> page = dbManager.loadTaskResultsPage(job.getId(), 0, 2);
+        Assert.assertEquals(3, page.getSize());
+        Assert.assertEquals(1, page.getList().size());
+        Assert.assertEquals("task1", page.getList().get(0).getTaskId().getReadableName());
+        Assert.assertEquals("1_2", ((TestResult) page.getList().get(0).value()).getB());
+
+        page = dbManager.loadTaskResultsPage(job.getId(), 2, 2);
+        Assert.assertEquals(1, page.getList().size());
+        Assert.assertEquals("task3", page.getList().get(0).getTaskId().getReadableName());
+
+        Assert.assertNull(dbManager.loadTaskResultsPage(JobIdImpl.makeJobId("123456789"), 0, 2));
+    }
+
+    @Test
+    public void testLoadTaskLogsPage() throws Throwable {
+        TaskFlowJob jobDef = new TaskFlowJob();
+        for (int i = 1; i <= 3; i++) {
+            jobDef.addTask(createDefaultTask("task" + i));
+        }
+
+        InternalJob job = defaultSubmitJobAndLoadInternal(true, jobDef);
+        InternalTask task1 = job.getTask("task1");
+        InternalTask task3 = job.getTask("task3");
+
+        dbManager.updateAfterTaskFinished(job,
+                                          task1,
+                                          new TaskResultImpl(null, "1_1", new SimpleTaskLogs("out1_1", ""), 0));
+        dbManager.updateAfterTaskFinished(job,
+                                          task1,
+                                          new TaskResultImpl(null, "1_2", new SimpleTaskLogs("out1_2", ""), 0));
+        dbManager.updateAfterTaskFinished(job,
+                                          task3,
+                                          new TaskResultImpl(null, "3_1", new SimpleTaskLogs("out3_1", ""), 0));
+
+        Page<TaskLogs> page = dbManager.loadTaskLogsPage(job.getId(), 0, 2);
+        Assert.assertEquals(3, page.getSize());
+        Assert.assertEquals(1, page.getList().size());
+        Assert.assertEquals("out1_2", page.getList().get(0).getStdoutLogs(false));
+
+        page = dbManager.loadTaskLogsPage(job.getId(), 2, 2);
+        Assert.assertEquals(1, page.getList().size());
+        Assert.assertEquals("out3_1", page.getList().get(0).getStdoutLogs(false));
+
+        Assert.assertNull(dbManager.loadTaskLogsPage(JobIdImpl.makeJobId("123456789"), 0, 2));
+    }
+
     @Test
     public void testLoadJobResultMap() throws Throwable {
         TaskFlowJob job = new TaskFlowJob();
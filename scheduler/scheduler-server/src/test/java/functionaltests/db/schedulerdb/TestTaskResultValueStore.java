@@ -0,0 +1,115 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package functionaltests.db.schedulerdb;
+
+import java.io.File;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
+import org.ow2.proactive.scheduler.common.task.TaskResult;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.TaskResultImpl;
+
+
+public class TestTaskResultValueStore extends BaseSchedulerDBTest {
+
+    @ClassRule
+    public static TemporaryFolder storeFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void configureStore() {
+        PASchedulerProperties.SCHEDULER_DB_RESULTS_STORE_DIRECTORY.updateProperty(storeFolder.getRoot()
+                                                                                            .getAbsolutePath());
+        PASchedulerProperties.SCHEDULER_DB_RESULTS_STORE_THRESHOLD.updateProperty("100");
+    }
+
+    @AfterClass
+    public static void resetStore() {
+        PASchedulerProperties.SCHEDULER_DB_RESULTS_STORE_DIRECTORY.updateProperty("");
+    }
+
+    @Test
+    public void testLargeResultIsStoredOutOfDatabase() throws Throwable {
+        String value = createString(1000);
+        InternalJob job = submitJob();
+        TaskResultImpl result = new TaskResultImpl(null, value, null, 0);
+
+        dbManager.updateAfterTaskFinished(job, job.getTask("task"), result);
+
+        Assert.assertNotNull(result.getValueReference());
+        Assert.assertTrue(storedValue(result).exists());
+
+        TaskResult loaded = dbManager.loadTaskResult(job.getId(), "task", 0);
+        Assert.assertNotNull(((TaskResultImpl) loaded).getValueReference());
+        Assert.assertEquals(value, loaded.value());
+    }
+
+    @Test
+    public void testSmallResultIsKeptInDatabase() throws Throwable {
+        InternalJob job = submitJob();
+        TaskResultImpl result = new TaskResultImpl(null, "small", null, 0);
+
+        dbManager.updateAfterTaskFinished(job, job.getTask("task"), result);
+
+        Assert.assertNull(result.getValueReference());
+        Assert.assertEquals("small", dbManager.loadTaskResult(job.getId(), "task", 0).value());
+    }
+
+    @Test
+    public void testStoredValueIsRemovedWithItsLastReference() throws Throwable {
+        String value = createString(1000);
+        InternalJob job1 = submitJob();
+        InternalJob job2 = submitJob();
+        TaskResultImpl result1 = new TaskResultImpl(null, value, null, 0);
+        TaskResultImpl result2 = new TaskResultImpl(null, value, null, 0);
+        dbManager.updateAfterTaskFinished(job1, job1.getTask("task"), result1);
+        dbManager.updateAfterTaskFinished(job2, job2.getTask("task"), result2);
+        File stored = storedValue(result1);
+
+        dbManager.removeJob(job1.getId(), System.currentTimeMillis(), true);
+        Assert.assertTrue(stored.exists());
+        Assert.assertEquals(value, dbManager.loadTaskResult(job2.getId(), "task", 0).value());
+
+        dbManager.removeJob(job2.getId(), System.currentTimeMillis(), true);
+        Assert.assertFalse(stored.exists());
+    }
+
+    private InternalJob submitJob() throws Exception {
+        TaskFlowJob jobDef = new TaskFlowJob();
+        jobDef.addTask(createDefaultTask("task"));
+        return defaultSubmitJobAndLoadInternal(true, jobDef);
+    }
+
+    private File storedValue(TaskResultImpl result) {
+        return new File(storeFolder.getRoot(), result.getValueReference().getReference());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.objectweb.proactive.core.UniqueID;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
+import org.ow2.proactive.scheduler.common.SchedulerEventListener;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobState;
+import org.ow2.proactive.scheduler.common.job.UserIdentification;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+
+
+public class ClientRequestHandlerTest {
+
+    private static final Method TASK_STATE_UPDATED;
+
+    static {
+        try {
+            TASK_STATE_UPDATED = SchedulerEventListener.class.getMethod("taskStateUpdatedEvent",
+                                                                        NotificationData.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void testPendingProgressEventsOfATaskAreMerged() throws Exception {
+        BlockingListener listener = new BlockingListener();
+        ClientRequestHandler handler = new ClientRequestHandler(mock(SchedulerFrontendState.class),
+                                                                new UniqueID("client"),
+                                                                listener);
+        TaskId taskId = mock(TaskId.class);
+        NotificationData<TaskInfo> first = notification(SchedulerEvent.TASK_PROGRESS, taskId);
+        NotificationData<TaskInfo> second = notification(SchedulerEvent.TASK_PROGRESS, taskId);
+        NotificationData<TaskInfo> third = notification(SchedulerEvent.TASK_PROGRESS, taskId);
+        NotificationData<TaskInfo> finished = notification(SchedulerEvent.TASK_RUNNING_TO_FINISHED, taskId);
+        NotificationData<TaskInfo> last = notification(SchedulerEvent.TASK_PROGRESS, taskId);
+
+        handler.addEvent(TASK_STATE_UPDATED, first);
+        listener.sending.await(10, TimeUnit.SECONDS);
+        // the client is busy with the first event, the next ones are stored
+        handler.addEvent(TASK_STATE_UPDATED, second);
+        handler.addEvent(TASK_STATE_UPDATED, third);
+        handler.addEvent(TASK_STATE_UPDATED, finished);
+        handler.addEvent(TASK_STATE_UPDATED, last);
+        listener.release.countDown();
+
+        listener.awaitEvents(4);
+        assertThat(listener.received).containsExactly(first, third, finished, last).inOrder();
+    }
+
+    @Test
+    public void testClientIsDisconnectedInsteadOfDroppingStateEvents() throws Exception {
+        BlockingListener listener = new BlockingListener();
+        SchedulerFrontendState frontend = mock(SchedulerFrontendState.class);
+        UniqueID clientId = new UniqueID("client");
+        ClientRequestHandler handler = new ClientRequestHandler(frontend, clientId, listener);
+        NotificationData<TaskInfo> first = notification(SchedulerEvent.TASK_PROGRESS, mock(TaskId.class));
+
+        handler.addEvent(TASK_STATE_UPDATED, first);
+        listener.sending.await(10, TimeUnit.SECONDS);
+        // the client is busy with the first event, fill its queue with progress of other tasks
+        int queueSize = PASchedulerProperties.SCHEDULER_LISTENERS_QUEUE_SIZE.getValueAsInt();
+        for (int i = 0; i <= queueSize; i++) {
+            handler.addEvent(TASK_STATE_UPDATED, notification(SchedulerEvent.TASK_PROGRESS, mock(TaskId.class)));
+        }
+        verify(frontend, never()).markAsDirty(clientId);
+
+        handler.addEvent(TASK_STATE_UPDATED,
+                         notification(SchedulerEvent.TASK_RUNNING_TO_FINISHED, mock(TaskId.class)));
+        verify(frontend).markAsDirty(clientId);
+
+        // events of a disconnected client are not stored anymore
+        handler.addEvent(TASK_STATE_UPDATED, notification(SchedulerEvent.TASK_PROGRESS, mock(TaskId.class)));
+        listener.release.countDown();
+        listener.awaitEvents(1);
+        assertThat(listener.received).containsExactly(first);
+    }
+
+    private static NotificationData<TaskInfo> notification(SchedulerEvent eventType, TaskId taskId) {
+        TaskInfo taskInfo = mock(TaskInfo.class);
+        when(taskInfo.getTaskId()).thenReturn(taskId);
+        return new NotificationData<>(eventType, taskInfo);
+    }
+
+    private static class BlockingListener implements SchedulerEventListener {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final List<NotificationData<TaskInfo>> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void taskStateUpdatedEvent(NotificationData<TaskInfo> notification) {
+            sending.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(notification);
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (received.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        @Override
+        public void schedulerStateUpdatedEvent(SchedulerEvent eventType) {
+        }
+
+        @Override
+        public void jobSubmittedEvent(JobState job) {
+        }
+
+        @Override
+        public void jobStateUpdatedEvent(NotificationData<JobInfo> notification) {
+        }
+
+        @Override
+        public void jobUpdatedFullDataEvent(JobState job) {
+        }
+
+        @Override
+        public void usersUpdatedEvent(NotificationData<UserIdentification> notification) {
+        }
+    }
+
+}
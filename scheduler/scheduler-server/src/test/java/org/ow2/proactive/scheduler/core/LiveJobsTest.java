@@ -29,6 +29,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -44,6 +45,7 @@ import org.mockito.stubbing.Answer;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeInformation;
 import org.objectweb.proactive.core.runtime.VMInformation;
+import org.ow2.proactive.db.DatabaseManagerException;
 import org.ow2.proactive.scheduler.common.exception.UnknownJobException;
 import org.ow2.proactive.scheduler.common.exception.UnknownTaskException;
 import org.ow2.proactive.scheduler.common.job.JobId;
@@ -662,4 +664,96 @@ public class LiveJobsTest extends ProActiveTestClean {
 
     }
 
+    @Test(timeout = 60000)
+    public void testTasksStartedInBatch() {
+        InternalJob job = new InternalTaskFlowJob("test-name",
+                                                  JobPriority.NORMAL,
+                                                  OnTaskError.CANCEL_JOB,
+                                                  "description");
+        JobId id = new JobIdImpl(666L, "test-name");
+        job.setId(id);
+        List<InternalTask> tasksList = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            InternalTask internalTask = new InternalScriptTask(job);
+            internalTask.setId(TaskIdImpl.createTaskId(id, "task-name" + i, i));
+            internalTask.setName("task-name" + i);
+            internalTask.setExecuterInformation(Mockito.mock(ExecuterInformation.class));
+            tasksList.add(internalTask);
+        }
+        job.setTasks(tasksList);
+        liveJobs.jobSubmitted(job);
+        liveJobs.lockJobsToSchedule(false);
+
+        List<LiveJobs.StartedTask> startedTasks = new ArrayList<>();
+        for (InternalTask internalTask : tasksList) {
+            startedTasks.add(new LiveJobs.StartedTask(job, internalTask, null));
+        }
+        liveJobs.tasksStarted(startedTasks);
+
+        assertThat(liveJobs.getRunningTasks().size(), is(2));
+        assertThat(job.getNumberOfRunningTasks(), is(2));
+        Mockito.verify(dbManager, Mockito.times(1)).jobTasksStarted(Matchers.anyMap(),
+                                                                    Matchers.eq(ImmutableSet.of(id)));
+        Mockito.verify(listener, Mockito.times(2)).taskStateUpdated(Matchers.any(), Matchers.any());
+    }
+
+    @Test
+    public void testTasksStartedTwiceRejectsOnlyTheDuplicate() {
+        InternalJob job = new InternalTaskFlowJob("test-name",
+                                                  JobPriority.NORMAL,
+                                                  OnTaskError.CANCEL_JOB,
+                                                  "description");
+        JobId id = new JobIdImpl(666L, "test-name");
+        job.setId(id);
+        List<InternalTask> tasksList = new ArrayList<>();
+        InternalTask internalTask = new InternalScriptTask(job);
+        internalTask.setId(TaskIdImpl.createTaskId(id, "task-name", 0L));
+        internalTask.setName("task-name");
+        internalTask.setExecuterInformation(Mockito.mock(ExecuterInformation.class));
+        tasksList.add(internalTask);
+        job.setTasks(tasksList);
+        liveJobs.jobSubmitted(job);
+
+        List<LiveJobs.StartedTask> startedTasks = new ArrayList<>();
+        startedTasks.add(new LiveJobs.StartedTask(job, internalTask, null));
+        LiveJobs.StartedTask duplicate = new LiveJobs.StartedTask(job, internalTask, null);
+        startedTasks.add(duplicate);
+        List<LiveJobs.StartedTask> rejected = liveJobs.tasksStarted(startedTasks);
+
+        assertThat(rejected, is(Collections.singletonList(duplicate)));
+        assertThat(liveJobs.getRunningTasks().size(), is(1));
+        assertThat(liveJobs.canTaskStart(job, internalTask), is(false));
+    }
+
+    @Test
+    public void testTasksStartedStoredJobByJobWhenBatchFails() {
+        List<LiveJobs.StartedTask> startedTasks = new ArrayList<>();
+        for (long jobId = 1; jobId <= 2; jobId++) {
+            InternalJob job = new InternalTaskFlowJob("test-name",
+                                                      JobPriority.NORMAL,
+                                                      OnTaskError.CANCEL_JOB,
+                                                      "description");
+            JobId id = new JobIdImpl(jobId, "test-name");
+            job.setId(id);
+            InternalTask internalTask = new InternalScriptTask(job);
+            internalTask.setId(TaskIdImpl.createTaskId(id, "task-name", 0L));
+            internalTask.setName("task-name");
+            internalTask.setExecuterInformation(Mockito.mock(ExecuterInformation.class));
+            job.setTasks(Collections.singletonList(internalTask));
+            liveJobs.jobSubmitted(job);
+            startedTasks.add(new LiveJobs.StartedTask(job, internalTask, null));
+        }
+        Mockito.doThrow(new DatabaseManagerException("batch failure"))
+               .doNothing()
+               .when(dbManager)
+               .jobTasksStarted(Matchers.anyMap(), Matchers.anySet());
+
+        List<LiveJobs.StartedTask> rejected = liveJobs.tasksStarted(startedTasks);
+
+        assertThat(rejected.isEmpty(), is(true));
+        assertThat(liveJobs.getRunningTasks().size(), is(2));
+        Mockito.verify(dbManager, Mockito.times(3)).jobTasksStarted(Matchers.anyMap(), Matchers.anySet());
+        Mockito.verify(listener, Mockito.times(2)).taskStateUpdated(Matchers.any(), Matchers.any());
+    }
+
 }
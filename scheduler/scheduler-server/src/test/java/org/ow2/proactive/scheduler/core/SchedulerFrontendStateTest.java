@@ -26,12 +26,14 @@
 package org.ow2.proactive.scheduler.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.Vector;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -41,6 +43,8 @@ import java.util.concurrent.TimeoutException;
 
 import org.junit.Test;
 import org.objectweb.proactive.core.UniqueID;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
+import org.ow2.proactive.scheduler.common.SchedulerStatus;
 import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.core.jmx.SchedulerJMXHelper;
 import org.ow2.proactive.scheduler.core.jmx.mbean.RuntimeDataMBeanImpl;
@@ -114,4 +118,41 @@ public class SchedulerFrontendStateTest extends ProActiveTestClean {
         assertEquals(schedulerFrontendState.getIdentifiedJob(jobId).getJobId(), (jobId));
 
     }
+
+    @Test
+    public void slow_event_dispatch_should_not_block_the_core_nor_the_readers() throws Exception {
+        final CountDownLatch dispatching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        SchedulerJMXHelper mockJMX = mock(SchedulerJMXHelper.class);
+        when(mockJMX.getSchedulerRuntimeMBean()).thenReturn(new RuntimeDataMBeanImpl(null) {
+            @Override
+            public void schedulerStateUpdatedEvent(SchedulerEvent eventType) {
+                dispatching.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        SchedulerStateImpl<ClientJobState> schedulerStateImpl = new SchedulerStateImpl<>();
+        SchedulerFrontendState schedulerFrontendState = new SchedulerFrontendState(schedulerStateImpl, mockJMX);
+        UserIdentificationImpl identification = new UserIdentificationImpl("john");
+        identification.setHostName("localhost");
+        schedulerFrontendState.connect(new UniqueID("abc"), identification, null);
+
+        try {
+            // the state is updated by the calling thread, the event is sent by the dispatcher
+            schedulerFrontendState.schedulerStateUpdated(SchedulerEvent.PAUSED);
+            assertTrue(dispatching.await(10, TimeUnit.SECONDS));
+
+            // while the dispatcher is blocked, the core and the readers are not
+            schedulerFrontendState.schedulerStateUpdated(SchedulerEvent.RESUMED);
+            assertEquals(SchedulerStatus.STARTED, schedulerFrontendState.getStateInternally().getStatus());
+            assertEquals(1, schedulerFrontendState.getUsers().size());
+        } finally {
+            release.countDown();
+        }
+    }
 }
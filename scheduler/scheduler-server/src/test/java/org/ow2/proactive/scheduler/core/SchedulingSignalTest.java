@@ -0,0 +1,148 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.ow2.proactive.scheduler.core.SchedulingSignal.Reason;
+
+
+public class SchedulingSignalTest {
+
+    @Test
+    public void testSignalsAreCoalesced() throws Exception {
+        SchedulingSignal signal = new SchedulingSignal();
+        signal.signal(Reason.JOB_SUBMITTED);
+        signal.signal(Reason.TASK_TERMINATED);
+        signal.signal(Reason.JOB_SUBMITTED);
+
+        assertThat(signal.await(1000), containsInAnyOrder(Reason.JOB_SUBMITTED, Reason.TASK_TERMINATED));
+        assertThat(signal.poll(), is(empty()));
+
+        assertThat(signal.getSignalCount(Reason.JOB_SUBMITTED), is(2L));
+        assertThat(signal.getSignalCount(Reason.TASK_TERMINATED), is(1L));
+        assertThat(signal.getCoalescedSignalCount(), is(2L));
+        assertThat(signal.getSignaledCycleCount(), is(1L));
+    }
+
+    @Test
+    public void testSignalRaisedBeforeWaitIsNotLost() throws Exception {
+        SchedulingSignal signal = new SchedulingSignal();
+        signal.signal(Reason.NODES_RELEASED);
+
+        long start = System.currentTimeMillis();
+        assertThat(signal.await(10000), containsInAnyOrder(Reason.NODES_RELEASED));
+        assertThat(System.currentTimeMillis() - start, lessThan(5000L));
+    }
+
+    @Test
+    public void testAwaitIsWokenUpBySignal() throws Exception {
+        final SchedulingSignal signal = new SchedulingSignal();
+        final CountDownLatch waiting = new CountDownLatch(1);
+        Thread signaler = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    waiting.await();
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                signal.signal(Reason.PRIORITY_CHANGED);
+            }
+        };
+        signaler.start();
+
+        long start = System.currentTimeMillis();
+        waiting.countDown();
+        Set<Reason> reasons = signal.await(30000);
+
+        assertThat(reasons, containsInAnyOrder(Reason.PRIORITY_CHANGED));
+        assertThat(System.currentTimeMillis() - start, lessThan(10000L));
+        signaler.join();
+    }
+
+    @Test
+    public void testAwaitTimesOut() throws Exception {
+        SchedulingSignal signal = new SchedulingSignal();
+
+        long start = System.currentTimeMillis();
+        assertThat(signal.await(100), is(empty()));
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(100L));
+        assertThat(signal.getTimedOutCycleCount(), is(1L));
+        assertThat(signal.getSignaledCycleCount(), is(0L));
+    }
+
+    @Test
+    public void testLatencyHistogram() throws Exception {
+        SchedulingSignal signal = new SchedulingSignal();
+        signal.signal(Reason.JOB_SUBMITTED);
+        signal.poll();
+
+        long[] histogram = signal.getLatencyHistogram();
+        assertThat(histogram.length, is(signal.getLatencyBucketBounds().length + 1));
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        assertThat(total, is(1L));
+
+        signal.resetStatistics();
+        assertThat(signal.getSignaledCycleCount(), is(0L));
+        assertThat(signal.getSignalCount(Reason.JOB_SUBMITTED), is(0L));
+    }
+
+    @Test
+    public void testRetryDelayAfterNodesRelease() {
+        long delay = SchedulingThread.nextRetryDelay(EnumSet.of(Reason.NODES_RELEASED), 0);
+        assertThat(delay > 0, is(true));
+
+        // unproductive retries double the delay until it reaches the loop timeout
+        long previous = delay;
+        int retries = 0;
+        while (delay > 0) {
+            previous = delay;
+            delay = SchedulingThread.nextRetryDelay(Collections.<Reason> emptySet(), delay);
+            assertThat(delay == 0 || delay == previous * 2, is(true));
+            retries++;
+        }
+        assertThat(retries < 64, is(true));
+
+        assertThat(SchedulingThread.nextRetryDelay(EnumSet.of(Reason.JOB_SUBMITTED), 0), is(0L));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class FileSystemTaskResultValueStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    private FileSystemTaskResultValueStore store;
+
+    @Before
+    public void setUp() {
+        directory = new File(folder.getRoot(), "results");
+        store = new FileSystemTaskResultValueStore(directory, 4);
+    }
+
+    @Test
+    public void testOnlyValuesLargerThanThresholdAreAccepted() {
+        assertThat(store.accepts(null)).isFalse();
+        assertThat(store.accepts(new byte[4])).isFalse();
+        assertThat(store.accepts(new byte[5])).isTrue();
+    }
+
+    @Test
+    public void testStoredValueCanBeLoaded() throws IOException {
+        byte[] value = "a large value".getBytes();
+
+        String reference = store.store(value);
+
+        assertThat(store.load(reference)).isEqualTo(value);
+    }
+
+    @Test
+    public void testIdenticalValuesAreStoredOnce() throws IOException {
+        String reference = store.store("a large value".getBytes());
+        String sameReference = store.store("a large value".getBytes());
+        String otherReference = store.store("another large value".getBytes());
+
+        assertThat(sameReference).isEqualTo(reference);
+        assertThat(otherReference).isNotEqualTo(reference);
+        assertThat(directory.list()).hasLength(2);
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void testRemovedValueCannotBeLoaded() throws IOException {
+        String reference = store.store("a large value".getBytes());
+
+        store.remove(reference);
+
+        store.load(reference);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReferenceOutsideOfDirectoryIsRejected() throws IOException {
+        store.load("../settings.ini");
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+
+public class JobCountsTest {
+
+    private JobCounts jobCounts;
+
+    @Before
+    public void setUp() {
+        jobCounts = new JobCounts();
+        List<Object[]> counts = ImmutableList.of(new Object[] { "user1", JobStatus.PENDING, 2L },
+                                                 new Object[] { "user1", JobStatus.FINISHED, 3L },
+                                                 new Object[] { "user2", JobStatus.RUNNING, 1L });
+        jobCounts.load(counts,
+                       ImmutableMap.of(1L, JobStatus.PENDING, 2L, JobStatus.PENDING, 3L, JobStatus.RUNNING));
+    }
+
+    @Test
+    public void testCountByOwnerAndStatus() {
+        assertThat(jobCounts.isLoaded()).isTrue();
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(2L);
+        assertThat(jobCounts.count("user1", SchedulerDBManager.FINISHED_JOB_STATUSES)).isEqualTo(3L);
+        assertThat(jobCounts.count(null, ImmutableSet.of(JobStatus.PENDING, JobStatus.RUNNING))).isEqualTo(3L);
+        assertThat(jobCounts.count("user3", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(0L);
+    }
+
+    @Test
+    public void testJobSubmittedIsCountedOnce() {
+        jobCounts.jobSubmitted(4L, "user2", JobStatus.PENDING);
+        // already counted when the counts were loaded
+        jobCounts.jobSubmitted(4L, "user2", JobStatus.PENDING);
+        jobCounts.jobSubmitted(1L, "user1", JobStatus.PENDING);
+
+        assertThat(jobCounts.count("user2", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(1L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(2L);
+    }
+
+    @Test
+    public void testJobStatusChanged() {
+        jobCounts.jobStatusChanged(1L, "user1", JobStatus.RUNNING);
+        jobCounts.jobStatusChanged(1L, "user1", JobStatus.RUNNING);
+
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(1L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.RUNNING))).isEqualTo(1L);
+
+        jobCounts.jobStatusChanged(1L, "user1", JobStatus.FINISHED);
+        // a finished job does not change anymore
+        jobCounts.jobStatusChanged(1L, "user1", JobStatus.KILLED);
+
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.RUNNING))).isEqualTo(0L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.FINISHED))).isEqualTo(4L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.KILLED))).isEqualTo(0L);
+    }
+
+    @Test
+    public void testUnknownJobStatusChangeIsIgnored() {
+        jobCounts.jobStatusChanged(42L, "user1", JobStatus.RUNNING);
+
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.RUNNING))).isEqualTo(0L);
+    }
+
+    @Test
+    public void testJobsRemoved() {
+        jobCounts.jobStatusChanged(3L, "user2", JobStatus.PAUSED);
+        jobCounts.jobsRemoved(ImmutableList.of(new Object[] { 3L, "user2", JobStatus.RUNNING },
+                                               new Object[] { 10L, "user1", JobStatus.FINISHED }));
+
+        assertThat(jobCounts.count("user2", SchedulerDBManager.NOT_FINISHED_JOB_STATUSES)).isEqualTo(0L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.FINISHED))).isEqualTo(2L);
+
+        // the status of a removed job is not tracked anymore
+        jobCounts.jobStatusChanged(3L, "user2", JobStatus.RUNNING);
+        assertThat(jobCounts.count("user2", ImmutableSet.of(JobStatus.RUNNING))).isEqualTo(0L);
+    }
+
+    @Test
+    public void testUpdatesAreIgnoredUntilLoaded() {
+        JobCounts notLoaded = new JobCounts();
+        notLoaded.jobSubmitted(1L, "user1", JobStatus.PENDING);
+        notLoaded.load(Collections.<Object[]> emptyList(), Collections.emptyMap());
+
+        assertThat(notLoaded.count(null, ImmutableSet.of(JobStatus.PENDING))).isEqualTo(0L);
+    }
+
+    @Test
+    public void testInvalidatedCountsIgnoreUpdatesUntilLoadedAgain() {
+        jobCounts.invalidate();
+        jobCounts.jobStatusChanged(1L, "user1", JobStatus.RUNNING);
+
+        assertThat(jobCounts.isLoaded()).isFalse();
+
+        jobCounts.load(ImmutableList.of(new Object[] { "user1", JobStatus.PENDING, 1L }),
+                       ImmutableMap.of(1L, JobStatus.PENDING));
+
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.PENDING))).isEqualTo(1L);
+        assertThat(jobCounts.count("user1", ImmutableSet.of(JobStatus.RUNNING))).isEqualTo(0L);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+import org.ow2.proactive.scheduler.job.JobInfoImpl;
+
+import com.google.common.collect.ImmutableList;
+
+
+public class JobsStatisticsTest {
+
+    private JobsStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new JobsStatistics();
+        // job 1 is pending with 2 tasks, job 2 is running with 1 pending, 1 running and 1 finished task
+        statistics.load(new Object[] { 3L, 1000L, 3000L },
+                        new Object[] { 2L, 400L },
+                        new Object[] { 1L, 500L },
+                        new Object[] { 5L, 10L },
+                        ImmutableList.of(new Object[] { 1L, 0L, 0, 0, 0, 2 },
+                                         new Object[] { 2L, 2500L, 1, 1, 1, 3 }));
+    }
+
+    @Test
+    public void testLoadedStatistics() {
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(3L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(5L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(10L);
+        assertThat(statistics.getMeanJobPendingTime()).isWithin(0.001).of(200);
+        assertThat(statistics.getMeanJobExecutionTime()).isWithin(0.001).of(500);
+        assertThat(statistics.getMeanJobSubmittingPeriod()).isWithin(0.001).of(1000);
+    }
+
+    @Test
+    public void testJobSubmitted() {
+        statistics.jobSubmitted(3L, jobInfo(JobStatus.PENDING, 4000L, 0, 0, 0, 0, 0, 4));
+        // already counted
+        statistics.jobSubmitted(3L, jobInfo(JobStatus.PENDING, 4000L, 0, 0, 0, 0, 0, 4));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(7L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(14L);
+        assertThat(statistics.getMeanJobSubmittingPeriod()).isWithin(0.001).of(1000);
+    }
+
+    @Test
+    public void testJobStartedAndFinished() {
+        statistics.jobUpdated(1L, jobInfo(JobStatus.RUNNING, 2000L, 2600L, 0, 1, 1, 0, 2));
+        statistics.jobUpdated(1L, jobInfo(JobStatus.RUNNING, 2000L, 2600L, 0, 1, 1, 0, 2));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getMeanJobPendingTime()).isWithin(0.001).of(1000 / 3.0);
+
+        statistics.jobUpdated(1L, jobInfo(JobStatus.FINISHED, 2000L, 2600L, 3600L, 0, 0, 2, 2));
+        // a finished job does not change anymore
+        statistics.jobUpdated(1L, jobInfo(JobStatus.FINISHED, 2000L, 2600L, 3600L, 0, 0, 2, 2));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(7L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(10L);
+        assertThat(statistics.getMeanJobExecutionTime()).isWithin(0.001).of(750);
+    }
+
+    @Test
+    public void testJobsRemoved() {
+        statistics.jobsRemoved(ImmutableList.of(new Object[] { 2L, "user", JobStatus.RUNNING, 1, 3 },
+                                                new Object[] { 10L, "user", JobStatus.FINISHED, 4, 4 }));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(0L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(0L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(3L);
+        // mean times are not changed by removals
+        assertThat(statistics.getMeanJobPendingTime()).isWithin(0.001).of(200);
+    }
+
+    @Test
+    public void testTaskNumbersAreTheNumbersOfTheJob() {
+        // the job counts a failed task and a task skipped by a control flow action as finished
+        statistics.jobUpdated(2L, jobInfo(JobStatus.STALLED, 1000L, 2500L, 0, 0, 0, 3, 3));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(0L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(7L);
+
+        // a task waiting to be restarted after an error is pending again
+        statistics.jobUpdated(2L, jobInfo(JobStatus.RUNNING, 1000L, 2500L, 0, 1, 0, 2, 3));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(3L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(6L);
+    }
+
+    @Test
+    public void testInvalidatedStatisticsIgnoreUpdatesUntilLoadedAgain() {
+        statistics.invalidate();
+        statistics.jobUpdated(1L, jobInfo(JobStatus.RUNNING, 2000L, 2600L, 0, 1, 1, 0, 2));
+
+        assertThat(statistics.isLoaded()).isFalse();
+
+        statistics.load(new Object[] { 1L, 2000L, 2000L },
+                        new Object[] { 0L, null },
+                        new Object[] { 0L, null },
+                        new Object[] { 0L, 2L },
+                        ImmutableList.of(new Object[] { 1L, 0L, 0, 0, 0, 2 }));
+
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testUpdatesAreIgnoredUntilLoaded() {
+        JobsStatistics notLoaded = new JobsStatistics();
+        notLoaded.jobSubmitted(1L, jobInfo(JobStatus.PENDING, 1000L, 0, 0, 0, 0, 0, 1));
+        notLoaded.load(new Object[] { 0L, null, null },
+                       new Object[] { 0L, null },
+                       new Object[] { 0L, null },
+                       new Object[] { null, null },
+                       Collections.<Object[]> emptyList());
+
+        assertThat(notLoaded.getPendingTasksCount()).isEqualTo(0L);
+        assertThat(notLoaded.getMeanJobSubmittingPeriod()).isWithin(0.001).of(0);
+    }
+
+    private static JobInfoImpl jobInfo(JobStatus status, long submittedTime, long startTime, long finishedTime,
+            int pendingTasks, int runningTasks, int finishedTasks, int totalTasks) {
+        JobInfoImpl jobInfo = new JobInfoImpl();
+        jobInfo.setStatus(status);
+        jobInfo.setSubmittedTime(submittedTime);
+        jobInfo.setStartTime(startTime);
+        jobInfo.setFinishedTime(finishedTime);
+        jobInfo.setNumberOfPendingTasks(pendingTasks);
+        jobInfo.setNumberOfRunningTasks(runningTasks);
+        jobInfo.setNumberOfFinishedTasks(finishedTasks);
+        jobInfo.setTotalNumberOfTasks(totalTasks);
+        return jobInfo;
+    }
+
+}
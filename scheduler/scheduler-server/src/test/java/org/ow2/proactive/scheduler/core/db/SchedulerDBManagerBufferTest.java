@@ -0,0 +1,236 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+import org.ow2.proactive.db.SessionWork;
+import org.ow2.proactive.db.TransactionHelper;
+
+
+public class SchedulerDBManagerBufferTest {
+
+    private TransactionHelper transactionHelper;
+
+    private List<String> applied;
+
+    private SchedulerDBManagerBuffer buffer;
+
+    @Before
+    public void setUp() {
+        transactionHelper = mock(TransactionHelper.class);
+        Answer<Object> runWork = invocation -> ((SessionWork<?>) invocation.getArguments()[0]).doInTransaction(null);
+        when(transactionHelper.executeReadWriteTransaction(any(SessionWork.class))).thenAnswer(runWork);
+        when(transactionHelper.executeReadWriteTransaction(any(SessionWork.class), anyBoolean())).thenAnswer(runWork);
+        applied = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    @Test
+    public void testUpdatesAreWrittenSynchronouslyWithoutDelay() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 0, 1000);
+
+        buffer.addUpdates(Arrays.asList(update("a", 1), update("b", 2)));
+
+        assertThat(buffer.isEnabled()).isFalse();
+        assertThat(applied).containsExactly("a", "b").inOrder();
+        verify(transactionHelper, times(1)).executeReadWriteTransaction(any(SessionWork.class));
+    }
+
+    @Test
+    public void testUpdatesOfTheSameTaskAreMerged() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 1000);
+
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+        buffer.addUpdates(Collections.singletonList(update("b", 2)));
+        buffer.addUpdates(Collections.singletonList(update("c", 1)));
+
+        assertThat(applied).isEmpty();
+        assertThat(buffer.getPendingUpdates()).isEqualTo(2);
+        assertThat(buffer.getNumberOfMergedUpdates()).isEqualTo(1);
+
+        buffer.flush();
+
+        // the newer update of task 1 replaces the older one and is applied last
+        assertThat(applied).containsExactly("b", "c").inOrder();
+        assertThat(buffer.getPendingUpdates()).isEqualTo(0);
+        assertThat(buffer.getNumberOfFlushes()).isEqualTo(1);
+        assertThat(buffer.getNumberOfFlushedUpdates()).isEqualTo(2);
+        assertThat(buffer.getMaxBatchSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTransactionsAreExecutedAfterPendingUpdates() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 1000);
+
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+        String result = buffer.executeReadWriteTransaction(session -> {
+            applied.add("work");
+            return "result";
+        }, true);
+
+        assertThat(result).isEqualTo("result");
+        assertThat(applied).containsExactly("a", "work").inOrder();
+        // the pending update is written in the same transaction
+        verify(transactionHelper, times(1)).executeReadWriteTransaction(any(SessionWork.class), anyBoolean());
+        assertThat(buffer.getPendingUpdates()).isEqualTo(0);
+    }
+
+    @Test
+    public void testUpdatesAreWrittenWhenMaximumIsReached() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 2);
+
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+        assertThat(applied).isEmpty();
+
+        buffer.addUpdates(Collections.singletonList(update("b", 2)));
+        assertThat(applied).containsExactly("a", "b").inOrder();
+    }
+
+    @Test(timeout = 10000)
+    public void testUpdatesAreWrittenAfterDelay() throws InterruptedException {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 10, 1000);
+
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+
+        while (applied.isEmpty()) {
+            Thread.sleep(10);
+        }
+        assertThat(applied).containsExactly("a");
+    }
+
+    @Test
+    public void testFailingUpdatesDoNotBlockTransactions() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 1000);
+
+        buffer.addUpdates(Collections.singletonList(update(null, 1)));
+        buffer.executeReadWriteTransaction(session -> applied.add("work"), true);
+
+        assertThat(applied).containsExactly("work");
+        // the failing update is kept to be written again
+        assertThat(buffer.getPendingUpdates()).isEqualTo(1);
+        assertThat(buffer.getNumberOfDroppedUpdates()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailingUpdatesAreDroppedAfterMaxAttempts() {
+        AtomicInteger droppedNotifications = new AtomicInteger();
+        buffer = new SchedulerDBManagerBuffer(transactionHelper,
+                                              60000,
+                                              1000,
+                                              droppedNotifications::incrementAndGet);
+
+        buffer.addUpdates(Arrays.asList(update(null, 1), update("b", 2)));
+        buffer.flush();
+
+        // the failing update does not prevent the other one from being written
+        assertThat(applied).containsExactly("b");
+        assertThat(buffer.getPendingUpdates()).isEqualTo(1);
+        assertThat(droppedNotifications.get()).isEqualTo(0);
+
+        for (int i = 1; i < SchedulerDBManagerBuffer.MAX_WRITE_ATTEMPTS; i++) {
+            buffer.flush();
+        }
+
+        assertThat(buffer.getPendingUpdates()).isEqualTo(0);
+        assertThat(buffer.getNumberOfDroppedUpdates()).isEqualTo(1);
+        assertThat(droppedNotifications.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedUpdatesAreReplacedByNewerOnes() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 1000);
+
+        buffer.addUpdates(Collections.singletonList(update(null, 1)));
+        buffer.flush();
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+        buffer.flush();
+
+        assertThat(applied).containsExactly("a");
+        assertThat(buffer.getPendingUpdates()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailingWorkIsNotExecutedAgain() {
+        buffer = new SchedulerDBManagerBuffer(transactionHelper, 60000, 1000);
+        AtomicInteger executions = new AtomicInteger();
+
+        buffer.addUpdates(Collections.singletonList(update("a", 1)));
+        try {
+            buffer.executeReadWriteTransaction(session -> {
+                executions.incrementAndGet();
+                throw new IllegalStateException("work failure");
+            }, true);
+            fail("the failure of the work is expected");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("work failure");
+        }
+
+        assertThat(executions.get()).isEqualTo(1);
+        // the update is written again on its own, the transaction with the work being rolled back
+        assertThat(applied).containsExactly("a", "a");
+        assertThat(buffer.getPendingUpdates()).isEqualTo(0);
+    }
+
+    /**
+     * Creates an update of the given task recording its name when applied, or failing when the name is null.
+     */
+    private SchedulerDBManagerBuffer.Update update(final String name, long taskId) {
+        return new SchedulerDBManagerBuffer.Update(SchedulerDBManagerBuffer.UpdateKind.TASK_STATE, 1, taskId) {
+            @Override
+            void apply(Session session) {
+                if (name == null) {
+                    throw new IllegalStateException("update failure");
+                }
+                applied.add(name);
+            }
+        };
+    }
+}
@@ -26,10 +26,12 @@
 package org.ow2.proactive.scheduler.policy;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -97,6 +99,63 @@ public class DefaultPolicyTest extends ProActiveTestClean {
         assertEquals(job3.getJobId(), orderedTasks.get(2).getJobId());
     }
 
+    @Test
+    public void jobs_are_reordered_when_their_priority_changes() throws Exception {
+        JobDescriptorImpl job1 = createSingleTaskJob();
+        JobDescriptorImpl job2 = createSingleTaskJob();
+        JobDescriptorImpl job3 = createSingleTaskJob();
+        DefaultPolicy policy = new DefaultPolicy();
+
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(job1, job2, job3));
+        assertEquals(job1.getJobId(), orderedTasks.get(0).getJobId());
+
+        job3.getInternal().setPriority(JobPriority.HIGH);
+        orderedTasks = policy.getOrderedTasks(submitJobs(job1, job2, job3));
+
+        assertEquals(job3.getJobId(), orderedTasks.get(0).getJobId());
+        assertEquals(job1.getJobId(), orderedTasks.get(1).getJobId());
+        assertEquals(job2.getJobId(), orderedTasks.get(2).getJobId());
+    }
+
+    @Test
+    public void jobs_not_given_anymore_are_not_scheduled() throws Exception {
+        JobDescriptorImpl job1 = createSingleTaskJob();
+        JobDescriptorImpl job2 = createSingleTaskJob();
+        DefaultPolicy policy = new DefaultPolicy();
+
+        policy.getOrderedTasks(submitJobs(job1, job2));
+        LinkedList<EligibleTaskDescriptor> orderedTasks = policy.getOrderedTasks(submitJobs(job2));
+
+        assertEquals(1, orderedTasks.size());
+        assertEquals(job2.getJobId(), orderedTasks.get(0).getJobId());
+    }
+
+    @Test
+    public void ordered_tasks_iterator_follows_the_ordered_tasks() throws Exception {
+        JobDescriptorImpl jobLow = createSingleTaskJob(JobPriority.LOW);
+        JobDescriptorImpl jobHigh = createSingleTaskJob(JobPriority.HIGH);
+
+        Iterator<EligibleTaskDescriptor> orderedTasks = new DefaultPolicy().getOrderedTasksIterator(submitJobs(jobLow,
+                                                                                                              jobHigh));
+
+        assertEquals(jobHigh.getJobId(), orderedTasks.next().getJobId());
+        assertEquals(jobLow.getJobId(), orderedTasks.next().getJobId());
+        assertFalse(orderedTasks.hasNext());
+    }
+
+    @Test
+    public void ordered_tasks_iterator_uses_overridden_ordered_tasks() throws Exception {
+        JobDescriptorImpl job = createSingleTaskJob();
+        DefaultPolicy policy = new DefaultPolicy() {
+            @Override
+            public LinkedList<EligibleTaskDescriptor> getOrderedTasks(List<JobDescriptor> jobs) {
+                return new LinkedList<>();
+            }
+        };
+
+        assertFalse(policy.getOrderedTasksIterator(submitJobs(job)).hasNext());
+    }
+
     private JobDescriptorImpl createSingleTaskJob(JobPriority jobPriority) {
         InternalTaskFlowJob taskFlowJob = new InternalTaskFlowJob("test", jobPriority, OnTaskError.CANCEL_JOB, "");
         taskFlowJob.setId(JobIdImpl.makeJobId(Integer.toString(jobId++)));
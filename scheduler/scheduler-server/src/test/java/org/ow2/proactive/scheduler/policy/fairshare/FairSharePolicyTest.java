@@ -0,0 +1,182 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.fairshare;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.JobDescriptor;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.descriptor.JobDescriptorImpl;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalScriptTask;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.tests.ProActiveTestClean;
+
+
+public class FairSharePolicyTest extends ProActiveTestClean {
+
+    private int jobId;
+
+    private FairSharePolicy policy;
+
+    private Map<JobDescriptorImpl, String> jobOwners;
+
+    @Before
+    public void setUp() {
+        policy = new FairSharePolicy();
+        jobOwners = new HashMap<>();
+    }
+
+    @Test
+    public void users_with_same_weight_get_tasks_in_turn() {
+        JobDescriptorImpl bigJob = createJob("alice", 4);
+        JobDescriptorImpl smallJob = createJob("bob", 2);
+
+        List<String> owners = scheduledOwners(policy.getOrderedTasksIterator(jobs(bigJob, smallJob)));
+
+        assertThat(owners).containsExactly("alice", "bob", "alice", "bob", "alice", "alice").inOrder();
+    }
+
+    @Test
+    public void tasks_of_a_user_follow_the_job_order() {
+        JobDescriptorImpl job1 = createJob("alice", 1);
+        JobDescriptorImpl job2 = createJob("alice", 1, JobPriority.HIGH);
+
+        Iterator<EligibleTaskDescriptor> tasks = policy.getOrderedTasksIterator(jobs(job1, job2));
+
+        assertThat(tasks.next().getJobId()).isEqualTo(job2.getJobId());
+        assertThat(tasks.next().getJobId()).isEqualTo(job1.getJobId());
+        assertThat(tasks.hasNext()).isFalse();
+    }
+
+    @Test
+    public void heavier_user_gets_more_tasks() {
+        policy.setConfiguration(configuration("user.alice.weight", "3"));
+        JobDescriptorImpl job1 = createJob("alice", 10);
+        JobDescriptorImpl job2 = createJob("bob", 10);
+
+        List<String> owners = scheduledOwners(policy.getOrderedTasksIterator(jobs(job1, job2))).subList(0, 8);
+
+        assertThat(Collections.frequency(owners, "alice")).isEqualTo(6);
+        assertThat(Collections.frequency(owners, "bob")).isEqualTo(2);
+    }
+
+    @Test
+    public void users_share_the_weight_of_their_group() {
+        policy.setConfiguration(configuration("group.team.users", "alice,carol"));
+        JobDescriptorImpl job1 = createJob("alice", 10);
+        JobDescriptorImpl job2 = createJob("bob", 10);
+        JobDescriptorImpl job3 = createJob("carol", 10);
+
+        List<String> owners = scheduledOwners(policy.getOrderedTasksIterator(jobs(job1, job2, job3))).subList(0, 8);
+
+        assertThat(Collections.frequency(owners, "bob")).isEqualTo(4);
+        assertThat(Collections.frequency(owners, "alice")).isEqualTo(2);
+        assertThat(Collections.frequency(owners, "carol")).isEqualTo(2);
+    }
+
+    @Test
+    public void recent_usage_delays_the_tasks_of_a_user() {
+        policy.updateUsages(Collections.singletonMap("alice", 10), System.currentTimeMillis() - 60000);
+        JobDescriptorImpl job1 = createJob("alice", 1);
+        JobDescriptorImpl job2 = createJob("bob", 1);
+
+        List<String> owners = scheduledOwners(policy.getOrderedTasksIterator(jobs(job1, job2)));
+
+        assertThat(owners).containsExactly("bob", "alice").inOrder();
+        assertThat(policy.getConsumption("alice")).isGreaterThan(0.0);
+    }
+
+    @Test
+    public void usage_decays_with_time() {
+        policy.setConfiguration(configuration("usage.halflife.minutes", "1"));
+        long now = System.currentTimeMillis();
+        policy.updateUsages(Collections.singletonMap("alice", 10), now);
+        policy.updateUsages(Collections.<String, Integer> emptyMap(), now + 60000);
+        double consumption = policy.getConsumption("alice");
+
+        policy.updateUsages(Collections.<String, Integer> emptyMap(), now + 120000);
+
+        assertThat(policy.getConsumption("alice")).isWithin(0.001).of(consumption / 2);
+    }
+
+    private List<String> scheduledOwners(Iterator<EligibleTaskDescriptor> tasks) {
+        List<String> scheduledOwners = new ArrayList<>();
+        while (tasks.hasNext()) {
+            EligibleTaskDescriptor task = tasks.next();
+            for (Map.Entry<JobDescriptorImpl, String> entry : jobOwners.entrySet()) {
+                if (entry.getKey().getJobId().equals(task.getJobId())) {
+                    scheduledOwners.add(entry.getValue());
+                }
+            }
+        }
+        return scheduledOwners;
+    }
+
+    private static FairShareConfiguration configuration(String name, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(name, value);
+        return new FairShareConfiguration(properties);
+    }
+
+    private JobDescriptorImpl createJob(String owner, int numberOfTasks) {
+        return createJob(owner, numberOfTasks, JobPriority.NORMAL);
+    }
+
+    private JobDescriptorImpl createJob(String owner, int numberOfTasks, JobPriority priority) {
+        InternalTaskFlowJob taskFlowJob = new InternalTaskFlowJob("test", priority, OnTaskError.CANCEL_JOB, "");
+        taskFlowJob.setId(JobIdImpl.makeJobId(Integer.toString(jobId++)));
+        taskFlowJob.setOwner(owner);
+        ArrayList<InternalTask> tasks = new ArrayList<>();
+        for (int i = 0; i < numberOfTasks; i++) {
+            tasks.add(new InternalScriptTask(taskFlowJob));
+        }
+        taskFlowJob.addTasks(tasks);
+        JobDescriptorImpl job = new JobDescriptorImpl(taskFlowJob);
+        jobOwners.put(job, owner);
+        return job;
+    }
+
+    private static List<JobDescriptor> jobs(JobDescriptorImpl... jobs) {
+        List<JobDescriptor> submittedJobs = new ArrayList<>();
+        Collections.addAll(submittedJobs, jobs);
+        return submittedJobs;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.ram;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.node.NodeInformation;
+import org.objectweb.proactive.core.runtime.VMInformation;
+import org.ow2.proactive.resourcemanager.common.NodeHeartbeat;
+import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateNodeUrls;
+import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+
+public class RamSchedulingPolicyTest {
+
+    private static final long GIGABYTE = 1024L * 1024L * 1024L;
+
+    private RamSchedulingPolicy policy;
+
+    private Map<String, NodeHeartbeat> resources;
+
+    @Before
+    public void setUp() {
+        policy = new RamSchedulingPolicy();
+        resources = new HashMap<>();
+        resources.put("node1", new NodeHeartbeat(1000, 0.5, 4, GIGABYTE, 4 * GIGABYTE, -1));
+        resources.put("node2", new NodeHeartbeat(1000, 0.5, 4, GIGABYTE, 4 * GIGABYTE, -1));
+        policy.setRMState(state(1, "node1", "node2"));
+    }
+
+    @Test
+    public void testTaskWithoutRamRequirementIsExecutable() {
+        assertThat(policy.isTaskExecutable(nodeSet("node1", "host"), task(null))).isTrue();
+    }
+
+    @Test
+    public void testRamIsBookedInMemoryOnTheHost() {
+        assertThat(policy.isTaskExecutable(nodeSet("node1", "host"), task("3"))).isTrue();
+
+        // node2 shares the host of node1
+        assertThat(policy.isTaskExecutable(nodeSet("node2", "host"), task("2"))).isFalse();
+        assertThat(policy.isTaskExecutable(nodeSet("node2", "host"), task("1"))).isTrue();
+    }
+
+    @Test
+    public void testRamIsReleasedWhenNodeIsFreeInLaterState() {
+        assertThat(policy.isTaskExecutable(nodeSet("node1", "host"), task("4"))).isTrue();
+
+        // node1 is busy
+        policy.setRMState(state(2, "node2"));
+        assertThat(policy.isTaskExecutable(nodeSet("node2", "host"), task("1"))).isFalse();
+
+        // the task of node1 is finished
+        policy.setRMState(state(3, "node1", "node2"));
+        assertThat(policy.isTaskExecutable(nodeSet("node2", "host"), task("3"))).isTrue();
+        assertThat(policy.isTaskExecutable(nodeSet("node1", "host"), task("1"))).isTrue();
+        assertThat(policy.isTaskExecutable(nodeSet("node1", "host"), task("1"))).isFalse();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidRamRequirement() {
+        policy.isTaskExecutable(nodeSet("node1", "host"), task("a lot"));
+    }
+
+    private RMState state(long version, String... freeNodes) {
+        ImmutableSet<String> free = ImmutableSet.copyOf(freeNodes);
+        ImmutableSet<String> all = ImmutableSet.of("node1", "node2");
+        Map<String, NodeHeartbeat> freeResources = new HashMap<>(resources);
+        freeResources.keySet().retainAll(free);
+        return new RMState(new RMStateNodeUrls(free, all, all), 10L, version, ImmutableMap.copyOf(freeResources));
+    }
+
+    private static NodeSet nodeSet(String url, String hostName) {
+        VMInformation vmInformation = mock(VMInformation.class);
+        when(vmInformation.getHostName()).thenReturn(hostName);
+        NodeInformation nodeInformation = mock(NodeInformation.class);
+        when(nodeInformation.getURL()).thenReturn(url);
+        when(nodeInformation.getVMInformation()).thenReturn(vmInformation);
+        Node node = mock(Node.class);
+        when(node.getNodeInformation()).thenReturn(nodeInformation);
+        NodeSet nodeSet = new NodeSet();
+        nodeSet.add(node);
+        return nodeSet;
+    }
+
+    private static EligibleTaskDescriptorImpl task(String allocRam) {
+        Map<String, String> genericInformation = new HashMap<>();
+        if (allocRam != null) {
+            genericInformation.put(RamSchedulingPolicy.RAM_VARIABLE_NAME, allocRam);
+        }
+        InternalTask internalTask = mock(InternalTask.class);
+        when(internalTask.getName()).thenReturn("task");
+        when(internalTask.getRuntimeGenericInformation()).thenReturn(genericInformation);
+        EligibleTaskDescriptorImpl task = mock(EligibleTaskDescriptorImpl.class);
+        when(task.getInternal()).thenReturn(internalTask);
+        return task;
+    }
+
+}
@@ -31,6 +31,9 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -187,6 +190,85 @@ public class AOSynchronizationTest extends ProActiveTestClean {
             throws IOException, InvalidChannelException, ActiveObjectCreationException, NodeException {
         synchronization.createChannelIfAbsent(CHANNEL2, true);
         initChannel(CHANNEL2);
+        restartSynchronizationAPI();
+        Assert.assertEquals(1, (int) synchronization.get(CHANNEL2, "a"));
+        Assert.assertEquals(2, (int) synchronization.get(CHANNEL2, "b"));
+    }
+
+    @Test
+    public void testPersistentChannelKeyUpdates() throws IOException, InvalidChannelException, CompilationException,
+            ActiveObjectCreationException, NodeException {
+        synchronization.createChannelIfAbsent(CHANNEL2, true);
+        initChannel(CHANNEL2);
+        synchronization.compute(CHANNEL2, "a", BIFUNCTION_INCREMENT_ONE);
+        synchronization.remove(CHANNEL2, "b");
+        synchronization.put(CHANNEL2, "c", null);
+        synchronization.forEach(CHANNEL2, "{k, x -> }");
+
+        synchronization.createChannel(CHANNEL1, true);
+        synchronization.put(CHANNEL1, "a", 1);
+        synchronization.deleteChannel(CHANNEL1);
+        synchronization.createChannel(CHANNEL1, true);
+
+        restartSynchronizationAPI();
+        Assert.assertEquals(2, synchronization.size(CHANNEL2));
+        Assert.assertEquals(2, (int) synchronization.get(CHANNEL2, "a"));
+        Assert.assertFalse(synchronization.containsKey(CHANNEL2, "b"));
+        Assert.assertTrue(synchronization.containsKey(CHANNEL2, "c"));
+        Assert.assertNull(synchronization.get(CHANNEL2, "c"));
+        Assert.assertTrue(synchronization.channelExists(CHANNEL1));
+        Assert.assertTrue(synchronization.isEmpty(CHANNEL1));
+
+        synchronization.clear(CHANNEL2);
+        restartSynchronizationAPI();
+        Assert.assertTrue(synchronization.isEmpty(CHANNEL2));
+    }
+
+    @Test
+    public void testPersistentChannelForEachModifyingValuesInPlace() throws IOException, InvalidChannelException,
+            CompilationException, ActiveObjectCreationException, NodeException {
+        synchronization.createChannelIfAbsent(CHANNEL2, true);
+        initChannel(CHANNEL2);
+        synchronization.put(CHANNEL2, "list", new ArrayList<>(Collections.singletonList(1)));
+        synchronization.forEach(CHANNEL2, "{k, x -> if (x instanceof List) x.add(2) }");
+
+        restartSynchronizationAPI();
+        Assert.assertEquals(Arrays.asList(1, 2), synchronization.get(CHANNEL2, "list"));
+        Assert.assertEquals(1, (int) synchronization.get(CHANNEL2, "a"));
+        Assert.assertEquals(2, (int) synchronization.get(CHANNEL2, "b"));
+    }
+
+    /**
+     * Only the modified keys are written on each operation, the other keys of a large persistent channel must
+     * still be restored after a restart.
+     */
+    @Test
+    public void testPersistentChannelKeyUpdatesOnLargeChannel() throws IOException, InvalidChannelException,
+            CompilationException, ActiveObjectCreationException, NodeException {
+        int channelSize = 1000;
+        int operations = 100;
+        synchronization.createChannel(CHANNEL1, true);
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < channelSize; i++) {
+            map.put("key" + i, 0);
+        }
+        synchronization.putAll(CHANNEL1, map);
+
+        synchronization.put(CHANNEL1, "counter", 0);
+        for (int i = 0; i < operations; i++) {
+            synchronization.put(CHANNEL1, "key" + i, i);
+            synchronization.compute(CHANNEL1, "counter", BIFUNCTION_INCREMENT_ONE);
+        }
+        Assert.assertTrue(synchronization.waitUntil(CHANNEL1, "counter", PREDICATE_GT_ZERO));
+
+        restartSynchronizationAPI();
+        Assert.assertEquals(channelSize + 1, synchronization.size(CHANNEL1));
+        Assert.assertEquals(operations, (int) synchronization.get(CHANNEL1, "counter"));
+        Assert.assertEquals(operations - 1, (int) synchronization.get(CHANNEL1, "key" + (operations - 1)));
+        Assert.assertEquals(0, (int) synchronization.get(CHANNEL1, "key" + (channelSize - 1)));
+    }
+
+    private void restartSynchronizationAPI() throws ActiveObjectCreationException, NodeException {
         // Synchronously close the database, then kill the active object
         // This is to prevent the database close to be delayed by the asynchronous endActivity execution
         synchronizationInternal.close();
@@ -194,8 +276,6 @@ public class AOSynchronizationTest extends ProActiveTestClean {
 
         // Recreate the synchronization object (reloads the databse)
         initSynchronizationAPI(tempFolder);
-        Assert.assertEquals(1, (int) synchronization.get(CHANNEL2, "a"));
-        Assert.assertEquals(2, (int) synchronization.get(CHANNEL2, "b"));
     }
 
     @Test
@@ -0,0 +1,118 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.task.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.job.JobPriority;
+import org.ow2.proactive.scheduler.common.task.OnTaskError;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
+import org.ow2.proactive.scripting.InvalidScriptException;
+import org.ow2.proactive.scripting.SelectionScript;
+import org.ow2.proactive.scripting.SimpleScript;
+
+
+public class InternalTaskBodyLoaderTest {
+
+    private InternalJob job;
+
+    private InternalTask task;
+
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        job = new InternalTaskFlowJob("test-name", JobPriority.NORMAL, OnTaskError.CANCEL_JOB, "");
+        task = new InternalScriptTask(job);
+        loads = new AtomicInteger();
+        task.setBodyLoader(internalTask -> {
+            loads.incrementAndGet();
+            try {
+                internalTask.setPreScript(new SimpleScript("print('pre')", "groovy"));
+                internalTask.addSelectionScript(new SelectionScript("selected = true", "groovy"));
+            } catch (InvalidScriptException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testBodyIsLoadedWhenFirstAccessed() {
+        assertThat(loads.get()).isEqualTo(0);
+
+        assertThat(task.getPreScript()).isNotNull();
+        assertThat(task.getSelectionScripts()).hasSize(1);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBodyIsLoadedOnce() {
+        task.loadBody();
+        task.loadBody();
+        task.getSelectionScripts();
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBodyIsLoadedFlag() {
+        assertThat(task.isBodyLoaded()).isFalse();
+
+        task.loadBody();
+
+        assertThat(task.isBodyLoaded()).isTrue();
+    }
+
+    @Test
+    public void testBodyIsLoadedWithGivenLoader() {
+        AtomicInteger batchLoads = new AtomicInteger();
+
+        task.loadBody(internalTask -> batchLoads.incrementAndGet());
+        task.loadBody(internalTask -> batchLoads.incrementAndGet());
+        task.getSelectionScripts();
+
+        assertThat(batchLoads.get()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(0);
+        assertThat(task.isBodyLoaded()).isTrue();
+    }
+
+    @Test
+    public void testTaskWithoutBodyLoaderIsUnchanged() {
+        InternalTask loadedTask = new InternalScriptTask(job);
+
+        loadedTask.loadBody();
+
+        assertThat(loadedTask.getPreScript()).isNull();
+        assertThat(loadedTask.getSelectionScripts()).isNull();
+    }
+
+}
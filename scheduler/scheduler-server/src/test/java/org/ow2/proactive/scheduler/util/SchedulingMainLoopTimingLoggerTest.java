@@ -114,6 +114,25 @@ public class SchedulingMainLoopTimingLoggerTest {
 
     }
 
+    @Test
+    public void testTasksStartedThroughput() {
+        schedulingMainLoopTimingLogger.start("method1");
+        schedulingMainLoopTimingLogger.end("method1");
+        schedulingMainLoopTimingLogger.tasksStarted(3);
+        schedulingMainLoopTimingLogger.tasksStarted(2);
+
+        assertThat(schedulingMainLoopTimingLogger.getThroughputLoggingString(500),
+                   containsString("Started:5;Total:500ms;Throughput:10tasks/s"));
+        assertThat(schedulingMainLoopTimingLogger.getThroughputLoggingString(0),
+                   containsString("Throughput:5000tasks/s"));
+
+        schedulingMainLoopTimingLogger.printTimingsINFOLevel();
+        verify(logger).info(loggingCaptor.capture());
+        String loggingString = loggingCaptor.getAllValues().get(0);
+        assertTimingPerMethod(loggingString, "method1");
+        assertThat(loggingString, containsString("Started:5;"));
+    }
+
     private void assertTimingPerMethod(String loggingString, String method) {
         assertThat(loggingString, containsString(method));
         assertThat(loggingString, containsString("Max:"));